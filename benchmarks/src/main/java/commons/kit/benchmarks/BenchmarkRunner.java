@@ -0,0 +1,41 @@
+package commons.kit.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code benchmarks.jar}.
+ *
+ * <p>Accepts the regular JMH command line (include regex, {@code -f}, {@code -wi}, ...)
+ * and always attaches the GC profiler, so every run reports both throughput (ops/s)
+ * and {@code gc.alloc.rate.norm} (bytes allocated per operation).</p>
+ *
+ * <p><strong>Usage:</strong></p>
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar                 # all suites
+ * java -jar benchmarks/target/benchmarks.jar NumberUtils     # one suite
+ * java -jar benchmarks/target/benchmarks.jar -rf json -rff result.json
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+        throw new AssertionError("No BenchmarkRunner instances for you!");
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
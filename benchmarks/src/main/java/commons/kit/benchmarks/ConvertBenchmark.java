@@ -0,0 +1,102 @@
+package commons.kit.benchmarks;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import commons.kit.ErrorUtils.Result;
+import commons.kit.JsonUtils.JacksonJsonProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Map/tree to bean conversion: {@link JacksonJsonProvider#convert(Object, Class)}, which binds
+ * directly, against Jackson's own {@code convertValue} (TokenBuffer round-trip) on the same mapper.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConvertBenchmark {
+
+    public static class Address {
+        public String city;
+        public String zip;
+    }
+
+    public static class Customer {
+        public String name;
+        public int age;
+        public boolean active;
+        public Address address;
+    }
+
+    public static class Order {
+        public String id;
+        public long sequence;
+        public double weight;
+        public BigDecimal total;
+        public LocalDate createdAt;
+        public Customer customer;
+    }
+
+    private ObjectMapper mapper;
+    private JacksonJsonProvider provider;
+    private Map<String, Object> row;
+    private JsonNode tree;
+
+    @Setup
+    public void setup() {
+        mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        provider = new JacksonJsonProvider(mapper);
+
+        Map<String, Object> address = new LinkedHashMap<>();
+        address.put("city", "NYC");
+        address.put("zip", "10001");
+
+        Map<String, Object> customer = new LinkedHashMap<>();
+        customer.put("name", "Alice");
+        customer.put("age", 34);
+        customer.put("active", true);
+        customer.put("address", address);
+
+        row = new LinkedHashMap<>();
+        row.put("id", "ord-1001");
+        row.put("sequence", 1001L);
+        row.put("weight", 2.5);
+        row.put("total", new BigDecimal("44.98"));
+        row.put("createdAt", "2024-03-15");
+        row.put("customer", customer);
+
+        tree = mapper.valueToTree(row);
+    }
+
+    @Benchmark
+    public Result<String, Order> convertMap() {
+        return provider.convert(row, Order.class);
+    }
+
+    @Benchmark
+    public Order convertValueMap() {
+        return mapper.convertValue(row, Order.class);
+    }
+
+    @Benchmark
+    public Result<String, Order> convertTree() {
+        return provider.convert(tree, Order.class);
+    }
+
+    @Benchmark
+    public Order convertValueTree() {
+        return mapper.convertValue(tree, Order.class);
+    }
+}
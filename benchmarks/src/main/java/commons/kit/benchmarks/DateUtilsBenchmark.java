@@ -0,0 +1,37 @@
+package commons.kit.benchmarks;
+
+import commons.kit.ErrorUtils.Result;
+import commons.kit.TimeUtils.DateUtils;
+import commons.kit.TimeUtils.ParsedDate;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and allocation of date sniffing.
+ *
+ * <p>The inputs cover the first parser in line (ISO), the last one (dotted) and
+ * a string no parser accepts, which is the worst case for the parser chain.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateUtilsBenchmark {
+
+    @Param({"2024-03-15", "15/03/2024", "03/15/2024", "2024/03/15", "15.03.2024", "not-a-date"})
+    String input;
+
+    @Benchmark
+    public Result<String, ParsedDate> analyze() {
+        return DateUtils.analyze(input);
+    }
+
+    @Benchmark
+    public Result<String, LocalDate> toLocalDate() {
+        return DateUtils.toLocalDate(input);
+    }
+}
@@ -0,0 +1,61 @@
+package commons.kit.benchmarks;
+
+import commons.kit.ErrorUtils.Result;
+import commons.kit.JsonUtils.JacksonJsonProvider;
+import commons.kit.JsonUtils.JsonNodeWrapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a large JSON file to a tree: reading it into a String first, against
+ * {@link JacksonJsonProvider#parseFile(Path)} parsing from the memory-mapped file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileParseBenchmark {
+
+    @Param({"200000"})
+    public int size;
+
+    private JacksonJsonProvider provider;
+    private Path file;
+
+    @Setup
+    public void setup() throws IOException {
+        provider = new JacksonJsonProvider();
+        file = Files.createTempFile("file-parse-benchmark", ".json");
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write('[');
+            for (int i = 0; i < size; i++) {
+                out.write((i > 0 ? "," : "") + "{\"sku\":\"SKU-" + i + "\",\"qty\":" + (i % 7 + 1)
+                        + ",\"price\":\"" + (i % 1000) + ".99\"}");
+            }
+            out.write(']');
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Result<String, JsonNodeWrapper> readStringThenParse() throws IOException {
+        return provider.parseNode(Files.readString(file));
+    }
+
+    @Benchmark
+    public Result<String, JsonNodeWrapper> parseFile() {
+        return provider.parseFile(file);
+    }
+}
@@ -0,0 +1,227 @@
+package commons.kit.benchmarks;
+
+import commons.kit.ErrorUtils.Empty;
+import commons.kit.ErrorUtils.Result;
+import commons.kit.JsonUtils.JacksonJsonProvider;
+import commons.kit.JsonUtils.JsonError;
+import commons.kit.JsonUtils.JsonFormat;
+import commons.kit.JsonUtils.JsonNodeWrapper;
+import commons.kit.JsonUtils.JsonPatch;
+import commons.kit.JsonUtils.JsonPath;
+import commons.kit.JsonUtils.JsonSchema;
+import commons.kit.JsonUtils.MergeMode;
+import commons.kit.JsonUtils.TypeRef;
+import commons.kit.MathUtils.Decimal64;
+import commons.kit.MathUtils.NumberUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and allocation of the JacksonJsonProvider entry points hit per request:
+ * deserialization (including rejected payloads), path lookups, deep merges, patches, diffs
+ * and schema validation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    static final String ORDER_JSON = "{"
+            + "\"id\":\"ord-1001\","
+            + "\"customer\":{\"name\":\"Alice\",\"address\":{\"city\":\"NYC\",\"zip\":\"10001\"}},"
+            + "\"items\":["
+            + "{\"sku\":\"A-1\",\"qty\":2,\"price\":\"19.99\"},"
+            + "{\"sku\":\"B-7\",\"qty\":1,\"price\":\"5.00\"}"
+            + "],"
+            + "\"total\":\"44.98\","
+            + "\"createdAt\":\"2024-03-15\""
+            + "}";
+
+    static final String CONFIG_JSON = "{\"app\":{\"theme\":\"light\",\"retries\":3,"
+            + "\"http\":{\"timeout\":30,\"pool\":{\"min\":1,\"max\":10}}},"
+            + "\"features\":{\"a\":true,\"b\":false,\"c\":true}}";
+
+    static final JsonPath DEEP_PATH = JsonPath.compile("customer.address.city");
+
+    static final JsonPath QTY_PATH = JsonPath.compile("items.0.qty");
+
+    static final String PATCH_JSON = "{\"app\":{\"theme\":\"dark\",\"http\":{\"timeout\":60}}}";
+
+    static final String JSON_PATCH = "["
+            + "{\"op\":\"replace\",\"path\":\"/app/http/pool/min\",\"value\":2},"
+            + "{\"op\":\"replace\",\"path\":\"/app/http/pool/max\",\"value\":20},"
+            + "{\"op\":\"add\",\"path\":\"/app/http/pool/idle\",\"value\":5},"
+            + "{\"op\":\"remove\",\"path\":\"/features/b\"}]";
+
+    static final TypeRef<Map<String, Object>> MAP_TYPE = new TypeRef<Map<String, Object>>() {};
+
+    static final byte[] ORDER_BYTES = ORDER_JSON.getBytes(StandardCharsets.UTF_8);
+
+    static final String INVALID_JSON = ORDER_JSON.replace("\"qty\":1", "\"qty\":1x");
+
+    static final String ORDER_SCHEMA = "{\"type\":\"object\",\"required\":[\"id\",\"customer\",\"items\"],"
+            + "\"properties\":{"
+            + "\"id\":{\"type\":\"string\",\"pattern\":\"^ord-[0-9]+$\"},"
+            + "\"customer\":{\"type\":\"object\",\"required\":[\"name\"]},"
+            + "\"items\":{\"type\":\"array\",\"minItems\":1,\"items\":{\"type\":\"object\",\"required\":[\"sku\",\"qty\"],"
+            + "\"properties\":{\"sku\":{\"type\":\"string\"},\"qty\":{\"type\":\"integer\",\"minimum\":1}}}}}}";
+
+    private JacksonJsonProvider provider;
+    private JsonNodeWrapper order;
+    private JsonNodeWrapper config;
+    private JsonNodeWrapper patch;
+    private JsonPatch jsonPatch;
+    private JsonNodeWrapper orderV2;
+    private ByteBuffer buffer;
+    private JsonSchema schema;
+    private final Decimal64 decimal = Decimal64.zero();
+
+    @Setup
+    public void setup() {
+        provider = new JacksonJsonProvider();
+        order = provider.<String>parseNode(ORDER_JSON).getOrThrow();
+        config = provider.<String>parseNode(CONFIG_JSON).getOrThrow();
+        patch = provider.<String>parseNode(PATCH_JSON).getOrThrow();
+        jsonPatch = provider.<String>compilePatch(JSON_PATCH).getOrThrow();
+        orderV2 = provider.<String>parseNode(ORDER_JSON
+                .replace("\"qty\":1", "\"qty\":3")
+                .replace("\"total\":\"44.98\"", "\"total\":\"54.98\"")).getOrThrow();
+        buffer = ByteBuffer.allocateDirect(64 * 1024);
+        schema = provider.<String>compileSchema(ORDER_SCHEMA).getOrThrow();
+    }
+
+    @Benchmark
+    @SuppressWarnings("rawtypes")
+    public Result<String, Map> fromJsonToMap() {
+        return provider.fromJson(ORDER_JSON, Map.class);
+    }
+
+    @Benchmark
+    @SuppressWarnings("rawtypes")
+    public Result<String, Map> fromJsonBytesToMap() {
+        return provider.fromJsonBytes(ORDER_BYTES, Map.class);
+    }
+
+    @Benchmark
+    public Result<String, Map<String, Object>> codecFromJsonToMap() {
+        return provider.codec(MAP_TYPE).fromJson(ORDER_JSON);
+    }
+
+    @Benchmark
+    @SuppressWarnings("rawtypes")
+    public Result<String, Map> fromJsonInvalid() {
+        return provider.fromJson(INVALID_JSON, Map.class);
+    }
+
+    @Benchmark
+    @SuppressWarnings("rawtypes")
+    public Result<JsonError, Map> decodeInvalid() {
+        return provider.decode(INVALID_JSON, Map.class);
+    }
+
+    @Benchmark
+    public Result<String, JsonNodeWrapper> parseAndValidate() {
+        return provider.<String>parseNode(ORDER_JSON).flatMap(schema::validate);
+    }
+
+    @Benchmark
+    public Result<String, Empty> validateJson() {
+        return schema.validateJson(ORDER_JSON);
+    }
+
+    @Benchmark
+    public Result<String, JsonNodeWrapper> parseNode() {
+        return provider.parseNode(ORDER_JSON);
+    }
+
+    @Benchmark
+    public Result<String, String> toJsonPretty() {
+        return provider.toJson(order);
+    }
+
+    @Benchmark
+    public Result<String, String> toJsonCompact() {
+        return provider.toJson(order, JsonFormat.COMPACT);
+    }
+
+    @Benchmark
+    public Result<String, Integer> toJsonBufferCompact() {
+        buffer.clear();
+        return provider.toJsonBuffer(order, buffer, JsonFormat.COMPACT);
+    }
+
+    @Benchmark
+    public Optional<String> getStringShallow() {
+        return provider.getString(order, "id");
+    }
+
+    @Benchmark
+    public Optional<String> getStringDeep() {
+        return provider.getString(order, "customer.address.city");
+    }
+
+    @Benchmark
+    public Optional<String> getStringArrayIndex() {
+        return provider.getString(order, "items.1.sku");
+    }
+
+    @Benchmark
+    public Optional<String> getStringCompiled() {
+        return provider.getString(order, DEEP_PATH);
+    }
+
+    @Benchmark
+    public long getStringThenParseLong() {
+        return provider.getString(order, QTY_PATH).map(Long::parseLong).orElse(-1L);
+    }
+
+    @Benchmark
+    public long getLongCompiled() {
+        return provider.getLong(order, QTY_PATH, -1);
+    }
+
+    @Benchmark
+    public BigDecimal getStringThenSafeOf() {
+        return NumberUtils.safeOf(provider.getString(order, QTY_PATH).orElse(null));
+    }
+
+    @Benchmark
+    public Decimal64 getDecimalCompiled() {
+        provider.getDecimal(order, QTY_PATH, decimal);
+        return decimal;
+    }
+
+    @Benchmark
+    public Result<String, JsonNodeWrapper> merge() {
+        return provider.merge(config, patch);
+    }
+
+    @Benchmark
+    public Result<String, JsonNodeWrapper> mergeShared() {
+        return provider.merge(config, patch, MergeMode.SHARED);
+    }
+
+    @Benchmark
+    public Result<String, JsonNodeWrapper> applyJsonPatch() {
+        return jsonPatch.apply(config);
+    }
+
+    @Benchmark
+    public Result<String, JsonNodeWrapper> diff() {
+        return provider.diff(order, orderV2);
+    }
+
+    @Benchmark
+    public JsonNodeWrapper pruneClean() {
+        return provider.prune(order);
+    }
+}
@@ -0,0 +1,77 @@
+package commons.kit.benchmarks;
+
+import commons.kit.JsonUtils.JacksonJsonProvider;
+import commons.kit.JsonUtils.JsonCodec;
+import commons.kit.JsonUtils.JsonLines;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binding a JSON Lines payload: a BufferedReader loop decoding one String per line, against
+ * {@link JsonLines} decoding byte chunks on the reading thread and on the common pool.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonLinesBenchmark {
+
+    public static class Line {
+        public String sku;
+        public int qty;
+        public String price;
+    }
+
+    @Param({"200000"})
+    public int size;
+
+    private byte[] ndjson;
+    private JsonCodec<Line> codec;
+    private JsonLines<Line> parallel;
+    private JsonLines<Line> sequential;
+
+    @Setup
+    public void setup() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            text.append("{\"sku\":\"SKU-").append(i).append("\",\"qty\":").append(i % 7 + 1)
+                    .append(",\"price\":\"").append(i % 1000).append(".99\"}\n");
+        }
+        ndjson = text.toString().getBytes(StandardCharsets.UTF_8);
+
+        JacksonJsonProvider provider = new JacksonJsonProvider();
+        codec = provider.codec(Line.class);
+        parallel = JsonLines.of(provider, Line.class);
+        sequential = parallel.sequential();
+    }
+
+    @Benchmark
+    public long readLineLoop() throws IOException {
+        long qty = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(ndjson), StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                qty += codec.decode(line).map(l -> l.qty).getOrElse(0);
+            }
+        }
+        return qty;
+    }
+
+    @Benchmark
+    public long jsonLinesSequential() {
+        return sequential.read(new ByteArrayInputStream(ndjson)).mapToLong(l -> l.map(line -> line.qty).getOrElse(0)).sum();
+    }
+
+    @Benchmark
+    public long jsonLinesParallel() {
+        return parallel.read(new ByteArrayInputStream(ndjson)).mapToLong(l -> l.map(line -> line.qty).getOrElse(0)).sum();
+    }
+}
@@ -0,0 +1,78 @@
+package commons.kit.benchmarks;
+
+import commons.kit.JsonUtils.JacksonJsonProvider;
+import commons.kit.JsonUtils.JsonNodeWrapper;
+import commons.kit.JsonUtils.JsonPath;
+import commons.kit.JsonUtils.LazyJsonProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sparse reads from a large document: three fields read from ~500 KB of JSON bytes, parsed
+ * into a full tree by {@link JacksonJsonProvider}, indexed lazily by {@link LazyJsonProvider}, or
+ * read selectively by {@link JacksonJsonProvider#extract(byte[], JsonPath...)}.
+ * Run with {@code -prof gc} to compare allocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LazyParseBenchmark {
+
+    private static final JsonPath ID = JsonPath.compile("id");
+    private static final JsonPath TIER = JsonPath.compile("customer.tier");
+    private static final JsonPath TOTAL = JsonPath.compile("summary.total");
+
+    @Param({"5000"})
+    public int items;
+
+    private JacksonJsonProvider tree;
+    private LazyJsonProvider lazy;
+    private byte[] json;
+
+    @Setup
+    public void setup() {
+        tree = new JacksonJsonProvider();
+        lazy = new LazyJsonProvider();
+
+        StringBuilder sb = new StringBuilder("{\"id\":\"ORD-1\",\"customer\":{\"name\":\"Alice\",\"tier\":\"gold\"},\"items\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"sku\":\"SKU-").append(i).append("\",\"qty\":").append(i % 7 + 1)
+                    .append(",\"price\":").append(i % 1000).append(".99,\"tags\":[\"a\",\"b\"],\"gift\":false}");
+        }
+        sb.append("],\"summary\":{\"total\":123456}}");
+        json = sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public long fullTree() {
+        return sparseRead(tree.<String>parseNodeBytes(json).getOrThrow());
+    }
+
+    @Benchmark
+    public long lazy() {
+        return sparseRead(lazy.<String>parseNodeBytes(json).getOrThrow());
+    }
+
+    @Benchmark
+    public long extract() {
+        Map<JsonPath, JsonNodeWrapper> values = tree.<String>extract(json, ID, TIER, TOTAL).getOrThrow();
+        return values.get(ID).asText().length()
+                + values.get(TIER).asText().length()
+                + values.get(TOTAL).asLong();
+    }
+
+    private static long sparseRead(JsonNodeWrapper order) {
+        return order.get("id").asText().length()
+                + order.at("/customer/tier").asText().length()
+                + order.at("/summary/total").asLong();
+    }
+}
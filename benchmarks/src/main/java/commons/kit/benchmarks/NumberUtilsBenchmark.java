@@ -0,0 +1,81 @@
+package commons.kit.benchmarks;
+
+import commons.kit.MathUtils.Decimal64;
+import commons.kit.MathUtils.DecimalVector;
+import commons.kit.MathUtils.NumberUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and allocation of amount parsing and BigDecimal arithmetic.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NumberUtilsBenchmark {
+
+    /**
+     * Amount shapes seen in ingestion files, kept in their own state so the
+     * arithmetic benchmarks are not multiplied by every parameter value.
+     */
+    @State(Scope.Benchmark)
+    public static class Amount {
+        @Param({"123.45", "$1,234.56", "1.234,56 €", "1,5", "-98765432.10"})
+        String text;
+    }
+
+    private BigDecimal[] values;
+    private Decimal64[] fixedPointValues;
+    private DecimalVector vector;
+    private BigDecimal dividend;
+    private BigDecimal divisor;
+
+    @Setup
+    public void setup() {
+        values = new BigDecimal[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = BigDecimal.valueOf(i * 137L + 11, 2);
+        }
+        fixedPointValues = new Decimal64[values.length];
+        for (int i = 0; i < values.length; i++) {
+            fixedPointValues[i] = Decimal64.ofExact(values[i]);
+        }
+        vector = DecimalVector.of(2, values);
+        dividend = new BigDecimal("1234567.89");
+        divisor = new BigDecimal("37.5");
+    }
+
+    @Benchmark
+    public BigDecimal safeOf(Amount amount) {
+        return NumberUtils.safeOf(amount.text);
+    }
+
+    @Benchmark
+    public BigDecimal add() {
+        return NumberUtils.add(values);
+    }
+
+    @Benchmark
+    public long decimal64Add() {
+        Decimal64 total = Decimal64.zero();
+        for (Decimal64 value : fixedPointValues) {
+            total.add(value);
+        }
+        return total.unscaledValue();
+    }
+
+    @Benchmark
+    public long decimalVectorSum() {
+        return vector.sumUnscaled();
+    }
+
+    @Benchmark
+    public BigDecimal div() {
+        return NumberUtils.div(dividend, divisor);
+    }
+}
@@ -0,0 +1,74 @@
+package commons.kit.benchmarks;
+
+import commons.kit.ErrorUtils.Result;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and allocation of the Result combinators used on every pipeline step.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultBenchmark {
+
+    @Param({"10", "1000"})
+    int size;
+
+    private Result<String, Integer> success;
+    private Result<String, Integer> failure;
+    private List<Result<String, Integer>> allOk;
+    private List<Result<String, Integer>> lastErr;
+
+    @Setup
+    public void setup() {
+        success = Result.ok(42);
+        failure = Result.err("boom");
+
+        allOk = new ArrayList<>(size);
+        lastErr = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            allOk.add(Result.ok(i));
+            lastErr.add(i == size - 1 ? Result.err("boom") : Result.ok(i));
+        }
+    }
+
+    @Benchmark
+    public Result<String, Integer> mapOk() {
+        return success.map(v -> v + 1);
+    }
+
+    @Benchmark
+    public Result<String, Integer> mapErr() {
+        return failure.map(v -> v + 1);
+    }
+
+    @Benchmark
+    public Result<String, Integer> flatMapOk() {
+        return success.flatMap(v -> Result.ok(v * 2));
+    }
+
+    @Benchmark
+    public Result<String, Integer> flatMapChain() {
+        return success
+                .flatMap(v -> Result.<String, Integer>ok(v + 1))
+                .map(v -> v * 2)
+                .ensure(v -> v > 0, "negative");
+    }
+
+    @Benchmark
+    public Result<String, List<Integer>> sequenceAllOk() {
+        return Result.sequence(allOk);
+    }
+
+    @Benchmark
+    public Result<String, List<Integer>> sequenceLastErr() {
+        return Result.sequence(lastErr);
+    }
+}
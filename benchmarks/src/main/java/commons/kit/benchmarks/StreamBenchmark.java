@@ -0,0 +1,56 @@
+package commons.kit.benchmarks;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import commons.kit.JsonUtils.JacksonJsonProvider;
+import commons.kit.JsonUtils.JsonNodeWrapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-element transformation of a large in-memory array: sequential
+ * {@link JacksonJsonProvider#stream(Object)} against {@link JacksonJsonProvider#parallelStream(Object)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StreamBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    private JacksonJsonProvider provider;
+    private ArrayNode lines;
+
+    @Setup
+    public void setup() {
+        provider = new JacksonJsonProvider();
+        lines = JsonNodeFactory.instance.arrayNode(size);
+        for (int i = 0; i < size; i++) {
+            ObjectNode line = lines.addObject();
+            line.put("sku", "SKU-" + i);
+            line.put("qty", i % 7 + 1);
+            line.put("price", (i % 1000) + ".99");
+        }
+    }
+
+    @Benchmark
+    public BigDecimal stream() {
+        return provider.stream(lines).map(StreamBenchmark::lineTotal).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal parallelStream() {
+        return provider.parallelStream(lines).map(StreamBenchmark::lineTotal).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static BigDecimal lineTotal(JsonNodeWrapper line) {
+        return new BigDecimal(line.get("price").asText()).multiply(BigDecimal.valueOf(line.get("qty").asInt()));
+    }
+}
@@ -0,0 +1,118 @@
+package commons.kit.JsonUtils;
+
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A size-bounded cache with lock-free hits and recency-based (second-chance) eviction.
+ *
+ * <p>A hit reads a concurrent map and marks the entry as used, writing the flag only when
+ * it is not already set. Misses compute the value without holding the lock, then insert it
+ * under the lock; when the cache is full, a clock hand walks the entries in insertion order,
+ * clearing the flag of used ones and evicting the first one not used since the hand last
+ * passed it. Entries read between two evictions therefore survive any amount of churn from
+ * entries read once.</p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+final class BoundedCache<K, V> {
+
+    private static final class Entry<V> {
+        final V value;
+        volatile boolean used;
+
+        Entry(V value) {
+            this.value = value;
+        }
+    }
+
+    private final int capacity;
+    private final Map<K, Entry<V>> entries;
+    private final ArrayDeque<K> clock; // Guarded by this; same keys as entries, oldest first
+
+    BoundedCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.entries = new ConcurrentHashMap<>(Math.min(capacity, 64));
+        this.clock = new ArrayDeque<>(Math.min(capacity, 64));
+    }
+
+    /**
+     * Returns the cached value, marking it as recently used.
+     *
+     * @param key the key
+     * @return the value, or null if not cached
+     */
+    V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!entry.used) {
+            entry.used = true; // Hot entries are already marked: no write on the shared line
+        }
+        return entry.value;
+    }
+
+    /**
+     * Returns the cached value, computing and caching it on a miss.
+     *
+     * <p>The value is computed outside the lock, so the function may itself use this cache;
+     * when two threads miss at once, both compute and the first one cached wins.</p>
+     *
+     * @param key the key
+     * @param loader computes the value of a missing key; must not return null
+     * @return the cached value
+     */
+    V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        V cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        V value = loader.apply(key);
+        synchronized (this) {
+            Entry<V> existing = entries.get(key);
+            if (existing != null) {
+                return existing.value;
+            }
+            if (entries.size() >= capacity) {
+                evict();
+            }
+            entries.put(key, new Entry<>(value));
+            clock.addLast(key);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the number of cached entries.
+     *
+     * @return entry count
+     */
+    int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        while (true) {
+            K key = clock.pollFirst();
+            Entry<V> entry = entries.get(key);
+            if (entry.used) {
+                entry.used = false; // Second chance: evicted next time round unless read again
+                clock.addLast(key);
+            } else {
+                entries.remove(key);
+                return;
+            }
+        }
+    }
+}
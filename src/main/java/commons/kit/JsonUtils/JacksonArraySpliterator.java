@@ -0,0 +1,172 @@
+package commons.kit.JsonUtils;
+
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import commons.kit.ErrorUtils.Result;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Pulls the elements of a top-level JSON array from a Jackson token stream, one at a time.
+ *
+ * <p>The parser is opened lazily on the first advance and only the current element is
+ * ever materialized. Binding failures are reported for the element and the parser is
+ * moved to the end of that element, so iteration continues; malformed JSON is reported
+ * once and ends the iteration. Closing closes the input, whether or not the parser
+ * was opened.</p>
+ *
+ * @param <E> the error type
+ * @param <T> the element type
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+final class JacksonArraySpliterator<E, T> extends Spliterators.AbstractSpliterator<Result<E, T>>
+        implements AutoCloseable {
+
+    /**
+     * Opens the parser over the source.
+     */
+    @FunctionalInterface
+    interface ParserSource {
+        JsonParser open() throws IOException;
+    }
+
+    /**
+     * Reads the element starting at the parser's current token.
+     */
+    @FunctionalInterface
+    interface ElementReader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
+
+    private final ParserSource source;
+    private final Closeable input;
+    private final ElementReader<T> reader;
+
+    private JsonParser parser;
+    private JsonStreamContext arrayContext;
+    private long index;
+    private boolean done;
+    private Result<E, T> pending;
+
+    JacksonArraySpliterator(ParserSource source, Closeable input, ElementReader<T> reader) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        this.source = source;
+        this.input = input;
+        this.reader = reader;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Result<E, T>> action) {
+        // Every outcome is computed first and handed to the action outside the try blocks,
+        // so an exception thrown by the consumer reaches the caller instead of being reported
+        // back to it as a failed element
+        Result<E, T> next = advance();
+        if (next == null) {
+            return false;
+        }
+        action.accept(next);
+        return true;
+    }
+
+    @Override
+    public void close() {
+        done = true;
+        try {
+            if (parser != null) {
+                parser.close();
+            }
+            if (input != null) {
+                input.close(); // The parser may never have been opened, or may not own the input
+            }
+        } catch (IOException e) {
+            // Nothing left to read from this source - ignore
+        }
+    }
+
+    private Result<E, T> advance() {
+        if (pending != null) {
+            Result<E, T> failure = pending;
+            pending = null;
+            return failure;
+        }
+        if (done) {
+            return null;
+        }
+
+        try {
+            if (parser == null) {
+                String problem = openArray();
+                if (problem != null) {
+                    return fail(problem);
+                }
+            }
+
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.END_ARRAY || token == null) {
+                close();
+                return null;
+            }
+        } catch (IOException | RuntimeException e) {
+            return fail("JSON streaming failed: " + e.getMessage());
+        }
+
+        long current = index++;
+        T element;
+        try {
+            element = reader.read(parser);
+        } catch (JsonMappingException e) {
+            // Binding problem: skip what is left of this element and keep going
+            skipToArrayLevel();
+            return err("JSON element " + current + " binding failed: " + e.getOriginalMessage());
+        } catch (RuntimeException e) {
+            // Thrown by a deserializer rather than reported by Jackson: same as a binding problem
+            skipToArrayLevel();
+            return err("JSON element " + current + " binding failed: " + e.getMessage());
+        } catch (IOException e) {
+            return fail("JSON streaming failed at element " + current + ": " + e.getMessage());
+        }
+        return Result.ok(element);
+    }
+
+    private String openArray() throws IOException {
+        parser = source.open();
+        JsonToken first = parser.nextToken();
+        if (first != JsonToken.START_ARRAY) {
+            return "Expected a JSON array but found " + (first == null ? "no content" : first);
+        }
+        arrayContext = parser.getParsingContext();
+        return null;
+    }
+
+    private void skipToArrayLevel() {
+        try {
+            while (parser.getParsingContext() != arrayContext) {
+                if (parser.nextToken() == null) {
+                    close();
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // Reported on the next advance, after the binding failure of this element
+            pending = fail("JSON streaming failed: " + e.getMessage());
+        }
+    }
+
+    private Result<E, T> fail(String message) {
+        close();
+        return err(message);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Result<E, T> err(String message) {
+        return Result.err((E) message);
+    }
+}
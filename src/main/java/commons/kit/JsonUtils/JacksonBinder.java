@@ -0,0 +1,482 @@
+package commons.kit.JsonUtils;
+
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.BeanDeserializer;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.deser.NullValueProvider;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.ValueInstantiator;
+import com.fasterxml.jackson.databind.deser.impl.FieldProperty;
+import com.fasterxml.jackson.databind.deser.impl.MethodProperty;
+import com.fasterxml.jackson.databind.deser.impl.NullsConstantProvider;
+import com.fasterxml.jackson.databind.introspect.AnnotatedWithParams;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.fasterxml.jackson.databind.util.AccessPattern;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Binds a Map or JsonNode straight onto a bean through MethodHandle setters.
+ *
+ * <p>{@code ObjectMapper.convertValue} serializes the whole source into a TokenBuffer and
+ * parses it back. This binder walks the source instead and writes each value directly:
+ * String, int, long, double, boolean and BigDecimal values of the expected type, and
+ * nested beans given as Map/JsonNode, are set as-is. Any other value goes through the
+ * property's own Jackson deserializer, one value at a time.</p>
+ *
+ * <p>The plan (properties, aliases, null handling) is taken from the BeanDeserializer that
+ * Jackson itself would use, so names, {@code @JsonProperty}, {@code @JsonIgnore} and
+ * visibility rules are honored. Types Jackson builds differently (creators, builders,
+ * any-setters, polymorphism, object ids, views, custom deserializers) get no binder.</p>
+ *
+ * <p>{@link #bind(Object)} returns {@link #UNSUPPORTED} whenever the result could differ
+ * from {@code convertValue} (unknown keys in strict mode, non-String keys, any failure),
+ * and the caller falls back to Jackson; errors are therefore always Jackson's own.</p>
+ *
+ * @param <T> the bean type
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+final class JacksonBinder<T> {
+
+    /**
+     * Returned by {@link #bind(Object)} when the source needs the full Jackson conversion.
+     */
+    static final Object UNSUPPORTED = new Object();
+
+    private static final Object NO_BINDER_YET = new Object();
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private enum Kind { STRING, INT, LONG, DOUBLE, BOOLEAN, DECIMAL, BEAN, GENERIC }
+
+    private enum NullMode { CONSTANT, SKIP, GENERIC }
+
+    private static final class Property {
+        final SettableBeanProperty jackson;
+        final Kind kind;
+        final MethodHandle setter;
+        final NullMode nullMode;
+        final Object nullValue;
+        Object binder = NO_BINDER_YET; // Nested bean binder, resolved on first use
+
+        Property(SettableBeanProperty jackson, Kind kind, MethodHandle setter, NullMode nullMode, Object nullValue) {
+            this.jackson = jackson;
+            this.kind = kind;
+            this.setter = setter;
+            this.nullMode = nullMode;
+            this.nullValue = nullValue;
+        }
+    }
+
+    private final ObjectMapper mapper;
+    private final ObjectWriter valueWriter;
+    private final Function<JavaType, JacksonBinder<?>> nested;
+    private final MethodHandle constructor;
+    private final Map<String, Property> properties;
+    private final boolean strictUnknown;
+    private final boolean bindsMaps;
+    private final boolean skipNullMapValues;
+    private final boolean plainScalars;
+
+    private JacksonBinder(ObjectMapper mapper, Function<JavaType, JacksonBinder<?>> nested,
+                          MethodHandle constructor, Map<String, Property> properties) {
+        DeserializationConfig config = mapper.getDeserializationConfig();
+        this.mapper = mapper;
+        this.valueWriter = mapper.writer().without(SerializationFeature.WRAP_ROOT_VALUE);
+        this.nested = nested;
+        this.constructor = constructor;
+        this.properties = properties;
+        this.strictUnknown = config.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                || config.getProblemHandlers() != null;
+
+        // convertValue serializes a Map first: mirror how null entries are written, or leave Maps to Jackson
+        JsonInclude.Include content = mapper.getSerializationConfig()
+                .getDefaultPropertyInclusion(Map.class).getContentInclusion();
+        this.skipNullMapValues = content == JsonInclude.Include.NON_NULL || content == JsonInclude.Include.NON_ABSENT;
+        this.bindsMaps = skipNullMapValues
+                || content == JsonInclude.Include.ALWAYS || content == JsonInclude.Include.USE_DEFAULTS;
+        this.plainScalars = hasStandardSerializers(mapper);
+    }
+
+    /**
+     * Builds a binder for a bean type, or returns null if Jackson must handle it.
+     *
+     * @param mapper the mapper whose configuration is mirrored
+     * @param type the bean type
+     * @param nested resolves binders for nested bean properties
+     * @return binder, or null if the type is not a plain bean
+     */
+    static <T> JacksonBinder<T> create(ObjectMapper mapper, JavaType type,
+                                       Function<JavaType, JacksonBinder<?>> nested) {
+        if (type.isContainerType() || type.isEnumType() || type.isAbstract() || type.isPrimitive()) {
+            return null;
+        }
+
+        try {
+            DeserializationConfig config = mapper.getDeserializationConfig();
+            DefaultDeserializationContext ctxt = ((DefaultDeserializationContext) mapper.getDeserializationContext())
+                    .createDummyInstance(config);
+
+            JsonDeserializer<Object> deserializer = ctxt.findRootValueDeserializer(type);
+            if (deserializer.getClass() != BeanDeserializer.class) {
+                return null;
+            }
+            BeanDeserializer bean = (BeanDeserializer) deserializer;
+            if (bean.getObjectIdReader() != null || bean.creatorProperties().hasNext()
+                    || bean.hasViews() || bean.isCaseInsensitive()) {
+                return null;
+            }
+
+            BeanDescription description = config.introspect(type);
+            Map<Object, ?> injectables = description.findInjectables();
+            if (description.findAnySetterAccessor() != null || (injectables != null && !injectables.isEmpty())
+                    || hasUnwrapped(config.getAnnotationIntrospector(), description)) {
+                return null;
+            }
+
+            MethodHandle constructor = defaultConstructor(bean.getValueInstantiator());
+            if (constructor == null) {
+                return null;
+            }
+
+            Map<String, Property> properties = new HashMap<>();
+            for (Iterator<SettableBeanProperty> it = bean.properties(); it.hasNext(); ) {
+                SettableBeanProperty prop = it.next();
+                Property property = property(ctxt, prop);
+                if (property == null) {
+                    return null;
+                }
+                properties.put(prop.getName(), property);
+                for (PropertyName alias : prop.findAliases(config)) {
+                    properties.putIfAbsent(alias.getSimpleName(), property);
+                }
+            }
+
+            return new JacksonBinder<>(mapper, nested, constructor, properties);
+        } catch (Exception | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Binds a Map or JsonNode object to a new bean.
+     *
+     * @param source a Map with String keys, or an ObjectNode
+     * @return the bean, or {@link #UNSUPPORTED} if Jackson must convert this source
+     */
+    Object bind(Object source) {
+        try {
+            if (source instanceof JsonNode) {
+                JsonNode node = (JsonNode) source;
+                if (!node.isObject()) {
+                    return UNSUPPORTED;
+                }
+                Object bean = constructor.invokeExact();
+                for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                    Map.Entry<String, JsonNode> field = it.next();
+                    if (!set(bean, field.getKey(), field.getValue())) {
+                        return UNSUPPORTED;
+                    }
+                }
+                return bean;
+            }
+
+            if (source instanceof Map && bindsMaps) {
+                Object bean = constructor.invokeExact();
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) source).entrySet()) {
+                    Object value = entry.getValue();
+                    if (value == null && skipNullMapValues) {
+                        continue;
+                    }
+                    if (!(entry.getKey() instanceof String) || !set(bean, (String) entry.getKey(), value)) {
+                        return UNSUPPORTED;
+                    }
+                }
+                return bean;
+            }
+        } catch (Throwable e) {
+            // Setter or deserializer failure: let Jackson report it the usual way
+        }
+        return UNSUPPORTED;
+    }
+
+    private boolean set(Object bean, String key, Object raw) throws Throwable {
+        Property property = properties.get(key);
+        if (property == null) {
+            return !strictUnknown;
+        }
+
+        Object value;
+        if (raw == null || (raw instanceof JsonNode && ((JsonNode) raw).isNull())) {
+            if (property.nullMode == NullMode.SKIP) {
+                return true;
+            }
+            value = property.nullMode == NullMode.CONSTANT ? property.nullValue : deserialize(property, raw);
+        } else {
+            value = direct(property, raw);
+            if (value == UNSUPPORTED) {
+                value = deserialize(property, raw);
+            }
+        }
+
+        if (value == UNSUPPORTED) {
+            return false;
+        }
+        property.setter.invokeExact(bean, value);
+        return true;
+    }
+
+    /**
+     * Returns the value itself when it already has the property's type, else UNSUPPORTED.
+     */
+    private Object direct(Property property, Object raw) {
+        if (raw instanceof JsonNode) {
+            return directNode(property, (JsonNode) raw);
+        }
+
+        switch (property.kind) {
+            case STRING:
+                return raw instanceof String ? raw : UNSUPPORTED;
+            case INT:
+                if (raw instanceof Integer) return raw;
+                if (raw instanceof Short || raw instanceof Byte) return ((Number) raw).intValue();
+                if (raw instanceof Long && (int) (long) (Long) raw == (Long) raw) return ((Long) raw).intValue();
+                return UNSUPPORTED;
+            case LONG:
+                if (raw instanceof Long) return raw;
+                if (raw instanceof Integer || raw instanceof Short || raw instanceof Byte) return ((Number) raw).longValue();
+                return UNSUPPORTED;
+            case DOUBLE:
+                if (raw instanceof Double) return raw;
+                if (raw instanceof Float || raw instanceof BigDecimal) return ((Number) raw).doubleValue();
+                if (raw instanceof Integer || raw instanceof Long || raw instanceof Short || raw instanceof Byte) {
+                    return (double) ((Number) raw).longValue();
+                }
+                return UNSUPPORTED;
+            case BOOLEAN:
+                return raw instanceof Boolean ? raw : UNSUPPORTED;
+            case DECIMAL:
+                // Not Short/Byte: Jackson's TokenBuffer turns those into BigDecimal via double ("3.0")
+                if (raw instanceof BigDecimal) return raw;
+                if (raw instanceof Integer || raw instanceof Long) return BigDecimal.valueOf(((Number) raw).longValue());
+                return UNSUPPORTED;
+            case BEAN:
+                return raw instanceof Map ? bindNested(property, raw) : UNSUPPORTED;
+            default:
+                return UNSUPPORTED;
+        }
+    }
+
+    private Object directNode(Property property, JsonNode node) {
+        switch (property.kind) {
+            case STRING:
+                return node.isTextual() ? node.textValue() : UNSUPPORTED;
+            case INT:
+                return node.isInt() || node.isShort() || (node.isLong() && node.canConvertToInt())
+                        ? (Object) node.intValue() : UNSUPPORTED;
+            case LONG:
+                return node.isInt() || node.isShort() || node.isLong() ? (Object) node.longValue() : UNSUPPORTED;
+            case DOUBLE:
+                return node.isDouble() || node.isFloat() || node.isBigDecimal()
+                        || node.isInt() || node.isShort() || node.isLong()
+                        ? (Object) node.doubleValue() : UNSUPPORTED;
+            case BOOLEAN:
+                return node.isBoolean() ? (Object) node.booleanValue() : UNSUPPORTED;
+            case DECIMAL:
+                if (node.isBigDecimal()) return node.decimalValue();
+                if (node.isInt() || node.isLong()) return BigDecimal.valueOf(node.longValue());
+                return UNSUPPORTED;
+            case BEAN:
+                return node.isObject() ? bindNested(property, node) : UNSUPPORTED;
+            default:
+                return UNSUPPORTED;
+        }
+    }
+
+    private Object bindNested(Property property, Object raw) {
+        Object binder = property.binder;
+        if (binder == NO_BINDER_YET) {
+            binder = nested.apply(property.jackson.getType());
+            property.binder = binder;
+        }
+        return binder != null ? ((JacksonBinder<?>) binder).bind(raw) : UNSUPPORTED;
+    }
+
+    /**
+     * Converts one value exactly like convertValue would: serialize it, then run the property's deserializer.
+     */
+    private Object deserialize(Property property, Object raw) throws Exception {
+        DeserializationConfig config = mapper.getDeserializationConfig();
+        TokenBuffer buffer = new TokenBuffer(mapper, false);
+        if (config.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)) {
+            buffer = buffer.forceUseOfBigDecimal(true);
+        }
+        if (!writeScalar(buffer, raw)) {
+            valueWriter.writeValue(buffer, raw);
+        }
+
+        try (JsonParser parser = buffer.asParser(mapper)) {
+            parser.nextToken();
+            DefaultDeserializationContext ctxt = ((DefaultDeserializationContext) mapper.getDeserializationContext())
+                    .createInstance(config, parser, mapper.getInjectableValues());
+            return property.jackson.deserialize(parser, ctxt);
+        }
+    }
+
+    /**
+     * Writes Strings, ints, longs, booleans and text nodes the way their standard serializers do.
+     */
+    private boolean writeScalar(TokenBuffer buffer, Object raw) throws IOException {
+        if (!plainScalars) {
+            return false;
+        }
+        if (raw instanceof String) {
+            buffer.writeString((String) raw);
+        } else if (raw instanceof TextNode) {
+            buffer.writeString(((TextNode) raw).textValue());
+        } else if (raw instanceof Integer) {
+            buffer.writeNumber((Integer) raw);
+        } else if (raw instanceof Long) {
+            buffer.writeNumber((Long) raw);
+        } else if (raw instanceof Boolean) {
+            buffer.writeBoolean((Boolean) raw);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean hasStandardSerializers(ObjectMapper mapper) {
+        try {
+            SerializerProvider provider = mapper.getSerializerProviderInstance();
+            for (Class<?> type : new Class<?>[]{String.class, Integer.class, Long.class, Boolean.class, TextNode.class}) {
+                if (!ClassUtil.isJacksonStdImpl(provider.findValueSerializer(type))) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static Property property(DefaultDeserializationContext ctxt, SettableBeanProperty prop) throws Exception {
+        if ((prop.getClass() != MethodProperty.class && prop.getClass() != FieldProperty.class)
+                || prop.hasValueTypeDeserializer() || prop.getManagedReferenceName() != null
+                || prop.getObjectIdInfo() != null || prop.hasViews()) {
+            return null;
+        }
+
+        MethodHandle setter = setter(prop.getMember().getMember());
+        if (setter == null) {
+            return null;
+        }
+
+        // Null handling exactly as the property would apply it
+        NullValueProvider nulls = prop.getNullValueProvider();
+        NullMode nullMode = NullMode.GENERIC;
+        Object nullValue = null;
+        if (NullsConstantProvider.isSkipper(nulls)) {
+            nullMode = NullMode.SKIP;
+        } else if (nulls.getNullAccessPattern() == AccessPattern.ALWAYS_NULL) {
+            nullMode = NullMode.CONSTANT;
+        } else if (ClassUtil.isJacksonStdImpl(nulls) || nulls.getNullAccessPattern() == AccessPattern.CONSTANT) {
+            try {
+                nullValue = nulls.getNullValue(ctxt);
+                nullMode = NullMode.CONSTANT;
+            } catch (Exception e) {
+                nullMode = NullMode.GENERIC; // e.g. FAIL_ON_NULL_FOR_PRIMITIVES: let Jackson fail
+            }
+        }
+
+        return new Property(prop, kind(ctxt, prop), setter, nullMode, nullValue);
+    }
+
+    private static Kind kind(DefaultDeserializationContext ctxt, SettableBeanProperty prop) throws Exception {
+        JsonDeserializer<Object> deserializer = prop.getValueDeserializer();
+        Class<?> raw = prop.getType().getRawClass();
+
+        if (deserializer.getClass() == BeanDeserializer.class) {
+            // Only when the property did not contextualize its deserializer (no property-level annotations)
+            return deserializer == ctxt.findRootValueDeserializer(prop.getType()) ? Kind.BEAN : Kind.GENERIC;
+        }
+        if (!ClassUtil.isJacksonStdImpl(deserializer)) {
+            return Kind.GENERIC;
+        }
+        if (raw == String.class) return Kind.STRING;
+        if (raw == int.class || raw == Integer.class) return Kind.INT;
+        if (raw == long.class || raw == Long.class) return Kind.LONG;
+        if (raw == double.class || raw == Double.class) return Kind.DOUBLE;
+        if (raw == boolean.class || raw == Boolean.class) return Kind.BOOLEAN;
+        if (raw == BigDecimal.class) return Kind.DECIMAL;
+        return Kind.GENERIC;
+    }
+
+    private static boolean hasUnwrapped(AnnotationIntrospector introspector, BeanDescription description) {
+        for (BeanPropertyDefinition definition : description.findProperties()) {
+            if (definition.getPrimaryMember() != null
+                    && introspector.findUnwrappingNameTransformer(definition.getPrimaryMember()) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static MethodHandle defaultConstructor(ValueInstantiator instantiator) throws IllegalAccessException {
+        if (!instantiator.canCreateUsingDefault() || instantiator.canCreateFromObjectWith()) {
+            return null;
+        }
+        AnnotatedWithParams creator = instantiator.getDefaultCreator();
+        if (creator == null || !(creator.getAnnotated() instanceof Constructor)) {
+            return null;
+        }
+        Constructor<?> constructor = (Constructor<?>) creator.getAnnotated();
+        constructor.setAccessible(true);
+        return MethodHandles.lookup().unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
+    }
+
+    private static MethodHandle setter(Member member) throws IllegalAccessException {
+        if (member instanceof Method && ((Method) member).getParameterCount() == 1) {
+            Method method = (Method) member;
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method).asType(SETTER_TYPE);
+        }
+        if (member instanceof Field) {
+            Field field = (Field) member;
+            field.setAccessible(true);
+            return MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,227 @@
+package commons.kit.JsonUtils;
+
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import commons.kit.ErrorUtils.Result;
+
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * JsonCodec holding an ObjectReader and ObjectWriter pre-bound to one JavaType.
+ *
+ * <p>Created and cached per type by {@link JacksonJsonProvider#codec(TypeRef)}. Errors use
+ * the same messages as the provider's own methods; the typed errors of {@link #decode(String)}
+ * come from {@link JacksonErrors}.</p>
+ *
+ * @param <T> the target type
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+final class JacksonCodec<T> implements JsonCodec<T> {
+    private static final Object NO_BINDER_YET = new Object();
+
+    private final ObjectMapper mapper;
+    private final JavaType javaType;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+    private final Function<JavaType, JacksonBinder<?>> binders;
+    private volatile Object binder = NO_BINDER_YET;
+
+    JacksonCodec(ObjectMapper mapper, JavaType javaType, Function<JavaType, JacksonBinder<?>> binders) {
+        this.mapper = mapper;
+        this.javaType = javaType;
+        this.binders = binders;
+        this.reader = mapper.readerFor(javaType).without(JsonParser.Feature.AUTO_CLOSE_SOURCE); // Streams stay open
+        // Only final types can be pre-bound for writing without losing subclass properties
+        this.writer = javaType.isFinal() ? mapper.writerFor(javaType) : mapper.writer();
+    }
+
+    @Override
+    public Type type() {
+        return javaType;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, T> fromJson(String json) {
+        if (json == null || json.trim().isEmpty()) {
+            return Result.err((E) "JSON string is null or empty");
+        }
+
+        try {
+            return Result.ok(reader.readValue(json));
+        } catch (Exception e) {
+            return Result.err((E) ("JSON deserialization failed: " + e.getMessage()));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, T> fromJsonBytes(byte[] json) {
+        if (json == null || json.length == 0) {
+            return Result.err((E) "JSON bytes are null or empty");
+        }
+
+        try {
+            return Result.ok(reader.readValue(json));
+        } catch (Exception e) {
+            return Result.err((E) ("JSON deserialization failed: " + e.getMessage()));
+        }
+    }
+
+    @Override
+    public Result<JsonError, T> decode(String json) {
+        if (json == null || json.trim().isEmpty()) {
+            return Result.err(JacksonErrors.EMPTY_STRING);
+        }
+
+        try {
+            return Result.ok(reader.readValue(json));
+        } catch (Exception e) {
+            return Result.err(JacksonErrors.from(e));
+        }
+    }
+
+    @Override
+    public Result<JsonError, T> decodeBytes(byte[] json) {
+        if (json == null || json.length == 0) {
+            return Result.err(JacksonErrors.EMPTY_BYTES);
+        }
+
+        try {
+            return Result.ok(reader.readValue(json));
+        } catch (Exception e) {
+            return Result.err(JacksonErrors.from(e));
+        }
+    }
+
+    @Override
+    public Result<JsonError, T> decodeBytes(byte[] json, int offset, int length) {
+        if (json == null || length <= 0) {
+            return Result.err(JacksonErrors.EMPTY_BYTES);
+        }
+        if (offset < 0 || offset > json.length - length) {
+            return JsonCodec.super.decodeBytes(json, offset, length); // Reports the bad range
+        }
+
+        try {
+            return Result.ok(reader.readValue(json, offset, length));
+        } catch (Exception e) {
+            return Result.err(JacksonErrors.from(e));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, T> convert(Object from) {
+        if (from == null) {
+            return Result.err((E) "Source object is null");
+        }
+
+        // Maps and trees bind straight onto beans; everything else (and any doubt) goes through Jackson
+        if (from instanceof LazyNodeWrapper) {
+            from = ((LazyNodeWrapper) from).unwrap();
+        }
+        if (from instanceof Map || from instanceof JsonNode || from instanceof JacksonNodeWrapper) {
+            JacksonBinder<T> direct = binder();
+            if (direct != null) {
+                Object source = from instanceof JacksonNodeWrapper ? ((JacksonNodeWrapper) from).unwrap() : from;
+                Object bound = direct.bind(source);
+                if (bound != JacksonBinder.UNSUPPORTED) {
+                    return Result.ok((T) bound);
+                }
+            }
+        }
+
+        try {
+            return Result.ok(mapper.convertValue(from, javaType));
+        } catch (Exception e) {
+            return Result.err((E) ("Type conversion failed: " + e.getMessage()));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, String> toJson(T value) {
+        try {
+            return Result.ok(writer.writeValueAsString(value));
+        } catch (Exception e) {
+            return Result.err((E) ("JSON serialization failed: " + e.getMessage()));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, byte[]> toJsonBytes(T value) {
+        try {
+            return Result.ok(writer.writeValueAsBytes(value));
+        } catch (Exception e) {
+            return Result.err((E) ("JSON serialization failed: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Reads the remaining bytes of a buffer without moving its position.
+     */
+    @SuppressWarnings("unchecked")
+    <E> Result<E, T> fromJsonBuffer(ByteBuffer json) {
+        if (json == null || !json.hasRemaining()) {
+            return Result.err((E) "JSON buffer is null or empty");
+        }
+
+        try {
+            T result = json.hasArray()
+                    ? reader.readValue(json.array(), json.arrayOffset() + json.position(), json.remaining())
+                    : reader.readValue(new ByteBufferBackedInputStream(json.duplicate()));
+            return Result.ok(result);
+        } catch (Exception e) {
+            return Result.err((E) ("JSON deserialization failed: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Reads a document from a stream, leaving the stream open.
+     */
+    @SuppressWarnings("unchecked")
+    <E> Result<E, T> readJson(InputStream input) {
+        if (input == null) {
+            return Result.err((E) "Input stream is null");
+        }
+
+        try {
+            return Result.ok(reader.readValue(input));
+        } catch (Exception e) {
+            return Result.err((E) ("JSON deserialization failed: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * The reader bound to this type, for reading values at a parser's current token.
+     */
+    ObjectReader reader() {
+        return reader;
+    }
+
+    /**
+     * Returns the direct binder for this type, building it on first use (null if the type has none).
+     */
+    @SuppressWarnings("unchecked")
+    JacksonBinder<T> binder() {
+        Object current = binder;
+        if (current == NO_BINDER_YET) {
+            current = JacksonBinder.create(mapper, javaType, binders);
+            binder = current;
+        }
+        return (JacksonBinder<T>) current;
+    }
+}
@@ -0,0 +1,76 @@
+package commons.kit.JsonUtils;
+
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Turns Jackson's exceptions into {@link JsonError}s for the typed operations of
+ * {@link JacksonJsonProvider} and {@link JacksonCodec}.
+ *
+ * <p>Only the raw parts are copied: {@code getOriginalMessage()}, the location numbers and the
+ * path references. Jackson's {@code getMessage()}, which formats the location and an excerpt
+ * of the source, is never called.</p>
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+final class JacksonErrors {
+
+    static final JsonError EMPTY_STRING = JsonError.of(JsonError.Kind.EMPTY_INPUT, "JSON string is null or empty");
+    static final JsonError EMPTY_BYTES = JsonError.of(JsonError.Kind.EMPTY_INPUT, "JSON bytes are null or empty");
+
+    private JacksonErrors() {
+        throw new AssertionError("No JacksonErrors instances for you!");
+    }
+
+    /**
+     * Converts an exception thrown while reading JSON.
+     *
+     * @param e the exception
+     * @return the error
+     */
+    static JsonError from(Exception e) {
+        if (e instanceof JsonProcessingException) {
+            JsonProcessingException processing = (JsonProcessingException) e;
+            JsonLocation location = processing.getLocation();
+            int line = location != null && location.getLineNr() > 0 ? location.getLineNr() : -1;
+            int column = line > 0 ? location.getColumnNr() : -1;
+
+            if (e instanceof JsonMappingException) {
+                return new JsonError(JsonError.Kind.MAPPING, processing.getOriginalMessage(), line, column,
+                        path(((JsonMappingException) e).getPath()));
+            }
+            return new JsonError(JsonError.Kind.SYNTAX, processing.getOriginalMessage(), line, column, null);
+        }
+        if (e instanceof IOException) {
+            return JsonError.of(JsonError.Kind.IO, String.valueOf(e.getMessage()));
+        }
+        return JsonError.of(JsonError.Kind.OTHER, String.valueOf(e.getMessage()));
+    }
+
+    /**
+     * Dot path of Jackson's references ("items.1.qty"), or null for the root.
+     */
+    private static JsonPath path(List<JsonMappingException.Reference> references) {
+        if (references.isEmpty()) {
+            return null;
+        }
+        StringBuilder path = new StringBuilder();
+        for (JsonMappingException.Reference reference : references) {
+            if (path.length() > 0) {
+                path.append('.');
+            }
+            if (reference.getFieldName() != null) {
+                path.append(reference.getFieldName());
+            } else {
+                path.append(reference.getIndex());
+            }
+        }
+        return JsonPath.compile(path.toString());
+    }
+}
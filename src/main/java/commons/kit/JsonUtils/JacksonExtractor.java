@@ -0,0 +1,195 @@
+package commons.kit.JsonUtils;
+
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads the values at a set of paths from a Jackson token stream, in one pass.
+ *
+ * <p>The walk only descends into members and elements that some path still leads to; every
+ * other subtree is skipped token by token without being built. A value is materialized once a
+ * path ends at it (paths continuing below it are resolved in that tree). Each path is settled
+ * at the first value it matches, or as soon as it cannot match any more, and reading stops
+ * once every path is settled, so the rest of the document is neither read nor validated.</p>
+ *
+ * <p>With duplicate member names the first occurrence is used (a parsed tree keeps the last).</p>
+ *
+ * <p>Not thread-safe: create one per extraction.</p>
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+final class JacksonExtractor {
+
+    private final ObjectMapper mapper;
+    private final JsonParser parser;
+    private final JsonPath[] paths;
+    private final JsonNode[] values;
+    private final boolean[] settled;
+    private int pending;
+
+    private JacksonExtractor(ObjectMapper mapper, JsonParser parser, JsonPath[] paths) {
+        this.mapper = mapper;
+        this.parser = parser;
+        this.paths = paths;
+        this.values = new JsonNode[paths.length];
+        this.settled = new boolean[paths.length];
+        this.pending = paths.length;
+    }
+
+    /**
+     * Reads the values at 'paths' from the document 'parser' is about to read.
+     *
+     * @param mapper reads the values found
+     * @param parser positioned before the document
+     * @param paths the paths, none null
+     * @return each path found and its value, in the order of 'paths'
+     * @throws IOException if the document is malformed before every path is settled
+     */
+    static Map<JsonPath, JsonNodeWrapper> extract(ObjectMapper mapper, JsonParser parser, JsonPath[] paths)
+            throws IOException {
+        JacksonExtractor extractor = new JacksonExtractor(mapper, parser, paths);
+        if (paths.length > 0) {
+            if (parser.nextToken() == null) {
+                throw new IOException("No content to extract from");
+            }
+            int[] all = new int[paths.length];
+            for (int i = 0; i < all.length; i++) {
+                all[i] = i;
+            }
+            extractor.visit(all, all.length, 0);
+        }
+
+        Map<JsonPath, JsonNodeWrapper> result = new LinkedHashMap<>();
+        for (int i = 0; i < paths.length; i++) {
+            if (extractor.values[i] != null) {
+                result.put(paths[i], new JacksonNodeWrapper(extractor.values[i]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads the value at the parser's current token, which the first 'count' paths of 'active'
+     * (none settled) lead to after 'depth' segments. Settles them all before returning, unless
+     * every path is settled first.
+     */
+    private void visit(int[] active, int count, int depth) throws IOException {
+        for (int i = 0; i < count; i++) {
+            if (paths[active[i]].length() == depth) {
+                // A path ends here: read the value, and resolve the longer paths inside it
+                JsonNode value = mapper.readTree(parser);
+                for (int j = 0; j < count; j++) {
+                    settle(active[j], resolve(value, paths[active[j]], depth));
+                }
+                return;
+            }
+        }
+
+        JsonToken token = parser.currentToken();
+        if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY) {
+            settleAll(active, count);
+            return;
+        }
+
+        // Paths that need the other kind of container cannot match here
+        boolean object = token == JsonToken.START_OBJECT;
+        int live = 0;
+        for (int i = 0; i < count; i++) {
+            int path = active[i];
+            if (paths[path].isIndex(depth) == object) {
+                settle(path, null);
+            } else {
+                active[live++] = path;
+            }
+        }
+        count = live;
+
+        JsonToken end = object ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+        int[] next = new int[count];
+        for (int index = 0; ; index++) {
+            if (pending == 0) {
+                return;
+            }
+            if (count == 0) {
+                skipRest(end);
+                return;
+            }
+
+            token = parser.nextToken();
+            if (token == end || token == null) {
+                break;
+            }
+            String name = null;
+            if (object) {
+                name = parser.currentName();
+                parser.nextToken();
+            }
+
+            int matches = 0;
+            for (int i = 0; i < count; i++) {
+                JsonPath path = paths[active[i]];
+                if (object ? path.segment(depth).equals(name) : path.index(depth) == index) {
+                    next[matches++] = active[i];
+                }
+            }
+            if (matches == 0) {
+                parser.skipChildren();
+                continue;
+            }
+
+            visit(next, matches, depth + 1);
+            live = 0;
+            for (int i = 0; i < count; i++) {
+                if (!settled[active[i]]) {
+                    active[live++] = active[i];
+                }
+            }
+            count = live;
+        }
+
+        // The container ended without the remaining paths
+        settleAll(active, count);
+    }
+
+    /**
+     * Follows the rest of 'path' (from segment 'depth') inside a value read as a tree.
+     */
+    private static JsonNode resolve(JsonNode value, JsonPath path, int depth) {
+        JsonNode current = value;
+        for (int i = depth; i < path.length() && current != null; i++) {
+            if (path.isIndex(i)) {
+                current = current.isArray() ? current.get(path.index(i)) : null;
+            } else {
+                current = current.isObject() ? current.get(path.segment(i)) : null;
+            }
+        }
+        return current;
+    }
+
+    private void skipRest(JsonToken end) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != end && token != null) {
+            parser.skipChildren();
+        }
+    }
+
+    private void settle(int path, JsonNode value) {
+        values[path] = value;
+        settled[path] = true;
+        pending--;
+    }
+
+    private void settleAll(int[] active, int count) {
+        for (int i = 0; i < count; i++) {
+            settle(active[i], null);
+        }
+    }
+}
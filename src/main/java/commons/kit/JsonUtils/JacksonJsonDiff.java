@@ -0,0 +1,254 @@
+package commons.kit.JsonUtils;
+
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes an RFC 6902 patch turning one Jackson tree into another.
+ *
+ * <p>Subtrees are skipped when they are the same instance, or when their structural hashes
+ * (computed once per node and memoized) match and a deep comparison confirms it, so two
+ * versions sharing most of their structure cost little more than their differences.
+ * Objects are compared key by key. Arrays are trimmed of their common prefix and suffix,
+ * and the rest is aligned with an LCS table over equivalence-class ids, assigned once per
+ * element, so building the table costs no subtree comparisons; changed elements that line
+ * up are diffed recursively rather than removed and re-added. Above {@link #MAX_LCS_CELLS}
+ * cells the alignment is positional, which still yields a correct (if larger) patch.</p>
+ *
+ * <p>Not thread-safe: create one per diff.</p>
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+final class JacksonJsonDiff {
+
+    /**
+     * Largest LCS table (source length x target length, after trimming) built for one array.
+     */
+    static final int MAX_LCS_CELLS = 1 << 20;
+
+    private final JsonNodeFactory nodes;
+    private final ArrayNode operations;
+    private final Map<JsonNode, Integer> hashes = new IdentityHashMap<>();
+
+    private JacksonJsonDiff(JsonNodeFactory nodes) {
+        this.nodes = nodes;
+        this.operations = nodes.arrayNode();
+    }
+
+    /**
+     * Returns the operations (a JSON Patch array) that turn 'source' into 'target'.
+     *
+     * @param source the original tree
+     * @param target the new tree
+     * @param nodes factory for the operation nodes
+     * @return the operations, empty if the trees are equal
+     */
+    static ArrayNode diff(JsonNode source, JsonNode target, JsonNodeFactory nodes) {
+        JacksonJsonDiff diff = new JacksonJsonDiff(nodes);
+        diff.compare(source, target, "");
+        return diff.operations;
+    }
+
+    private void compare(JsonNode source, JsonNode target, String path) {
+        if (same(source, target)) {
+            return;
+        }
+
+        if (source.isObject() && target.isObject()) {
+            compareObjects(source, target, path);
+        } else if (source.isArray() && target.isArray()) {
+            compareArrays((ArrayNode) source, (ArrayNode) target, path);
+        } else {
+            operation("replace", path).set("value", target.deepCopy());
+        }
+    }
+
+    private void compareObjects(JsonNode source, JsonNode target, String path) {
+        for (Iterator<Map.Entry<String, JsonNode>> it = source.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = it.next();
+            JsonNode other = target.get(field.getKey());
+            String childPath = path + '/' + escape(field.getKey());
+            if (other == null) {
+                operation("remove", childPath);
+            } else {
+                compare(field.getValue(), other, childPath);
+            }
+        }
+
+        for (Iterator<Map.Entry<String, JsonNode>> it = target.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = it.next();
+            if (!source.has(field.getKey())) {
+                operation("add", path + '/' + escape(field.getKey())).set("value", field.getValue().deepCopy());
+            }
+        }
+    }
+
+    private void compareArrays(ArrayNode source, ArrayNode target, String path) {
+        int sourceEnd = source.size();
+        int targetEnd = target.size();
+
+        int start = 0;
+        while (start < sourceEnd && start < targetEnd && same(source.get(start), target.get(start))) {
+            start++;
+        }
+        while (sourceEnd > start && targetEnd > start && same(source.get(sourceEnd - 1), target.get(targetEnd - 1))) {
+            sourceEnd--;
+            targetEnd--;
+        }
+
+        int n = sourceEnd - start;
+        int m = targetEnd - start;
+        if (n == 0 || m == 0 || (long) (n + 1) * (m + 1) > MAX_LCS_CELLS) {
+            // Nothing to align (pure inserts or removals), or too large to align: pair by position
+            replaceRun(source, start, n, target, start, m, path, start);
+            return;
+        }
+
+        // Equal elements share an id, so the table and the walk compare ints, not subtrees
+        int[] sourceIds = new int[n];
+        int[] targetIds = new int[m];
+        Map<Integer, List<Integer>> classes = new HashMap<>();
+        List<JsonNode> representatives = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            sourceIds[i] = classOf(source.get(start + i), classes, representatives);
+        }
+        for (int j = 0; j < m; j++) {
+            targetIds[j] = classOf(target.get(start + j), classes, representatives);
+        }
+
+        // lcs[i * (m + 1) + j] = LCS length of source[start + i..] and target[start + j..]
+        int width = m + 1;
+        int[] lcs = new int[(n + 1) * width];
+        for (int i = n - 1; i >= 0; i--) {
+            for (int j = m - 1; j >= 0; j--) {
+                lcs[i * width + j] = sourceIds[i] == targetIds[j]
+                        ? lcs[(i + 1) * width + j + 1] + 1
+                        : Math.max(lcs[(i + 1) * width + j], lcs[i * width + j + 1]);
+            }
+        }
+
+        // Walk the alignment; runs of removed and inserted elements between kept ones are paired up
+        int index = start;
+        int i = 0;
+        int j = 0;
+        while (i < n || j < m) {
+            int runI = i;
+            int runJ = j;
+            while (i < n || j < m) {
+                if (i < n && j < m && sourceIds[i] == targetIds[j]) {
+                    break;
+                }
+                if (j >= m || (i < n && lcs[(i + 1) * width + j] >= lcs[i * width + j + 1])) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+
+            index = replaceRun(source, start + runI, i - runI, target, start + runJ, j - runJ, path, index);
+            if (i < n && j < m) {
+                i++;
+                j++;
+                index++;
+            }
+        }
+    }
+
+    /**
+     * Turns source[from, from + removed) into target[to, to + added) at the given position of
+     * the array being patched, and returns the position after the run.
+     */
+    private int replaceRun(ArrayNode source, int from, int removed, ArrayNode target, int to, int added,
+                           String path, int index) {
+        int paired = Math.min(removed, added);
+        for (int k = 0; k < paired; k++) {
+            compare(source.get(from + k), target.get(to + k), path + '/' + index);
+            index++;
+        }
+        for (int k = paired; k < removed; k++) {
+            operation("remove", path + '/' + index);
+        }
+        for (int k = paired; k < added; k++) {
+            operation("add", path + '/' + index).set("value", target.get(to + k).deepCopy());
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the id of the equivalence class of 'node': the index in 'representatives' of a
+     * node equal to it, found among the classes with the same hash, or of 'node' itself if
+     * there is none yet.
+     */
+    private int classOf(JsonNode node, Map<Integer, List<Integer>> classes, List<JsonNode> representatives) {
+        List<Integer> bucket = classes.computeIfAbsent(hash(node), h -> new ArrayList<>(1));
+        for (int id : bucket) {
+            if (same(representatives.get(id), node)) {
+                return id;
+            }
+        }
+        int id = representatives.size();
+        representatives.add(node);
+        bucket.add(id);
+        return id;
+    }
+
+    private boolean same(JsonNode a, JsonNode b) {
+        if (a == b) {
+            return true;
+        }
+        if (a.isContainerNode() != b.isContainerNode() || a.size() != b.size()) {
+            return false;
+        }
+        return hash(a) == hash(b) && a.equals(b);
+    }
+
+    private int hash(JsonNode node) {
+        if (!node.isContainerNode()) {
+            return node.hashCode();
+        }
+
+        Integer cached = hashes.get(node);
+        if (cached != null) {
+            return cached;
+        }
+
+        int hash;
+        if (node.isObject()) {
+            hash = 1;
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = it.next();
+                hash += field.getKey().hashCode() ^ hash(field.getValue()); // Key order does not matter
+            }
+        } else {
+            hash = 2;
+            for (JsonNode element : node) {
+                hash = 31 * hash + hash(element);
+            }
+        }
+        hashes.put(node, hash);
+        return hash;
+    }
+
+    private ObjectNode operation(String op, String path) {
+        ObjectNode operation = operations.addObject();
+        operation.put("op", op);
+        operation.put("path", path);
+        return operation;
+    }
+
+    private static String escape(String key) {
+        return key.indexOf('~') < 0 && key.indexOf('/') < 0 ? key : key.replace("~", "~0").replace("/", "~1");
+    }
+}
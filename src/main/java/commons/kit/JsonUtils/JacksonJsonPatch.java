@@ -0,0 +1,472 @@
+package commons.kit.JsonUtils;
+
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ContainerNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import commons.kit.ErrorUtils.Result;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Compiled RFC 6902 JSON Patch over Jackson trees.
+ *
+ * <p>Compiling decodes every JSON Pointer once and records, for each operation, how many
+ * leading segments its path shares with the previous operation's path. While applying,
+ * the containers resolved for one operation are kept, so a run of operations under the
+ * same parent walks the tree once instead of once per operation. Operations are still
+ * applied strictly in order.</p>
+ *
+ * <p>Applying works copy-on-write: each container on a modified path is copied (shallowly)
+ * the first time it is touched, and everything else is shared with the input, which is
+ * never modified. Evaluation continues past a failed operation so the error lists all of
+ * them; later failures may be a consequence of earlier ones.</p>
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+final class JacksonJsonPatch implements JsonPatch {
+
+    private enum Kind { ADD, REMOVE, REPLACE, MOVE, COPY, TEST }
+
+    private static final class Operation {
+        final Kind kind;
+        final String[] path;
+        final String[] from;
+        final JsonNode value;
+        final String[] previous;
+        final int shared;
+        final String label;
+
+        Operation(Kind kind, String[] path, String[] from, JsonNode value,
+                  String[] previous, int shared, String label) {
+            this.kind = kind;
+            this.path = path;
+            this.from = from;
+            this.value = value;
+            this.previous = previous;
+            this.shared = shared;
+            this.label = label;
+        }
+    }
+
+    // RFC 6902 "test": numbers are equal when their values are, whatever their representation
+    private static final Comparator<JsonNode> VALUES = (a, b) -> {
+        if (a.isNumber() && b.isNumber()) {
+            if (a.isBigDecimal() || b.isBigDecimal() || !(a.isFloatingPointNumber() || b.isFloatingPointNumber())) {
+                return a.decimalValue().compareTo(b.decimalValue());
+            }
+            return Double.compare(a.doubleValue(), b.doubleValue());
+        }
+        return a.equals(b) ? 0 : 1;
+    };
+
+    private final JsonNodeFactory nodes;
+    private final Function<Object, JsonNode> toTree;
+    private final Operation[] operations;
+    private final int maxDepth;
+
+    private JacksonJsonPatch(JsonNodeFactory nodes, Function<Object, JsonNode> toTree, Operation[] operations) {
+        this.nodes = nodes;
+        this.toTree = toTree;
+        this.operations = operations;
+
+        int depth = 0;
+        for (Operation operation : operations) {
+            depth = Math.max(depth, operation.path.length);
+        }
+        this.maxDepth = depth;
+    }
+
+    /**
+     * Validates and compiles an array of RFC 6902 operations.
+     *
+     * @param patch the operations array
+     * @param nodes factory for copied containers
+     * @param toTree converts documents passed to {@link #apply(Object)} into trees
+     * @param <E> the error type
+     * @return Result containing the patch, or an error listing every invalid operation
+     */
+    @SuppressWarnings("unchecked")
+    static <E> Result<E, JsonPatch> compile(JsonNode patch, JsonNodeFactory nodes, Function<Object, JsonNode> toTree) {
+        if (patch == null || !patch.isArray()) {
+            return Result.err((E) "Invalid JSON Patch: expected an array of operations");
+        }
+
+        List<String> errors = new ArrayList<>();
+        Operation[] operations = new Operation[patch.size()];
+        String[] previous = new String[0];
+
+        for (int i = 0; i < operations.length; i++) {
+            JsonNode node = patch.get(i);
+            String op = node.path("op").asText("");
+            String pathText = node.path("path").asText(null);
+            String label = "[" + i + "] " + op + " " + pathText;
+
+            Kind kind = kind(op);
+            String[] path = node.path("path").isTextual() ? pointer(pathText) : null;
+            String[] from = null;
+            if (kind == null) {
+                errors.add(label + ": unknown op");
+                continue;
+            }
+            if (path == null) {
+                errors.add(label + ": 'path' must be a JSON Pointer");
+                continue;
+            }
+            if ((kind == Kind.ADD || kind == Kind.REPLACE || kind == Kind.TEST) && !node.has("value")) {
+                errors.add(label + ": missing 'value'");
+                continue;
+            }
+            if (kind == Kind.MOVE || kind == Kind.COPY) {
+                from = node.path("from").isTextual() ? pointer(node.get("from").asText()) : null;
+                if (from == null) {
+                    errors.add(label + ": 'from' must be a JSON Pointer");
+                    continue;
+                }
+                if (kind == Kind.MOVE && from.length < path.length && startsWith(path, from)) {
+                    errors.add(label + ": cannot move a value into one of its children");
+                    continue;
+                }
+            }
+
+            JsonNode value = node.has("value") ? node.get("value").deepCopy() : null;
+            operations[i] = new Operation(kind, path, from, value, previous, commonPrefix(previous, path), label);
+            if (kind != Kind.TEST) {
+                previous = path; // Only operations that walk the tree for writing leave containers behind
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            return Result.err((E) ("Invalid JSON Patch: " + String.join("; ", errors)));
+        }
+        return Result.ok(new JacksonJsonPatch(nodes, toTree, operations));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, JsonNodeWrapper> apply(Object node) {
+        JsonNode document;
+        try {
+            document = node == null ? NullNode.getInstance() : toTree.apply(node);
+        } catch (Exception e) {
+            return Result.err((E) ("Patch failed: " + e.getMessage()));
+        }
+
+        Session session = new Session(document);
+        List<String> failures = new ArrayList<>();
+        for (Operation operation : operations) {
+            String failure;
+            try {
+                failure = session.run(operation);
+            } catch (Exception e) {
+                failure = e.getMessage();
+            }
+            if (failure != null) {
+                failures.add(operation.label + ": " + failure);
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            return Result.err((E) ("Patch failed: " + String.join("; ", failures)));
+        }
+        return Result.ok(new JacksonNodeWrapper(session.root));
+    }
+
+    @Override
+    public int size() {
+        return operations.length;
+    }
+
+    /**
+     * State of one application: the working root, the containers already copied, and the
+     * containers resolved along the last written path.
+     */
+    private final class Session {
+        JsonNode root;
+        final Set<JsonNode> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+        final JsonNode[] chain = new JsonNode[maxDepth + 1];
+        String[] chainPath = new String[0];
+        int chainValid;
+
+        Session(JsonNode document) {
+            root = document;
+        }
+
+        String run(Operation op) {
+            switch (op.kind) {
+                case ADD:
+                    return insert(op, op.value.deepCopy());
+                case REMOVE:
+                    return remove(op);
+                case REPLACE:
+                    return replace(op);
+                case MOVE:
+                    return move(op);
+                case COPY: {
+                    JsonNode value = find(op.from);
+                    return value == null ? "'from' path not found" : insert(op, value.deepCopy());
+                }
+                default: {
+                    JsonNode actual = find(op.path);
+                    if (actual == null) return "path not found";
+                    return actual.equals(VALUES, op.value) ? null : "value differs";
+                }
+            }
+        }
+
+        private String insert(Operation op, JsonNode value) {
+            if (op.path.length == 0) {
+                setRoot(value);
+                return null;
+            }
+
+            ContainerNode<?> parent = parent(op);
+            if (parent == null) return "path not found";
+
+            String last = op.path[op.path.length - 1];
+            if (parent.isObject()) {
+                ((ObjectNode) parent).set(last, value);
+                return null;
+            }
+
+            ArrayNode array = (ArrayNode) parent;
+            if ("-".equals(last)) {
+                array.add(value);
+                return null;
+            }
+            int index = index(last);
+            if (index < 0 || index > array.size()) return "index out of bounds";
+            array.insert(index, value);
+            return null;
+        }
+
+        private String remove(Operation op) {
+            if (op.path.length == 0) return "cannot remove the document root";
+
+            ContainerNode<?> parent = parent(op);
+            if (parent == null) return "path not found";
+            return detach(parent, op.path[op.path.length - 1]) == null ? "path not found" : null;
+        }
+
+        private String replace(Operation op) {
+            if (op.path.length == 0) {
+                setRoot(op.value.deepCopy());
+                return null;
+            }
+
+            ContainerNode<?> parent = parent(op);
+            String last = op.path[op.path.length - 1];
+            if (parent == null || child(parent, last) == null) return "path not found";
+
+            JsonNode value = op.value.deepCopy();
+            if (parent.isObject()) {
+                ((ObjectNode) parent).set(last, value);
+            } else {
+                ((ArrayNode) parent).set(index(last), value);
+            }
+            return null;
+        }
+
+        private String move(Operation op) {
+            if (find(op.from) == null) return "'from' path not found";
+            if (op.from.length == op.path.length && startsWith(op.path, op.from)) {
+                return null; // Moving a value onto itself
+            }
+            if (op.from.length == 0) {
+                return "cannot move the document root";
+            }
+
+            ContainerNode<?> source = walk(op.from);
+            JsonNode value = source == null ? null : detach(source, op.from[op.from.length - 1]);
+            if (value == null) return "'from' path not found";
+
+            // The removal shifted or dropped whatever the chain held below the source container
+            if (commonPrefix(chainPath, op.from) >= op.from.length - 1) {
+                chainValid = Math.min(chainValid, op.from.length);
+            }
+            return insert(op, value);
+        }
+
+        private void setRoot(JsonNode value) {
+            root = value;
+            chainValid = 0;
+        }
+
+        /**
+         * Resolves (and takes ownership of) the parent container of a path, reusing the
+         * containers resolved for the previous written path up to their shared prefix.
+         */
+        private ContainerNode<?> parent(Operation op) {
+            String[] path = op.path;
+            // Precomputed unless an earlier operation failed before resolving its own path
+            int shared = chainPath == op.previous ? op.shared : commonPrefix(chainPath, path);
+            int target = path.length - 1;
+            if (chainValid == 0) {
+                if (!root.isContainerNode()) return null;
+                if (!owned.contains(root)) root = own(root);
+                chain[0] = root;
+                chainValid = 1;
+            }
+
+            int depth = Math.min(Math.min(shared, chainValid - 1), target);
+            chainPath = path;
+            JsonNode node = chain[depth];
+            for (int d = depth; d < target; d++) {
+                JsonNode child = ownedChild(node, path[d]);
+                if (child == null) {
+                    chainValid = d + 1;
+                    return null;
+                }
+                chain[d + 1] = child;
+                node = child;
+            }
+            chainValid = target + 1;
+            return (ContainerNode<?>) node;
+        }
+
+        /**
+         * Resolves (and takes ownership of) the parent container of a path from the root,
+         * leaving the chain alone.
+         */
+        private ContainerNode<?> walk(String[] path) {
+            if (!root.isContainerNode()) return null;
+            if (!owned.contains(root)) {
+                root = own(root);
+                chainValid = 0;
+            }
+
+            JsonNode node = root;
+            for (int d = 0; d < path.length - 1 && node != null; d++) {
+                node = ownedChild(node, path[d]);
+            }
+            return (ContainerNode<?>) node;
+        }
+
+        private JsonNode ownedChild(JsonNode parent, String segment) {
+            JsonNode child = child(parent, segment);
+            if (child == null || !child.isContainerNode()) return null;
+            if (owned.contains(child)) return child;
+
+            JsonNode copy = own(child);
+            if (parent.isObject()) {
+                ((ObjectNode) parent).set(segment, copy);
+            } else {
+                ((ArrayNode) parent).set(index(segment), copy);
+            }
+            return copy;
+        }
+
+        private JsonNode own(JsonNode container) {
+            JsonNode copy = container.isObject()
+                    ? nodes.objectNode().setAll((ObjectNode) container)
+                    : nodes.arrayNode().addAll((ArrayNode) container);
+            owned.add(copy);
+            return copy;
+        }
+
+        private JsonNode find(String[] path) {
+            JsonNode node = root;
+            for (int d = 0; d < path.length && node != null; d++) {
+                node = child(node, path[d]);
+            }
+            return node;
+        }
+    }
+
+    private static JsonNode detach(ContainerNode<?> parent, String segment) {
+        if (parent.isObject()) {
+            return ((ObjectNode) parent).remove(segment);
+        }
+        int index = index(segment);
+        return index < 0 || index >= parent.size() ? null : ((ArrayNode) parent).remove(index);
+    }
+
+    private static JsonNode child(JsonNode parent, String segment) {
+        if (parent.isObject()) {
+            return parent.get(segment);
+        }
+        if (parent.isArray()) {
+            int index = index(segment);
+            return index < 0 || index >= parent.size() ? null : parent.get(index);
+        }
+        return null;
+    }
+
+    /**
+     * Parses an RFC 6901 array index ("0", "17"; no sign or leading zeros), or returns -1.
+     */
+    private static int index(String segment) {
+        int length = segment.length();
+        if (length == 0 || length > 9 || (length > 1 && segment.charAt(0) == '0')) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < length; i++) {
+            char c = segment.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Decodes an RFC 6901 JSON Pointer into unescaped segments, or returns null if invalid.
+     */
+    static String[] pointer(String text) {
+        if (text == null) return null;
+        if (text.isEmpty()) return new String[0];
+        if (text.charAt(0) != '/') return null;
+
+        String[] segments = text.substring(1).split("/", -1);
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            int tilde = segment.indexOf('~');
+            if (tilde < 0) continue;
+
+            StringBuilder decoded = new StringBuilder(segment.length());
+            for (int j = 0; j < segment.length(); j++) {
+                char c = segment.charAt(j);
+                if (c != '~') {
+                    decoded.append(c);
+                } else if (j + 1 < segment.length() && (segment.charAt(j + 1) == '0' || segment.charAt(j + 1) == '1')) {
+                    decoded.append(segment.charAt(++j) == '0' ? '~' : '/');
+                } else {
+                    return null;
+                }
+            }
+            segments[i] = decoded.toString();
+        }
+        return segments;
+    }
+
+    private static Kind kind(String op) {
+        switch (op) {
+            case "add": case "remove": case "replace": case "move": case "copy": case "test":
+                return Kind.valueOf(op.toUpperCase(Locale.ROOT));
+            default:
+                return null;
+        }
+    }
+
+    private static int commonPrefix(String[] a, String[] b) {
+        int n = Math.min(a.length, b.length);
+        int i = 0;
+        while (i < n && a[i].equals(b[i])) i++;
+        return i;
+    }
+
+    private static boolean startsWith(String[] path, String[] prefix) {
+        return commonPrefix(path, prefix) == prefix.length;
+    }
+}
@@ -2,18 +2,43 @@ package commons.kit.JsonUtils;
 
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedOutputStream;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import commons.kit.ErrorUtils.Empty;
 import commons.kit.ErrorUtils.Result;
-
+import commons.kit.MathUtils.Decimal64;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Spliterator;
-import java.util.Spliterators;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -36,13 +61,26 @@ import java.util.stream.StreamSupport;
  */
 public class JacksonJsonProvider implements JsonProvider {
 
+    /**
+     * Maximum number of pre-bound codecs kept per provider.
+     */
+    public static final int CODEC_CACHE_SIZE = 512;
+
     private final ObjectMapper mapper;
+    private final Map<JsonFormat, ObjectWriter> writers;
+    /**
+     * Codecs per target type, bounded like the JsonPath cache rather than held forever: the
+     * provider is usually process-wide, and strong references to every Class ever bound would
+     * pin the class loaders of redeployed webapps and plugins. Types in regular use stay cached.
+     */
+    private final BoundedCache<Type, JacksonCodec<?>> codecs = new BoundedCache<>(CODEC_CACHE_SIZE);
 
     /**
      * Creates a new JacksonJsonProvider with default configuration.
      */
     public JacksonJsonProvider() {
         this.mapper = createDefaultMapper();
+        this.writers = createWriters(mapper);
     }
 
     /**
@@ -52,6 +90,7 @@ public class JacksonJsonProvider implements JsonProvider {
      */
     public JacksonJsonProvider(ObjectMapper customMapper) {
         this.mapper = customMapper != null ? customMapper : createDefaultMapper();
+        this.writers = createWriters(mapper);
     }
 
     /**
@@ -78,11 +117,32 @@ public class JacksonJsonProvider implements JsonProvider {
         return mapper;
     }
 
+    /**
+     * Pre-builds one ObjectWriter per serialization profile so picking a profile costs nothing per call.
+     */
+    private static Map<JsonFormat, ObjectWriter> createWriters(ObjectMapper mapper) {
+        // Caller-supplied streams stay open: the caller owns them
+        ObjectWriter base = mapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        Map<JsonFormat, ObjectWriter> writers = new EnumMap<>(JsonFormat.class);
+        writers.put(JsonFormat.COMPACT, base.without(SerializationFeature.INDENT_OUTPUT));
+        writers.put(JsonFormat.PRETTY, base.with(SerializationFeature.INDENT_OUTPUT));
+
+        // Property order is fixed when serializers are built, so sorting POJO properties needs its own mapper
+        ObjectMapper sorted = mapper.copy();
+        sorted.setConfig(sorted.getSerializationConfig().with(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY));
+        writers.put(JsonFormat.CANONICAL, sorted.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                .without(SerializationFeature.INDENT_OUTPUT));
+        return writers;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <E> Result<E, String> toJson(Object value) {
         try {
-            String json = mapper.writeValueAsString(value);
+            String json = mapper.writeValueAsString(prepare(value, JsonFormat.PRETTY));
             return Result.ok(json);
         } catch (Exception e) {
             return Result.err((E) ("JSON serialization failed: " + e.getMessage()));
@@ -91,32 +151,156 @@ public class JacksonJsonProvider implements JsonProvider {
 
     @Override
     @SuppressWarnings("unchecked")
-    public <E, T> Result<E, T> fromJson(String json, Class<T> clazz) {
-        if (json == null || json.trim().isEmpty()) {
-            return Result.err((E) "JSON string is null or empty");
+    public <E> Result<E, String> toJson(Object value, JsonFormat format) {
+        if (format == null) {
+            return Result.err((E) "Format cannot be null");
         }
 
         try {
-            T result = mapper.readValue(json, clazz);
-            return Result.ok(result);
+            return Result.ok(writers.get(format).writeValueAsString(prepare(value, format)));
         } catch (Exception e) {
-            return Result.err((E) ("JSON deserialization failed: " + e.getMessage()));
+            return Result.err((E) ("JSON serialization failed: " + e.getMessage()));
         }
     }
 
     @Override
     @SuppressWarnings("unchecked")
-    public <E, T> Result<E, T> convert(Object from, Class<T> to) {
-        if (from == null) {
-            return Result.err((E) "Source object is null");
+    public <E> Result<E, byte[]> toJsonBytes(Object value) {
+        try {
+            return Result.ok(mapper.writeValueAsBytes(prepare(value, JsonFormat.PRETTY)));
+        } catch (Exception e) {
+            return Result.err((E) ("JSON serialization failed: " + e.getMessage()));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, byte[]> toJsonBytes(Object value, JsonFormat format) {
+        if (format == null) {
+            return Result.err((E) "Format cannot be null");
         }
 
         try {
-            T result = mapper.convertValue(from, to);
-            return Result.ok(result);
+            return Result.ok(writers.get(format).writeValueAsBytes(prepare(value, format)));
         } catch (Exception e) {
-            return Result.err((E) ("Type conversion failed: " + e.getMessage()));
+            return Result.err((E) ("JSON serialization failed: " + e.getMessage()));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, Integer> toJsonBuffer(Object value, ByteBuffer target, JsonFormat format) {
+        if (target == null || format == null) {
+            return Result.err((E) "Target buffer or format is null");
+        }
+
+        int start = target.position();
+        try {
+            // Jackson encodes into its recycled buffer and copies straight into the target
+            writers.get(format).writeValue(new ByteBufferBackedOutputStream(target), prepare(value, format));
+            return Result.ok(target.position() - start);
+        } catch (Exception e) {
+            target.position(start);
+            if (e instanceof BufferOverflowException) {
+                return Result.err((E) ("JSON serialization failed: buffer too small ("
+                        + (target.limit() - start) + " bytes remaining)"));
+            }
+            return Result.err((E) ("JSON serialization failed: " + e.getMessage()));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, Empty> writeJson(Object value, OutputStream output, JsonFormat format) {
+        if (output == null || format == null) {
+            return Result.err((E) "Output stream or format is null");
+        }
+
+        try {
+            writers.get(format).writeValue(output, prepare(value, format));
+            return Result.ok(Empty.INSTANCE);
+        } catch (Exception e) {
+            return Result.err((E) ("JSON serialization failed: " + e.getMessage()));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E, T> Result<E, T> fromJson(String json, Class<T> clazz) {
+        if (clazz == null) {
+            return Result.err((E) "Target class cannot be null");
+        }
+        return this.<T>codecFor(clazz).fromJson(json);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E, T> Result<E, T> fromJson(String json, TypeRef<T> type) {
+        if (type == null) {
+            return Result.err((E) "Target type cannot be null");
+        }
+        return this.<T>codecFor(type.getType()).fromJson(json);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E, T> Result<E, T> fromJsonBytes(byte[] json, Class<T> clazz) {
+        if (clazz == null) {
+            return Result.err((E) "Target class cannot be null");
+        }
+        return this.<T>codecFor(clazz).fromJsonBytes(json);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E, T> Result<E, T> fromJsonBuffer(ByteBuffer json, Class<T> clazz) {
+        if (clazz == null) {
+            return Result.err((E) "Target class cannot be null");
+        }
+        return this.<T>codecFor(clazz).fromJsonBuffer(json);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E, T> Result<E, T> readJson(InputStream input, Class<T> clazz) {
+        if (clazz == null) {
+            return Result.err((E) "Target class cannot be null");
         }
+        return this.<T>codecFor(clazz).readJson(input);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E, T> Result<E, T> convert(Object from, Class<T> to) {
+        if (to == null) {
+            return Result.err((E) "Target class cannot be null");
+        }
+        return this.<T>codecFor(to).convert(from);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E, T> Result<E, T> convert(Object from, TypeRef<T> to) {
+        if (to == null) {
+            return Result.err((E) "Target type cannot be null");
+        }
+        return this.<T>codecFor(to.getType()).convert(from);
+    }
+
+    @Override
+    public <T> JsonCodec<T> codec(Class<T> clazz) {
+        if (clazz == null) {
+            throw new IllegalArgumentException("Class cannot be null");
+        }
+        return codecFor(clazz);
+    }
+
+    @Override
+    public <T> JsonCodec<T> codec(TypeRef<T> type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Type cannot be null");
+        }
+        return codecFor(type.getType());
     }
 
     @Override
@@ -146,72 +330,229 @@ public class JacksonJsonProvider implements JsonProvider {
     }
 
     @Override
-    public Optional<String> getString(Object node, String path) {
-        if (node == null || path == null) {
-            return Optional.empty();
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, JsonNodeWrapper> parseNodeBytes(byte[] json) {
+        if (json == null || json.length == 0) {
+            return Result.err((E) "JSON bytes are null or empty");
         }
 
         try {
-            JsonNode jsonNode = toJsonNode(node);
-            JsonNode current = jsonNode;
+            JsonNode node = mapper.readTree(json);
+            if (node == null || node.isMissingNode()) {
+                return Result.err((E) "JSON input is empty");
+            }
+            return Result.ok(new JacksonNodeWrapper(node));
+        } catch (Exception e) {
+            return Result.err((E) ("JSON parsing failed: " + e.getMessage()));
+        }
+    }
 
-            // Navigate through path segments
-            String[] segments = path.split("\\.");
-            for (String segment : segments) {
-                if (current == null || current.isNull()) {
-                    return Optional.empty();
-                }
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, JsonNodeWrapper> readNode(InputStream input) {
+        if (input == null) {
+            return Result.err((E) "Input stream is null");
+        }
 
-                // Handle array indices
-                if (segment.matches("\\d+")) {
-                    int index = Integer.parseInt(segment);
-                    if (current.isArray() && index < current.size()) {
-                        current = current.get(index);
-                    } else {
-                        return Optional.empty();
-                    }
-                } else {
-                    current = current.get(segment);
-                }
+        try {
+            JsonNode node = mapper.reader().without(JsonParser.Feature.AUTO_CLOSE_SOURCE).readTree(input);
+            if (node == null || node.isMissingNode()) {
+                return Result.err((E) "JSON input is empty");
             }
+            return Result.ok(new JacksonNodeWrapper(node));
+        } catch (Exception e) {
+            return Result.err((E) ("JSON parsing failed: " + e.getMessage()));
+        }
+    }
+
+    @Override
+    public Result<JsonError, JsonNodeWrapper> decodeNode(String json) {
+        if (json == null || json.trim().isEmpty()) {
+            return Result.err(JacksonErrors.EMPTY_STRING);
+        }
+
+        try {
+            return Result.ok(new JacksonNodeWrapper(mapper.readTree(json)));
+        } catch (Exception e) {
+            return Result.err(JacksonErrors.from(e));
+        }
+    }
 
-            if (current != null && !current.isNull()) {
-                return Optional.of(current.asText());
+    @Override
+    public Result<JsonError, JsonNodeWrapper> decodeNodeBytes(byte[] json) {
+        if (json == null || json.length == 0) {
+            return Result.err(JacksonErrors.EMPTY_BYTES);
+        }
+
+        try {
+            JsonNode node = mapper.readTree(json);
+            if (node == null || node.isMissingNode()) {
+                return Result.err(JacksonErrors.EMPTY_BYTES); // Whitespace only
             }
+            return Result.ok(new JacksonNodeWrapper(node));
         } catch (Exception e) {
-            // Silently fail - return empty optional
+            return Result.err(JacksonErrors.from(e));
+        }
+    }
+
+    @Override
+    public Optional<String> getString(Object node, String path) {
+        if (node == null || path == null) {
+            return Optional.empty();
         }
+        return getString(node, JsonPath.of(path));
+    }
+
+    @Override
+    public Optional<String> getString(Object node, JsonPath path) {
+        JsonNode value = valueAt(node, path);
+        return value != null ? Optional.of(value.asText()) : Optional.empty();
+    }
+
+    @Override
+    public OptionalLong getLong(Object node, JsonPath path) {
+        JsonNode value = valueAt(node, path);
+        if (value == null || value.isTextual()) {
+            return JsonScalars.longValue(value != null ? value.textValue() : null);
+        }
+        return isLong(value) ? OptionalLong.of(value.longValue()) : OptionalLong.empty();
+    }
+
+    @Override
+    public long getLong(Object node, JsonPath path, long absent) {
+        JsonNode value = valueAt(node, path);
+        if (value != null && value.isTextual()) {
+            return JsonScalars.longValue(value.textValue()).orElse(absent);
+        }
+        return value != null && isLong(value) ? value.longValue() : absent;
+    }
 
-        return Optional.empty();
+    @Override
+    public OptionalInt getInt(Object node, JsonPath path) {
+        JsonNode value = valueAt(node, path);
+        if (value == null || value.isTextual()) {
+            return JsonScalars.intValue(value != null ? value.textValue() : null);
+        }
+        return isLong(value) && value.canConvertToInt() ? OptionalInt.of(value.intValue()) : OptionalInt.empty();
+    }
+
+    @Override
+    public int getInt(Object node, JsonPath path, int absent) {
+        JsonNode value = valueAt(node, path);
+        if (value != null && value.isTextual()) {
+            return JsonScalars.intValue(value.textValue()).orElse(absent);
+        }
+        return value != null && isLong(value) && value.canConvertToInt() ? value.intValue() : absent;
+    }
+
+    @Override
+    public OptionalDouble getDouble(Object node, JsonPath path) {
+        JsonNode value = valueAt(node, path);
+        if (value == null || value.isTextual()) {
+            return JsonScalars.doubleValue(value != null ? value.textValue() : null);
+        }
+        return isFiniteDouble(value) ? OptionalDouble.of(value.doubleValue()) : OptionalDouble.empty();
+    }
+
+    @Override
+    public double getDouble(Object node, JsonPath path, double absent) {
+        JsonNode value = valueAt(node, path);
+        if (value != null && value.isTextual()) {
+            return JsonScalars.doubleValue(value.textValue()).orElse(absent);
+        }
+        return value != null && isFiniteDouble(value) ? value.doubleValue() : absent;
+    }
+
+    @Override
+    public Optional<Boolean> getBoolean(Object node, JsonPath path) {
+        JsonNode value = valueAt(node, path);
+        if (value == null || value.isTextual()) {
+            return JsonScalars.booleanValue(value != null ? value.textValue() : null);
+        }
+        return value.isBoolean() ? Optional.of(value.booleanValue()) : Optional.empty();
+    }
+
+    @Override
+    public Optional<BigDecimal> getBigDecimal(Object node, JsonPath path) {
+        JsonNode value = valueAt(node, path);
+        if (value == null || value.isTextual()) {
+            return JsonScalars.decimal(value != null ? value.textValue() : null);
+        }
+        return isFinite(value) ? Optional.of(value.decimalValue()) : Optional.empty();
+    }
+
+    @Override
+    public boolean getDecimal(Object node, JsonPath path, Decimal64 into) {
+        JsonNode value = valueAt(node, path);
+        if (value == null || (value.isNumber() && !isFinite(value))) {
+            return false;
+        }
+
+        // Longs and doubles are stored without boxing; only big numbers and text go through BigDecimal
+        try {
+            if (value.isIntegralNumber() && value.canConvertToLong()) {
+                into.set(value.longValue());
+            } else if (value.isDouble()) {
+                into.set(value.doubleValue());
+            } else if (value.isNumber()) {
+                into.set(value.decimalValue());
+            } else if (value.isTextual()) {
+                Optional<BigDecimal> parsed = JsonScalars.decimal(value.textValue());
+                if (parsed.isEmpty()) {
+                    return false;
+                }
+                into.set(parsed.get());
+            } else {
+                return false;
+            }
+        } catch (ArithmeticException e) {
+            return false; // Does not fit at the holder's scale; set() leaves the holder unchanged
+        }
+        return true;
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <E> Result<E, JsonNodeWrapper> updatePath(Object node, String path, Object value) {
+        if (path == null) {
+            return Result.err((E) "Path cannot be null");
+        }
+        return updatePath(node, JsonPath.of(path), value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, JsonNodeWrapper> updatePath(Object node, JsonPath path, Object value) {
+        if (path == null) {
+            return Result.err((E) "Path cannot be null");
+        }
+
         try {
             JsonNode jsonNode = toJsonNode(node);
             JsonNode valueNode = mapper.valueToTree(value);
 
-            String[] segments = path.split("\\.");
+            if (path.length() == 0) {
+                return Result.err((E) "Path has no segments");
+            }
+
             JsonNode current = jsonNode;
+            int last = path.length() - 1;
 
             // Navigate to parent, creating nodes as needed
-            for (int i = 0; i < segments.length - 1; i++) {
-                String segment = segments[i];
-
-                if (segment.matches("\\d+")) {
+            for (int i = 0; i < last; i++) {
+                if (path.isIndex(i)) {
                     // Array index
-                    int index = Integer.parseInt(segment);
                     if (!current.isArray()) {
                         return Result.err((E) "Cannot index non-array node");
                     }
-                    current = current.get(index);
+                    current = current.get(path.index(i));
                 } else {
                     // Object key
                     if (!current.isObject()) {
                         return Result.err((E) "Cannot access property on non-object node");
                     }
 
+                    String segment = path.segment(i);
                     ObjectNode objNode = (ObjectNode) current;
                     if (!objNode.has(segment)) {
                         objNode.set(segment, mapper.createObjectNode());
@@ -221,9 +562,8 @@ public class JacksonJsonProvider implements JsonProvider {
             }
 
             // Set the value at the final segment
-            String lastSegment = segments[segments.length - 1];
             if (current.isObject()) {
-                ((ObjectNode) current).set(lastSegment, valueNode);
+                ((ObjectNode) current).set(path.segment(last), valueNode);
             } else {
                 return Result.err((E) "Cannot set property on non-object node");
             }
@@ -237,21 +577,104 @@ public class JacksonJsonProvider implements JsonProvider {
     @Override
     @SuppressWarnings("unchecked")
     public <E> Result<E, JsonNodeWrapper> merge(Object main, Object update) {
+        return merge(main, update, MergeMode.COPY);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, JsonNodeWrapper> merge(Object main, Object update, MergeMode mode) {
+        if (mode == null) {
+            return Result.err((E) "Merge mode cannot be null");
+        }
+
         try {
             JsonNode mainNode = toJsonNode(main);
             JsonNode updateNode = toJsonNode(update);
 
-            JsonNode merged = deepMerge(mainNode, updateNode);
-            return Result.ok(new JacksonNodeWrapper(merged));
+            if (!mainNode.isObject() || !updateNode.isObject()) {
+                return Result.ok(new JacksonNodeWrapper(updateNode)); // Replace non-objects
+            }
+
+            ObjectNode target;
+            if (mode == MergeMode.COPY) {
+                target = (ObjectNode) mainNode.deepCopy();
+            } else if (mode == MergeMode.SHARED) {
+                target = shallowCopy((ObjectNode) mainNode);
+            } else {
+                target = (ObjectNode) mainNode;
+            }
+
+            mergeInto(target, (ObjectNode) updateNode, mode == MergeMode.SHARED);
+            return Result.ok(new JacksonNodeWrapper(target));
         } catch (Exception e) {
             return Result.err((E) ("Merge failed: " + e.getMessage()));
         }
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, JsonPatch> compilePatch(Object operations) {
+        if (operations == null) {
+            return Result.err((E) "Patch cannot be null");
+        }
+
+        try {
+            return JacksonJsonPatch.compile(patchNode(operations), mapper.getNodeFactory(), this::toJsonNode);
+        } catch (Exception e) {
+            return Result.err((E) ("Invalid JSON Patch: " + e.getMessage()));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, JsonPatch> compileMergePatch(Object patch) {
+        if (patch == null) {
+            return Result.err((E) "Patch cannot be null");
+        }
+
+        try {
+            return Result.ok(new JacksonMergePatch(patchNode(patch), mapper.getNodeFactory(), this::toJsonNode));
+        } catch (Exception e) {
+            return Result.err((E) ("Invalid JSON Merge Patch: " + e.getMessage()));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, JsonSchema> compileSchema(Object schema) {
+        if (schema == null) {
+            return Result.err((E) "Schema cannot be null");
+        }
+
+        try {
+            return JacksonJsonSchema.compile(patchNode(schema), mapper, this::toJsonNode);
+        } catch (Exception e) {
+            return Result.err((E) ("Invalid JSON Schema: " + e.getMessage()));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, JsonNodeWrapper> diff(Object source, Object target) {
+        try {
+            JsonNode from = source == null ? NullNode.getInstance() : toJsonNode(source);
+            JsonNode to = target == null ? NullNode.getInstance() : toJsonNode(target);
+            return Result.ok(new JacksonNodeWrapper(JacksonJsonDiff.diff(from, to, mapper.getNodeFactory())));
+        } catch (Exception e) {
+            return Result.err((E) ("Diff failed: " + e.getMessage()));
+        }
+    }
+
     @Override
     public JsonNodeWrapper prune(Object node) {
+        return prune(node, PruneOptions.DEFAULTS);
+    }
+
+    @Override
+    public JsonNodeWrapper prune(Object node, PruneOptions options) {
         JsonNode jsonNode = toJsonNode(node);
-        JsonNode pruned = pruneNode(jsonNode);
+        JsonNode pruned = JacksonPruner.prune(jsonNode, options != null ? options : PruneOptions.DEFAULTS,
+                mapper.getNodeFactory());
         return new JacksonNodeWrapper(pruned);
     }
 
@@ -263,171 +686,247 @@ public class JacksonJsonProvider implements JsonProvider {
             return Stream.empty();
         }
 
-        return StreamSupport.stream(
-                Spliterators.spliteratorUnknownSize(
-                        jsonNode.elements(),
-                        Spliterator.ORDERED
-                ),
-                false
-        ).map(JacksonNodeWrapper::new);
+        return StreamSupport.stream(new JacksonNodeSpliterator(jsonNode), false);
     }
 
-    // ========== Helper Methods ==========
+    @Override
+    public Stream<JsonNodeWrapper> parallelStream(Object arrayNode) {
+        JsonNode jsonNode = toJsonNode(arrayNode);
 
-    private JsonNode toJsonNode(Object obj) {
-        if (obj instanceof JacksonNodeWrapper) {
-            return ((JacksonNodeWrapper) obj).unwrap();
-        }
-        if (obj instanceof JsonNode) {
-            return (JsonNode) obj;
+        if (!jsonNode.isArray()) {
+            return Stream.empty();
         }
-        return mapper.valueToTree(obj);
+
+        return StreamSupport.stream(new JacksonNodeSpliterator(jsonNode), true);
     }
 
-    private JsonNode deepMerge(JsonNode main, JsonNode update) {
-        if (!main.isObject() || !update.isObject()) {
-            return update; // Replace non-objects
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, Map<JsonPath, JsonNodeWrapper>> extract(String json, JsonPath... paths) {
+        if (json == null || json.trim().isEmpty()) {
+            return Result.err((E) "JSON string is null or empty");
         }
+        return extractFrom(() -> mapper.getFactory().createParser(json), paths);
+    }
 
-        ObjectNode result = ((ObjectNode) main).deepCopy();
-
-        update.fields().forEachRemaining(entry -> {
-            String key = entry.getKey();
-            JsonNode updateValue = entry.getValue();
-
-            if (result.has(key) && result.get(key).isObject() && updateValue.isObject()) {
-                // Recursively merge objects
-                result.set(key, deepMerge(result.get(key), updateValue));
-            } else {
-                // Replace value
-                result.set(key, updateValue);
-            }
-        });
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, Map<JsonPath, JsonNodeWrapper>> extract(byte[] json, JsonPath... paths) {
+        if (json == null || json.length == 0) {
+            return Result.err((E) "JSON bytes are null or empty");
+        }
+        return extractFrom(() -> mapper.getFactory().createParser(json), paths);
+    }
 
-        return result;
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, Map<JsonPath, JsonNodeWrapper>> extract(InputStream input, JsonPath... paths) {
+        if (input == null) {
+            return Result.err((E) "Input stream is null");
+        }
+        return extractFrom(() -> mapper.getFactory().createParser(input).disable(JsonParser.Feature.AUTO_CLOSE_SOURCE),
+                paths);
     }
 
-    private JsonNode pruneNode(JsonNode node) {
-        if (node.isObject()) {
-            ObjectNode obj = (ObjectNode) node;
-            ObjectNode result = mapper.createObjectNode();
+    @Override
+    public <E> Stream<Result<E, JsonNodeWrapper>> streamArray(Reader reader) {
+        return arrayStream(() -> mapper.getFactory().createParser(reader), reader, this::readElementNode);
+    }
 
-            obj.fields().forEachRemaining(entry -> {
-                JsonNode value = entry.getValue();
+    @Override
+    public <E, T> Stream<Result<E, T>> streamArray(Reader reader, Class<T> clazz) {
+        ObjectReader elementReader = codecFor(clazz).reader();
+        return arrayStream(() -> mapper.getFactory().createParser(reader), reader, elementReader::readValue);
+    }
 
-                // Skip nulls, empty strings, empty arrays, empty objects
-                if (value.isNull() ||
-                        (value.isTextual() && value.asText().isEmpty()) ||
-                        (value.isArray() && value.isEmpty()) ||
-                        (value.isObject() && value.isEmpty())) {
-                    return;
-                }
+    @Override
+    public <E> Stream<Result<E, JsonNodeWrapper>> streamArray(InputStream input) {
+        return arrayStream(() -> mapper.getFactory().createParser(input), input, this::readElementNode);
+    }
 
-                // Recursively prune nested structures
-                if (value.isObject() || value.isArray()) {
-                    value = pruneNode(value);
-                }
+    @Override
+    public <E, T> Stream<Result<E, T>> streamArray(InputStream input, Class<T> clazz) {
+        ObjectReader elementReader = codecFor(clazz).reader();
+        return arrayStream(() -> mapper.getFactory().createParser(input), input, elementReader::readValue);
+    }
 
-                result.set(entry.getKey(), value);
-            });
+    // ========== Helper Methods ==========
 
-            return result;
-        } else if (node.isArray()) {
-            ArrayNode arr = (ArrayNode) node;
-            ArrayNode result = mapper.createArrayNode();
+    /**
+     * The configured mapper, for subclasses of this package.
+     */
+    ObjectMapper mapper() {
+        return mapper;
+    }
 
-            arr.forEach(element -> {
-                if (!element.isNull()) {
-                    result.add(pruneNode(element));
-                }
-            });
+    private static <E, T> Stream<Result<E, T>> arrayStream(
+            JacksonArraySpliterator.ParserSource source,
+            Closeable input,
+            JacksonArraySpliterator.ElementReader<T> reader) {
+        JacksonArraySpliterator<E, T> spliterator = new JacksonArraySpliterator<>(source, input, reader);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
 
-            return result;
+    @SuppressWarnings("unchecked")
+    private <E> Result<E, Map<JsonPath, JsonNodeWrapper>> extractFrom(JacksonArraySpliterator.ParserSource source,
+                                                                     JsonPath[] paths) {
+        if (paths == null || Arrays.asList(paths).contains(null)) {
+            return Result.err((E) "Paths cannot be null");
+        }
+        try (JsonParser parser = source.open()) {
+            return Result.ok(JacksonExtractor.extract(mapper, parser, paths));
+        } catch (Exception e) {
+            return Result.err((E) ("JSON extraction failed: " + e.getMessage()));
         }
-
-        return node;
     }
 
-    // ========== Inner Class: Node Wrapper ==========
-
-    private static class JacksonNodeWrapper implements JsonNodeWrapper {
-        private final JsonNode node;
+    private JsonNodeWrapper readElementNode(JsonParser parser) throws IOException {
+        return new JacksonNodeWrapper(mapper.readTree(parser));
+    }
 
-        JacksonNodeWrapper(JsonNode node) {
-            this.node = node;
+    private JsonNode toJsonNode(Object obj) {
+        if (obj instanceof JacksonNodeWrapper) {
+            return ((JacksonNodeWrapper) obj).unwrap();
         }
-
-        @Override
-        public JsonNodeWrapper get(String key) {
-            JsonNode child = node.get(key);
-            return child != null ? new JacksonNodeWrapper(child) : null;
+        if (obj instanceof LazyNodeWrapper) {
+            return ((LazyNodeWrapper) obj).unwrap();
         }
-
-        @Override
-        public JsonNodeWrapper at(String path) {
-            JsonNode child = node.at(path);
-            return child != null && !child.isMissingNode() ? new JacksonNodeWrapper(child) : null;
+        if (obj instanceof JsonNode) {
+            return (JsonNode) obj;
         }
+        return mapper.valueToTree(obj);
+    }
 
-        @Override
-        public String asText() {
-            return node.asText();
+    /**
+     * Resolves a path for getString and the typed accessors: index segments only match
+     * arrays, and JSON null counts as absent. Typed accessors never read containers, so
+     * overrides may report them as null.
+     *
+     * @return the node, or null if absent
+     */
+    JsonNode valueAt(Object node, JsonPath path) {
+        if (node == null || path == null) {
+            return null;
         }
 
-        @Override
-        public int asInt() {
-            return node.asInt();
-        }
+        try {
+            JsonNode current = toJsonNode(node);
 
-        @Override
-        public long asLong() {
-            return node.asLong();
-        }
+            // Navigate through path segments
+            for (int i = 0; i < path.length(); i++) {
+                if (current == null || current.isNull()) {
+                    return null;
+                }
 
-        @Override
-        public double asDouble() {
-            return node.asDouble();
+                // Handle array indices
+                if (path.isIndex(i)) {
+                    int index = path.index(i);
+                    current = current.isArray() && index < current.size() ? current.get(index) : null;
+                } else {
+                    current = current.get(path.segment(i));
+                }
+            }
+            return current != null && !current.isNull() ? current : null;
+        } catch (Exception e) {
+            return null; // Silently fail - the value is absent
         }
+    }
 
-        @Override
-        public boolean asBoolean() {
-            return node.asBoolean();
-        }
+    /**
+     * Whether a node is a number with a finite value: a double out of range (1e400) reads as
+     * infinity, while a BigDecimal node (USE_BIG_DECIMAL_FOR_FLOATS) holds it exactly.
+     */
+    private static boolean isFinite(JsonNode value) {
+        return value.isNumber() && (!(value.isDouble() || value.isFloat()) || Double.isFinite(value.doubleValue()));
+    }
 
-        @Override
-        public boolean isArray() {
-            return node.isArray();
-        }
+    /**
+     * Whether a node is a number that reads as a finite double, whatever its node type.
+     */
+    private static boolean isFiniteDouble(JsonNode value) {
+        return value.isNumber() && Double.isFinite(value.doubleValue());
+    }
 
-        @Override
-        public boolean isObject() {
-            return node.isObject();
+    /**
+     * Whether a node is a number with an integral value that fits in a long (42, 42.0). A
+     * double only counts below 2^53: above, 12345678901234567.5 has already become an integer.
+     */
+    private static boolean isLong(JsonNode value) {
+        if (value.isDouble() || value.isFloat()) {
+            return JsonScalars.isExactLong(value.doubleValue());
         }
+        return value.isNumber() && value.canConvertToLong()
+                && (value.isIntegralNumber() || value.canConvertToExactIntegral());
+    }
 
-        @Override
-        public boolean isNull() {
-            return node.isNull();
-        }
+    /**
+     * Patches and schemas usually arrive as text: parse Strings instead of wrapping them as a text node.
+     */
+    private JsonNode patchNode(Object patch) throws IOException {
+        return patch instanceof String ? mapper.readTree((String) patch) : toJsonNode(patch);
+    }
 
-        @Override
-        public Iterable<String> keys() {
-            return node::fieldNames;
-        }
+    @SuppressWarnings("unchecked")
+    private <T> JacksonCodec<T> codecFor(Type type) {
+        JacksonCodec<?> codec = codecs.computeIfAbsent(type,
+                t -> new JacksonCodec<>(mapper, mapper.constructType(t), nested -> codecFor(nested.hasGenericTypes() ? nested : nested.getRawClass()).binder()));
+        return (JacksonCodec<T>) codec;
+    }
 
-        @Override
-        public int size() {
-            return node.size();
+    private Object prepare(Object value, JsonFormat format) {
+        // Wrappers are not beans: write the tree they hold
+        Object tree = value instanceof JacksonNodeWrapper || value instanceof LazyNodeWrapper ? toJsonNode(value) : value;
+        if (format == JsonFormat.CANONICAL && tree instanceof JsonNode) {
+            // Trees keep insertion order whatever the writer says, so sort a copy
+            return sortKeys((JsonNode) tree);
         }
+        return tree;
+    }
 
-        @Override
-        @SuppressWarnings("unchecked")
-        public <T> T unwrap() {
-            return (T) node;
-        }
+    private JsonNode sortKeys(JsonNode node) {
+        if (node.isObject()) {
+            List<String> names = new ArrayList<>(node.size());
+            node.fieldNames().forEachRemaining(names::add);
+            Collections.sort(names);
 
-        @Override
-        public String toString() {
-            return node.toString();
+            ObjectNode result = mapper.createObjectNode();
+            for (String name : names) {
+                result.set(name, sortKeys(node.get(name)));
+            }
+            return result;
+        } else if (node.isArray()) {
+            ArrayNode result = mapper.createArrayNode();
+            node.forEach(element -> result.add(sortKeys(element)));
+            return result;
         }
+
+        return node;
+    }
+
+    /**
+     * Merges 'update' into 'target', which the caller already owns. With copyOnWrite, nested
+     * objects of 'target' are still shared, so each one is copied (shallowly) before it is modified.
+     */
+    private void mergeInto(ObjectNode target, ObjectNode update, boolean copyOnWrite) {
+        update.fields().forEachRemaining(entry -> {
+            JsonNode current = target.get(entry.getKey());
+            JsonNode updateValue = entry.getValue();
+
+            if (current != null && current.isObject() && updateValue.isObject()) {
+                // Recursively merge objects
+                ObjectNode child = copyOnWrite ? shallowCopy((ObjectNode) current) : (ObjectNode) current;
+                mergeInto(child, (ObjectNode) updateValue, copyOnWrite);
+                target.set(entry.getKey(), child);
+            } else {
+                // Replace value
+                target.set(entry.getKey(), updateValue);
+            }
+        });
+    }
+
+    private ObjectNode shallowCopy(ObjectNode node) {
+        ObjectNode copy = mapper.createObjectNode();
+        copy.setAll(node);
+        return copy;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,1411 @@
+package commons.kit.JsonUtils;
+
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import commons.kit.ErrorUtils.Empty;
+import commons.kit.ErrorUtils.Result;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Compiled JSON Schema (draft 2020-12 subset) over Jackson trees and token streams.
+ *
+ * <p>Compiling turns every subschema into a {@link Rule} once: types become a bit mask,
+ * bounds are parsed, patterns compiled and {@code $ref}s linked to their targets (cycles
+ * included). Validating a tree is one recursive walk; validating text walks the parser's
+ * tokens, following each member with the rules that apply to it, and only reads a value
+ * into a tree when a rule needs all of it at once (see {@link Rule#buffered}).</p>
+ *
+ * <p>Paths are kept as a stack of segments and only rendered for violations, so a valid
+ * document costs no string building.</p>
+ *
+ * <p>Numbers are checked exactly when their digits are known: integers, BigDecimal nodes and
+ * every number read from text. A tree's doubles only hold about 15 significant digits, so a
+ * double of 2^53 or more, which may have been rounded from a fraction, is not an integer.</p>
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+final class JacksonJsonSchema implements JsonSchema {
+
+    private static final int NULL = 1;
+    private static final int BOOLEAN = 1 << 1;
+    private static final int OBJECT = 1 << 2;
+    private static final int ARRAY = 1 << 3;
+    private static final int NUMBER = 1 << 4;
+    private static final int INTEGER = 1 << 5;
+    private static final int STRING = 1 << 6;
+    private static final String[] TYPE_NAMES = {"null", "boolean", "object", "array", "number", "integer", "string"};
+
+    // Doubles hold every integer up to 2^53 exactly; larger values are compared as BigDecimals
+    private static final long EXACT_DOUBLE = 1L << 53;
+
+    // JSON Schema equality: numbers are equal when their values are (1 == 1.0)
+    private static final Comparator<JsonNode> VALUES = (a, b) -> {
+        if (a.isNumber() && b.isNumber()) {
+            return a.decimalValue().compareTo(b.decimalValue());
+        }
+        return a.equals(b) ? 0 : 1;
+    };
+
+    /**
+     * A compiled (sub)schema. Unset bounds are -1 or null.
+     */
+    private static final class Rule {
+        boolean never;
+        boolean empty = true;
+        boolean buffered;
+
+        int types;
+        String typeText;
+        JsonNode[] values;
+        String valuesText;
+        JsonNode constant;
+        String constantText;
+
+        Map<String, Rule> properties;
+        Pattern[] patterns;
+        Rule[] patternRules;
+        Rule additional;
+        String[] required;
+        Map<String, String[]> dependentRequired;
+        Map<String, Rule> dependentSchemas;
+        Rule propertyNames;
+        int minProperties = -1;
+        int maxProperties = -1;
+
+        Rule[] prefixItems;
+        Rule items;
+        Rule contains;
+        int minContains = 1;
+        int maxContains = -1;
+        int minItems = -1;
+        int maxItems = -1;
+        boolean uniqueItems;
+
+        int minLength = -1;
+        int maxLength = -1;
+        Pattern pattern;
+
+        Bound minimum;
+        Bound maximum;
+        Bound exclusiveMinimum;
+        Bound exclusiveMaximum;
+        BigDecimal multipleOf;
+
+        Rule[] allOf;
+        Rule[] anyOf;
+        Rule[] oneOf;
+        Rule not;
+        Rule ifRule;
+        Rule thenRule;
+        Rule elseRule;
+        Rule ref;
+
+        /**
+         * Whether any keyword applies to the text of a string.
+         */
+        boolean checksStrings() {
+            return minLength >= 0 || maxLength >= 0 || pattern != null;
+        }
+
+        /**
+         * Whether any keyword applies to the members of an object, which then need walking.
+         */
+        boolean walksMembers() {
+            return properties != null || patterns != null || additional != null || propertyNames != null;
+        }
+    }
+
+    /**
+     * A numeric bound, kept both exact and as a double for the fast path.
+     */
+    private static final class Bound {
+        final BigDecimal exact;
+        final double value;
+
+        Bound(BigDecimal exact) {
+            this.exact = exact;
+            this.value = exact.doubleValue();
+        }
+
+        int compare(double number, BigDecimal exactNumber) {
+            if (exactNumber != null) {
+                return exactNumber.compareTo(exact);
+            }
+            return number < value ? -1 : number > value ? 1 : 0;
+        }
+
+        @Override
+        public String toString() {
+            return exact.toPlainString();
+        }
+    }
+
+    private final Rule root;
+    private final ObjectMapper mapper;
+    private final ObjectReader buffer;
+    private final Function<Object, JsonNode> toTree;
+
+    private JacksonJsonSchema(Rule root, ObjectMapper mapper, Function<Object, JsonNode> toTree) {
+        this.root = root;
+        this.mapper = mapper;
+        this.buffer = mapper.reader(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS); // Keeps buffered digits
+        this.toTree = toTree;
+    }
+
+    /**
+     * Validates and compiles a schema.
+     *
+     * @param schema the schema document
+     * @param mapper reads text documents and the values streaming validation buffers
+     * @param toTree converts documents passed to {@link #validate(Object)} into trees
+     * @param <E> the error type
+     * @return Result containing the schema, or an error listing every invalid keyword
+     */
+    @SuppressWarnings("unchecked")
+    static <E> Result<E, JsonSchema> compile(JsonNode schema, ObjectMapper mapper, Function<Object, JsonNode> toTree) {
+        if (schema == null || !(schema.isObject() || schema.isBoolean())) {
+            return Result.err((E) "Invalid JSON Schema: expected an object or a boolean");
+        }
+
+        Compiler compiler = new Compiler(schema);
+        Rule root = compiler.compile(schema, "");
+        if (compiler.errors.isEmpty()) {
+            compiler.checkCycles();
+        }
+        if (!compiler.errors.isEmpty()) {
+            return Result.err((E) ("Invalid JSON Schema: " + String.join("; ", compiler.errors)));
+        }
+        return Result.ok(new JacksonJsonSchema(root, mapper, toTree));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, JsonNodeWrapper> validate(Object node) {
+        JsonNode document;
+        try {
+            document = node == null ? NullNode.getInstance() : toTree.apply(node);
+        } catch (Exception e) {
+            return Result.err((E) ("Schema validation failed: " + e.getMessage()));
+        }
+
+        // Trees built in code never went through the parser's nesting limit: enforce it here
+        int maxDepth = mapper.getFactory().streamReadConstraints().getMaxNestingDepth();
+        List<String> errors = new ArrayList<>();
+        try {
+            check(document, root, new Path(maxDepth), errors);
+        } catch (RuntimeException e) {
+            return Result.err((E) ("Schema validation failed: " + e.getMessage()));
+        } catch (StackOverflowError e) {
+            // The stack ran out before the depth check (small thread stacks, comparisons of deep
+            // values in const, enum and uniqueItems): measure the tree without recursing
+            return Result.err((E) ("Schema validation failed: document nesting depth exceeds "
+                    + (nestsDeeperThan(document, maxDepth) ? "the maximum of " + maxDepth : "what can be checked")));
+        }
+        if (!errors.isEmpty()) {
+            return Result.err((E) ("Schema validation failed: " + String.join("; ", errors)));
+        }
+        return Result.ok(node instanceof JsonNodeWrapper ? (JsonNodeWrapper) node : new JacksonNodeWrapper(document));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, Empty> validateJson(String json) {
+        if (json == null || json.trim().isEmpty()) {
+            return Result.err((E) "JSON string is null or empty");
+        }
+        try {
+            return stream(mapper.getFactory().createParser(json));
+        } catch (IOException e) {
+            return Result.err((E) ("JSON parsing failed: " + e.getMessage()));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, Empty> validateJson(byte[] json) {
+        if (json == null || json.length == 0) {
+            return Result.err((E) "JSON bytes are null or empty");
+        }
+        try {
+            return stream(mapper.getFactory().createParser(json));
+        } catch (IOException e) {
+            return Result.err((E) ("JSON parsing failed: " + e.getMessage()));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, Empty> validateJson(InputStream input) {
+        if (input == null) {
+            return Result.err((E) "Input stream is null");
+        }
+        try {
+            JsonParser parser = mapper.getFactory().createParser(input);
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE); // The caller owns the stream
+            return stream(parser);
+        } catch (IOException e) {
+            return Result.err((E) ("JSON parsing failed: " + e.getMessage()));
+        }
+    }
+
+    // ========== Tree Validation ==========
+
+    /**
+     * Checks a value against a rule and the rules it pulls in (allOf, $ref). Without an
+     * error list, stops at the first violation: used to test anyOf/oneOf/not/if branches.
+     */
+    private boolean check(JsonNode value, Rule rule, Path path, List<String> errors) {
+        boolean valid = true;
+        // A $ref chain is followed here rather than a frame per reference, which leaves the
+        // stack for deep documents (compiling rejects chains that loop)
+        for (Rule current = rule; current != null; current = current.ref) {
+            valid &= checkOwn(value, current, path, errors);
+            if (!valid && errors == null) {
+                return false;
+            }
+            if (current.allOf != null) {
+                for (Rule each : current.allOf) {
+                    valid &= check(value, each, path, errors);
+                    if (!valid && errors == null) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return valid;
+    }
+
+    private boolean checkOwn(JsonNode value, Rule rule, Path path, List<String> errors) {
+        if (rule.empty) {
+            return true;
+        }
+        if (rule.never) {
+            return violation(errors, path, "no value is allowed here");
+        }
+
+        boolean valid = true;
+        if (value.isNumber()) {
+            valid = checkNumberNode(value, rule, path, errors);
+        } else if (value.isTextual()) {
+            valid = checkType(rule, STRING, path, errors) && checkString(rule, value.textValue(), path, errors);
+        } else if (value.isObject()) {
+            valid = checkType(rule, OBJECT, path, errors) && checkObject(value, rule, path, errors);
+        } else if (value.isArray()) {
+            valid = checkType(rule, ARRAY, path, errors) && checkArray(value, rule, path, errors);
+        } else {
+            valid = checkType(rule, value.isBoolean() ? BOOLEAN : NULL, path, errors);
+        }
+        if (!valid && errors == null) {
+            return false;
+        }
+
+        if ((rule.values != null || rule.constant != null) && !checkValues(value, rule, path, errors)) {
+            valid = false;
+            if (errors == null) {
+                return false;
+            }
+        }
+        return checkApplicators(value, rule, path, errors) && valid;
+    }
+
+    // Kept out of checkOwn, which recurses once per level, so that its frame stays small
+
+    private static boolean checkNumberNode(JsonNode value, Rule rule, Path path, List<String> errors) {
+        BigDecimal exact = value.isBigDecimal() || value.isBigInteger()
+                || (value.isLong() && Math.abs(value.longValue()) > EXACT_DOUBLE) ? value.decimalValue() : null;
+        boolean integral = value.isIntegralNumber() || isWhole(value.doubleValue(), exact);
+        return checkType(rule, NUMBER | (integral ? INTEGER : 0), path, errors)
+                && checkNumber(rule, value.doubleValue(), exact, path, errors);
+    }
+
+    private static boolean checkValues(JsonNode value, Rule rule, Path path, List<String> errors) {
+        boolean valid = true;
+        if (rule.values != null && !isOneOf(value, rule.values)) {
+            valid = violation(errors, path, rule.valuesText);
+        }
+        if (rule.constant != null && (valid || errors != null) && !rule.constant.equals(VALUES, value)) {
+            valid = violation(errors, path, rule.constantText);
+        }
+        return valid;
+    }
+
+    private boolean checkObject(JsonNode object, Rule rule, Path path, List<String> errors) {
+        boolean valid = true;
+        if (rule.walksMembers()) {
+            for (Iterator<Map.Entry<String, JsonNode>> it = object.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> member = it.next();
+                String name = member.getKey();
+                path.push(name);
+                try {
+                    if (rule.propertyNames != null) {
+                        valid &= check(TextNode.valueOf(name), rule.propertyNames, path, errors);
+                    }
+                    boolean matched = false;
+                    Rule property = rule.properties != null ? rule.properties.get(name) : null;
+                    if (property != null) {
+                        matched = true;
+                        valid &= check(member.getValue(), property, path, errors);
+                    }
+                    if (rule.patterns != null) {
+                        for (int i = 0; i < rule.patterns.length; i++) {
+                            if (rule.patterns[i].matcher(name).find()) {
+                                matched = true;
+                                valid &= check(member.getValue(), rule.patternRules[i], path, errors);
+                            }
+                        }
+                    }
+                    if (!matched && rule.additional != null) {
+                        valid &= rule.additional.never
+                                ? violation(errors, path, "property not allowed")
+                                : check(member.getValue(), rule.additional, path, errors);
+                    }
+                } finally {
+                    path.pop();
+                }
+                if (!valid && errors == null) {
+                    return false;
+                }
+            }
+        }
+
+        valid &= checkMembers(rule, object.size(), object::has, path, errors);
+        if (!valid && errors == null) {
+            return false;
+        }
+
+        if (rule.dependentSchemas != null) {
+            for (Map.Entry<String, Rule> dependent : rule.dependentSchemas.entrySet()) {
+                if (object.has(dependent.getKey())) {
+                    valid &= check(object, dependent.getValue(), path, errors);
+                }
+            }
+        }
+        return valid;
+    }
+
+    private boolean checkArray(JsonNode array, Rule rule, Path path, List<String> errors) {
+        boolean valid = true;
+        if (rule.prefixItems != null || rule.items != null) {
+            for (int i = 0; i < array.size(); i++) {
+                Rule item = itemRule(rule, i);
+                if (item == null) {
+                    continue;
+                }
+                path.push(i);
+                try {
+                    valid &= check(array.get(i), item, path, errors);
+                } finally {
+                    path.pop();
+                }
+                if (!valid && errors == null) {
+                    return false;
+                }
+            }
+        }
+
+        valid &= checkItems(rule, array.size(), path, errors);
+        if (!valid && errors == null) {
+            return false;
+        }
+
+        if (rule.contains != null) {
+            int matches = 0;
+            for (int i = 0; i < array.size(); i++) {
+                path.push(i);
+                try {
+                    if (check(array.get(i), rule.contains, path, null)) {
+                        matches++;
+                    }
+                } finally {
+                    path.pop();
+                }
+            }
+            if (matches < rule.minContains) {
+                valid = violation(errors, path, "must contain at least " + rule.minContains + " matching item(s), found " + matches);
+            } else if (rule.maxContains >= 0 && matches > rule.maxContains) {
+                valid = violation(errors, path, "must contain at most " + rule.maxContains + " matching item(s), found " + matches);
+            }
+        }
+
+        if (rule.uniqueItems) {
+            String duplicate = duplicate(array);
+            if (duplicate != null) {
+                valid = violation(errors, path, duplicate);
+            }
+        }
+        return valid;
+    }
+
+    private boolean checkApplicators(JsonNode value, Rule rule, Path path, List<String> errors) {
+        boolean valid = true;
+        if (rule.anyOf != null) {
+            boolean any = false;
+            for (Rule each : rule.anyOf) {
+                if (check(value, each, path, null)) {
+                    any = true;
+                    break;
+                }
+            }
+            if (!any) {
+                valid = violation(errors, path, "must match at least one of the anyOf schemas");
+            }
+        }
+        if (rule.oneOf != null && (valid || errors != null)) {
+            int matches = 0;
+            for (Rule each : rule.oneOf) {
+                if (check(value, each, path, null)) {
+                    matches++;
+                }
+            }
+            if (matches != 1) {
+                valid = violation(errors, path, "must match exactly one of the oneOf schemas, matched " + matches);
+            }
+        }
+        if (rule.not != null && (valid || errors != null) && check(value, rule.not, path, null)) {
+            valid = violation(errors, path, "must not match the 'not' schema");
+        }
+        if (rule.ifRule != null && (valid || errors != null)) {
+            Rule branch = check(value, rule.ifRule, path, null) ? rule.thenRule : rule.elseRule;
+            if (branch != null) {
+                valid &= check(value, branch, path, errors);
+            }
+        }
+        return valid;
+    }
+
+    // ========== Shared Checks ==========
+
+    private static boolean checkType(Rule rule, int type, Path path, List<String> errors) {
+        if (rule.types == 0 || (rule.types & type) != 0) {
+            return true;
+        }
+        return violation(errors, path, "expected " + rule.typeText + ", found " + typeName(type));
+    }
+
+    private static boolean checkString(Rule rule, String text, Path path, List<String> errors) {
+        boolean valid = true;
+        if (rule.minLength >= 0 || rule.maxLength >= 0) {
+            int length = text.codePointCount(0, text.length());
+            if (rule.minLength >= 0 && length < rule.minLength) {
+                valid = violation(errors, path, "must be at least " + rule.minLength + " characters long");
+            } else if (rule.maxLength >= 0 && length > rule.maxLength) {
+                valid = violation(errors, path, "must be at most " + rule.maxLength + " characters long");
+            }
+        }
+        if (rule.pattern != null && (valid || errors != null) && !rule.pattern.matcher(text).find()) {
+            valid = violation(errors, path, "must match pattern '" + rule.pattern.pattern() + "'");
+        }
+        return valid;
+    }
+
+    private static boolean checkNumber(Rule rule, double number, BigDecimal exact, Path path, List<String> errors) {
+        boolean valid = true;
+        if (rule.minimum != null && rule.minimum.compare(number, exact) < 0) {
+            valid = violation(errors, path, "must be >= " + rule.minimum);
+        }
+        if (rule.exclusiveMinimum != null && rule.exclusiveMinimum.compare(number, exact) <= 0) {
+            valid = violation(errors, path, "must be > " + rule.exclusiveMinimum);
+        }
+        if (rule.maximum != null && rule.maximum.compare(number, exact) > 0) {
+            valid = violation(errors, path, "must be <= " + rule.maximum);
+        }
+        if (rule.exclusiveMaximum != null && rule.exclusiveMaximum.compare(number, exact) >= 0) {
+            valid = violation(errors, path, "must be < " + rule.exclusiveMaximum);
+        }
+        if (rule.multipleOf != null) {
+            // A double out of range (1e400) reads as infinity: its digits are gone in a tree
+            if (exact == null && !Double.isFinite(number)) {
+                valid = violation(errors, path, "must be a finite multiple of " + rule.multipleOf.toPlainString());
+            } else if ((exact != null ? exact : BigDecimal.valueOf(number)).remainder(rule.multipleOf).signum() != 0) {
+                valid = violation(errors, path, "must be a multiple of " + rule.multipleOf.toPlainString());
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Checks the keywords of an object that only need its member names.
+     */
+    private static boolean checkMembers(Rule rule, int size, Predicate<String> has, Path path, List<String> errors) {
+        boolean valid = true;
+        if (rule.minProperties >= 0 && size < rule.minProperties) {
+            valid = violation(errors, path, "must have at least " + rule.minProperties + " properties");
+        }
+        if (rule.maxProperties >= 0 && size > rule.maxProperties) {
+            valid = violation(errors, path, "must have at most " + rule.maxProperties + " properties");
+        }
+        if (rule.required != null) {
+            for (String name : rule.required) {
+                if (!has.test(name)) {
+                    valid = violation(errors, path, "missing required property '" + name + "'");
+                }
+            }
+        }
+        if (rule.dependentRequired != null) {
+            for (Map.Entry<String, String[]> dependent : rule.dependentRequired.entrySet()) {
+                if (has.test(dependent.getKey())) {
+                    for (String name : dependent.getValue()) {
+                        if (!has.test(name)) {
+                            valid = violation(errors, path, "missing property '" + name + "' required by '"
+                                    + dependent.getKey() + "'");
+                        }
+                    }
+                }
+            }
+        }
+        return valid;
+    }
+
+    private static boolean checkItems(Rule rule, int size, Path path, List<String> errors) {
+        if (rule.minItems >= 0 && size < rule.minItems) {
+            return violation(errors, path, "must have at least " + rule.minItems + " items");
+        }
+        if (rule.maxItems >= 0 && size > rule.maxItems) {
+            return violation(errors, path, "must have at most " + rule.maxItems + " items");
+        }
+        return true;
+    }
+
+    private static Rule itemRule(Rule rule, int index) {
+        return rule.prefixItems != null && index < rule.prefixItems.length ? rule.prefixItems[index] : rule.items;
+    }
+
+    // ========== Streaming Validation ==========
+
+    @SuppressWarnings("unchecked")
+    private <E> Result<E, Empty> stream(JsonParser parser) {
+        List<String> errors = new ArrayList<>();
+        try (JsonParser tokens = parser) {
+            if (tokens.nextToken() == null) {
+                return Result.err((E) "JSON parsing failed: no content");
+            }
+            // The parser enforces the nesting limit itself
+            streamValue(tokens, expand(root, new ArrayList<>(2)), new Path(Integer.MAX_VALUE), errors);
+        } catch (IOException e) {
+            return Result.err((E) ("JSON parsing failed: " + e.getMessage()));
+        } catch (RuntimeException e) {
+            return Result.err((E) ("Schema validation failed: " + e.getMessage()));
+        }
+
+        if (!errors.isEmpty()) {
+            return Result.err((E) ("Schema validation failed: " + String.join("; ", errors)));
+        }
+        return Result.ok(Empty.INSTANCE);
+    }
+
+    /**
+     * Validates the value at the parser's current token against a set of rules, leaving
+     * the parser on the value's last token. The rule set is only read, so callers may reuse it.
+     */
+    private void streamValue(JsonParser parser, List<Rule> rules, Path path, List<String> errors) throws IOException {
+        if (rules.isEmpty()) {
+            parser.skipChildren();
+            return;
+        }
+        for (Rule rule : rules) {
+            if (rule.buffered) {
+                JsonNode value = buffer.readTree(parser);
+                for (Rule each : rules) {
+                    checkOwn(value != null ? value : NullNode.getInstance(), each, path, errors);
+                }
+                return;
+            }
+        }
+
+        JsonToken token = parser.currentToken();
+        switch (token) {
+            case START_OBJECT:
+                streamObject(parser, rules, path, errors);
+                break;
+            case START_ARRAY:
+                streamArray(parser, rules, path, errors);
+                break;
+            case VALUE_STRING: {
+                String text = null;
+                for (Rule rule : rules) {
+                    if (streamType(rule, STRING, path, errors) && rule.checksStrings()) {
+                        if (text == null) {
+                            text = parser.getText();
+                        }
+                        checkString(rule, text, path, errors);
+                    }
+                }
+                break;
+            }
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT: {
+                JsonParser.NumberType type = parser.getNumberType();
+                double number = parser.getDoubleValue();
+                // A float's double is exact only up to 15 significant digits (bounded here by the
+                // text length) and whole only below 2^53; past either, read its digits. Out of
+                // range (1e400) it stays infinite, as in a tree
+                boolean inexact = token == JsonToken.VALUE_NUMBER_FLOAT && Double.isFinite(number)
+                        && (parser.getTextLength() > 15 || Math.abs(number) >= EXACT_DOUBLE);
+                BigDecimal exact = inexact || type == JsonParser.NumberType.BIG_DECIMAL
+                        || type == JsonParser.NumberType.BIG_INTEGER
+                        || (type == JsonParser.NumberType.LONG && Math.abs(parser.getLongValue()) > EXACT_DOUBLE)
+                        ? parser.getDecimalValue() : null;
+                boolean integral = token == JsonToken.VALUE_NUMBER_INT || isWhole(number, exact);
+                for (Rule rule : rules) {
+                    if (streamType(rule, NUMBER | (integral ? INTEGER : 0), path, errors)) {
+                        checkNumber(rule, number, exact, path, errors);
+                    }
+                }
+                break;
+            }
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                for (Rule rule : rules) {
+                    streamType(rule, BOOLEAN, path, errors);
+                }
+                break;
+            default:
+                for (Rule rule : rules) {
+                    streamType(rule, NULL, path, errors);
+                }
+        }
+    }
+
+    private void streamObject(JsonParser parser, List<Rule> candidates, Path path, List<String> errors) throws IOException {
+        List<Rule> rules = ofType(candidates, OBJECT, path, errors);
+        if (rules.isEmpty()) {
+            parser.skipChildren();
+            return;
+        }
+        boolean names = false;
+        for (Rule rule : rules) {
+            names |= rule.required != null || rule.dependentRequired != null;
+        }
+
+        Set<String> present = names ? new HashSet<>() : null;
+        int size = 0;
+        List<Rule> memberRules = new ArrayList<>(2);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            size++;
+            if (present != null) {
+                present.add(name);
+            }
+            parser.nextToken();
+
+            path.push(name);
+            memberRules.clear();
+            for (Rule rule : rules) {
+                if (rule.propertyNames != null) {
+                    check(TextNode.valueOf(name), rule.propertyNames, path, errors);
+                }
+                boolean matched = false;
+                Rule property = rule.properties != null ? rule.properties.get(name) : null;
+                if (property != null) {
+                    matched = true;
+                    expand(property, memberRules);
+                }
+                if (rule.patterns != null) {
+                    for (int i = 0; i < rule.patterns.length; i++) {
+                        if (rule.patterns[i].matcher(name).find()) {
+                            matched = true;
+                            expand(rule.patternRules[i], memberRules);
+                        }
+                    }
+                }
+                if (!matched && rule.additional != null) {
+                    if (rule.additional.never) {
+                        violation(errors, path, "property not allowed");
+                    } else {
+                        expand(rule.additional, memberRules);
+                    }
+                }
+            }
+            streamValue(parser, memberRules, path, errors);
+            path.pop();
+        }
+
+        int count = size;
+        for (Rule rule : rules) {
+            checkMembers(rule, count, name -> present != null && present.contains(name), path, errors);
+        }
+    }
+
+    private void streamArray(JsonParser parser, List<Rule> candidates, Path path, List<String> errors) throws IOException {
+        List<Rule> rules = ofType(candidates, ARRAY, path, errors);
+        if (rules.isEmpty()) {
+            parser.skipChildren();
+            return;
+        }
+
+        int size = 0;
+        List<Rule> itemRules = new ArrayList<>(2);
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            itemRules.clear();
+            for (Rule rule : rules) {
+                Rule item = itemRule(rule, size);
+                if (item != null) {
+                    expand(item, itemRules);
+                }
+            }
+            path.push(size);
+            streamValue(parser, itemRules, path, errors);
+            path.pop();
+            size++;
+        }
+
+        for (Rule rule : rules) {
+            checkItems(rule, size, path, errors);
+        }
+    }
+
+    /**
+     * Reports the rules a container does not match by type; only the others look inside it.
+     */
+    private static List<Rule> ofType(List<Rule> rules, int type, Path path, List<String> errors) {
+        List<Rule> matching = rules;
+        for (int i = 0; i < rules.size(); i++) {
+            if (!streamType(rules.get(i), type, path, errors)) {
+                if (matching == rules) {
+                    matching = new ArrayList<>(rules.subList(0, i));
+                }
+            } else if (matching != rules) {
+                matching.add(rules.get(i));
+            }
+        }
+        return matching;
+    }
+
+    private static boolean streamType(Rule rule, int type, Path path, List<String> errors) {
+        if (rule.never) {
+            return violation(errors, path, "no value is allowed here");
+        }
+        return checkType(rule, type, path, errors);
+    }
+
+    /**
+     * Adds a rule and the rules it pulls in (allOf, $ref) to a set, skipping empty rules.
+     */
+    private static List<Rule> expand(Rule rule, List<Rule> into) {
+        for (Rule present : into) {
+            if (present == rule) {
+                return into;
+            }
+        }
+        if (!rule.empty) {
+            into.add(rule);
+        }
+        if (rule.allOf != null) {
+            for (Rule each : rule.allOf) {
+                expand(each, into);
+            }
+        }
+        if (rule.ref != null) {
+            expand(rule.ref, into);
+        }
+        return into;
+    }
+
+    // ========== Helper Methods ==========
+
+    private static boolean violation(List<String> errors, Path path, String message) {
+        if (errors != null) {
+            errors.add(path + ": " + message);
+        }
+        return false;
+    }
+
+    /**
+     * Whether a tree has values more than a number of levels below its root, walked level by level.
+     */
+    private static boolean nestsDeeperThan(JsonNode document, int maxDepth) {
+        List<JsonNode> level = List.of(document);
+        for (int depth = 0; !level.isEmpty(); depth++) {
+            if (depth > maxDepth) {
+                return true;
+            }
+            List<JsonNode> next = new ArrayList<>();
+            for (JsonNode node : level) {
+                node.forEach(next::add);
+            }
+            level = next;
+        }
+        return false;
+    }
+
+    private static String typeName(int type) {
+        if ((type & INTEGER) != 0) {
+            return "integer";
+        }
+        return TYPE_NAMES[Integer.numberOfTrailingZeros(type)];
+    }
+
+    private static boolean isWhole(double number, BigDecimal exact) {
+        if (exact != null) {
+            return exact.signum() == 0 || exact.stripTrailingZeros().scale() <= 0;
+        }
+        return JsonScalars.isExactLong(number); // A larger double may have been rounded from a fraction
+    }
+
+    private static boolean isOneOf(JsonNode value, JsonNode[] values) {
+        for (JsonNode candidate : values) {
+            if (candidate.equals(VALUES, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Describes the first pair of equal items, or returns null. Items are bucketed by a hash
+     * that agrees with {@link #VALUES}, so only items with equal hashes are compared.
+     */
+    private static String duplicate(JsonNode array) {
+        Map<Integer, List<Integer>> buckets = new HashMap<>();
+        for (int i = 0; i < array.size(); i++) {
+            JsonNode item = array.get(i);
+            List<Integer> bucket = buckets.computeIfAbsent(hash(item), h -> new ArrayList<>(1));
+            for (int earlier : bucket) {
+                if (array.get(earlier).equals(VALUES, item)) {
+                    return "items must be unique, but items " + earlier + " and " + i + " are equal";
+                }
+            }
+            bucket.add(i);
+        }
+        return null;
+    }
+
+    private static int hash(JsonNode node) {
+        if (node.isNumber()) {
+            return node.decimalValue().stripTrailingZeros().hashCode();
+        }
+        if (node.isObject()) {
+            int hash = 0;
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> member = it.next();
+                hash += member.getKey().hashCode() ^ hash(member.getValue());
+            }
+            return hash;
+        }
+        if (node.isArray()) {
+            int hash = 1;
+            for (JsonNode item : node) {
+                hash = 31 * hash + hash(item);
+            }
+            return hash;
+        }
+        return node.hashCode();
+    }
+
+    /**
+     * JSON Pointer of the value being checked, rendered only for violations.
+     *
+     * <p>Validation recurses once per level, so pushing past the maximum depth throws
+     * instead of overflowing the stack.</p>
+     */
+    private static final class Path {
+        private final int maxDepth;
+        private String[] names = new String[16];
+        private int[] indexes = new int[16];
+        private int depth;
+
+        Path(int maxDepth) {
+            this.maxDepth = maxDepth;
+        }
+
+        void push(String name) {
+            grow();
+            names[depth++] = name;
+        }
+
+        void push(int index) {
+            grow();
+            names[depth] = null;
+            indexes[depth++] = index;
+        }
+
+        void pop() {
+            names[--depth] = null;
+        }
+
+        private void grow() {
+            if (depth >= maxDepth) {
+                throw new IllegalStateException("document nesting depth exceeds the maximum of " + maxDepth);
+            }
+            if (depth == names.length) {
+                names = Arrays.copyOf(names, depth * 2);
+                indexes = Arrays.copyOf(indexes, depth * 2);
+            }
+        }
+
+        @Override
+        public String toString() {
+            if (depth == 0) {
+                return "(root)";
+            }
+            StringBuilder pointer = new StringBuilder();
+            for (int i = 0; i < depth; i++) {
+                pointer.append('/');
+                if (names[i] == null) {
+                    pointer.append(indexes[i]);
+                } else {
+                    pointer.append(names[i].replace("~", "~0").replace("/", "~1"));
+                }
+            }
+            return pointer.toString();
+        }
+    }
+
+    // ========== Compilation ==========
+
+    /**
+     * Compiles the subschemas of one schema document, each once (by identity), so $ref
+     * cycles link back to rules already being compiled.
+     */
+    private static final class Compiler {
+        final JsonNode document;
+        final Map<JsonNode, Rule> compiled = new IdentityHashMap<>();
+        final Map<Rule, String> locations = new IdentityHashMap<>();
+        final List<String> errors = new ArrayList<>();
+
+        Compiler(JsonNode document) {
+            this.document = document;
+        }
+
+        Rule compile(JsonNode schema, String location) {
+            Rule rule = compiled.get(schema);
+            if (rule != null) {
+                return rule;
+            }
+            rule = new Rule();
+            compiled.put(schema, rule);
+            locations.put(rule, location);
+
+            if (schema.isBoolean()) {
+                rule.never = !schema.booleanValue();
+                rule.empty = !rule.never;
+                return rule;
+            }
+            if (!schema.isObject()) {
+                error(location, "a schema must be an object or a boolean");
+                return rule;
+            }
+
+            for (Iterator<Map.Entry<String, JsonNode>> it = schema.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> keyword = it.next();
+                keyword(rule, keyword.getKey(), keyword.getValue(), location + "/" + escape(keyword.getKey()));
+            }
+
+            tupleItems(rule, schema, location);
+
+            rule.empty = !rule.never && rule.types == 0 && rule.values == null && rule.constant == null
+                    && rule.properties == null
+                    && rule.patterns == null && rule.additional == null && rule.required == null
+                    && rule.dependentRequired == null && rule.dependentSchemas == null && rule.propertyNames == null
+                    && rule.minProperties < 0 && rule.maxProperties < 0 && rule.prefixItems == null && rule.items == null
+                    && rule.contains == null && rule.minItems < 0 && rule.maxItems < 0 && !rule.uniqueItems
+                    && rule.minLength < 0 && rule.maxLength < 0 && rule.pattern == null && rule.minimum == null
+                    && rule.maximum == null && rule.exclusiveMinimum == null && rule.exclusiveMaximum == null
+                    && rule.multipleOf == null && rule.allOf == null && rule.anyOf == null && rule.oneOf == null
+                    && rule.not == null && rule.ifRule == null && rule.ref == null;
+            rule.buffered = rule.values != null || rule.constant != null || rule.uniqueItems || rule.contains != null || rule.anyOf != null
+                    || rule.oneOf != null || rule.not != null || rule.ifRule != null || rule.dependentSchemas != null;
+            return rule;
+        }
+
+        private void keyword(Rule rule, String name, JsonNode value, String location) {
+            switch (name) {
+                case "type":
+                    types(rule, value, location);
+                    break;
+                case "enum":
+                    if (!value.isArray() || value.isEmpty()) {
+                        error(location, "must be a non-empty array");
+                    } else {
+                        List<JsonNode> values = new ArrayList<>();
+                        value.forEach(values::add);
+                        rule.values = values.toArray(new JsonNode[0]);
+                        rule.valuesText = "must be one of " + value;
+                    }
+                    break;
+                case "const":
+                    rule.constant = value;
+                    rule.constantText = "must be " + value;
+                    break;
+                case "properties":
+                    rule.properties = schemaMap(value, location);
+                    break;
+                case "patternProperties": {
+                    Map<String, Rule> rules = schemaMap(value, location);
+                    if (rules != null) {
+                        rule.patterns = new Pattern[rules.size()];
+                        rule.patternRules = new Rule[rules.size()];
+                        int i = 0;
+                        for (Map.Entry<String, Rule> entry : rules.entrySet()) {
+                            rule.patterns[i] = pattern(entry.getKey(), location);
+                            rule.patternRules[i++] = entry.getValue();
+                        }
+                    }
+                    break;
+                }
+                case "additionalProperties":
+                    rule.additional = compile(value, location);
+                    break;
+                case "required":
+                    rule.required = strings(value, location);
+                    break;
+                case "dependentRequired":
+                    if (!value.isObject()) {
+                        error(location, "must be an object");
+                    } else {
+                        rule.dependentRequired = new LinkedHashMap<>();
+                        for (Iterator<Map.Entry<String, JsonNode>> it = value.fields(); it.hasNext(); ) {
+                            Map.Entry<String, JsonNode> entry = it.next();
+                            rule.dependentRequired.put(entry.getKey(),
+                                    strings(entry.getValue(), location + "/" + escape(entry.getKey())));
+                        }
+                    }
+                    break;
+                case "dependentSchemas":
+                    rule.dependentSchemas = schemaMap(value, location);
+                    break;
+                case "propertyNames":
+                    rule.propertyNames = compile(value, location);
+                    break;
+                case "minProperties":
+                    rule.minProperties = count(value, location);
+                    break;
+                case "maxProperties":
+                    rule.maxProperties = count(value, location);
+                    break;
+                case "prefixItems":
+                    rule.prefixItems = schemaArray(value, location);
+                    break;
+                case "items":
+                    if (!value.isArray()) {
+                        rule.items = compile(value, location); // The tuple form is read by tupleItems
+                    }
+                    break;
+                case "contains":
+                    rule.contains = compile(value, location);
+                    break;
+                case "minContains":
+                    rule.minContains = count(value, location);
+                    break;
+                case "maxContains":
+                    rule.maxContains = count(value, location);
+                    break;
+                case "minItems":
+                    rule.minItems = count(value, location);
+                    break;
+                case "maxItems":
+                    rule.maxItems = count(value, location);
+                    break;
+                case "uniqueItems":
+                    if (!value.isBoolean()) {
+                        error(location, "must be a boolean");
+                    }
+                    rule.uniqueItems = value.asBoolean();
+                    break;
+                case "minLength":
+                    rule.minLength = count(value, location);
+                    break;
+                case "maxLength":
+                    rule.maxLength = count(value, location);
+                    break;
+                case "pattern":
+                    if (!value.isTextual()) {
+                        error(location, "must be a string");
+                    } else {
+                        rule.pattern = pattern(value.textValue(), location);
+                    }
+                    break;
+                case "minimum":
+                    rule.minimum = bound(value, location);
+                    break;
+                case "maximum":
+                    rule.maximum = bound(value, location);
+                    break;
+                case "exclusiveMinimum":
+                    rule.exclusiveMinimum = bound(value, location);
+                    break;
+                case "exclusiveMaximum":
+                    rule.exclusiveMaximum = bound(value, location);
+                    break;
+                case "multipleOf":
+                    if (!value.isNumber() || value.decimalValue().signum() <= 0) {
+                        error(location, "must be a number greater than 0");
+                    } else {
+                        rule.multipleOf = value.decimalValue();
+                    }
+                    break;
+                case "allOf":
+                    rule.allOf = schemaArray(value, location);
+                    break;
+                case "anyOf":
+                    rule.anyOf = schemaArray(value, location);
+                    break;
+                case "oneOf":
+                    rule.oneOf = schemaArray(value, location);
+                    break;
+                case "not":
+                    rule.not = compile(value, location);
+                    break;
+                case "if":
+                    rule.ifRule = compile(value, location);
+                    break;
+                case "then":
+                    rule.thenRule = compile(value, location);
+                    break;
+                case "else":
+                    rule.elseRule = compile(value, location);
+                    break;
+                case "$ref":
+                    rule.ref = reference(value, location);
+                    break;
+                case "unevaluatedProperties":
+                case "unevaluatedItems":
+                case "$dynamicRef":
+                case "$recursiveRef":
+                    error(location, "keyword not supported");
+                    break;
+                default:
+                    // Annotations ($schema, $id, $defs, title, format...) and unknown keywords
+            }
+        }
+
+        /**
+         * Reads the Draft 2019-09 tuple form: an array "items" and the "additionalItems" that
+         * applies past it. Both are ignored when "prefixItems" is present, and "additionalItems"
+         * alone has no effect, so the result does not depend on the order of the keywords.
+         */
+        private void tupleItems(Rule rule, JsonNode schema, String location) {
+            JsonNode tuple = schema.get("items");
+            if (tuple == null || !tuple.isArray() || rule.prefixItems != null) {
+                return;
+            }
+            rule.prefixItems = schemaArray(tuple, location + "/items");
+            JsonNode additional = schema.get("additionalItems");
+            if (additional != null) {
+                rule.items = compile(additional, location + "/additionalItems");
+            }
+        }
+
+        private void types(Rule rule, JsonNode value, String location) {
+            List<JsonNode> names = new ArrayList<>();
+            if (value.isArray()) {
+                value.forEach(names::add);
+            } else {
+                names.add(value);
+            }
+
+            List<String> text = new ArrayList<>();
+            for (JsonNode name : names) {
+                int index = -1;
+                for (int i = 0; i < TYPE_NAMES.length; i++) {
+                    if (TYPE_NAMES[i].equals(name.textValue())) {
+                        index = i;
+                    }
+                }
+                if (index < 0) {
+                    error(location, "unknown type " + name);
+                    return;
+                }
+                rule.types |= 1 << index;
+                text.add(TYPE_NAMES[index]);
+            }
+            rule.typeText = String.join(" or ", text);
+        }
+
+        private Rule reference(JsonNode value, String location) {
+            String ref = value.textValue();
+            if (ref == null || !ref.startsWith("#")) {
+                error(location, "only references within the schema (\"#/...\") are supported");
+                return null;
+            }
+            String pointer;
+            JsonNode target;
+            try {
+                pointer = percentDecode(ref.substring(1));
+                target = document.at(pointer);
+            } catch (IllegalArgumentException e) {
+                error(location, "invalid reference '" + ref + "': " + e.getMessage());
+                return null;
+            }
+            if (target.isMissingNode()) {
+                error(location, "cannot resolve '" + ref + "'");
+                return null;
+            }
+            return compile(target, pointer);
+        }
+
+        /**
+         * Decodes the %XX escapes of a URI fragment (UTF-8); '+' stays a plus sign.
+         */
+        private static String percentDecode(String fragment) {
+            if (fragment.indexOf('%') < 0) {
+                return fragment;
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(fragment.length());
+            for (int i = 0; i < fragment.length(); i++) {
+                char c = fragment.charAt(i);
+                if (c != '%') {
+                    bytes.writeBytes(String.valueOf(c).getBytes(StandardCharsets.UTF_8));
+                    continue;
+                }
+                int high = i + 2 < fragment.length() ? Character.digit(fragment.charAt(i + 1), 16) : -1;
+                int low = high >= 0 ? Character.digit(fragment.charAt(i + 2), 16) : -1;
+                if (low < 0) {
+                    throw new IllegalArgumentException("malformed escape at position " + i);
+                }
+                bytes.write(high << 4 | low);
+                i += 2;
+            }
+            return bytes.toString(StandardCharsets.UTF_8);
+        }
+
+        private Map<String, Rule> schemaMap(JsonNode value, String location) {
+            if (!value.isObject()) {
+                error(location, "must be an object");
+                return null;
+            }
+            Map<String, Rule> rules = new LinkedHashMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = value.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> entry = it.next();
+                rules.put(entry.getKey(), compile(entry.getValue(), location + "/" + escape(entry.getKey())));
+            }
+            return rules;
+        }
+
+        private Rule[] schemaArray(JsonNode value, String location) {
+            if (!value.isArray() || value.isEmpty()) {
+                error(location, "must be a non-empty array of schemas");
+                return null;
+            }
+            Rule[] rules = new Rule[value.size()];
+            for (int i = 0; i < rules.length; i++) {
+                rules[i] = compile(value.get(i), location + "/" + i);
+            }
+            return rules;
+        }
+
+        private String[] strings(JsonNode value, String location) {
+            if (!value.isArray()) {
+                error(location, "must be an array of strings");
+                return null;
+            }
+            String[] strings = new String[value.size()];
+            for (int i = 0; i < strings.length; i++) {
+                if (!value.get(i).isTextual()) {
+                    error(location, "must be an array of strings");
+                    return null;
+                }
+                strings[i] = value.get(i).textValue();
+            }
+            return strings;
+        }
+
+        private int count(JsonNode value, String location) {
+            if (!value.isNumber() || !isWhole(value.doubleValue(), value.decimalValue()) || value.doubleValue() < 0
+                    || value.doubleValue() > Integer.MAX_VALUE) {
+                error(location, "must be a non-negative integer");
+                return -1;
+            }
+            return value.intValue();
+        }
+
+        private Bound bound(JsonNode value, String location) {
+            if (!value.isNumber()) {
+                error(location, "must be a number");
+                return null;
+            }
+            return new Bound(value.decimalValue());
+        }
+
+        private Pattern pattern(String regex, String location) {
+            try {
+                return Pattern.compile(regex);
+            } catch (PatternSyntaxException e) {
+                error(location, "invalid pattern '" + regex + "': " + e.getDescription());
+                return null;
+            }
+        }
+
+        /**
+         * Reports $ref/allOf/anyOf... chains that lead back to a rule without consuming any of
+         * the document, which would never end.
+         */
+        void checkCycles() {
+            Map<Rule, Boolean> visiting = new IdentityHashMap<>();
+            for (Rule rule : compiled.values()) {
+                if (cycle(rule, visiting)) {
+                    error(locations.get(rule), "reference cycle that never reaches a property or item");
+                    return;
+                }
+            }
+        }
+
+        private boolean cycle(Rule rule, Map<Rule, Boolean> state) {
+            if (rule == null) {
+                return false;
+            }
+            Boolean current = state.get(rule);
+            if (current != null) {
+                return current; // true: still on the stack
+            }
+            state.put(rule, Boolean.TRUE);
+            List<Rule> next = new ArrayList<>();
+            next.add(rule.ref);
+            next.add(rule.not);
+            next.add(rule.ifRule);
+            next.add(rule.thenRule);
+            next.add(rule.elseRule);
+            for (Rule[] group : new Rule[][]{rule.allOf, rule.anyOf, rule.oneOf}) {
+                if (group != null) {
+                    next.addAll(Arrays.asList(group));
+                }
+            }
+            if (rule.dependentSchemas != null) {
+                next.addAll(rule.dependentSchemas.values());
+            }
+            for (Rule each : next) {
+                if (cycle(each, state)) {
+                    return true;
+                }
+            }
+            state.put(rule, Boolean.FALSE);
+            return false;
+        }
+
+        private void error(String location, String message) {
+            errors.add((location.isEmpty() ? "(root)" : location) + ": " + message);
+        }
+
+        private static String escape(String name) {
+            return name.replace("~", "~0").replace("/", "~1");
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package commons.kit.JsonUtils;
+
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import commons.kit.ErrorUtils.Result;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Compiled RFC 7396 JSON Merge Patch over Jackson trees.
+ *
+ * <p>The patch is itself a tree, so applying it is a single walk over the patch: only the
+ * objects it names are copied (shallowly), every other subtree is shared with the input,
+ * which is never modified. A null member removes the key; a non-object value replaces
+ * the target value.</p>
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+final class JacksonMergePatch implements JsonPatch {
+    private final JsonNodeFactory nodes;
+    private final Function<Object, JsonNode> toTree;
+    private final JsonNode patch;
+    private final int size;
+
+    JacksonMergePatch(JsonNode patch, JsonNodeFactory nodes, Function<Object, JsonNode> toTree) {
+        this.nodes = nodes;
+        this.toTree = toTree;
+        this.patch = patch.deepCopy();
+        this.size = count(this.patch);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, JsonNodeWrapper> apply(Object node) {
+        try {
+            JsonNode document = node == null ? NullNode.getInstance() : toTree.apply(node);
+            return Result.ok(new JacksonNodeWrapper(merge(document, patch)));
+        } catch (Exception e) {
+            return Result.err((E) ("Patch failed: " + e.getMessage()));
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private JsonNode merge(JsonNode target, JsonNode patch) {
+        if (!patch.isObject()) {
+            return patch.deepCopy();
+        }
+
+        ObjectNode result = nodes.objectNode();
+        if (target != null && target.isObject()) {
+            result.setAll((ObjectNode) target);
+        }
+
+        for (Iterator<Map.Entry<String, JsonNode>> it = patch.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> entry = it.next();
+            if (entry.getValue().isNull()) {
+                result.remove(entry.getKey());
+            } else {
+                result.set(entry.getKey(), merge(result.get(entry.getKey()), entry.getValue()));
+            }
+        }
+        return result;
+    }
+
+    private static int count(JsonNode patch) {
+        if (!patch.isObject()) {
+            return 1;
+        }
+        int count = 0;
+        for (JsonNode value : patch) {
+            count += value.isObject() ? count(value) : 1;
+        }
+        return count;
+    }
+}
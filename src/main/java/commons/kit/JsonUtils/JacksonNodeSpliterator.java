@@ -0,0 +1,74 @@
+package commons.kit.JsonUtils;
+
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Index-range Spliterator over the elements of an in-memory Jackson array.
+ *
+ * <p>Sized and subsized: {@link #trySplit()} hands off the first half of the remaining range
+ * in O(1), so parallel streams balance the work across the fork-join pool. Elements are
+ * wrapped as they are visited. The array must not be modified while it is being streamed.</p>
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+final class JacksonNodeSpliterator implements Spliterator<JsonNodeWrapper> {
+
+    private final JsonNode array;
+    private int index;
+    private final int fence;
+
+    JacksonNodeSpliterator(JsonNode array) {
+        this(array, 0, array.size());
+    }
+
+    private JacksonNodeSpliterator(JsonNode array, int origin, int fence) {
+        this.array = array;
+        this.index = origin;
+        this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super JsonNodeWrapper> action) {
+        if (index >= fence) {
+            return false;
+        }
+        action.accept(new JacksonNodeWrapper(array.get(index++)));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super JsonNodeWrapper> action) {
+        JsonNode elements = array;
+        int end = fence;
+        for (int i = index; i < end; i++) {
+            action.accept(new JacksonNodeWrapper(elements.get(i)));
+        }
+        index = end;
+    }
+
+    @Override
+    public Spliterator<JsonNodeWrapper> trySplit() {
+        int origin = index;
+        int middle = (origin + fence) >>> 1;
+        if (origin >= middle) {
+            return null;
+        }
+        index = middle;
+        return new JacksonNodeSpliterator(array, origin, middle);
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL;
+    }
+}
@@ -0,0 +1,105 @@
+package commons.kit.JsonUtils;
+
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * JsonNodeWrapper backed by a Jackson tree.
+ *
+ * <p>Package-private: created by {@link JacksonJsonProvider} and the Jackson-based
+ * helpers of this package, exposed to callers only through the wrapper interface.</p>
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+final class JacksonNodeWrapper implements JsonNodeWrapper {
+    private final JsonNode node;
+
+    JacksonNodeWrapper(JsonNode node) {
+        this.node = node;
+    }
+
+    @Override
+    public JsonNodeWrapper get(String key) {
+        JsonNode child = node.get(key);
+        return child != null ? new JacksonNodeWrapper(child) : null;
+    }
+
+    @Override
+    public JsonNodeWrapper at(String path) {
+        JsonNode child = node.at(path);
+        return child != null && !child.isMissingNode() ? new JacksonNodeWrapper(child) : null;
+    }
+
+    @Override
+    public JsonNodeWrapper at(JsonPath path) {
+        JsonNode current = node;
+        for (int i = 0; i < path.length() && current != null; i++) {
+            current = current.isArray() && path.isIndex(i)
+                    ? current.get(path.index(i))
+                    : current.get(path.segment(i));
+        }
+        return current != null ? new JacksonNodeWrapper(current) : null;
+    }
+
+    @Override
+    public String asText() {
+        return node.asText();
+    }
+
+    @Override
+    public int asInt() {
+        return node.asInt();
+    }
+
+    @Override
+    public long asLong() {
+        return node.asLong();
+    }
+
+    @Override
+    public double asDouble() {
+        return node.asDouble();
+    }
+
+    @Override
+    public boolean asBoolean() {
+        return node.asBoolean();
+    }
+
+    @Override
+    public boolean isArray() {
+        return node.isArray();
+    }
+
+    @Override
+    public boolean isObject() {
+        return node.isObject();
+    }
+
+    @Override
+    public boolean isNull() {
+        return node.isNull();
+    }
+
+    @Override
+    public Iterable<String> keys() {
+        return node::fieldNames;
+    }
+
+    @Override
+    public int size() {
+        return node.size();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap() {
+        return (T) node;
+    }
+
+    @Override
+    public String toString() {
+        return node.toString();
+    }
+}
@@ -0,0 +1,255 @@
+package commons.kit.JsonUtils;
+
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Removes null and empty values from a Jackson tree without recursion.
+ *
+ * <p>Containers are visited depth-first with an explicit stack, so document depth is
+ * bounded by memory rather than the thread stack. Without in-place mode a container is
+ * copied only once something below it is removed: untouched subtrees, and the whole tree
+ * when nothing matches, are returned as-is. In in-place mode nothing is allocated besides
+ * the stack.</p>
+ *
+ * <p>Whether a member is removed is decided on its value before it is pruned itself, so an
+ * object whose members are all removed is kept as {@code {}} (as {@code prune} always did).</p>
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+final class JacksonPruner {
+
+    private JacksonPruner() {
+        throw new AssertionError("No JacksonPruner instances for you!");
+    }
+
+    /**
+     * Prunes a tree.
+     *
+     * @param root the tree
+     * @param options what to remove, and whether to modify the tree
+     * @param nodes factory for copied containers
+     * @return the pruned tree ('root' itself if nothing was removed or in place)
+     */
+    static JsonNode prune(JsonNode root, PruneOptions options, JsonNodeFactory nodes) {
+        if (!root.isContainerNode() || root.isEmpty()) {
+            return root;
+        }
+
+        Deque<Frame> stack = new ArrayDeque<>();
+        stack.push(frame(root, options, nodes));
+        while (true) {
+            Frame frame = stack.peek();
+            JsonNode child = frame.next();
+            if (child == null) {
+                JsonNode done = frame.finish();
+                stack.pop();
+                if (stack.isEmpty()) {
+                    return done;
+                }
+                stack.peek().keep(done);
+            } else if (removes(child, frame.inArray(), options)) {
+                frame.drop();
+            } else if (child.isContainerNode() && !child.isEmpty()) {
+                stack.push(frame(child, options, nodes));
+            } else {
+                frame.keep(child);
+            }
+        }
+    }
+
+    private static boolean removes(JsonNode value, boolean inArray, PruneOptions options) {
+        if (value.isNull()) {
+            return options.dropsNulls();
+        }
+        if (inArray && !options.prunesArrayElements()) {
+            return false;
+        }
+        return (value.isTextual() && options.dropsEmptyStrings() && value.textValue().isEmpty())
+                || (value.isArray() && options.dropsEmptyArrays() && value.isEmpty())
+                || (value.isObject() && options.dropsEmptyObjects() && value.isEmpty());
+    }
+
+    private static Frame frame(JsonNode node, PruneOptions options, JsonNodeFactory nodes) {
+        if (node.isObject()) {
+            return new ObjectFrame((ObjectNode) node, options.isInPlace(), nodes);
+        }
+        return new ArrayFrame((ArrayNode) node, options.isInPlace(), nodes);
+    }
+
+    /**
+     * One container being pruned: hands out its children one by one, then is told whether
+     * each one is dropped or kept (possibly as a pruned copy).
+     */
+    private abstract static class Frame {
+        final boolean inPlace;
+        final JsonNodeFactory nodes;
+        JsonNode current;
+        int position = -1;
+
+        Frame(boolean inPlace, JsonNodeFactory nodes) {
+            this.inPlace = inPlace;
+            this.nodes = nodes;
+        }
+
+        /** Returns the next child, or null when done. */
+        abstract JsonNode next();
+
+        abstract boolean inArray();
+
+        /** Removes the current child. */
+        abstract void drop();
+
+        /** Keeps the current child, as 'value' (the child itself unless it was pruned into a copy). */
+        abstract void keep(JsonNode value);
+
+        /** Returns the pruned container. */
+        abstract JsonNode finish();
+    }
+
+    private static final class ObjectFrame extends Frame {
+        final ObjectNode source;
+        final Iterator<Map.Entry<String, JsonNode>> fields;
+        String key;
+        ObjectNode copy;
+
+        ObjectFrame(ObjectNode source, boolean inPlace, JsonNodeFactory nodes) {
+            super(inPlace, nodes);
+            this.source = source;
+            this.fields = source.fields();
+        }
+
+        @Override
+        JsonNode next() {
+            if (!fields.hasNext()) {
+                return null;
+            }
+            Map.Entry<String, JsonNode> field = fields.next();
+            key = field.getKey();
+            current = field.getValue();
+            position++;
+            return current;
+        }
+
+        @Override
+        boolean inArray() {
+            return false;
+        }
+
+        @Override
+        void drop() {
+            if (inPlace) {
+                fields.remove();
+            } else if (copy == null) {
+                copy = copyOfPrevious();
+            }
+        }
+
+        @Override
+        void keep(JsonNode value) {
+            if (copy == null && value != current && !inPlace) {
+                copy = copyOfPrevious();
+            }
+            if (copy != null) {
+                copy.set(key, value);
+            }
+        }
+
+        @Override
+        JsonNode finish() {
+            return copy != null ? copy : source;
+        }
+
+        /** Members before the current one, all kept unchanged so far. */
+        private ObjectNode copyOfPrevious() {
+            ObjectNode result = nodes.objectNode();
+            Iterator<Map.Entry<String, JsonNode>> it = source.fields();
+            for (int i = 0; i < position; i++) {
+                Map.Entry<String, JsonNode> field = it.next();
+                result.set(field.getKey(), field.getValue());
+            }
+            return result;
+        }
+    }
+
+    private static final class ArrayFrame extends Frame {
+        final ArrayNode source;
+        final int size;
+        int write;
+        ArrayNode copy;
+
+        ArrayFrame(ArrayNode source, boolean inPlace, JsonNodeFactory nodes) {
+            super(inPlace, nodes);
+            this.source = source;
+            this.size = source.size();
+        }
+
+        @Override
+        JsonNode next() {
+            if (position + 1 >= size) {
+                return null;
+            }
+            current = source.get(++position);
+            return current;
+        }
+
+        @Override
+        boolean inArray() {
+            return true;
+        }
+
+        @Override
+        void drop() {
+            if (!inPlace && copy == null) {
+                copy = copyOfPrevious();
+            }
+        }
+
+        @Override
+        void keep(JsonNode value) {
+            if (inPlace) {
+                // Compact over dropped elements; the tail is cut in finish()
+                if (write != position) {
+                    source.set(write, value);
+                }
+                write++;
+                return;
+            }
+            if (copy == null && value != current) {
+                copy = copyOfPrevious();
+            }
+            if (copy != null) {
+                copy.add(value);
+            }
+        }
+
+        @Override
+        JsonNode finish() {
+            if (inPlace) {
+                for (int i = size - 1; i >= write; i--) {
+                    source.remove(i);
+                }
+                return source;
+            }
+            return copy != null ? copy : source;
+        }
+
+        /** Elements before the current one, all kept unchanged so far. */
+        private ArrayNode copyOfPrevious() {
+            ArrayNode result = nodes.arrayNode(size);
+            for (int i = 0; i < position; i++) {
+                result.add(source.get(i));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package commons.kit.JsonUtils;
+
+
+import commons.kit.ErrorUtils.Result;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+
+/**
+ * A reusable JSON codec bound to one target type.
+ *
+ * <p>All type resolution happens once, when the codec is created; providers cache
+ * codecs per type, so obtaining the same codec again is a map lookup. Keep frequently
+ * used codecs in constants:</p>
+ *
+ * <pre>
+ * private static final JsonCodec&lt;Order&gt; ORDERS = JsonUtils.codec(Order.class);
+ *
+ * Result&lt;String, Order&gt; order = ORDERS.fromJson(body);
+ * </pre>
+ *
+ * <p>Like the provider methods, codecs never throw and are thread-safe. {@link #decode(String)}
+ * and {@link #decodeBytes(byte[])} report failures as {@link JsonError}s rather than Strings.</p>
+ *
+ * @param <T> the target type
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+public interface JsonCodec<T> {
+
+    /**
+     * Returns the type this codec is bound to.
+     *
+     * @return the target type
+     */
+    Type type();
+
+    /**
+     * Deserializes a JSON string.
+     *
+     * @param json the JSON string
+     * @param <E> the error type
+     * @return Result containing deserialized value or error
+     */
+    <E> Result<E, T> fromJson(String json);
+
+    /**
+     * Deserializes UTF-8 JSON bytes.
+     *
+     * @param json the UTF-8 JSON
+     * @param <E> the error type
+     * @return Result containing deserialized value or error
+     */
+    <E> Result<E, T> fromJsonBytes(byte[] json);
+
+    /**
+     * Converts any object (Map, POJO, tree) to the target type.
+     *
+     * @param from the source object
+     * @param <E> the error type
+     * @return Result containing converted value or error
+     */
+    <E> Result<E, T> convert(Object from);
+
+    /**
+     * Serializes a value to a JSON string.
+     *
+     * @param value the value
+     * @param <E> the error type
+     * @return Result containing JSON string or error
+     */
+    <E> Result<E, String> toJson(T value);
+
+    /**
+     * Serializes a value to UTF-8 JSON bytes.
+     *
+     * @param value the value
+     * @param <E> the error type
+     * @return Result containing UTF-8 JSON or error
+     */
+    <E> Result<E, byte[]> toJsonBytes(T value);
+
+    /**
+     * Deserializes a JSON string, reporting failures as typed errors.
+     *
+     * <p>The default implementation wraps the message of {@link #fromJson(String)} in an
+     * {@link JsonError.Kind#OTHER} error; providers should override it.</p>
+     *
+     * @param json the JSON string
+     * @return Result containing deserialized value or error
+     */
+    default Result<JsonError, T> decode(String json) {
+        return this.<String>fromJson(json).mapErr(JsonError::fromMessage);
+    }
+
+    /**
+     * Deserializes UTF-8 JSON bytes, reporting failures as typed errors.
+     *
+     * <p>The default implementation wraps the message of {@link #fromJsonBytes(byte[])} in an
+     * {@link JsonError.Kind#OTHER} error; providers should override it.</p>
+     *
+     * @param json the UTF-8 JSON
+     * @return Result containing deserialized value or error
+     */
+    default Result<JsonError, T> decodeBytes(byte[] json) {
+        return this.<String>fromJsonBytes(json).mapErr(JsonError::fromMessage);
+    }
+
+    /**
+     * Deserializes a range of UTF-8 JSON bytes, reporting failures as typed errors.
+     *
+     * <p>The default implementation copies the range and calls {@link #decodeBytes(byte[])};
+     * providers that can read the range in place should override it.</p>
+     *
+     * @param json buffer holding the UTF-8 JSON
+     * @param offset where the JSON starts
+     * @param length how many bytes it spans
+     * @return Result containing deserialized value or error
+     */
+    default Result<JsonError, T> decodeBytes(byte[] json, int offset, int length) {
+        if (json == null || length <= 0) {
+            return decodeBytes(null);
+        }
+        if (offset < 0 || offset > json.length - length) {
+            return Result.err(JsonError.of(JsonError.Kind.OTHER,
+                    "Range " + offset + "+" + length + " is outside the " + json.length + " JSON bytes"));
+        }
+        return decodeBytes(offset == 0 && length == json.length ? json : Arrays.copyOfRange(json, offset, offset + length));
+    }
+}
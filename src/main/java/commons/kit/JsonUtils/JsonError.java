@@ -0,0 +1,117 @@
+package commons.kit.JsonUtils;
+
+/**
+ * Structured error of the typed JSON operations ({@link JsonUtils#decode(String, Class)} and
+ * friends).
+ *
+ * <p>Unlike the String errors of the other methods, a JsonError is built without string
+ * concatenation: the text is only rendered when {@link #message()} or {@link #toString()}
+ * is called, so rejecting invalid payloads stays cheap. Branch on the {@link Kind}
+ * instead of parsing messages:</p>
+ *
+ * <pre>
+ * JsonUtils.decode(body, Order.class).fold(
+ *         error -&gt; error.kind() == JsonError.Kind.SYNTAX ? badRequest(error) : unprocessable(error),
+ *         this::accept);
+ * </pre>
+ *
+ * @param kind what went wrong
+ * @param detail the provider's description, without location
+ * @param line the 1-based line of the error, or -1 if unknown
+ * @param column the 1-based column of the error, or -1 if unknown
+ * @param path the member that could not be bound, or null if the error is not tied to one
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+public record JsonError(
+        Kind kind,
+        String detail,
+        int line,
+        int column,
+        JsonPath path
+) {
+
+    /**
+     * Categories of JSON errors.
+     */
+    public enum Kind {
+        /** The input was null or empty. */
+        EMPTY_INPUT,
+        /** The input is not well-formed JSON. */
+        SYNTAX,
+        /** Well-formed JSON that does not fit the target type. */
+        MAPPING,
+        /** Reading the input failed. */
+        IO,
+        /** Anything else, including errors of providers that only report messages. */
+        OTHER
+    }
+
+    /**
+     * Creates a JsonError with validation.
+     *
+     * @throws IllegalArgumentException if kind is null
+     */
+    public JsonError {
+        if (kind == null) {
+            throw new IllegalArgumentException("Kind cannot be null");
+        }
+        if (detail == null) {
+            detail = "";
+        }
+    }
+
+    /**
+     * Creates an error without location.
+     *
+     * @param kind what went wrong
+     * @param detail the description
+     * @return the error
+     */
+    public static JsonError of(Kind kind, String detail) {
+        return new JsonError(kind, detail, -1, -1, null);
+    }
+
+    /**
+     * Wraps the message of a String-error operation, for providers without typed errors.
+     *
+     * @param message the error message
+     * @return an {@link Kind#OTHER} error
+     */
+    static JsonError fromMessage(String message) {
+        return of(Kind.OTHER, message);
+    }
+
+    /**
+     * Returns whether the error has a line and column.
+     *
+     * @return true if {@link #line()} and {@link #column()} are known
+     */
+    public boolean hasLocation() {
+        return line > 0;
+    }
+
+    /**
+     * Renders the description with the path and location, if any.
+     *
+     * <p>Example: {@code Cannot coerce String value ("lots") to int at 'items.1.qty' (line 1, column 42)}</p>
+     *
+     * @return the message
+     */
+    public String message() {
+        StringBuilder message = new StringBuilder(detail);
+        if (path != null) {
+            message.append(" at '").append(path).append('\'');
+        }
+        if (hasLocation()) {
+            message.append(" (line ").append(line).append(", column ").append(column).append(')');
+        }
+        return message.toString();
+    }
+
+    @Override
+    public String toString() {
+        return kind + ": " + message();
+    }
+}
@@ -0,0 +1,22 @@
+package commons.kit.JsonUtils;
+
+
+/**
+ * Serialization profiles for {@link JsonUtils#toJson(Object, JsonFormat)}.
+ *
+ * <p><strong>Profiles:</strong></p>
+ * <ul>
+ *   <li>COMPACT: no whitespace, for APIs and storage</li>
+ *   <li>PRETTY: indented, for logs and humans (the {@code toJson(Object)} default)</li>
+ *   <li>CANONICAL: compact with object keys sorted, so equal values always produce
+ *       identical strings (hashing, signatures, cache keys, diffs)</li>
+ * </ul>
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+public enum JsonFormat {
+    COMPACT,
+    PRETTY,
+    CANONICAL
+}
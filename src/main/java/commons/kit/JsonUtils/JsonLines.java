@@ -0,0 +1,231 @@
+package commons.kit.JsonUtils;
+
+
+import commons.kit.ErrorUtils.Result;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reader and writer of JSON Lines (NDJSON): one JSON value per line, UTF-8.
+ *
+ * <p>Reading splits the input into chunks of whole lines on the raw bytes, without
+ * decoding them to text, and binds the lines of each chunk on an executor while the next
+ * chunks are read. Every non-blank line yields one Result; a line that cannot be bound
+ * yields an error whose {@link JsonError#line()} is the line number in the input, and
+ * reading goes on with the next line.</p>
+ *
+ * <pre>
+ * private static final JsonLines&lt;Event&gt; EVENTS = JsonUtils.jsonLines(Event.class);
+ *
+ * try (Stream&lt;Result&lt;JsonError, Event&gt;&gt; events = EVENTS.read(Path.of("events.ndjson"))) {
+ *     events.forEach(event -&gt; event.fold(this::reject, this::accept));
+ * }
+ *
+ * try (JsonLinesWriter&lt;Event&gt; out = EVENTS.writer(Files.newOutputStream(target))) {
+ *     out.writeAll(events);
+ * }
+ * </pre>
+ *
+ * <p><strong>Defaults</strong>: chunks of 64 KiB (longer lines get a larger chunk) decoded on
+ * the common fork-join pool, results in input order. {@link #withOrdered(boolean) withOrdered(false)}
+ * hands out each chunk as soon as it is decoded, {@link #sequential()} decodes on the reading
+ * thread, and {@link #withExecutor(Executor)} accepts any executor, such as
+ * {@code Executors.newVirtualThreadPerTaskExecutor()} on Java 21.</p>
+ *
+ * <p>Immutable: every {@code with...} method returns a new instance, so instances can be kept
+ * in constants.</p>
+ *
+ * @param <T> the record type
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+public final class JsonLines<T> {
+
+    static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    private final JsonProvider provider;
+    private final JsonCodec<T> codec;
+    private final Executor executor; // null: decode on the reading thread
+    private final boolean ordered;
+    private final int chunkSize;
+    private final int flushEvery;
+
+    private JsonLines(JsonProvider provider, JsonCodec<T> codec, Executor executor, boolean ordered,
+                      int chunkSize, int flushEvery) {
+        this.provider = provider;
+        this.codec = codec;
+        this.executor = executor;
+        this.ordered = ordered;
+        this.chunkSize = chunkSize;
+        this.flushEvery = flushEvery;
+    }
+
+    /**
+     * Creates a JSON Lines reader and writer for a class, with the defaults.
+     *
+     * @param provider binds and serializes the records
+     * @param clazz the record class
+     * @param <T> the record type
+     * @return the reader and writer
+     */
+    public static <T> JsonLines<T> of(JsonProvider provider, Class<T> clazz) {
+        return of(provider, provider.codec(clazz));
+    }
+
+    /**
+     * Creates a JSON Lines reader and writer for a generic type, with the defaults.
+     *
+     * @param provider binds and serializes the records
+     * @param type the record type
+     * @param <T> the record type
+     * @return the reader and writer
+     */
+    public static <T> JsonLines<T> of(JsonProvider provider, TypeRef<T> type) {
+        return of(provider, provider.codec(type));
+    }
+
+    private static <T> JsonLines<T> of(JsonProvider provider, JsonCodec<T> codec) {
+        return new JsonLines<>(provider, codec, ForkJoinPool.commonPool(), true, DEFAULT_CHUNK_SIZE, 0);
+    }
+
+    /**
+     * Sets the executor that decodes chunks.
+     *
+     * @param executor the executor
+     * @return new instance
+     * @throws NullPointerException if executor is null (use {@link #sequential()})
+     */
+    public JsonLines<T> withExecutor(Executor executor) {
+        Objects.requireNonNull(executor, "executor");
+        return new JsonLines<>(provider, codec, executor, ordered, chunkSize, flushEvery);
+    }
+
+    /**
+     * Decodes on the thread that consumes the stream, one chunk at a time.
+     *
+     * @return new instance
+     */
+    public JsonLines<T> sequential() {
+        return new JsonLines<>(provider, codec, null, ordered, chunkSize, flushEvery);
+    }
+
+    /**
+     * Sets whether records come out in input order. When false, the records of a chunk come
+     * out as soon as it is decoded (still in order within the chunk).
+     *
+     * @param ordered true to keep input order
+     * @return new instance
+     */
+    public JsonLines<T> withOrdered(boolean ordered) {
+        return new JsonLines<>(provider, codec, executor, ordered, chunkSize, flushEvery);
+    }
+
+    /**
+     * Sets how many bytes are read per chunk, and the buffer size of writers.
+     *
+     * @param bytes the chunk size
+     * @return new instance
+     * @throws IllegalArgumentException if bytes is not positive
+     */
+    public JsonLines<T> withChunkSize(int bytes) {
+        if (bytes <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + bytes);
+        }
+        return new JsonLines<>(provider, codec, executor, ordered, bytes, flushEvery);
+    }
+
+    /**
+     * Sets how many records writers buffer before flushing; 0 (the default) flushes only when
+     * the buffer is full, on {@link JsonLinesWriter#flush()} and on close.
+     *
+     * @param records records per flush
+     * @return new instance
+     * @throws IllegalArgumentException if records is negative
+     */
+    public JsonLines<T> withFlushEvery(int records) {
+        if (records < 0) {
+            throw new IllegalArgumentException("Flush interval cannot be negative: " + records);
+        }
+        return new JsonLines<>(provider, codec, executor, ordered, chunkSize, records);
+    }
+
+    // ========== Reading ==========
+
+    /**
+     * Lazily reads the records of a JSON Lines stream.
+     *
+     * <p>Blank lines are skipped and a trailing CR is ignored. A failure to read the input
+     * yields a final {@link JsonError.Kind#IO} error. Closing the stream closes the input
+     * and abandons chunks not yet decoded.</p>
+     *
+     * @param input UTF-8 JSON Lines
+     * @return Stream of per-record Results
+     */
+    public Stream<Result<JsonError, T>> read(InputStream input) {
+        Objects.requireNonNull(input, "input");
+        // Like CompletableFuture, don't hand work to a common pool without spare threads
+        Executor decoder = executor == ForkJoinPool.commonPool() && ForkJoinPool.getCommonPoolParallelism() < 2
+                ? null
+                : executor;
+        JsonLinesSpliterator<T> records = new JsonLinesSpliterator<>(input, codec, decoder, ordered, chunkSize);
+        return StreamSupport.stream(records, false).onClose(records::close);
+    }
+
+    /**
+     * Lazily reads the records of a JSON Lines file.
+     *
+     * <p>The file is memory-mapped, like in {@link JsonProvider#parseFile(Path)}, and stays
+     * open until the stream is closed (use try-with-resources).</p>
+     *
+     * @param path the file
+     * @return Stream of per-record Results, or a single error if the file cannot be opened
+     * @see #read(InputStream)
+     */
+    public Stream<Result<JsonError, T>> read(Path path) {
+        try {
+            return read(MappedFileInput.open(path));
+        } catch (IOException | RuntimeException e) {
+            return Stream.of(Result.err(JsonError.of(JsonError.Kind.IO, "Cannot open JSON file: " + e.getMessage())));
+        }
+    }
+
+    // ========== Writing ==========
+
+    /**
+     * Returns a writer of compact records, one per line. Closing the writer closes the output.
+     *
+     * @param output the destination
+     * @return the writer
+     */
+    public JsonLinesWriter<T> writer(OutputStream output) {
+        Objects.requireNonNull(output, "output");
+        return new JsonLinesWriter<>(provider, output, chunkSize, flushEvery);
+    }
+
+    /**
+     * Writes records to a file, replacing its contents.
+     *
+     * @param path the file
+     * @param records the records
+     * @param <E> the error type
+     * @return Result containing the number of records written, or the first error
+     */
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, Long> write(Path path, Iterable<? extends T> records) {
+        try (JsonLinesWriter<T> writer = writer(Files.newOutputStream(path))) {
+            return writer.writeAll(records);
+        } catch (IOException | UncheckedIOException e) {
+            return Result.err((E) ("JSON Lines write failed: " + e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package commons.kit.JsonUtils;
+
+
+import commons.kit.ErrorUtils.Result;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Pulls the records of a JSON Lines input, decoding chunks of lines ahead on an executor.
+ *
+ * <p>The consuming thread reads the input in chunks that end on a newline byte and submits
+ * each one; a worker finds the lines of its chunk and binds them. At most twice the
+ * executor's parallelism of chunks are in flight, so memory stays bounded however far the
+ * consumer falls behind. In ordered mode chunks are handed out in submission order,
+ * otherwise in completion order.</p>
+ *
+ * @param <T> the record type
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+final class JsonLinesSpliterator<T> extends Spliterators.AbstractSpliterator<Result<JsonError, T>>
+        implements AutoCloseable {
+
+    /**
+     * Whole lines [start, end) of the input; the first one is line 'firstLine'.
+     */
+    private static final class Chunk {
+        final byte[] data;
+        final int start;
+        final int end;
+        final long firstLine;
+
+        Chunk(byte[] data, int start, int end, long firstLine) {
+            this.data = data;
+            this.start = start;
+            this.end = end;
+            this.firstLine = firstLine;
+        }
+    }
+
+    private final InputStream input;
+    private final JsonCodec<T> codec;
+    private final Executor executor; // null: decode on the consuming thread
+    private final boolean ordered;
+    private final int chunkSize;
+    private final int window;
+
+    private final ArrayDeque<CompletableFuture<List<Result<JsonError, T>>>> pending = new ArrayDeque<>();
+    private final BlockingQueue<CompletableFuture<List<Result<JsonError, T>>>> completed = new LinkedBlockingQueue<>();
+    private int inFlight;
+
+    private byte[] carry = new byte[0]; // Start of a line whose newline has not been read yet
+    private long nextLine = 1;
+    private boolean eof;
+    private JsonError failure;          // Reported once the chunks before it are handed out
+
+    private List<Result<JsonError, T>> batch = List.of();
+    private int position;
+    private volatile boolean closed;
+
+    JsonLinesSpliterator(InputStream input, JsonCodec<T> codec, Executor executor, boolean ordered, int chunkSize) {
+        super(Long.MAX_VALUE, (ordered ? Spliterator.ORDERED : 0) | Spliterator.NONNULL);
+        this.input = input;
+        this.codec = codec;
+        this.executor = executor;
+        this.ordered = ordered;
+        this.chunkSize = chunkSize;
+        int parallelism = executor instanceof ForkJoinPool
+                ? ((ForkJoinPool) executor).getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.window = Math.max(2, 2 * parallelism);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Result<JsonError, T>> action) {
+        while (position == batch.size()) {
+            List<Result<JsonError, T>> next = nextBatch();
+            if (next == null) {
+                return false;
+            }
+            batch = next;
+            position = 0;
+        }
+        action.accept(batch.get(position++));
+        return true;
+    }
+
+    /**
+     * Stops reading: chunks that have not started decoding are skipped. Closes the input.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            input.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ========== Scheduling ==========
+
+    /**
+     * Returns the records of the next decoded chunk, or null when there are none left.
+     */
+    private List<Result<JsonError, T>> nextBatch() {
+        if (executor == null) {
+            Chunk chunk = readChunk();
+            return chunk != null ? decode(chunk) : drainFailure();
+        }
+
+        while (inFlight < window) {
+            Chunk chunk = readChunk();
+            if (chunk == null) {
+                break;
+            }
+            submit(chunk);
+        }
+        if (inFlight == 0) {
+            return drainFailure();
+        }
+        inFlight--;
+        return ordered ? await(pending.poll()) : awaitAny();
+    }
+
+    private void submit(Chunk chunk) {
+        CompletableFuture<List<Result<JsonError, T>>> task;
+        try {
+            task = CompletableFuture.supplyAsync(() -> decode(chunk), executor);
+        } catch (RejectedExecutionException e) {
+            task = CompletableFuture.completedFuture(decode(chunk));
+        }
+        inFlight++;
+        if (ordered) {
+            pending.add(task);
+        } else {
+            CompletableFuture<List<Result<JsonError, T>>> submitted = task;
+            task.whenComplete((records, error) -> completed.add(submitted));
+        }
+    }
+
+    private List<Result<JsonError, T>> awaitAny() {
+        try {
+            return await(completed.take());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            eof = true;
+            inFlight = 0;
+            return List.of(Result.err(JsonError.of(JsonError.Kind.OTHER, "JSON Lines reading was interrupted")));
+        }
+    }
+
+    private List<Result<JsonError, T>> await(CompletableFuture<List<Result<JsonError, T>>> task) {
+        try {
+            return task.join();
+        } catch (CompletionException e) {
+            return List.of(Result.err(JsonError.of(JsonError.Kind.OTHER,
+                    "JSON Lines decoding failed: " + e.getCause().getMessage())));
+        }
+    }
+
+    private List<Result<JsonError, T>> drainFailure() {
+        JsonError error = failure;
+        failure = null;
+        return error != null ? List.of(Result.err(error)) : null;
+    }
+
+    // ========== Chunking ==========
+
+    /**
+     * Reads up to the last newline of about 'chunkSize' bytes; the rest is carried over to the
+     * next chunk. A line longer than the buffer grows it. Returns null at the end of input or
+     * once reading has failed.
+     */
+    private Chunk readChunk() {
+        if (eof || closed) {
+            return null;
+        }
+
+        byte[] buffer = new byte[Math.max(chunkSize, 2 * carry.length)];
+        System.arraycopy(carry, 0, buffer, 0, carry.length);
+        int length = carry.length;
+        int scanned = carry.length; // The carry holds no newline
+        int end = -1;
+        try {
+            while (end < 0) {
+                int read = input.read(buffer, length, buffer.length - length);
+                if (read < 0) {
+                    eof = true;
+                    end = length;
+                } else if ((length += read) == buffer.length) {
+                    end = afterLastNewline(buffer, scanned, length);
+                    if (end < 0) {
+                        scanned = length;
+                        buffer = Arrays.copyOf(buffer, 2 * buffer.length);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Hand out the whole lines read so far, then the failure
+            eof = true;
+            end = Math.max(0, afterLastNewline(buffer, 0, length));
+            failure = JsonError.of(JsonError.Kind.IO, "JSON Lines read failed: " + e.getMessage());
+        }
+
+        carry = Arrays.copyOfRange(buffer, end, length);
+        if (end == 0) {
+            return null;
+        }
+
+        // Skip a UTF-8 byte order mark at the very start
+        int start = nextLine == 1 && end >= 3
+                && buffer[0] == (byte) 0xEF && buffer[1] == (byte) 0xBB && buffer[2] == (byte) 0xBF ? 3 : 0;
+        Chunk chunk = new Chunk(buffer, start, end, nextLine);
+        for (int i = start; i < end; i++) {
+            if (buffer[i] == '\n') {
+                nextLine++;
+            }
+        }
+        return chunk;
+    }
+
+    private static int afterLastNewline(byte[] buffer, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (buffer[i] == '\n') {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    // ========== Decoding (on the executor) ==========
+
+    private List<Result<JsonError, T>> decode(Chunk chunk) {
+        List<Result<JsonError, T>> records = new ArrayList<>();
+        if (closed) {
+            return records;
+        }
+
+        byte[] data = chunk.data;
+        long line = chunk.firstLine;
+        for (int from = chunk.start; from < chunk.end; line++) {
+            int to = from;
+            while (to < chunk.end && data[to] != '\n') {
+                to++;
+            }
+            int stop = to > from && data[to - 1] == '\r' ? to - 1 : to;
+            if (!isBlank(data, from, stop)) {
+                records.add(decodeLine(data, from, stop, line));
+            }
+            from = to + 1;
+        }
+        return records;
+    }
+
+    private Result<JsonError, T> decodeLine(byte[] data, int from, int to, long line) {
+        try {
+            Result<JsonError, T> record = codec.decodeBytes(data, from, to - from);
+            return record.isOk() ? record : Result.err(atLine(record.getErrOrThrow(), line));
+        } catch (RuntimeException e) {
+            return Result.err(atLine(JsonError.of(JsonError.Kind.OTHER, "JSON Lines decoding failed: " + e.getMessage()), line));
+        }
+    }
+
+    /**
+     * Moves an error from its position in the line to the line's position in the input.
+     */
+    private static JsonError atLine(JsonError error, long line) {
+        if (line > Integer.MAX_VALUE) {
+            return error;
+        }
+        return new JsonError(error.kind(), error.detail(), (int) line, error.hasLocation() ? error.column() : 1, error.path());
+    }
+
+    private static boolean isBlank(byte[] data, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (data[i] != ' ' && data[i] != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
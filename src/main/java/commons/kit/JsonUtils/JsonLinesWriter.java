@@ -0,0 +1,135 @@
+package commons.kit.JsonUtils;
+
+
+import commons.kit.ErrorUtils.Empty;
+import commons.kit.ErrorUtils.Result;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes records as JSON Lines: compact JSON, one record per line.
+ *
+ * <p>Records are serialized straight to bytes and collected in a buffer, which reaches the
+ * output in large writes: when it is full, every {@code flushEvery} records if set (see
+ * {@link JsonLines#withFlushEvery(int)}), on {@link #flush()} and on {@link #close()}.
+ * Obtain one from {@link JsonLines#writer(OutputStream)}. Not thread-safe.</p>
+ *
+ * @param <T> the record type
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+public final class JsonLinesWriter<T> implements AutoCloseable {
+
+    private final JsonProvider provider;
+    private final OutputStream output;
+    private final int flushEvery;
+    private long written;
+
+    JsonLinesWriter(JsonProvider provider, OutputStream output, int bufferSize, int flushEvery) {
+        this.provider = provider;
+        this.output = new BufferedOutputStream(output, bufferSize);
+        this.flushEvery = flushEvery;
+    }
+
+    /**
+     * Writes one record. A record that cannot be serialized is not written.
+     *
+     * @param record the record
+     * @param <E> the error type
+     * @return Result containing Empty or error
+     */
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, Empty> write(T record) {
+        return provider.<E>toJsonBytes(record, JsonFormat.COMPACT).flatMap(bytes -> {
+            try {
+                output.write(bytes);
+                output.write('\n');
+                written++;
+                if (flushEvery > 0 && written % flushEvery == 0) {
+                    output.flush();
+                }
+                return Result.ok(Empty.INSTANCE);
+            } catch (IOException e) {
+                return Result.err((E) ("JSON Lines write failed: " + e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Writes records, stopping at the first one that fails.
+     *
+     * @param records the records
+     * @param <E> the error type
+     * @return Result containing the number of records written, or the first error
+     */
+    public <E> Result<E, Long> writeAll(Iterable<? extends T> records) {
+        return writeAll(records.iterator());
+    }
+
+    /**
+     * Writes the records of a stream, stopping at the first one that fails.
+     *
+     * @param records the records
+     * @param <E> the error type
+     * @return Result containing the number of records written, or the first error
+     */
+    public <E> Result<E, Long> writeAll(Stream<? extends T> records) {
+        return writeAll(records.iterator());
+    }
+
+    private <E> Result<E, Long> writeAll(Iterator<? extends T> records) {
+        long count = 0;
+        while (records.hasNext()) {
+            Result<E, Empty> result = write(records.next());
+            if (result.isErr()) {
+                return Result.err(result.getErrOrThrow());
+            }
+            count++;
+        }
+        return Result.ok(count);
+    }
+
+    /**
+     * Pushes buffered records to the output and flushes it.
+     *
+     * @param <E> the error type
+     * @return Result containing Empty or error
+     */
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, Empty> flush() {
+        try {
+            output.flush();
+            return Result.ok(Empty.INSTANCE);
+        } catch (IOException e) {
+            return Result.err((E) ("JSON Lines write failed: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Returns how many records have been written.
+     *
+     * @return the record count
+     */
+    public long written() {
+        return written;
+    }
+
+    /**
+     * Flushes buffered records and closes the output.
+     *
+     * @throws UncheckedIOException if flushing or closing fails
+     */
+    @Override
+    public void close() {
+        try {
+            output.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
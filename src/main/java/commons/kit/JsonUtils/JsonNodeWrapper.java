@@ -25,6 +25,19 @@ public interface JsonNodeWrapper {
      */
     JsonNodeWrapper at(String path);
 
+    /**
+     * Gets a node at a compiled path.
+     *
+     * <p>Index segments select array elements, or the object member with that name,
+     * as in a JSON pointer.</p>
+     *
+     * @param path the compiled path
+     * @return node at path, or null if not found
+     */
+    default JsonNodeWrapper at(JsonPath path) {
+        return at(path.toPointer());
+    }
+
     /**
      * Returns the text value of this node.
      *
@@ -0,0 +1,44 @@
+package commons.kit.JsonUtils;
+
+
+import commons.kit.ErrorUtils.Result;
+
+/**
+ * A compiled RFC 6902 JSON Patch or RFC 7396 JSON Merge Patch.
+ *
+ * <p>Parsing, pointer decoding and validation happen once, when the patch is compiled,
+ * so one patch can be applied to many documents:</p>
+ *
+ * <pre>
+ * JsonPatch rename = JsonUtils.&lt;String&gt;compilePatch(
+ *         "[{\"op\":\"move\",\"from\":\"/user/mail\",\"path\":\"/user/email\"}]").getOrThrow();
+ *
+ * Result&lt;String, JsonNodeWrapper&gt; updated = rename.apply(document);
+ * </pre>
+ *
+ * <p>Applying is atomic: the document passed in is never modified, and if any operation
+ * fails the error lists every failed operation and no result is produced. The result
+ * shares unchanged subtrees with the original document, so treat both as read-only
+ * (deep copy first if either must be modified). Patches are immutable and thread-safe.</p>
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+public interface JsonPatch {
+
+    /**
+     * Applies the patch to a document.
+     *
+     * @param node the document (tree, Map, POJO)
+     * @param <E> the error type
+     * @return Result containing the patched tree, or an error listing the failed operations
+     */
+    <E> Result<E, JsonNodeWrapper> apply(Object node);
+
+    /**
+     * Returns the number of operations (for a merge patch, the number of member changes).
+     *
+     * @return operation count
+     */
+    int size();
+}
@@ -0,0 +1,202 @@
+package commons.kit.JsonUtils;
+
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A dot-notation path ("users.0.address.city") compiled once for repeated lookups.
+ *
+ * <p>Segments are split and numeric segments are parsed to array indexes at compile
+ * time, so navigating a document costs no regex matching, splitting or parsing.
+ * Compile the paths you use on every document once and keep them in constants:</p>
+ *
+ * <pre>
+ * private static final JsonPath CITY = JsonPath.compile("users.0.address.city");
+ *
+ * JsonUtils.getStringAt(node, CITY).orElse("unknown");
+ * </pre>
+ *
+ * <p>The String overloads of {@link JsonUtils#getString(Object, String)} and
+ * {@link JsonUtils#updatePath(Object, String, Object)} go through {@link #of(String)},
+ * which keeps compiled paths in a small bounded cache. Lookups take no lock; once the cache
+ * is full, each newly compiled path evicts one not looked up recently, so the paths a
+ * program uses on every document stay cached however many one-off paths go through.</p>
+ *
+ * <p>Instances are immutable and thread-safe.</p>
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+public final class JsonPath {
+
+    /**
+     * Maximum number of compiled paths kept by {@link #of(String)}.
+     */
+    public static final int CACHE_SIZE = 256;
+
+    private static final BoundedCache<String, JsonPath> CACHE = new BoundedCache<>(CACHE_SIZE);
+
+    private final String expression;
+    private final String[] segments;
+    private final int[] indexes;
+    private String pointer;
+
+    private JsonPath(String expression, String[] segments, int[] indexes) {
+        this.expression = expression;
+        this.segments = segments;
+        this.indexes = indexes;
+    }
+
+    /**
+     * Compiles a dot-notation path.
+     *
+     * <p>Segments made only of digits are array indexes; every other segment is an
+     * object key. Empty trailing segments are ignored, like {@code String.split}.</p>
+     *
+     * @param path the path (e.g., "users.0.name")
+     * @return compiled path
+     * @throws IllegalArgumentException if path is null
+     */
+    public static JsonPath compile(String path) {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < path.length(); i++) {
+            if (path.charAt(i) == '.') {
+                parts.add(path.substring(start, i));
+                start = i + 1;
+            }
+        }
+        parts.add(path.substring(start));
+
+        // Same shape as path.split("\\."): drop trailing empty segments unless the path is empty
+        int count = parts.size();
+        if (!path.isEmpty()) {
+            while (count > 0 && parts.get(count - 1).isEmpty()) {
+                count--;
+            }
+        }
+
+        String[] segments = parts.subList(0, count).toArray(new String[0]);
+        int[] indexes = new int[count];
+        for (int i = 0; i < count; i++) {
+            indexes[i] = parseIndex(segments[i]);
+        }
+        return new JsonPath(path, segments, indexes);
+    }
+
+    /**
+     * Returns the compiled form of a path, reusing a cached instance when available.
+     *
+     * @param path the path (e.g., "users.0.name")
+     * @return compiled path
+     * @throws IllegalArgumentException if path is null
+     */
+    public static JsonPath of(String path) {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        return CACHE.computeIfAbsent(path, JsonPath::compile);
+    }
+
+    /**
+     * Returns the number of segments.
+     *
+     * @return segment count
+     */
+    public int length() {
+        return segments.length;
+    }
+
+    /**
+     * Returns the raw text of a segment.
+     *
+     * @param i segment position
+     * @return segment text (the key, or the digits of an index)
+     */
+    public String segment(int i) {
+        return segments[i];
+    }
+
+    /**
+     * Checks if a segment is an array index (digits only).
+     *
+     * @param i segment position
+     * @return true if the segment is an index
+     */
+    public boolean isIndex(int i) {
+        return indexes[i] >= 0;
+    }
+
+    /**
+     * Returns the pre-parsed array index of a segment.
+     *
+     * <p>Indexes too large for an int are reported as {@link Integer#MAX_VALUE},
+     * which is never a valid position.</p>
+     *
+     * @param i segment position
+     * @return array index, or -1 if the segment is a key
+     */
+    public int index(int i) {
+        return indexes[i];
+    }
+
+    /**
+     * Returns this path as an RFC 6901 JSON Pointer (e.g., "/users/0/name").
+     *
+     * @return JSON Pointer string
+     */
+    public String toPointer() {
+        String result = pointer;
+        if (result == null) {
+            StringBuilder sb = new StringBuilder(expression.length() + 1);
+            for (String segment : segments) {
+                sb.append('/').append(segment.replace("~", "~0").replace("/", "~1"));
+            }
+            result = sb.toString();
+            pointer = result;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof JsonPath)) return false;
+        return expression.equals(((JsonPath) obj).expression);
+    }
+
+    @Override
+    public int hashCode() {
+        return expression.hashCode();
+    }
+
+    /**
+     * Returns the dot-notation expression this path was compiled from.
+     *
+     * @return original expression
+     */
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    private static int parseIndex(String segment) {
+        if (segment.isEmpty()) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = Math.min(value * 10 + (c - '0'), Integer.MAX_VALUE);
+        }
+        return (int) value;
+    }
+}
@@ -1,16 +1,38 @@
 package commons.kit.JsonUtils;
 
 
+import commons.kit.ErrorUtils.Empty;
 import commons.kit.ErrorUtils.Result;
+import commons.kit.MathUtils.Decimal64;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 /**
  * Service Provider Interface for JSON operations.
  *
  * <p>This interface allows swapping JSON implementations (Jackson, Gson, Moshi)
- * without changing client code.</p>
+ * without changing client code. To have {@link JsonUtils} pick an implementation up at
+ * startup, list its class (public, with a public no-arg constructor) in
+ * {@code META-INF/services/commons.kit.JsonUtils.JsonProvider}.</p>
  *
  * <p><strong>Implementation Requirements:</strong></p>
  * <ul>
@@ -19,6 +41,10 @@ import java.util.stream.Stream;
  *   <li>Implementations should be thread-safe</li>
  * </ul>
  *
+ * <p>Most methods leave the error type to the caller and report Strings, so only
+ * {@code Result<String, ...>} (or {@code Object}) is safe to ask for. The {@code decode}
+ * methods report typed {@link JsonError}s instead.</p>
+ *
  * @author commons-kit
  * @version 1.3.0-SNAPSHOT
  */
@@ -33,6 +59,20 @@ public interface JsonProvider {
      */
     <E> Result<E, String> toJson(Object value);
 
+    /**
+     * Serializes an object to JSON string using a serialization profile.
+     *
+     * <p>The default implementation ignores the profile; providers should override it.</p>
+     *
+     * @param value the object to serialize
+     * @param format the profile (compact, pretty or canonical)
+     * @param <E> the error type
+     * @return Result containing JSON string or error
+     */
+    default <E> Result<E, String> toJson(Object value, JsonFormat format) {
+        return toJson(value);
+    }
+
     /**
      * Deserializes JSON string to an object.
      *
@@ -55,6 +95,72 @@ public interface JsonProvider {
      */
     <E, T> Result<E, T> convert(Object from, Class<T> to);
 
+    /**
+     * Deserializes JSON string to a generic type.
+     *
+     * <p>The default implementation binds through the raw class.</p>
+     *
+     * @param json the JSON string
+     * @param type the target type (e.g., {@code new TypeRef<List<Order>>() {}})
+     * @param <E> the error type
+     * @param <T> the target type
+     * @return Result containing deserialized object or error
+     */
+    @SuppressWarnings("unchecked")
+    default <E, T> Result<E, T> fromJson(String json, TypeRef<T> type) {
+        if (type == null) {
+            return Result.err((E) "Target type cannot be null");
+        }
+        return codec(type).fromJson(json);
+    }
+
+    /**
+     * Converts an object to a generic type.
+     *
+     * <p>The default implementation binds through the raw class.</p>
+     *
+     * @param from the source object
+     * @param to the target type
+     * @param <E> the error type
+     * @param <T> the target type
+     * @return Result containing converted object or error
+     */
+    @SuppressWarnings("unchecked")
+    default <E, T> Result<E, T> convert(Object from, TypeRef<T> to) {
+        if (to == null) {
+            return Result.err((E) "Target type cannot be null");
+        }
+        return codec(to).convert(from);
+    }
+
+    /**
+     * Returns a reusable codec bound to a class.
+     *
+     * @param clazz the target class
+     * @param <T> the target type
+     * @return codec for the class
+     */
+    default <T> JsonCodec<T> codec(Class<T> clazz) {
+        return codec(TypeRef.of(clazz));
+    }
+
+    /**
+     * Returns a reusable codec bound to a generic type.
+     *
+     * <p>Implementations should cache codecs per type. The default implementation
+     * delegates to the Class-based methods through the raw class.</p>
+     *
+     * @param type the target type
+     * @param <T> the target type
+     * @return codec for the type
+     */
+    default <T> JsonCodec<T> codec(TypeRef<T> type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Type cannot be null");
+        }
+        return new ProviderCodec<>(this, type);
+    }
+
     /**
      * Converts an object to a JSON tree node.
      *
@@ -82,6 +188,141 @@ public interface JsonProvider {
      */
     Optional<String> getString(Object node, String path);
 
+    /**
+     * Safely retrieves a string value using a compiled path.
+     *
+     * @param node the JSON node
+     * @param path the compiled path
+     * @return Optional containing the value, or Empty if not found
+     */
+    default Optional<String> getString(Object node, JsonPath path) {
+        return path == null ? Optional.empty() : getString(node, path.toString());
+    }
+
+    // ========== Typed Accessors ==========
+    // Paths follow getString(Object, JsonPath). Numbers and numeric text ("42") are read;
+    // other values (and integral accessors on fractional numbers) are reported as absent.
+    // The defaults parse the text of getString; providers with typed nodes read them directly.
+    // Numbers parsed as doubles are read as stored, so digits beyond a double's precision are
+    // already gone; doubles of 2^53 or more are never integral.
+
+    /**
+     * Retrieves an integral value that fits in a long (42, 42.0, "42").
+     *
+     * @param node the JSON node
+     * @param path the compiled path
+     * @return the value, or empty if absent or not an integral number
+     */
+    default OptionalLong getLong(Object node, JsonPath path) {
+        return JsonScalars.longValue(getString(node, path).orElse(null));
+    }
+
+    /**
+     * Retrieves an integral value that fits in a long, without allocating.
+     *
+     * @param node the JSON node
+     * @param path the compiled path
+     * @param absent returned when the value is absent or not an integral number
+     * @return the value, or 'absent'
+     */
+    default long getLong(Object node, JsonPath path, long absent) {
+        return getLong(node, path).orElse(absent);
+    }
+
+    /**
+     * Retrieves an integral value that fits in an int.
+     *
+     * @param node the JSON node
+     * @param path the compiled path
+     * @return the value, or empty if absent, not an integral number or out of range
+     */
+    default OptionalInt getInt(Object node, JsonPath path) {
+        return JsonScalars.intValue(getString(node, path).orElse(null));
+    }
+
+    /**
+     * Retrieves an integral value that fits in an int, without allocating.
+     *
+     * @param node the JSON node
+     * @param path the compiled path
+     * @param absent returned when the value is absent, not an integral number or out of range
+     * @return the value, or 'absent'
+     */
+    default int getInt(Object node, JsonPath path, int absent) {
+        return getInt(node, path).orElse(absent);
+    }
+
+    /**
+     * Retrieves a number as a double (precision may be lost for big numbers).
+     *
+     * @param node the JSON node
+     * @param path the compiled path
+     * @return the value, or empty if absent or not a number
+     */
+    default OptionalDouble getDouble(Object node, JsonPath path) {
+        return JsonScalars.doubleValue(getString(node, path).orElse(null));
+    }
+
+    /**
+     * Retrieves a number as a double, without allocating.
+     *
+     * @param node the JSON node
+     * @param path the compiled path
+     * @param absent returned when the value is absent or not a number
+     * @return the value, or 'absent'
+     */
+    default double getDouble(Object node, JsonPath path, double absent) {
+        return getDouble(node, path).orElse(absent);
+    }
+
+    /**
+     * Retrieves a boolean (true, false, "true", "false").
+     *
+     * @param node the JSON node
+     * @param path the compiled path
+     * @return the value, or empty if absent or not a boolean
+     */
+    default Optional<Boolean> getBoolean(Object node, JsonPath path) {
+        return JsonScalars.booleanValue(getString(node, path).orElse(null));
+    }
+
+    /**
+     * Retrieves a number as a BigDecimal: exactly for integers, BigDecimal numbers and text,
+     * and as the shortest decimal form of the double for numbers parsed as doubles.
+     *
+     * @param node the JSON node
+     * @param path the compiled path
+     * @return the value, or empty if absent or not a number
+     */
+    default Optional<BigDecimal> getBigDecimal(Object node, JsonPath path) {
+        return JsonScalars.decimal(getString(node, path).orElse(null));
+    }
+
+    /**
+     * Reads a number into a caller-provided holder, rounded HALF_UP to its scale.
+     *
+     * <p>Reuse one holder across documents: integral and floating-point numbers are stored
+     * without allocating (see {@link Decimal64#set(double)}).</p>
+     *
+     * @param node the JSON node
+     * @param path the compiled path
+     * @param into the holder to overwrite; left unchanged when the value is absent
+     * @return true if a number was read into the holder, false if it is absent or does not
+     *         fit at the holder's scale
+     */
+    default boolean getDecimal(Object node, JsonPath path, Decimal64 into) {
+        Optional<BigDecimal> value = getBigDecimal(node, path);
+        if (value.isEmpty()) {
+            return false;
+        }
+        try {
+            into.set(value.get());
+        } catch (ArithmeticException e) {
+            return false; // Too large for the holder: absent, like a number too large for a double
+        }
+        return true;
+    }
+
     /**
      * Updates a value at the specified path.
      *
@@ -93,6 +334,23 @@ public interface JsonProvider {
      */
     <E> Result<E, JsonNodeWrapper> updatePath(Object node, String path, Object value);
 
+    /**
+     * Updates a value at a compiled path.
+     *
+     * @param node the JSON node
+     * @param path the compiled path
+     * @param value the new value
+     * @param <E> the error type
+     * @return Result containing updated node or error
+     */
+    @SuppressWarnings("unchecked")
+    default <E> Result<E, JsonNodeWrapper> updatePath(Object node, JsonPath path, Object value) {
+        if (path == null) {
+            return Result.err((E) "Path cannot be null");
+        }
+        return updatePath(node, path.toString(), value);
+    }
+
     /**
      * Deep merges two JSON objects.
      *
@@ -103,6 +361,79 @@ public interface JsonProvider {
      */
     <E> Result<E, JsonNodeWrapper> merge(Object main, Object update);
 
+    /**
+     * Deep merges two JSON objects with an explicit copy strategy.
+     *
+     * <p>The default implementation always returns an independent copy, which is valid for
+     * every mode; callers must use the returned node even with {@link MergeMode#IN_PLACE}.</p>
+     *
+     * @param main the base object
+     * @param update the object to merge in
+     * @param mode how much of 'main' is copied
+     * @param <E> the error type
+     * @return Result containing merged node or error
+     */
+    default <E> Result<E, JsonNodeWrapper> merge(Object main, Object update, MergeMode mode) {
+        return merge(main, update);
+    }
+
+    /**
+     * Compiles an RFC 6902 JSON Patch (an array of add/remove/replace/move/copy/test operations).
+     *
+     * <p>The default implementation reports that patches are not supported.</p>
+     *
+     * @param operations the operations as a JSON string, tree or List of Maps
+     * @param <E> the error type
+     * @return Result containing the compiled patch, or an error listing the invalid operations
+     */
+    @SuppressWarnings("unchecked")
+    default <E> Result<E, JsonPatch> compilePatch(Object operations) {
+        return Result.err((E) "JSON Patch is not supported by this provider");
+    }
+
+    /**
+     * Compiles an RFC 7396 JSON Merge Patch (null members delete keys).
+     *
+     * <p>The default implementation reports that patches are not supported.</p>
+     *
+     * @param patch the merge patch as a JSON string, tree, Map or POJO
+     * @param <E> the error type
+     * @return Result containing the compiled patch or error
+     */
+    @SuppressWarnings("unchecked")
+    default <E> Result<E, JsonPatch> compileMergePatch(Object patch) {
+        return Result.err((E) "JSON Patch is not supported by this provider");
+    }
+
+    /**
+     * Compiles a JSON Schema (draft 2020-12 subset, see {@link JsonSchema}).
+     *
+     * <p>The default implementation reports that schemas are not supported.</p>
+     *
+     * @param schema the schema as a JSON string, tree or Map
+     * @param <E> the error type
+     * @return Result containing the compiled schema, or an error listing the invalid keywords
+     */
+    @SuppressWarnings("unchecked")
+    default <E> Result<E, JsonSchema> compileSchema(Object schema) {
+        return Result.err((E) "JSON Schema is not supported by this provider");
+    }
+
+    /**
+     * Computes the RFC 6902 JSON Patch that turns 'source' into 'target'.
+     *
+     * <p>The default implementation reports that diffs are not supported.</p>
+     *
+     * @param source the original document
+     * @param target the new document
+     * @param <E> the error type
+     * @return Result containing the operations array (empty if equal) or error
+     */
+    @SuppressWarnings("unchecked")
+    default <E> Result<E, JsonNodeWrapper> diff(Object source, Object target) {
+        return Result.err((E) "JSON diff is not supported by this provider");
+    }
+
     /**
      * Removes null and empty values from a tree.
      *
@@ -111,6 +442,19 @@ public interface JsonProvider {
      */
     JsonNodeWrapper prune(Object node);
 
+    /**
+     * Removes values from a tree according to configurable rules.
+     *
+     * <p>The default implementation ignores the options and applies the {@link #prune(Object)} rules.</p>
+     *
+     * @param node the tree to prune
+     * @param options what to remove, and whether to modify the tree in place
+     * @return pruned tree
+     */
+    default JsonNodeWrapper prune(Object node, PruneOptions options) {
+        return prune(node);
+    }
+
     /**
      * Converts an array node to a Stream.
      *
@@ -118,4 +462,498 @@ public interface JsonProvider {
      * @return Stream of nodes, or empty stream if not an array
      */
     Stream<JsonNodeWrapper> stream(Object arrayNode);
+
+    /**
+     * Converts an array node to a parallel Stream.
+     *
+     * <p>The default implementation parallelizes {@link #stream(Object)}; providers should
+     * override it with a sized, splittable source.</p>
+     *
+     * @param arrayNode the array node
+     * @return parallel Stream of nodes, or empty stream if not an array
+     */
+    default Stream<JsonNodeWrapper> parallelStream(Object arrayNode) {
+        return stream(arrayNode).parallel();
+    }
+
+    // ========== Byte I/O ==========
+
+    /**
+     * Serializes an object straight to UTF-8 bytes.
+     *
+     * @param value the object to serialize
+     * @param <E> the error type
+     * @return Result containing UTF-8 JSON or error
+     */
+    default <E> Result<E, byte[]> toJsonBytes(Object value) {
+        return this.<E>toJson(value).map(json -> json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Serializes an object straight to UTF-8 bytes using a serialization profile.
+     *
+     * @param value the object to serialize
+     * @param format the profile
+     * @param <E> the error type
+     * @return Result containing UTF-8 JSON or error
+     */
+    default <E> Result<E, byte[]> toJsonBytes(Object value, JsonFormat format) {
+        return this.<E>toJson(value, format).map(json -> json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Serializes an object as UTF-8 into a caller-supplied buffer, starting at its position.
+     *
+     * <p>On success the position is advanced past the written bytes. On failure
+     * (including a buffer that is too small) the position is left unchanged.</p>
+     *
+     * @param value the object to serialize
+     * @param target the buffer to write into (reusable across calls)
+     * @param format the profile
+     * @param <E> the error type
+     * @return Result containing the number of bytes written or error
+     */
+    @SuppressWarnings("unchecked")
+    default <E> Result<E, Integer> toJsonBuffer(Object value, ByteBuffer target, JsonFormat format) {
+        if (target == null) {
+            return Result.err((E) "Target buffer is null");
+        }
+        return this.<E>toJsonBytes(value, format).flatMap(bytes -> {
+            if (bytes.length > target.remaining()) {
+                return Result.err((E) ("JSON serialization failed: " + bytes.length
+                        + " bytes do not fit in " + target.remaining() + " remaining"));
+            }
+            target.put(bytes);
+            return Result.ok(bytes.length);
+        });
+    }
+
+    /**
+     * Serializes an object as UTF-8 to an output stream. The stream is flushed, not closed.
+     *
+     * @param value the object to serialize
+     * @param output the destination
+     * @param format the profile
+     * @param <E> the error type
+     * @return Result containing Empty or error
+     */
+    @SuppressWarnings("unchecked")
+    default <E> Result<E, Empty> writeJson(Object value, OutputStream output, JsonFormat format) {
+        if (output == null) {
+            return Result.err((E) "Output stream is null");
+        }
+        return this.<E>toJsonBytes(value, format).flatMap(bytes -> {
+            try {
+                output.write(bytes);
+                output.flush();
+                return Result.ok(Empty.INSTANCE);
+            } catch (IOException e) {
+                return Result.err((E) ("JSON serialization failed: " + e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Deserializes UTF-8 JSON bytes to an object.
+     *
+     * @param json the UTF-8 JSON
+     * @param clazz the target class
+     * @param <E> the error type
+     * @param <T> the target type
+     * @return Result containing deserialized object or error
+     */
+    default <E, T> Result<E, T> fromJsonBytes(byte[] json, Class<T> clazz) {
+        return fromJson(json == null ? null : new String(json, StandardCharsets.UTF_8), clazz);
+    }
+
+    /**
+     * Deserializes the remaining UTF-8 bytes of a buffer to an object.
+     *
+     * <p>The buffer's position is not changed.</p>
+     *
+     * @param json the UTF-8 JSON, between position and limit
+     * @param clazz the target class
+     * @param <E> the error type
+     * @param <T> the target type
+     * @return Result containing deserialized object or error
+     */
+    default <E, T> Result<E, T> fromJsonBuffer(ByteBuffer json, Class<T> clazz) {
+        return fromJson(json == null ? null : StandardCharsets.UTF_8.decode(json.duplicate()).toString(), clazz);
+    }
+
+    /**
+     * Parses UTF-8 JSON bytes to a tree node.
+     *
+     * <p>The default implementation decodes the bytes and delegates to {@link #parseNode(String)}.</p>
+     *
+     * @param json the UTF-8 JSON
+     * @param <E> the error type
+     * @return Result containing JsonNodeWrapper or error
+     */
+    default <E> Result<E, JsonNodeWrapper> parseNodeBytes(byte[] json) {
+        return parseNode(json == null ? null : new String(json, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Deserializes UTF-8 JSON read from a stream to an object. The stream is not closed.
+     *
+     * @param input the UTF-8 JSON source
+     * @param clazz the target class
+     * @param <E> the error type
+     * @param <T> the target type
+     * @return Result containing deserialized object or error
+     */
+    @SuppressWarnings("unchecked")
+    default <E, T> Result<E, T> readJson(InputStream input, Class<T> clazz) {
+        if (input == null) {
+            return Result.err((E) "Input stream is null");
+        }
+        try {
+            return fromJsonBytes(input.readAllBytes(), clazz);
+        } catch (IOException e) {
+            return Result.err((E) ("JSON deserialization failed: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Parses UTF-8 JSON read from a stream to a tree node. The stream is not closed.
+     *
+     * <p>The default implementation reads all bytes and delegates to {@link #parseNodeBytes(byte[])}.</p>
+     *
+     * @param input the UTF-8 JSON source
+     * @param <E> the error type
+     * @return Result containing JsonNodeWrapper or error
+     */
+    @SuppressWarnings("unchecked")
+    default <E> Result<E, JsonNodeWrapper> readNode(InputStream input) {
+        if (input == null) {
+            return Result.err((E) "Input stream is null");
+        }
+        try {
+            return parseNodeBytes(input.readAllBytes());
+        } catch (IOException e) {
+            return Result.err((E) ("JSON parsing failed: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Parses a UTF-8 JSON file to a tree node.
+     *
+     * <p>The file is memory-mapped, in windows of up to 1 GiB so that files over 2 GB work too,
+     * and read through {@link #readNode(InputStream)}: with a provider that parses streams
+     * incrementally, only the tree is built on the heap, never a copy of the file.</p>
+     *
+     * @param path the JSON file
+     * @param <E> the error type
+     * @return Result containing JsonNodeWrapper or error
+     */
+    default <E> Result<E, JsonNodeWrapper> parseFile(Path path) {
+        return readMapped(path, this::readNode);
+    }
+
+    /**
+     * Deserializes a UTF-8 JSON file to an object, reading it like {@link #parseFile(Path)}.
+     *
+     * @param path the JSON file
+     * @param clazz the target class
+     * @param <E> the error type
+     * @param <T> the target type
+     * @return Result containing deserialized object or error
+     */
+    default <E, T> Result<E, T> readFile(Path path, Class<T> clazz) {
+        return readMapped(path, input -> readJson(input, clazz));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E, R> Result<E, R> readMapped(Path path, Function<InputStream, Result<E, R>> reader) {
+        if (path == null) {
+            return Result.err((E) "Path is null");
+        }
+        InputStream input;
+        try {
+            input = MappedFileInput.open(path);
+        } catch (IOException | RuntimeException e) {
+            return Result.err((E) ("Cannot open JSON file: " + e.getMessage()));
+        }
+
+        try (InputStream source = input) {
+            return reader.apply(source);
+        } catch (IOException | RuntimeException e) {
+            return Result.err((E) ("JSON file read failed: " + e.getMessage()));
+        }
+    }
+
+    // ========== Typed Errors ==========
+
+    /**
+     * Deserializes JSON string to an object, reporting failures as typed errors.
+     *
+     * @param json the JSON string
+     * @param clazz the target class
+     * @param <T> the target type
+     * @return Result containing deserialized object or error
+     */
+    default <T> Result<JsonError, T> decode(String json, Class<T> clazz) {
+        if (clazz == null) {
+            return Result.err(JsonError.of(JsonError.Kind.OTHER, "Target class cannot be null"));
+        }
+        return codec(clazz).decode(json);
+    }
+
+    /**
+     * Deserializes UTF-8 JSON bytes to an object, reporting failures as typed errors.
+     *
+     * @param json the UTF-8 JSON
+     * @param clazz the target class
+     * @param <T> the target type
+     * @return Result containing deserialized object or error
+     */
+    default <T> Result<JsonError, T> decodeBytes(byte[] json, Class<T> clazz) {
+        if (clazz == null) {
+            return Result.err(JsonError.of(JsonError.Kind.OTHER, "Target class cannot be null"));
+        }
+        return codec(clazz).decodeBytes(json);
+    }
+
+    /**
+     * Parses JSON string to a tree node, reporting failures as typed errors.
+     *
+     * <p>The default implementation wraps the message of {@link #parseNode(String)} in an
+     * {@link JsonError.Kind#OTHER} error; providers should override it.</p>
+     *
+     * @param json the JSON string
+     * @return Result containing JsonNodeWrapper or error
+     */
+    default Result<JsonError, JsonNodeWrapper> decodeNode(String json) {
+        return this.<String>parseNode(json).mapErr(JsonError::fromMessage);
+    }
+
+    /**
+     * Parses UTF-8 JSON bytes to a tree node, reporting failures as typed errors.
+     *
+     * <p>The default implementation wraps the message of {@link #parseNodeBytes(byte[])} in an
+     * {@link JsonError.Kind#OTHER} error; providers should override it.</p>
+     *
+     * @param json the UTF-8 JSON
+     * @return Result containing JsonNodeWrapper or error
+     */
+    default Result<JsonError, JsonNodeWrapper> decodeNodeBytes(byte[] json) {
+        return this.<String>parseNodeBytes(json).mapErr(JsonError::fromMessage);
+    }
+
+    // ========== Extraction ==========
+
+    /**
+     * Reads only the values at the given paths from a JSON document.
+     *
+     * <p>Paths follow the rules of {@link #getString(Object, JsonPath)}: index segments only
+     * match array elements, other segments only object members. The result maps each path
+     * found to its value (JSON nulls included), in the order the paths were given.</p>
+     *
+     * <p>The default implementation parses the whole document; providers should override it
+     * to skip what no path leads to.</p>
+     *
+     * @param json the JSON string
+     * @param paths the paths to read
+     * @param <E> the error type
+     * @return Result containing the values found, or error
+     */
+    @SuppressWarnings("unchecked")
+    default <E> Result<E, Map<JsonPath, JsonNodeWrapper>> extract(String json, JsonPath... paths) {
+        if (paths == null || Arrays.asList(paths).contains(null)) {
+            return Result.err((E) "Paths cannot be null");
+        }
+        return this.<E>parseNode(json).map(root -> {
+            Map<JsonPath, JsonNodeWrapper> values = new LinkedHashMap<>();
+            for (JsonPath path : paths) {
+                JsonNodeWrapper current = root;
+                for (int i = 0; i < path.length() && current != null; i++) {
+                    if (current.isNull()) {
+                        current = null;
+                    } else if (path.isIndex(i)) {
+                        current = current.isArray() ? current.at("/" + path.index(i)) : null;
+                    } else {
+                        current = current.isObject() ? current.get(path.segment(i)) : null;
+                    }
+                }
+                if (current != null) {
+                    values.put(path, current);
+                }
+            }
+            return values;
+        });
+    }
+
+    /**
+     * Reads only the values at the given paths from UTF-8 JSON bytes.
+     *
+     * @param json the UTF-8 JSON
+     * @param paths the paths to read
+     * @param <E> the error type
+     * @return Result containing the values found, or error
+     * @see #extract(String, JsonPath...)
+     */
+    default <E> Result<E, Map<JsonPath, JsonNodeWrapper>> extract(byte[] json, JsonPath... paths) {
+        return extract(json == null ? null : new String(json, StandardCharsets.UTF_8), paths);
+    }
+
+    /**
+     * Reads only the values at the given paths from UTF-8 JSON read from a stream. The stream
+     * is not closed, and may be left partly unread once every path has been found.
+     *
+     * @param input the UTF-8 JSON source
+     * @param paths the paths to read
+     * @param <E> the error type
+     * @return Result containing the values found, or error
+     * @see #extract(String, JsonPath...)
+     */
+    @SuppressWarnings("unchecked")
+    default <E> Result<E, Map<JsonPath, JsonNodeWrapper>> extract(InputStream input, JsonPath... paths) {
+        if (input == null) {
+            return Result.err((E) "Input stream is null");
+        }
+        try {
+            return extract(input.readAllBytes(), paths);
+        } catch (IOException e) {
+            return Result.err((E) ("JSON extraction failed: " + e.getMessage()));
+        }
+    }
+
+    // ========== Streaming ==========
+
+    /**
+     * Lazily reads the elements of a top-level JSON array as nodes.
+     *
+     * <p>Only one element is materialized at a time, so memory stays constant
+     * regardless of the array size. Each element is a separate Result; a
+     * malformed document yields a final error element and ends the stream.
+     * Closing the stream closes the reader.</p>
+     *
+     * <p>The default reads and parses the whole document, then closes the reader and hands
+     * out its elements; providers with a streaming parser override it.</p>
+     *
+     * @param reader source of a JSON array
+     * @param <E> the error type
+     * @return Stream of per-element Results
+     */
+    @SuppressWarnings("unchecked")
+    default <E> Stream<Result<E, JsonNodeWrapper>> streamArray(Reader reader) {
+        if (reader == null) {
+            return Stream.of(Result.err((E) "Reader is null"));
+        }
+
+        Result<E, JsonNodeWrapper> array;
+        try (Reader source = reader) {
+            StringWriter text = new StringWriter();
+            source.transferTo(text);
+            array = parseNode(text.toString());
+        } catch (IOException | RuntimeException e) {
+            return Stream.of(Result.err((E) ("JSON streaming failed: " + e.getMessage())));
+        }
+        if (array.isErr()) {
+            return Stream.of(array);
+        }
+        JsonNodeWrapper node = array.getOrThrow();
+        if (!node.isArray()) {
+            return Stream.of(Result.err((E) "Expected a JSON array"));
+        }
+        return stream(node).map(Result::ok);
+    }
+
+    /**
+     * Lazily reads the elements of a top-level JSON array and binds each one to a type.
+     *
+     * <p>An element that cannot be bound yields an error and the stream moves on
+     * to the next element. Closing the stream closes the reader.</p>
+     *
+     * <p>The default converts the elements of {@link #streamArray(Reader)}.</p>
+     *
+     * @param reader source of a JSON array
+     * @param clazz the element type
+     * @param <E> the error type
+     * @param <T> the element type
+     * @return Stream of per-element Results
+     */
+    @SuppressWarnings("unchecked")
+    default <E, T> Stream<Result<E, T>> streamArray(Reader reader, Class<T> clazz) {
+        if (clazz == null) {
+            return Stream.of(Result.err((E) "Target class cannot be null"));
+        }
+        return this.<E>streamArray(reader).map(element -> element.flatMap(node -> convert(node.<Object>unwrap(), clazz)));
+    }
+
+    /**
+     * Lazily reads the elements of a top-level JSON array from bytes (UTF-8).
+     *
+     * @param input source of a JSON array
+     * @param <E> the error type
+     * @return Stream of per-element Results
+     * @see #streamArray(Reader)
+     */
+    default <E> Stream<Result<E, JsonNodeWrapper>> streamArray(InputStream input) {
+        return streamArray(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lazily reads and binds the elements of a top-level JSON array from bytes (UTF-8).
+     *
+     * @param input source of a JSON array
+     * @param clazz the element type
+     * @param <E> the error type
+     * @param <T> the element type
+     * @return Stream of per-element Results
+     * @see #streamArray(Reader, Class)
+     */
+    default <E, T> Stream<Result<E, T>> streamArray(InputStream input, Class<T> clazz) {
+        return streamArray(new InputStreamReader(input, StandardCharsets.UTF_8), clazz);
+    }
+
+    /**
+     * Lazily reads the elements of a top-level JSON array stored in a file.
+     *
+     * <p>The file is memory-mapped, like in {@link #parseFile(Path)}, and stays open until the
+     * stream is closed (use try-with-resources).</p>
+     *
+     * @param path the JSON file
+     * @param <E> the error type
+     * @return Stream of per-element Results, or a single error if the file cannot be opened
+     */
+    @SuppressWarnings("unchecked")
+    default <E> Stream<Result<E, JsonNodeWrapper>> streamArray(Path path) {
+        try {
+            InputStream input = MappedFileInput.open(path);
+            return this.<E>streamArray(input).onClose(() -> closeSource(input));
+        } catch (IOException | RuntimeException e) {
+            return Stream.of(Result.err((E) ("Cannot open JSON file: " + e.getMessage())));
+        }
+    }
+
+    /**
+     * Lazily reads and binds the elements of a top-level JSON array stored in a file.
+     *
+     * <p>The file stays open until the stream is closed (use try-with-resources).</p>
+     *
+     * @param path the JSON file
+     * @param clazz the element type
+     * @param <E> the error type
+     * @param <T> the element type
+     * @return Stream of per-element Results, or a single error if the file cannot be opened
+     */
+    @SuppressWarnings("unchecked")
+    default <E, T> Stream<Result<E, T>> streamArray(Path path, Class<T> clazz) {
+        try {
+            InputStream input = MappedFileInput.open(path);
+            return this.<E, T>streamArray(input, clazz).onClose(() -> closeSource(input));
+        } catch (IOException | RuntimeException e) {
+            return Stream.of(Result.err((E) ("Cannot open JSON file: " + e.getMessage())));
+        }
+    }
+
+    private static void closeSource(InputStream input) {
+        try {
+            input.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
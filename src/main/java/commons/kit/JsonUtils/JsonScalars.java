@@ -0,0 +1,140 @@
+package commons.kit.JsonUtils;
+
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+/**
+ * Parses the text of scalar values for the typed accessors ({@link JsonProvider#getLong}
+ * and friends), when a provider only has the value as text.
+ *
+ * <p>Numbers must be plain JSON numbers ("42", "-1.5e3"): currency symbols and thousands
+ * separators are left to {@link commons.kit.MathUtils.NumberUtils#safeOf(Object)}. Integral
+ * accessors accept any number text with an exact integral value ("3.0", "1e2").</p>
+ *
+ * <p>Numbers the parser already stored as doubles are read as stored: precision beyond
+ * the double is lost at parse time (3.0000000000000000001 is 3.0), so a double is only
+ * integral below 2^53, where no two integers share it. Parse with BigDecimal floats
+ * (Jackson's USE_BIG_DECIMAL_FOR_FLOATS) to read such numbers exactly.</p>
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+final class JsonScalars {
+
+    private JsonScalars() {
+        throw new AssertionError("No JsonScalars instances for you!");
+    }
+
+    static Optional<BigDecimal> decimal(String text) {
+        if (text == null || !isNumber(text)) {
+            return Optional.empty(); // BigDecimal also takes "+42", ".5", "5." and non-ASCII digits
+        }
+        try {
+            return Optional.of(new BigDecimal(text));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    static OptionalLong longValue(String text) {
+        if (text != null && text.length() <= 18 && isInteger(text)) {
+            return OptionalLong.of(Long.parseLong(text)); // Cannot overflow: no BigDecimal needed
+        }
+        try {
+            return decimal(text).map(value -> OptionalLong.of(value.longValueExact())).orElse(OptionalLong.empty());
+        } catch (ArithmeticException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    static OptionalInt intValue(String text) {
+        OptionalLong value = longValue(text);
+        if (value.isEmpty() || value.getAsLong() != (int) value.getAsLong()) {
+            return OptionalInt.empty();
+        }
+        return OptionalInt.of((int) value.getAsLong());
+    }
+
+    static OptionalDouble doubleValue(String text) {
+        return decimal(text).map(value -> {
+            double number = value.doubleValue();
+            return Double.isInfinite(number) ? OptionalDouble.empty() : OptionalDouble.of(number);
+        }).orElse(OptionalDouble.empty());
+    }
+
+    /**
+     * Whether a parsed double stands for exactly one long: integral and below 2^53 in magnitude.
+     */
+    static boolean isExactLong(double value) {
+        return Math.abs(value) < 0x1p53 && value == Math.rint(value);
+    }
+
+    static Optional<Boolean> booleanValue(String text) {
+        if ("true".equals(text)) {
+            return Optional.of(Boolean.TRUE);
+        }
+        return "false".equals(text) ? Optional.of(Boolean.FALSE) : Optional.empty();
+    }
+
+    /**
+     * Whether the text is a number in the JSON grammar: -?(0|[1-9][0-9]*)(.[0-9]+)?([eE][+-]?[0-9]+)?
+     */
+    private static boolean isNumber(String text) {
+        int i = integerEnd(text);
+        if (i < 0) {
+            return false;
+        }
+        if (i < text.length() && text.charAt(i) == '.') {
+            int digits = digitsEnd(text, ++i);
+            if (digits == i) {
+                return false;
+            }
+            i = digits;
+        }
+        if (i < text.length() && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+            if (++i < text.length() && (text.charAt(i) == '+' || text.charAt(i) == '-')) {
+                i++;
+            }
+            int digits = digitsEnd(text, i);
+            if (digits == i) {
+                return false;
+            }
+            i = digits;
+        }
+        return i == text.length();
+    }
+
+    /**
+     * Whether the text is a JSON number with neither fraction nor exponent.
+     */
+    private static boolean isInteger(String text) {
+        return integerEnd(text) == text.length();
+    }
+
+    /**
+     * Returns the end of the leading "-?(0|[1-9][0-9]*)" of the text, or -1 if it has none.
+     */
+    private static int integerEnd(String text) {
+        int start = text.startsWith("-") ? 1 : 0;
+        if (start == text.length() || !isDigit(text.charAt(start))) {
+            return -1;
+        }
+        return text.charAt(start) == '0' ? start + 1 : digitsEnd(text, start);
+    }
+
+    private static int digitsEnd(String text, int from) {
+        int i = from;
+        while (i < text.length() && isDigit(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,80 @@
+package commons.kit.JsonUtils;
+
+
+import commons.kit.ErrorUtils.Empty;
+import commons.kit.ErrorUtils.Result;
+
+import java.io.InputStream;
+
+/**
+ * A compiled JSON Schema (a subset of draft 2020-12).
+ *
+ * <p>The schema is parsed, its references resolved and its patterns compiled once, so one
+ * validator checks many documents, each in a single walk that reports every violation:</p>
+ *
+ * <pre>
+ * private static final JsonSchema ORDER = JsonUtils.&lt;String&gt;compileSchema(ORDER_SCHEMA).getOrThrow();
+ *
+ * Result&lt;String, JsonNodeWrapper&gt; order = JsonUtils.&lt;String&gt;parseNode(body).flatMap(ORDER::validate);
+ * // Err: "Schema validation failed: /items/1/qty: must be &gt;= 1; /id: missing required property 'id'"
+ * </pre>
+ *
+ * <p><strong>Supported keywords:</strong> type, enum, const; properties, patternProperties,
+ * additionalProperties, required, dependentRequired, dependentSchemas, propertyNames,
+ * minProperties, maxProperties; prefixItems, items, contains, minContains, maxContains,
+ * minItems, maxItems, uniqueItems; minLength, maxLength, pattern; minimum, maximum,
+ * exclusiveMinimum, exclusiveMaximum, multipleOf; allOf, anyOf, oneOf, not, if/then/else;
+ * and {@code $ref} to a JSON Pointer in the same schema ({@code "#/$defs/address"}).
+ * Annotations (title, description, default, examples, format...) are ignored. Schemas using
+ * keywords that would change the outcome but are not supported (unevaluatedProperties,
+ * $dynamicRef...) are rejected when compiling rather than silently passing documents.</p>
+ *
+ * <p>Violations are reported at the JSON Pointer of the offending value, {@code (root)} for
+ * the document itself. Schemas are immutable and thread-safe.</p>
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+public interface JsonSchema {
+
+    /**
+     * Validates a document.
+     *
+     * @param node the document (tree, Map, POJO)
+     * @param <E> the error type
+     * @return Result containing the document as a tree, or an error listing every violation
+     */
+    <E> Result<E, JsonNodeWrapper> validate(Object node);
+
+    /**
+     * Validates a JSON string while parsing it, without building a tree.
+     *
+     * <p>Only the values checked by keywords that need a whole value at once (enum, const,
+     * uniqueItems, contains, anyOf, oneOf, not, if, dependentSchemas) are read into trees.</p>
+     *
+     * @param json the JSON string
+     * @param <E> the error type
+     * @return Result containing Empty, or an error listing every violation or the syntax error
+     */
+    <E> Result<E, Empty> validateJson(String json);
+
+    /**
+     * Validates UTF-8 JSON bytes while parsing them.
+     *
+     * @param json the UTF-8 JSON
+     * @param <E> the error type
+     * @return Result containing Empty, or an error listing every violation or the syntax error
+     * @see #validateJson(String)
+     */
+    <E> Result<E, Empty> validateJson(byte[] json);
+
+    /**
+     * Validates UTF-8 JSON read from a stream while parsing it. The stream is not closed.
+     *
+     * @param input the UTF-8 JSON source
+     * @param <E> the error type
+     * @return Result containing Empty, or an error listing every violation or the syntax error
+     * @see #validateJson(String)
+     */
+    <E> Result<E, Empty> validateJson(InputStream input);
+}
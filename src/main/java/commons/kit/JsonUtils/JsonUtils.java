@@ -1,18 +1,38 @@
 package commons.kit.JsonUtils;
 
 
+import commons.kit.ErrorUtils.Empty;
 import commons.kit.ErrorUtils.Result;
+import commons.kit.MathUtils.Decimal64;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
  * Facade for JSON operations with pluggable implementations.
  *
  * <p>All methods return {@link Result} to force explicit error handling.
- * The default implementation uses Jackson, but can be swapped via SPI.</p>
+ * The default implementation uses Jackson, but can be swapped via SPI: the first
+ * {@link JsonProvider} registered with {@link java.util.ServiceLoader} is picked up at
+ * startup, and {@code -Dcommons.kit.json.provider=<class>} names one explicitly (such as
+ * the dependency-free {@link SimpleJsonProvider}).</p>
+ *
+ * <p>{@link #setProvider(JsonProvider)} is safe to call while other threads use JsonUtils:
+ * they see the new provider on their next call. To use another provider for one block of
+ * code only, such as a tenant's differently configured mapper, use
+ * {@link #withProvider(JsonProvider, Supplier)}.</p>
  *
  * <p><strong>Features:</strong></p>
  * <ul>
@@ -27,7 +47,15 @@ import java.util.stream.Stream;
  */
 public final class JsonUtils {
 
-    private static JsonProvider provider = new JacksonJsonProvider();
+    private static final TypeRef<Map<String, Object>> MAP_TYPE = new TypeRef<Map<String, Object>>() {};
+    private static final TypeRef<List<Map<String, Object>>> LIST_OF_MAPS_TYPE =
+            new TypeRef<List<Map<String, Object>>>() {};
+
+    private static volatile JsonProvider provider = ProviderLoader.load();
+
+    // Providers bound by withProvider(); only looked up once a scope has been opened
+    private static final ThreadLocal<JsonProvider> SCOPED = new ThreadLocal<>();
+    private static volatile boolean scopesUsed;
 
     // Private constructor to prevent instantiation
     private JsonUtils() {
@@ -37,7 +65,9 @@ public final class JsonUtils {
     /**
      * Sets the JSON provider implementation.
      *
-     * <p>Allows switching from Jackson to Gson, Moshi, etc.</p>
+     * <p>Allows switching from Jackson to Gson, Moshi, etc. The provider is published
+     * safely: calls that start after this method returns, on any thread, use it. Blocks
+     * running under {@link #withProvider(JsonProvider, Supplier)} keep their own provider.</p>
      *
      * @param newProvider the provider to use
      */
@@ -48,6 +78,87 @@ public final class JsonUtils {
         provider = newProvider;
     }
 
+    /**
+     * Returns the JSON provider in use on the current thread.
+     *
+     * @return the provider bound by {@link #withProvider(JsonProvider, Supplier)}, else the one
+     *         set with {@link #setProvider(JsonProvider)}, or the one found at startup
+     */
+    public static JsonProvider getProvider() {
+        return provider();
+    }
+
+    /**
+     * Runs an action with a provider bound to the current thread.
+     *
+     * <p>JsonUtils calls made by the action on this thread use 'scoped'; other threads are
+     * not affected, so each tenant can use its own mapper without a global lock. Scopes
+     * nest, and the previous provider is restored when the action ends, even if it throws.
+     * Work the action hands to other threads (parallel streams, executors) uses the global
+     * provider.</p>
+     *
+     * <p><strong>Example:</strong></p>
+     * <pre>
+     * Result&lt;String, Order&gt; order = JsonUtils.withProvider(tenant.jsonProvider(),
+     *         () -&gt; JsonUtils.fromJson(body, Order.class));
+     * </pre>
+     *
+     * @param scoped the provider to use inside the action
+     * @param action the action to run
+     * @param <T> the result type
+     * @return the result of the action
+     */
+    public static <T> T withProvider(JsonProvider scoped, Supplier<T> action) {
+        if (scoped == null) {
+            throw new IllegalArgumentException("Provider cannot be null");
+        }
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+
+        if (!scopesUsed) {
+            scopesUsed = true; // Written once: later calls only read the shared field
+        }
+        JsonProvider previous = SCOPED.get();
+        SCOPED.set(scoped);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                SCOPED.remove(); // Don't leave entries behind on pooled threads
+            } else {
+                SCOPED.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Runs an action with a provider bound to the current thread.
+     *
+     * @param scoped the provider to use inside the action
+     * @param action the action to run
+     * @see #withProvider(JsonProvider, Supplier)
+     */
+    public static void withProvider(JsonProvider scoped, Runnable action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        withProvider(scoped, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private static JsonProvider provider() {
+        if (scopesUsed) {
+            JsonProvider scoped = SCOPED.get();
+            if (scoped != null) {
+                return scoped;
+            }
+        }
+        return provider;
+    }
+
     // ========== Core Operations ==========
 
     /**
@@ -65,7 +176,25 @@ public final class JsonUtils {
      * @return Result containing JSON string
      */
     public static <E> Result<E, String> toJson(Object value) {
-        return provider.toJson(value);
+        return provider().toJson(value);
+    }
+
+    /**
+     * Serializes an object to JSON string using a serialization profile.
+     *
+     * <p><strong>Example:</strong></p>
+     * <pre>
+     * toJson(order, JsonFormat.COMPACT)    → {"id":1,"items":[...]}
+     * toJson(order, JsonFormat.CANONICAL)  → same, with object keys sorted
+     * </pre>
+     *
+     * @param value the object to serialize
+     * @param format COMPACT for the wire, PRETTY for humans, CANONICAL for hashing and comparison
+     * @param <E> the error type
+     * @return Result containing JSON string
+     */
+    public static <E> Result<E, String> toJson(Object value, JsonFormat format) {
+        return provider().toJson(value, format);
     }
 
     /**
@@ -78,7 +207,7 @@ public final class JsonUtils {
      * @return Result containing deserialized object
      */
     public static <E, T> Result<E, T> fromJson(String json, Class<T> clazz) {
-        return provider.fromJson(json, clazz);
+        return provider().fromJson(json, clazz);
     }
 
     /**
@@ -98,7 +227,203 @@ public final class JsonUtils {
      * @return Result containing converted object
      */
     public static <E, T> Result<E, T> convert(Object from, Class<T> to) {
-        return provider.convert(from, to);
+        return provider().convert(from, to);
+    }
+
+    /**
+     * Deserializes JSON string to a generic type, such as {@code List<Order>}.
+     *
+     * <p><strong>Example:</strong></p>
+     * <pre>
+     * fromJson(json, new TypeRef&lt;List&lt;Order&gt;&gt;() {})   → Result&lt;E, List&lt;Order&gt;&gt;
+     * </pre>
+     *
+     * @param json the JSON string
+     * @param type the target type
+     * @param <E> the error type
+     * @param <T> the target type
+     * @return Result containing deserialized object
+     */
+    public static <E, T> Result<E, T> fromJson(String json, TypeRef<T> type) {
+        return provider().fromJson(json, type);
+    }
+
+    /**
+     * Converts an object to a generic type (Type Alchemy with generics).
+     *
+     * @param from the source object
+     * @param to the target type
+     * @param <E> the error type
+     * @param <T> the target type
+     * @return Result containing converted object
+     */
+    public static <E, T> Result<E, T> convert(Object from, TypeRef<T> to) {
+        return provider().convert(from, to);
+    }
+
+    /**
+     * Returns a reusable codec bound to a class.
+     *
+     * <p>The codec resolves the type once; repeated calls return the cached codec while the
+     * type stays in use (providers bound their caches).</p>
+     *
+     * @param clazz the target class
+     * @param <T> the target type
+     * @return codec for the class
+     */
+    public static <T> JsonCodec<T> codec(Class<T> clazz) {
+        return provider().codec(clazz);
+    }
+
+    /**
+     * Returns a reusable codec bound to a generic type.
+     *
+     * @param type the target type
+     * @param <T> the target type
+     * @return codec for the type
+     */
+    public static <T> JsonCodec<T> codec(TypeRef<T> type) {
+        return provider().codec(type);
+    }
+
+    /**
+     * Returns a JSON Lines (NDJSON) reader and writer for a class, on the current provider.
+     *
+     * <p>Records are decoded in parallel chunks on the common fork-join pool and come out in
+     * input order; see {@link JsonLines} for the options.</p>
+     *
+     * @param clazz the record class
+     * @param <T> the record type
+     * @return the reader and writer
+     */
+    public static <T> JsonLines<T> jsonLines(Class<T> clazz) {
+        return JsonLines.of(provider(), clazz);
+    }
+
+    /**
+     * Returns a JSON Lines (NDJSON) reader and writer for a generic type, on the current provider.
+     *
+     * @param type the record type
+     * @param <T> the record type
+     * @return the reader and writer
+     */
+    public static <T> JsonLines<T> jsonLines(TypeRef<T> type) {
+        return JsonLines.of(provider(), type);
+    }
+
+    // ========== Byte I/O ==========
+
+    /**
+     * Serializes an object straight to UTF-8 bytes, without an intermediate String.
+     *
+     * @param value the object to serialize
+     * @param <E> the error type
+     * @return Result containing UTF-8 JSON
+     */
+    public static <E> Result<E, byte[]> toJsonBytes(Object value) {
+        return provider().toJsonBytes(value);
+    }
+
+    /**
+     * Serializes an object straight to UTF-8 bytes using a serialization profile.
+     *
+     * @param value the object to serialize
+     * @param format the profile
+     * @param <E> the error type
+     * @return Result containing UTF-8 JSON
+     */
+    public static <E> Result<E, byte[]> toJsonBytes(Object value, JsonFormat format) {
+        return provider().toJsonBytes(value, format);
+    }
+
+    /**
+     * Serializes an object as UTF-8 into a reusable, caller-supplied buffer.
+     *
+     * <p><strong>Example:</strong></p>
+     * <pre>
+     * ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);   // allocated once
+     *
+     * buffer.clear();
+     * toJsonBuffer(event, buffer, JsonFormat.COMPACT)
+     *     .ifOk(written → channel.write(buffer.flip()));
+     * </pre>
+     *
+     * <p>On failure, including a buffer that is too small, the position is left unchanged.</p>
+     *
+     * @param value the object to serialize
+     * @param target the buffer to write into, starting at its position
+     * @param format the profile
+     * @param <E> the error type
+     * @return Result containing the number of bytes written
+     */
+    public static <E> Result<E, Integer> toJsonBuffer(Object value, ByteBuffer target, JsonFormat format) {
+        return provider().toJsonBuffer(value, target, format);
+    }
+
+    /**
+     * Serializes an object as UTF-8 to an output stream. The stream is not closed.
+     *
+     * @param value the object to serialize
+     * @param output the destination
+     * @param format the profile
+     * @param <E> the error type
+     * @return Result containing Empty on success
+     */
+    public static <E> Result<E, Empty> writeJson(Object value, OutputStream output, JsonFormat format) {
+        return provider().writeJson(value, output, format);
+    }
+
+    /**
+     * Deserializes UTF-8 JSON bytes, without decoding them to a String first.
+     *
+     * @param json the UTF-8 JSON
+     * @param clazz the target class
+     * @param <E> the error type
+     * @param <T> the target type
+     * @return Result containing deserialized object
+     */
+    public static <E, T> Result<E, T> fromJsonBytes(byte[] json, Class<T> clazz) {
+        return provider().fromJsonBytes(json, clazz);
+    }
+
+    /**
+     * Deserializes the remaining UTF-8 bytes of a buffer. The position is not changed.
+     *
+     * @param json the UTF-8 JSON, between position and limit
+     * @param clazz the target class
+     * @param <E> the error type
+     * @param <T> the target type
+     * @return Result containing deserialized object
+     */
+    public static <E, T> Result<E, T> fromJsonBuffer(ByteBuffer json, Class<T> clazz) {
+        return provider().fromJsonBuffer(json, clazz);
+    }
+
+    /**
+     * Deserializes UTF-8 JSON read from a stream. The stream is not closed.
+     *
+     * @param input the UTF-8 JSON source
+     * @param clazz the target class
+     * @param <E> the error type
+     * @param <T> the target type
+     * @return Result containing deserialized object
+     */
+    public static <E, T> Result<E, T> readJson(InputStream input, Class<T> clazz) {
+        return provider().readJson(input, clazz);
+    }
+
+    /**
+     * Deserializes a UTF-8 JSON file. The file is memory-mapped and read without loading it
+     * into the heap first, so multi-GB files only cost the objects they bind to.
+     *
+     * @param path the JSON file
+     * @param clazz the target class
+     * @param <E> the error type
+     * @param <T> the target type
+     * @return Result containing deserialized object
+     */
+    public static <E, T> Result<E, T> readFile(Path path, Class<T> clazz) {
+        return provider().readFile(path, clazz);
     }
 
     // ========== Tree Operations ==========
@@ -111,7 +436,7 @@ public final class JsonUtils {
      * @return Result containing JsonNodeWrapper
      */
     public static <E> Result<E, JsonNodeWrapper> toNode(Object value) {
-        return provider.toNode(value);
+        return provider().toNode(value);
     }
 
     /**
@@ -122,7 +447,96 @@ public final class JsonUtils {
      * @return Result containing JsonNodeWrapper
      */
     public static <E> Result<E, JsonNodeWrapper> parseNode(String json) {
-        return provider.parseNode(json);
+        return provider().parseNode(json);
+    }
+
+    /**
+     * Parses UTF-8 JSON bytes directly to a navigable tree, without decoding them to a String first.
+     *
+     * @param json the UTF-8 JSON
+     * @param <E> the error type
+     * @return Result containing JsonNodeWrapper
+     */
+    public static <E> Result<E, JsonNodeWrapper> parseNodeBytes(byte[] json) {
+        return provider().parseNodeBytes(json);
+    }
+
+    /**
+     * Parses UTF-8 JSON read from a stream to a navigable tree. The stream is not closed.
+     *
+     * @param input the UTF-8 JSON source
+     * @param <E> the error type
+     * @return Result containing JsonNodeWrapper
+     */
+    public static <E> Result<E, JsonNodeWrapper> readNode(InputStream input) {
+        return provider().readNode(input);
+    }
+
+    /**
+     * Parses a UTF-8 JSON file to a navigable tree. The file is memory-mapped (in windows, so
+     * files over 2 GB work) and parsed from the mapping, instead of being read into a String.
+     *
+     * @param path the JSON file
+     * @param <E> the error type
+     * @return Result containing JsonNodeWrapper
+     */
+    public static <E> Result<E, JsonNodeWrapper> parseFile(Path path) {
+        return provider().parseFile(path);
+    }
+
+    // ========== Typed Errors ==========
+
+    /**
+     * Deserializes JSON string to an object, reporting failures as {@link JsonError}s.
+     *
+     * <p>For hot paths where many payloads are rejected: errors are built without string
+     * concatenation, and callers branch on {@link JsonError#kind()} instead of parsing messages.</p>
+     *
+     * <p><strong>Example:</strong></p>
+     * <pre>
+     * Result&lt;JsonError, Order&gt; order = JsonUtils.decode(body, Order.class);
+     * order.ifErr(error -&gt; metrics.reject(error.kind()));
+     * </pre>
+     *
+     * @param json the JSON string
+     * @param clazz the target class
+     * @param <T> the target type
+     * @return Result containing deserialized object or error
+     */
+    public static <T> Result<JsonError, T> decode(String json, Class<T> clazz) {
+        return provider().decode(json, clazz);
+    }
+
+    /**
+     * Deserializes UTF-8 JSON bytes to an object, reporting failures as {@link JsonError}s.
+     *
+     * @param json the UTF-8 JSON
+     * @param clazz the target class
+     * @param <T> the target type
+     * @return Result containing deserialized object or error
+     */
+    public static <T> Result<JsonError, T> decodeBytes(byte[] json, Class<T> clazz) {
+        return provider().decodeBytes(json, clazz);
+    }
+
+    /**
+     * Parses JSON string to a tree node, reporting failures as {@link JsonError}s.
+     *
+     * @param json the JSON string
+     * @return Result containing JsonNodeWrapper or error
+     */
+    public static Result<JsonError, JsonNodeWrapper> decodeNode(String json) {
+        return provider().decodeNode(json);
+    }
+
+    /**
+     * Parses UTF-8 JSON bytes to a tree node, reporting failures as {@link JsonError}s.
+     *
+     * @param json the UTF-8 JSON
+     * @return Result containing JsonNodeWrapper or error
+     */
+    public static Result<JsonError, JsonNodeWrapper> decodeNodeBytes(byte[] json) {
+        return provider().decodeNodeBytes(json);
     }
 
     // ========== Safe Navigation ==========
@@ -142,7 +556,261 @@ public final class JsonUtils {
      * @return Optional containing the string value, or Empty
      */
     public static Optional<String> getString(Object node, String path) {
-        return provider.getString(node, path);
+        return provider().getString(node, path);
+    }
+
+    /**
+     * Safely retrieves a string value using a path compiled once with {@link JsonPath#compile(String)}.
+     *
+     * <p>Prefer this over {@link #getString(Object, String)} when the same path is read
+     * from many documents. (A separate name keeps {@code getString(node, null)} unambiguous.)</p>
+     *
+     * @param node the JSON node (or object that can be converted to node)
+     * @param path the compiled path
+     * @return Optional containing the string value, or Empty
+     */
+    public static Optional<String> getStringAt(Object node, JsonPath path) {
+        return provider().getString(node, path);
+    }
+
+    /**
+     * Safely retrieves an integral value (42, 42.0 or "42") that fits in a long.
+     *
+     * <p>Numeric nodes are read directly, instead of formatting them with getString and parsing
+     * the text back. Lenient text ("$1,234") is left to getString and NumberUtils.safeOf.</p>
+     *
+     * @param node the JSON node (or object that can be converted to node)
+     * @param path the navigation path
+     * @return the value, or empty if absent or not an integral number
+     */
+    public static OptionalLong getLong(Object node, String path) {
+        return path == null ? OptionalLong.empty() : provider().getLong(node, JsonPath.of(path));
+    }
+
+    /**
+     * Safely retrieves an integral value that fits in a long, using a compiled path.
+     *
+     * @param node the JSON node (or object that can be converted to node)
+     * @param path the compiled path
+     * @return the value, or empty if absent or not an integral number
+     */
+    public static OptionalLong getLongAt(Object node, JsonPath path) {
+        return provider().getLong(node, path);
+    }
+
+    /**
+     * Retrieves an integral value that fits in a long, or a sentinel, without allocating.
+     *
+     * <pre>
+     * long qty = JsonUtils.getLongAt(line, QTY, -1);
+     * </pre>
+     *
+     * @param node the JSON node (or object that can be converted to node)
+     * @param path the compiled path
+     * @param absent returned when the value is absent or not an integral number
+     * @return the value, or 'absent'
+     */
+    public static long getLongAt(Object node, JsonPath path, long absent) {
+        return provider().getLong(node, path, absent);
+    }
+
+    /**
+     * Safely retrieves an integral value that fits in an int.
+     *
+     * @param node the JSON node (or object that can be converted to node)
+     * @param path the navigation path
+     * @return the value, or empty if absent, not an integral number or out of range
+     * @see #getLong(Object, String)
+     */
+    public static OptionalInt getInt(Object node, String path) {
+        return path == null ? OptionalInt.empty() : provider().getInt(node, JsonPath.of(path));
+    }
+
+    /**
+     * Safely retrieves an integral value that fits in an int, using a compiled path.
+     *
+     * @param node the JSON node (or object that can be converted to node)
+     * @param path the compiled path
+     * @return the value, or empty if absent, not an integral number or out of range
+     */
+    public static OptionalInt getIntAt(Object node, JsonPath path) {
+        return provider().getInt(node, path);
+    }
+
+    /**
+     * Retrieves an integral value that fits in an int, or a sentinel, without allocating.
+     *
+     * @param node the JSON node (or object that can be converted to node)
+     * @param path the compiled path
+     * @param absent returned when the value is absent, not an integral number or out of range
+     * @return the value, or 'absent'
+     */
+    public static int getIntAt(Object node, JsonPath path, int absent) {
+        return provider().getInt(node, path, absent);
+    }
+
+    /**
+     * Safely retrieves a number as a double.
+     *
+     * @param node the JSON node (or object that can be converted to node)
+     * @param path the navigation path
+     * @return the value, or empty if absent or not a number
+     * @see #getLong(Object, String)
+     */
+    public static OptionalDouble getDouble(Object node, String path) {
+        return path == null ? OptionalDouble.empty() : provider().getDouble(node, JsonPath.of(path));
+    }
+
+    /**
+     * Safely retrieves a number as a double, using a compiled path.
+     *
+     * @param node the JSON node (or object that can be converted to node)
+     * @param path the compiled path
+     * @return the value, or empty if absent or not a number
+     */
+    public static OptionalDouble getDoubleAt(Object node, JsonPath path) {
+        return provider().getDouble(node, path);
+    }
+
+    /**
+     * Retrieves a number as a double, or a sentinel, without allocating.
+     *
+     * @param node the JSON node (or object that can be converted to node)
+     * @param path the compiled path
+     * @param absent returned when the value is absent or not a number (NaN works well)
+     * @return the value, or 'absent'
+     */
+    public static double getDoubleAt(Object node, JsonPath path, double absent) {
+        return provider().getDouble(node, path, absent);
+    }
+
+    /**
+     * Safely retrieves a boolean (true, false, "true" or "false").
+     *
+     * @param node the JSON node (or object that can be converted to node)
+     * @param path the navigation path
+     * @return the value, or empty if absent or not a boolean
+     */
+    public static Optional<Boolean> getBoolean(Object node, String path) {
+        return path == null ? Optional.empty() : provider().getBoolean(node, JsonPath.of(path));
+    }
+
+    /**
+     * Safely retrieves a boolean using a compiled path.
+     *
+     * @param node the JSON node (or object that can be converted to node)
+     * @param path the compiled path
+     * @return the value, or empty if absent or not a boolean
+     */
+    public static Optional<Boolean> getBooleanAt(Object node, JsonPath path) {
+        return provider().getBoolean(node, path);
+    }
+
+    /**
+     * Safely retrieves a number exactly.
+     *
+     * @param node the JSON node (or object that can be converted to node)
+     * @param path the navigation path
+     * @return the value, or empty if absent or not a number
+     */
+    public static Optional<BigDecimal> getBigDecimal(Object node, String path) {
+        return path == null ? Optional.empty() : provider().getBigDecimal(node, JsonPath.of(path));
+    }
+
+    /**
+     * Safely retrieves a number exactly, using a compiled path.
+     *
+     * @param node the JSON node (or object that can be converted to node)
+     * @param path the compiled path
+     * @return the value, or empty if absent or not a number
+     */
+    public static Optional<BigDecimal> getBigDecimalAt(Object node, JsonPath path) {
+        return provider().getBigDecimal(node, path);
+    }
+
+    /**
+     * Reads a number into a reusable holder, rounded HALF_UP to its scale.
+     *
+     * <pre>
+     * Decimal64 price = Decimal64.zero();
+     * Decimal64 total = Decimal64.zero();
+     * for (JsonNodeWrapper line : lines) {
+     *     if (JsonUtils.getDecimalAt(line, PRICE, price)) {
+     *         total.add(price);
+     *     }
+     * }
+     * </pre>
+     *
+     * @param node the JSON node (or object that can be converted to node)
+     * @param path the navigation path
+     * @param into the holder to overwrite; left unchanged when the value is absent
+     * @return true if a number was read into the holder, false if it is absent or does not
+     *         fit at the holder's scale
+     */
+    public static boolean getDecimal(Object node, String path, Decimal64 into) {
+        return path != null && provider().getDecimal(node, JsonPath.of(path), into);
+    }
+
+    /**
+     * Reads a number into a reusable holder using a compiled path.
+     *
+     * @param node the JSON node (or object that can be converted to node)
+     * @param path the compiled path
+     * @param into the holder to overwrite; left unchanged when the value is absent
+     * @return true if a number was read into the holder, false if it is absent or does not
+     *         fit at the holder's scale
+     * @see #getDecimal(Object, String, Decimal64)
+     */
+    public static boolean getDecimalAt(Object node, JsonPath path, Decimal64 into) {
+        return provider().getDecimal(node, path, into);
+    }
+
+    /**
+     * Reads only the values at the given paths from a JSON document, without parsing the rest.
+     *
+     * <p>The document is scanned once: subtrees no path leads to are skipped without being
+     * built, and reading stops as soon as every path is found (or known to be missing).
+     * Paths follow the rules of {@link #getStringAt(Object, JsonPath)}.</p>
+     *
+     * <pre>
+     * Map&lt;JsonPath, JsonNodeWrapper&gt; values = JsonUtils.extract(payload, ID, STATUS).getOrThrow();
+     * String status = values.get(STATUS).asText();
+     * </pre>
+     *
+     * @param json the JSON string
+     * @param paths the paths to read
+     * @param <E> the error type
+     * @return Result containing each path found and its value, in the order given
+     */
+    public static <E> Result<E, Map<JsonPath, JsonNodeWrapper>> extract(String json, JsonPath... paths) {
+        return provider().extract(json, paths);
+    }
+
+    /**
+     * Reads only the values at the given paths from UTF-8 JSON bytes.
+     *
+     * @param json the UTF-8 JSON
+     * @param paths the paths to read
+     * @param <E> the error type
+     * @return Result containing each path found and its value, in the order given
+     * @see #extract(String, JsonPath...)
+     */
+    public static <E> Result<E, Map<JsonPath, JsonNodeWrapper>> extract(byte[] json, JsonPath... paths) {
+        return provider().extract(json, paths);
+    }
+
+    /**
+     * Reads only the values at the given paths from a UTF-8 stream. The stream is not closed,
+     * and is left partly unread when every path is found early.
+     *
+     * @param input the UTF-8 JSON source
+     * @param paths the paths to read
+     * @param <E> the error type
+     * @return Result containing each path found and its value, in the order given
+     * @see #extract(String, JsonPath...)
+     */
+    public static <E> Result<E, Map<JsonPath, JsonNodeWrapper>> extract(InputStream input, JsonPath... paths) {
+        return provider().extract(input, paths);
     }
 
     /**
@@ -162,7 +830,20 @@ public final class JsonUtils {
      * @return Result containing updated tree
      */
     public static <E> Result<E, JsonNodeWrapper> updatePath(Object node, String path, Object value) {
-        return provider.updatePath(node, path, value);
+        return provider().updatePath(node, path, value);
+    }
+
+    /**
+     * Updates a value at a path compiled once with {@link JsonPath#compile(String)}.
+     *
+     * @param node the JSON node to update
+     * @param path the compiled path
+     * @param value the new value
+     * @param <E> the error type
+     * @return Result containing updated tree
+     */
+    public static <E> Result<E, JsonNodeWrapper> updatePathAt(Object node, JsonPath path, Object value) {
+        return provider().updatePath(node, path, value);
     }
 
     // ========== Advanced Operations ==========
@@ -183,7 +864,122 @@ public final class JsonUtils {
      * @return Result containing merged tree
      */
     public static <E> Result<E, JsonNodeWrapper> merge(Object main, Object update) {
-        return provider.merge(main, update);
+        return provider().merge(main, update);
+    }
+
+    /**
+     * Deep merges two JSON objects with an explicit copy strategy.
+     *
+     * <p>Same rules as {@link #merge(Object, Object)}. {@link MergeMode#SHARED} copies only the
+     * objects on the paths the update touches, so merging a small patch into a large document
+     * costs as much as the patch; {@link MergeMode#IN_PLACE} modifies 'main' when it is a tree.</p>
+     *
+     * @param main the base object
+     * @param update the object to merge in
+     * @param mode how much of 'main' is copied
+     * @param <E> the error type
+     * @return Result containing merged tree
+     */
+    public static <E> Result<E, JsonNodeWrapper> merge(Object main, Object update, MergeMode mode) {
+        return provider().merge(main, update, mode);
+    }
+
+    /**
+     * Compiles an RFC 6902 JSON Patch for repeated use.
+     *
+     * <p>Runs of operations under the same parent share one walk of the tree, and applying
+     * is atomic: see {@link JsonPatch}.</p>
+     *
+     * @param operations the operations as a JSON string, tree or List of Maps
+     * @param <E> the error type
+     * @return Result containing the compiled patch, or an error listing the invalid operations
+     */
+    public static <E> Result<E, JsonPatch> compilePatch(Object operations) {
+        return provider().compilePatch(operations);
+    }
+
+    /**
+     * Compiles an RFC 7396 JSON Merge Patch for repeated use.
+     *
+     * <p>Unlike {@link #merge(Object, Object)}, a null member removes the key.</p>
+     *
+     * @param patch the merge patch as a JSON string, tree, Map or POJO
+     * @param <E> the error type
+     * @return Result containing the compiled patch or error
+     */
+    public static <E> Result<E, JsonPatch> compileMergePatch(Object patch) {
+        return provider().compileMergePatch(patch);
+    }
+
+    /**
+     * Applies an RFC 6902 JSON Patch once.
+     *
+     * @param node the document
+     * @param operations the operations as a JSON string, tree or List of Maps
+     * @param <E> the error type
+     * @return Result containing the patched tree, or an error listing the failed operations
+     */
+    public static <E> Result<E, JsonNodeWrapper> patch(Object node, Object operations) {
+        return provider().<E>compilePatch(operations).flatMap(patch -> patch.apply(node));
+    }
+
+    /**
+     * Applies an RFC 7396 JSON Merge Patch once.
+     *
+     * @param node the document
+     * @param patch the merge patch as a JSON string, tree, Map or POJO
+     * @param <E> the error type
+     * @return Result containing the patched tree or error
+     */
+    public static <E> Result<E, JsonNodeWrapper> mergePatch(Object node, Object patch) {
+        return provider().<E>compileMergePatch(patch).flatMap(compiled -> compiled.apply(node));
+    }
+
+    /**
+     * Compiles a JSON Schema for repeated use.
+     *
+     * <p>Keep the compiled schema in a constant: references, patterns and bounds are resolved
+     * once, and {@link JsonSchema#validateJson(String)} checks text without building a tree.</p>
+     *
+     * @param schema the schema as a JSON string, tree or Map
+     * @param <E> the error type
+     * @return Result containing the compiled schema, or an error listing the invalid keywords
+     */
+    public static <E> Result<E, JsonSchema> compileSchema(Object schema) {
+        return provider().compileSchema(schema);
+    }
+
+    /**
+     * Validates a document against a JSON Schema once.
+     *
+     * @param node the document (tree, Map, POJO)
+     * @param schema the schema as a JSON string, tree or Map
+     * @param <E> the error type
+     * @return Result containing the document as a tree, or an error listing every violation
+     */
+    public static <E> Result<E, JsonNodeWrapper> validate(Object node, Object schema) {
+        return provider().<E>compileSchema(schema).flatMap(compiled -> compiled.validate(node));
+    }
+
+    /**
+     * Computes the RFC 6902 JSON Patch that turns 'source' into 'target'.
+     *
+     * <p>Store or send the delta instead of a full snapshot, and replay it with
+     * {@link #patch(Object, Object)}. Identical subtrees are skipped without being walked;
+     * arrays are aligned (LCS) so an insertion does not rewrite every later element.</p>
+     *
+     * <pre>
+     * JsonNodeWrapper delta = JsonUtils.diff(v1, v2).getOrThrow();
+     * JsonUtils.patch(v1, delta);   // equals v2
+     * </pre>
+     *
+     * @param source the original document
+     * @param target the new document
+     * @param <E> the error type
+     * @return Result containing the operations array (empty if equal) or error
+     */
+    public static <E> Result<E, JsonNodeWrapper> diff(Object source, Object target) {
+        return provider().diff(source, target);
     }
 
     /**
@@ -197,11 +993,31 @@ public final class JsonUtils {
      *   <li>Empty objects ({})</li>
      * </ul>
      *
+     * <p>Array elements are only removed when null. The input is not modified, and subtrees
+     * with nothing to remove are shared with the result (the input itself is returned when
+     * nothing matches).</p>
+     *
      * @param node the tree to prune
      * @return pruned tree
      */
     public static JsonNodeWrapper prune(Object node) {
-        return provider.prune(node);
+        return provider().prune(node);
+    }
+
+    /**
+     * Removes null/empty values according to configurable rules.
+     *
+     * <pre>
+     * // Also drop "" from arrays, and modify the event tree instead of copying it
+     * JsonUtils.prune(event, PruneOptions.DEFAULTS.withArrayElements(true).withInPlace(true));
+     * </pre>
+     *
+     * @param node the tree to prune
+     * @param options what to remove, and whether to modify the tree in place
+     * @return pruned tree
+     */
+    public static JsonNodeWrapper prune(Object node, PruneOptions options) {
+        return provider().prune(node, options);
     }
 
     // ========== Convenience Methods ==========
@@ -214,9 +1030,8 @@ public final class JsonUtils {
      * @param <E> the error type
      * @return Result containing Map
      */
-    @SuppressWarnings("unchecked")
     public static <E> Result<E, Map<String, Object>> toMap(String json) {
-        return (Result<E, Map<String, Object>>) (Result<?, ?>) fromJson(json, Map.class);
+        return fromJson(json, MAP_TYPE);
     }
 
     /**
@@ -226,9 +1041,8 @@ public final class JsonUtils {
      * @param <E> the error type
      * @return Result containing List of Maps
      */
-    @SuppressWarnings("unchecked")
     public static <E> Result<E, List<Map<String, Object>>> toList(String json) {
-        return (Result<E, List<Map<String, Object>>>) (Result<?, ?>) fromJson(json, List.class);
+        return fromJson(json, LIST_OF_MAPS_TYPE);
     }
     /**
      * Converts a JSON array node to a Java Stream for functional processing.
@@ -245,6 +1059,119 @@ public final class JsonUtils {
      * @return Stream of JsonNodeWrapper, or empty stream if not an array
      */
     public static Stream<JsonNodeWrapper> stream(Object arrayNode) {
-        return provider.stream(arrayNode);
+        return provider().stream(arrayNode);
+    }
+
+    /**
+     * Converts a JSON array node to a parallel Stream.
+     *
+     * <p>The array is split by index range, so per-element work on large arrays spreads
+     * over the common fork-join pool. Do not modify the array while the stream runs.</p>
+     *
+     * <pre>
+     * List&lt;Order&gt; orders = JsonUtils.parallelStream(bigArray)
+     *     .map(node → JsonUtils.&lt;String, Order&gt;convert(node, Order.class).getOrThrow())
+     *     .collect(Collectors.toList());
+     * </pre>
+     *
+     * @param arrayNode the array node
+     * @return parallel Stream of JsonNodeWrapper, or empty stream if not an array
+     */
+    public static Stream<JsonNodeWrapper> parallelStream(Object arrayNode) {
+        return provider().parallelStream(arrayNode);
+    }
+
+    // ========== Streaming ==========
+
+    /**
+     * Lazily reads the elements of a top-level JSON array, one at a time.
+     *
+     * <p>The whole document is never held in memory, so this works for arrays
+     * far larger than the heap. Each element is its own Result; malformed JSON
+     * yields a final error and ends the stream.</p>
+     *
+     * <p><strong>Example:</strong></p>
+     * <pre>
+     * try (Stream&lt;Result&lt;String, JsonNodeWrapper&gt;&gt; rows = streamArray(reader)) {
+     *     rows.filter(Result::isOk)
+     *         .map(Result::getOrThrow)
+     *         .forEach(this::process);
+     * }
+     * </pre>
+     *
+     * @param reader source of a JSON array (closed with the stream)
+     * @param <E> the error type
+     * @return Stream of per-element Results
+     */
+    public static <E> Stream<Result<E, JsonNodeWrapper>> streamArray(Reader reader) {
+        return provider().streamArray(reader);
+    }
+
+    /**
+     * Lazily reads the elements of a top-level JSON array and binds each one to a type.
+     *
+     * <p>An element that cannot be bound yields an error and the stream continues
+     * with the next element.</p>
+     *
+     * @param reader source of a JSON array (closed with the stream)
+     * @param clazz the element type
+     * @param <E> the error type
+     * @param <T> the element type
+     * @return Stream of per-element Results
+     */
+    public static <E, T> Stream<Result<E, T>> streamArray(Reader reader, Class<T> clazz) {
+        return provider().streamArray(reader, clazz);
+    }
+
+    /**
+     * Lazily reads the elements of a top-level JSON array from UTF-8 bytes.
+     *
+     * @param input source of a JSON array (closed with the stream)
+     * @param <E> the error type
+     * @return Stream of per-element Results
+     */
+    public static <E> Stream<Result<E, JsonNodeWrapper>> streamArray(InputStream input) {
+        return provider().streamArray(input);
+    }
+
+    /**
+     * Lazily reads and binds the elements of a top-level JSON array from UTF-8 bytes.
+     *
+     * @param input source of a JSON array (closed with the stream)
+     * @param clazz the element type
+     * @param <E> the error type
+     * @param <T> the element type
+     * @return Stream of per-element Results
+     */
+    public static <E, T> Stream<Result<E, T>> streamArray(InputStream input, Class<T> clazz) {
+        return provider().streamArray(input, clazz);
+    }
+
+    /**
+     * Lazily reads the elements of a top-level JSON array stored in a file.
+     *
+     * <p>The file stays open until the stream is closed, so use try-with-resources.</p>
+     *
+     * @param path the JSON file
+     * @param <E> the error type
+     * @return Stream of per-element Results, or a single error if the file cannot be opened
+     */
+    public static <E> Stream<Result<E, JsonNodeWrapper>> streamArray(Path path) {
+        return provider().streamArray(path);
+    }
+
+    /**
+     * Lazily reads and binds the elements of a top-level JSON array stored in a file.
+     *
+     * <p>The file stays open until the stream is closed, so use try-with-resources.</p>
+     *
+     * @param path the JSON file
+     * @param clazz the element type
+     * @param <E> the error type
+     * @param <T> the element type
+     * @return Stream of per-element Results, or a single error if the file cannot be opened
+     */
+    public static <E, T> Stream<Result<E, T>> streamArray(Path path, Class<T> clazz) {
+        return provider().streamArray(path, clazz);
     }
-}
\ No newline at end of file
+}
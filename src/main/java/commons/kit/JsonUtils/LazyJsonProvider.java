@@ -0,0 +1,212 @@
+package commons.kit.JsonUtils;
+
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import commons.kit.ErrorUtils.Result;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * JsonProvider whose parsed trees are read straight from the JSON bytes.
+ *
+ * <p>{@link #parseNode(String)} and {@link #parseNodeBytes(byte[])} (and their typed-error
+ * {@code decodeNode} forms) validate the document in one pass over its bytes, which builds
+ * nothing, and return a wrapper over them. An object or array is indexed the first time one
+ * of its members is read, and values are decoded only when asked for, so reading a few
+ * fields of a large document costs little more than validating it. Everything else behaves
+ * as in {@link JacksonJsonProvider}: lazy wrappers passed to other operations are parsed
+ * into Jackson trees first.</p>
+ *
+ * <pre>
+ * JsonUtils.setProvider(new LazyJsonProvider());
+ *
+ * JsonNodeWrapper order = JsonUtils.parseNodeBytes(body).getOrThrow();
+ * String id = order.get("id").asText();            // indexes the root object only
+ * long total = order.at("/summary/total").asLong(); // then "summary"; "items" is never decoded
+ * </pre>
+ *
+ * <p><strong>Notes:</strong></p>
+ * <ul>
+ *   <li>{@code parseNodeBytes} does not copy the array: do not modify it while its nodes
+ *       are in use</li>
+ *   <li>{@code unwrap()} returns a Jackson tree parsed from the node's bytes. Modifying it
+ *       (or using in-place merge or prune modes) does not change what the lazy node reads</li>
+ *   <li>Invalid documents are reparsed by {@link JacksonJsonProvider} from the input as
+ *       given (String or bytes), so they are reported with its errors</li>
+ *   <li>Scalar and non-UTF-8 documents, and all documents when the mapper enables
+ *       non-standard syntax (comments, single quotes, unquoted names, trailing commas,
+ *       missing values) or duplicate detection, are parsed eagerly</li>
+ * </ul>
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+public class LazyJsonProvider extends JacksonJsonProvider {
+
+    /**
+     * Creates a new LazyJsonProvider with the default configuration of {@link JacksonJsonProvider}.
+     */
+    public LazyJsonProvider() {
+        super();
+    }
+
+    /**
+     * Creates a LazyJsonProvider with a custom ObjectMapper.
+     *
+     * @param customMapper the ObjectMapper to use
+     */
+    public LazyJsonProvider(ObjectMapper customMapper) {
+        super(customMapper);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, JsonNodeWrapper> parseNode(String json) {
+        if (json == null || json.trim().isEmpty()) {
+            return Result.err((E) "JSON string is null or empty");
+        }
+        if (!standardSyntax()) {
+            return super.parseNode(json);
+        }
+        // Not lazily readable (or invalid): parse the String, so errors point at its characters
+        LazyNodeWrapper root = lazyRoot(json.getBytes(StandardCharsets.UTF_8));
+        return root != null ? Result.ok(root) : super.parseNode(json);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, JsonNodeWrapper> parseNodeBytes(byte[] json) {
+        if (json == null || json.length == 0) {
+            return Result.err((E) "JSON bytes are null or empty");
+        }
+        if (!standardSyntax() || !utf8(json)) {
+            return super.parseNodeBytes(json);
+        }
+        return parseLazily(json);
+    }
+
+    @Override
+    public Result<JsonError, JsonNodeWrapper> decodeNode(String json) {
+        if (json == null || json.trim().isEmpty() || !standardSyntax()) {
+            return super.decodeNode(json);
+        }
+        LazyNodeWrapper root = lazyRoot(json.getBytes(StandardCharsets.UTF_8));
+        return root != null ? Result.ok(root) : super.decodeNode(json);
+    }
+
+    @Override
+    public Result<JsonError, JsonNodeWrapper> decodeNodeBytes(byte[] json) {
+        if (json == null || json.length == 0 || !standardSyntax() || !utf8(json)) {
+            return super.decodeNodeBytes(json);
+        }
+        return decodeLazily(json);
+    }
+
+    @Override
+    public Optional<String> getString(Object node, JsonPath path) {
+        if (!(node instanceof LazyNodeWrapper) || path == null) {
+            return super.getString(node, path);
+        }
+
+        LazyNodeWrapper current = lazyAt((LazyNodeWrapper) node, path);
+        return current != null ? Optional.of(current.asText()) : Optional.empty();
+    }
+
+    @Override
+    JsonNode valueAt(Object node, JsonPath path) {
+        if (!(node instanceof LazyNodeWrapper) || path == null) {
+            return super.valueAt(node, path);
+        }
+
+        // Typed accessors only read scalars: a container is absent, and is never decoded
+        LazyNodeWrapper current = lazyAt((LazyNodeWrapper) node, path);
+        return current != null ? current.scalar() : null;
+    }
+
+    @Override
+    public Stream<JsonNodeWrapper> stream(Object arrayNode) {
+        return arrayNode instanceof LazyNodeWrapper
+                ? ((LazyNodeWrapper) arrayNode).elements(false)
+                : super.stream(arrayNode);
+    }
+
+    @Override
+    public Stream<JsonNodeWrapper> parallelStream(Object arrayNode) {
+        return arrayNode instanceof LazyNodeWrapper
+                ? ((LazyNodeWrapper) arrayNode).elements(true)
+                : super.parallelStream(arrayNode);
+    }
+
+    // ========== Helper Methods ==========
+
+    /**
+     * Same rules as JacksonJsonProvider, without parsing the rest of the document.
+     */
+    private static LazyNodeWrapper lazyAt(LazyNodeWrapper node, JsonPath path) {
+        LazyNodeWrapper current = node;
+        for (int i = 0; i < path.length(); i++) {
+            if (current == null || current.isNull()) {
+                return null;
+            }
+            current = path.isIndex(i) ? current.element(path.index(i)) : current.member(path.segment(i));
+        }
+        return current != null && !current.isNull() ? current : null;
+    }
+
+    private <E> Result<E, JsonNodeWrapper> parseLazily(byte[] json) {
+        LazyNodeWrapper root = lazyRoot(json);
+        return root != null ? Result.ok(root) : super.parseNodeBytes(json);
+    }
+
+    private Result<JsonError, JsonNodeWrapper> decodeLazily(byte[] json) {
+        LazyNodeWrapper root = lazyRoot(json);
+        return root != null ? Result.ok(root) : super.decodeNodeBytes(json);
+    }
+
+    /**
+     * Validates and indexes a document, or returns null if Jackson should parse it.
+     */
+    private LazyNodeWrapper lazyRoot(byte[] json) {
+        int start = hasBom(json) ? 3 : 0;
+        start = LazyJsonValidator.skipWhitespace(json, start);
+
+        // Only containers are worth indexing. Anything the validator rejects is parsed by Jackson,
+        // which reports the error (or accepts what the validator is too strict for)
+        if (start == json.length || (json[start] != '{' && json[start] != '[')) {
+            return null;
+        }
+        ObjectMapper mapper = mapper();
+        int[] members = LazyJsonValidator.validate(json, start, mapper.getFactory().streamReadConstraints());
+        return members != null ? LazyNodeWrapper.root(mapper, json, start, members) : null;
+    }
+
+    @SuppressWarnings("deprecation")
+    private boolean standardSyntax() {
+        ObjectMapper mapper = mapper();
+        return !mapper.isEnabled(JsonParser.Feature.ALLOW_COMMENTS)
+                && !mapper.isEnabled(JsonParser.Feature.ALLOW_YAML_COMMENTS)
+                && !mapper.isEnabled(JsonParser.Feature.ALLOW_SINGLE_QUOTES)
+                && !mapper.isEnabled(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES)
+                && !mapper.isEnabled(JsonParser.Feature.ALLOW_TRAILING_COMMA)
+                && !mapper.isEnabled(JsonParser.Feature.ALLOW_MISSING_VALUES)
+                && !mapper.isEnabled(JsonParser.Feature.STRICT_DUPLICATE_DETECTION)
+                && !mapper.isEnabled(DeserializationFeature.FAIL_ON_READING_DUP_TREE_KEY);
+    }
+
+    /**
+     * Jackson also reads UTF-16 and UTF-32, which start with a zero byte or a byte order mark.
+     */
+    private static boolean utf8(byte[] json) {
+        int first = json[0] & 0xFF;
+        return first != 0 && first != 0xFE && first != 0xFF && (json.length < 2 || json[1] != 0);
+    }
+
+    private static boolean hasBom(byte[] json) {
+        return json.length >= 3 && (json[0] & 0xFF) == 0xEF && (json[1] & 0xFF) == 0xBB && (json[2] & 0xFF) == 0xBF;
+    }
+}
@@ -0,0 +1,296 @@
+package commons.kit.JsonUtils;
+
+
+import com.fasterxml.jackson.core.StreamReadConstraints;
+
+import java.util.Arrays;
+
+/**
+ * Checks that UTF-8 bytes hold one strict RFC 8259 document, without building anything.
+ *
+ * <p>Used by {@link LazyJsonProvider} before wrapping a document, so the root's children are
+ * recorded on the way and the root never needs a second pass. The validator is meant to be at least
+ * as strict as Jackson's default parser: it also rejects what Jackson only accepts through
+ * optional features (comments, leading zeros, NaN, unescaped control characters...), overlong
+ * or surrogate UTF-8 sequences, anything after the root value, and values at or near the
+ * stream read limits. A rejected document is handed to Jackson, which either reports the
+ * error or accepts it, so rejecting too much only costs speed.</p>
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+final class LazyJsonValidator {
+
+    private static final int VALUE = 0;
+    private static final int KEY = 1;
+    private static final int AFTER = 2;
+
+    /**
+     * Ints before the members in the arrays returned by {@link #validate}: count and end.
+     */
+    static final int HEADER = 2;
+
+    private LazyJsonValidator() {
+        throw new AssertionError("No LazyJsonValidator instances for you!");
+    }
+
+    /**
+     * Validates the document whose first byte is the '{' or '[' at 'offset', and returns its
+     * direct children as found on the way: {@code [count, end of the document, then for each
+     * child: name start, name end (-1 in arrays), value start, value end]}.
+     *
+     * @param json the UTF-8 bytes
+     * @param offset where the document starts
+     * @param limits Jackson's nesting, number and string limits, not to be exceeded
+     * @return the children, or null unless the rest of the array is one valid value plus whitespace
+     */
+    static int[] validate(byte[] json, int offset, StreamReadConstraints limits) {
+        try {
+            return scan(json, offset, limits);
+        } catch (ArrayIndexOutOfBoundsException e) {
+            return null; // Truncated input runs off the end of the array
+        }
+    }
+
+    /**
+     * Stores a child in a members array, growing it if needed.
+     *
+     * @return the array (a new one if it had to grow)
+     */
+    static int[] addMember(int[] members, int index, int keyStart, int keyEnd, int valueStart, int valueEnd) {
+        int at = HEADER + 4 * index;
+        if (at + 4 > members.length) {
+            members = Arrays.copyOf(members, members.length * 2);
+        }
+        members[at] = keyStart;
+        members[at + 1] = keyEnd;
+        members[at + 2] = valueStart;
+        members[at + 3] = valueEnd;
+        return members;
+    }
+
+    private static int[] scan(byte[] json, int pos, StreamReadConstraints limits) {
+        int maxDepth = limits.getMaxNestingDepth();
+        boolean[] inObject = new boolean[32];
+        int depth = 0;
+        int state = VALUE;
+
+        int[] members = new int[HEADER + 4 * 8];
+        int count = 0;
+        int keyStart = -1;
+        int keyEnd = -1;
+        int valueStart = -1;
+
+        while (true) {
+            if (state == KEY) {
+                int from = pos;
+                if (json[pos] != '"' || (pos = skipString(json, pos, limits)) < 0) {
+                    return null;
+                }
+                if (depth == 1) {
+                    keyStart = from;
+                    keyEnd = pos;
+                }
+                pos = skipWhitespace(json, pos);
+                if (json[pos] != ':') {
+                    return null;
+                }
+                pos = skipWhitespace(json, pos + 1);
+                state = VALUE;
+            } else if (state == VALUE) {
+                if (depth == 1) {
+                    valueStart = pos;
+                }
+                byte b = json[pos];
+                if (b == '{' || b == '[') {
+                    if (++depth >= maxDepth) {
+                        return null;
+                    }
+                    if (depth == inObject.length) {
+                        inObject = Arrays.copyOf(inObject, depth * 2);
+                    }
+                    inObject[depth] = b == '{';
+                    pos = skipWhitespace(json, pos + 1);
+                    if (json[pos] != (b == '{' ? '}' : ']')) {
+                        state = b == '{' ? KEY : VALUE;
+                        continue;
+                    }
+                    depth--; // Empty
+                    pos++;
+                } else {
+                    if (b == '"') {
+                        pos = skipString(json, pos, limits);
+                    } else if (b == 't') {
+                        pos = literal(json, pos, "true");
+                    } else if (b == 'f') {
+                        pos = literal(json, pos, "false");
+                    } else if (b == 'n') {
+                        pos = literal(json, pos, "null");
+                    } else {
+                        pos = skipNumber(json, pos, limits);
+                    }
+                    if (pos < 0) {
+                        return null;
+                    }
+                }
+                if (depth == 1) {
+                    members = addMember(members, count++, keyStart, keyEnd, valueStart, pos);
+                }
+                state = AFTER;
+            } else {
+                if (depth == 0) {
+                    members[0] = count;
+                    members[1] = pos;
+                    return skipWhitespace(json, pos) == json.length ? members : null;
+                }
+                pos = skipWhitespace(json, pos);
+                byte b = json[pos];
+                if (b == ',') {
+                    pos = skipWhitespace(json, pos + 1);
+                    state = inObject[depth] ? KEY : VALUE;
+                } else if (b == (inObject[depth] ? '}' : ']')) {
+                    pos++;
+                    if (--depth == 1) {
+                        members = addMember(members, count++, keyStart, keyEnd, valueStart, pos);
+                    }
+                } else {
+                    return null;
+                }
+            }
+        }
+    }
+
+    static int skipWhitespace(byte[] json, int pos) {
+        while (pos < json.length) {
+            byte b = json[pos];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                break;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int literal(byte[] json, int pos, String expected) {
+        for (int i = 0; i < expected.length(); i++) {
+            if (json[pos + i] != expected.charAt(i)) {
+                return -1;
+            }
+        }
+        return pos + expected.length();
+    }
+
+    /**
+     * Skips '-'? ('0' | [1-9][0-9]*) ('.' [0-9]+)? ([eE] [+-]? [0-9]+)?; returns -1 if malformed.
+     */
+    private static int skipNumber(byte[] json, int pos, StreamReadConstraints limits) {
+        int from = pos;
+        if (json[pos] == '-') {
+            pos++;
+        }
+        if (json[pos] == '0') {
+            pos++;
+        } else if (isDigit(json[pos])) {
+            pos = skipDigits(json, pos);
+        } else {
+            return -1;
+        }
+        if (pos < json.length && json[pos] == '.') {
+            if (!isDigit(json[++pos])) {
+                return -1;
+            }
+            pos = skipDigits(json, pos);
+        }
+        if (pos < json.length && (json[pos] == 'e' || json[pos] == 'E')) {
+            pos++;
+            if (json[pos] == '+' || json[pos] == '-') {
+                pos++;
+            }
+            if (!isDigit(json[pos])) {
+                return -1;
+            }
+            pos = skipDigits(json, pos);
+        }
+        return pos - from < limits.getMaxNumberLength() ? pos : -1;
+    }
+
+    private static int skipDigits(byte[] json, int pos) {
+        while (pos < json.length && isDigit(json[pos])) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    /**
+     * Skips the string literal whose opening quote is at 'pos'; returns -1 if malformed.
+     */
+    private static int skipString(byte[] json, int pos, StreamReadConstraints limits) {
+        int from = pos++;
+        while (true) {
+            int b = json[pos++] & 0xFF;
+            if (b == '"') {
+                return pos - from < limits.getMaxStringLength() ? pos : -1;
+            }
+            if (b == '\\') {
+                b = json[pos++];
+                if (b == 'u') {
+                    for (int i = 0; i < 4; i++) {
+                        if (Character.digit(json[pos++], 16) < 0) {
+                            return -1;
+                        }
+                    }
+                } else if (b != '"' && b != '\\' && b != '/' && b != 'b' && b != 'f' && b != 'n' && b != 'r' && b != 't') {
+                    return -1;
+                }
+            } else if (b < 0x20) {
+                return -1;
+            } else if (b >= 0x80 && (pos = skipUtf8(json, pos, b)) < 0) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Checks the continuation bytes of a multi-byte character whose lead byte is 'lead' (just
+     * read); returns the position after it, or -1 unless it is the shortest form of a scalar value.
+     */
+    private static int skipUtf8(byte[] json, int pos, int lead) {
+        int count;
+        int min = 0x80;
+        int max = 0xBF;
+        if (lead >= 0xC2 && lead <= 0xDF) {
+            count = 1;
+        } else if (lead >= 0xE0 && lead <= 0xEF) {
+            count = 2;
+            if (lead == 0xE0) {
+                min = 0xA0; // Overlong
+            } else if (lead == 0xED) {
+                max = 0x9F; // Surrogates
+            }
+        } else if (lead >= 0xF0 && lead <= 0xF4) {
+            count = 3;
+            if (lead == 0xF0) {
+                min = 0x90; // Overlong
+            } else if (lead == 0xF4) {
+                max = 0x8F; // Above U+10FFFF
+            }
+        } else {
+            return -1;
+        }
+
+        int second = json[pos++] & 0xFF;
+        if (second < min || second > max) {
+            return -1;
+        }
+        for (int i = 1; i < count; i++) {
+            if ((json[pos++] & 0xC0) != 0x80) {
+                return -1;
+            }
+        }
+        return pos;
+    }
+}
@@ -0,0 +1,403 @@
+package commons.kit.JsonUtils;
+
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * JsonNodeWrapper over a slice of UTF-8 JSON bytes, parsed only as far as it is read.
+ *
+ * <p>A container is indexed on first access: one pass over its bytes records where each
+ * member starts and ends, skipping nested values without decoding them. Scalars are decoded,
+ * and containers turned into Jackson trees ({@link #unwrap()}), only when asked for. Indexes,
+ * child wrappers and decoded values are cached, so reading a value twice costs one lookup.</p>
+ *
+ * <p>The bytes must hold valid JSON without extensions such as comments: {@link LazyJsonProvider}
+ * checks them before creating the root wrapper. They are not copied and must not be modified
+ * while wrappers are in use. Wrappers can be read from several threads.</p>
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+final class LazyNodeWrapper implements JsonNodeWrapper {
+
+    private final ObjectMapper mapper;
+    private final byte[] json;
+    private final int start;
+    private final int end;
+    private final int[] members; // Children found while validating (root only)
+    private volatile Index index;
+    private volatile JsonNode value;
+
+    private LazyNodeWrapper(ObjectMapper mapper, byte[] json, int start, int end, int[] members) {
+        this.mapper = mapper;
+        this.json = json;
+        this.start = start;
+        this.end = end;
+        this.members = members;
+    }
+
+    /**
+     * Wraps the container starting at 'start'.
+     *
+     * @param mapper materializes values
+     * @param json valid JSON
+     * @param start where the container starts
+     * @param members its children, as returned by {@link LazyJsonValidator#validate}
+     * @return the wrapper
+     */
+    static LazyNodeWrapper root(ObjectMapper mapper, byte[] json, int start, int[] members) {
+        return new LazyNodeWrapper(mapper, json, start, members[1], members);
+    }
+
+    @Override
+    public JsonNodeWrapper get(String key) {
+        return member(key);
+    }
+
+    @Override
+    public JsonNodeWrapper at(String path) {
+        // Same rules as Jackson's JsonNode.at(String)
+        LazyNodeWrapper current = this;
+        for (JsonPointer pointer = JsonPointer.compile(path); !pointer.matches(); pointer = pointer.tail()) {
+            current = current.isObject()
+                    ? current.member(pointer.getMatchingProperty())
+                    : current.element(pointer.getMatchingIndex());
+            if (current == null) {
+                return null;
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public JsonNodeWrapper at(JsonPath path) {
+        LazyNodeWrapper current = this;
+        for (int i = 0; i < path.length() && current != null; i++) {
+            current = current.isArray() && path.isIndex(i)
+                    ? current.element(path.index(i))
+                    : current.member(path.segment(i));
+        }
+        return current;
+    }
+
+    @Override
+    public String asText() {
+        return isContainer() ? "" : value().asText();
+    }
+
+    @Override
+    public int asInt() {
+        return isContainer() ? 0 : value().asInt();
+    }
+
+    @Override
+    public long asLong() {
+        return isContainer() ? 0L : value().asLong();
+    }
+
+    @Override
+    public double asDouble() {
+        return isContainer() ? 0.0 : value().asDouble();
+    }
+
+    @Override
+    public boolean asBoolean() {
+        return !isContainer() && value().asBoolean();
+    }
+
+    @Override
+    public boolean isArray() {
+        return json[start] == '[';
+    }
+
+    @Override
+    public boolean isObject() {
+        return json[start] == '{';
+    }
+
+    @Override
+    public boolean isNull() {
+        return json[start] == 'n';
+    }
+
+    @Override
+    public Iterable<String> keys() {
+        return isObject() ? Collections.unmodifiableSet(index().slots.keySet()) : Collections.emptyList();
+    }
+
+    @Override
+    public int size() {
+        return isContainer() ? index().count : 0;
+    }
+
+    /**
+     * Returns the value as a Jackson tree, parsed from its bytes on first call.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap() {
+        return (T) value();
+    }
+
+    @Override
+    public String toString() {
+        return value().toString();
+    }
+
+    /**
+     * The decoded value of a scalar, or null for an object or array (left undecoded).
+     */
+    JsonNode scalar() {
+        return isContainer() ? null : value();
+    }
+
+    /**
+     * Returns the member named 'key', or null if absent or this is not an object.
+     */
+    LazyNodeWrapper member(String key) {
+        if (!isObject()) {
+            return null;
+        }
+        Index members = index();
+        Integer slot = members.slots.get(key);
+        return slot != null ? child(members, slot) : null;
+    }
+
+    /**
+     * Returns the element at 'position', or null if out of bounds or this is not an array.
+     */
+    LazyNodeWrapper element(int position) {
+        if (!isArray()) {
+            return null;
+        }
+        Index elements = index();
+        return position >= 0 && position < elements.count ? child(elements, position) : null;
+    }
+
+    /**
+     * Streams the elements of an array (nothing for other values).
+     */
+    Stream<JsonNodeWrapper> elements(boolean parallel) {
+        if (!isArray()) {
+            return Stream.empty();
+        }
+        Index elements = index();
+        Stream<JsonNodeWrapper> stream = IntStream.range(0, elements.count).mapToObj(i -> child(elements, i));
+        return parallel ? stream.parallel() : stream;
+    }
+
+    // ========== Indexing ==========
+
+    /**
+     * Offsets of the direct children of a container. Immutable except for the child cache, whose
+     * racy writes are harmless: a wrapper's offsets are final fields, and a lost write just costs
+     * a second wrapper.
+     */
+    private static final class Index {
+        final Map<String, Integer> slots; // Member name -> slot, null for arrays
+        final int[] bounds;               // Start and end of each slot
+        final int count;
+        final LazyNodeWrapper[] children;
+
+        Index(Map<String, Integer> slots, int[] bounds, int count) {
+            this.slots = slots;
+            this.bounds = bounds;
+            this.count = count;
+            this.children = new LazyNodeWrapper[count];
+        }
+    }
+
+    private boolean isContainer() {
+        byte first = json[start];
+        return first == '{' || first == '[';
+    }
+
+    private LazyNodeWrapper child(Index index, int slot) {
+        LazyNodeWrapper child = index.children[slot];
+        if (child == null) {
+            child = new LazyNodeWrapper(mapper, json, index.bounds[2 * slot], index.bounds[2 * slot + 1], null);
+            index.children[slot] = child;
+        }
+        return child;
+    }
+
+    private Index index() {
+        Index result = index;
+        if (result == null) {
+            result = build(members != null ? members : scan());
+            index = result;
+        }
+        return result;
+    }
+
+    /**
+     * Finds the direct children of this container, in the layout of {@link LazyJsonValidator#addMember}.
+     */
+    private int[] scan() {
+        boolean object = isObject();
+        int[] members = new int[LazyJsonValidator.HEADER + 4 * 8];
+        int count = 0;
+
+        int pos = LazyJsonValidator.skipWhitespace(json, start + 1);
+        while (json[pos] != (object ? '}' : ']')) {
+            int keyStart = -1;
+            int keyEnd = -1;
+            if (object) {
+                keyStart = pos;
+                keyEnd = skipString(json, pos);
+                pos = LazyJsonValidator.skipWhitespace(json, LazyJsonValidator.skipWhitespace(json, keyEnd) + 1); // Past ':'
+            }
+            int valueEnd = skipValue(json, pos);
+            members = LazyJsonValidator.addMember(members, count++, keyStart, keyEnd, pos, valueEnd);
+
+            pos = LazyJsonValidator.skipWhitespace(json, valueEnd);
+            if (json[pos] == ',') {
+                pos = LazyJsonValidator.skipWhitespace(json, pos + 1);
+            }
+        }
+        members[0] = count;
+        members[1] = end;
+        return members;
+    }
+
+    private Index build(int[] members) {
+        int count = members[0];
+        int[] bounds = new int[2 * count];
+        if (!isObject()) {
+            for (int i = 0; i < count; i++) {
+                int at = LazyJsonValidator.HEADER + 4 * i;
+                bounds[2 * i] = members[at + 2];
+                bounds[2 * i + 1] = members[at + 3];
+            }
+            return new Index(null, bounds, count);
+        }
+
+        Map<String, Integer> slots = new LinkedHashMap<>((int) (count / 0.75f) + 1);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            int at = LazyJsonValidator.HEADER + 4 * i;
+            String key = decodeString(members[at], members[at + 1]);
+
+            // A repeated name keeps its first position and its last value, as in a Jackson tree
+            Integer slot = slots.putIfAbsent(key, unique);
+            int target = slot != null ? slot : unique++;
+            bounds[2 * target] = members[at + 2];
+            bounds[2 * target + 1] = members[at + 3];
+        }
+        return new Index(slots, bounds, unique);
+    }
+
+    // ========== Materializing ==========
+
+    private JsonNode value() {
+        JsonNode result = value;
+        if (result == null) {
+            result = materialize();
+            value = result;
+        }
+        return result;
+    }
+
+    private JsonNode materialize() {
+        JsonNodeFactory nodes = mapper.getNodeFactory();
+        switch (json[start]) {
+            case 't':
+                return nodes.booleanNode(true);
+            case 'f':
+                return nodes.booleanNode(false);
+            case 'n':
+                return nodes.nullNode();
+            case '"':
+                return nodes.textNode(decodeString(start, end));
+            default:
+                // Numbers and containers: Jackson applies the mapper's number and node settings
+                try {
+                    return mapper.readTree(json, start, end - start);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+        }
+    }
+
+    /**
+     * Decodes the string literal in [from, to), quotes included.
+     */
+    private String decodeString(int from, int to) {
+        for (int i = from + 1; i < to - 1; i++) {
+            if (json[i] == '\\') {
+                try (JsonParser parser = mapper.getFactory().createParser(json, from, to - from)) {
+                    parser.nextToken();
+                    return parser.getText();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+        return new String(json, from + 1, to - from - 2, StandardCharsets.UTF_8);
+    }
+
+    // ========== Scanning (input already validated) ==========
+
+    /**
+     * Skips the string literal whose opening quote is at 'pos'; returns the position after it.
+     */
+    private static int skipString(byte[] json, int pos) {
+        pos++;
+        while (true) {
+            byte b = json[pos++];
+            if (b == '"') {
+                return pos;
+            }
+            if (b == '\\') {
+                pos++;
+            }
+        }
+    }
+
+    /**
+     * Skips the value starting at 'pos'; returns the position after it.
+     */
+    private static int skipValue(byte[] json, int pos) {
+        byte b = json[pos];
+        if (b == '"') {
+            return skipString(json, pos);
+        }
+        if (b == '{' || b == '[') {
+            int depth = 0;
+            while (true) {
+                b = json[pos];
+                if (b == '"') {
+                    pos = skipString(json, pos);
+                    continue;
+                }
+                pos++;
+                if (b == '{' || b == '[') {
+                    depth++;
+                } else if ((b == '}' || b == ']') && --depth == 0) {
+                    return pos;
+                }
+            }
+        }
+        while (pos < json.length) {
+            b = json[pos];
+            if (b == ',' || b == '}' || b == ']' || b == ' ' || b == '\n' || b == '\r' || b == '\t') {
+                break;
+            }
+            pos++;
+        }
+        return pos;
+    }
+}
@@ -0,0 +1,135 @@
+package commons.kit.JsonUtils;
+
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * InputStream over a memory-mapped file, for the Path entry points of {@link JsonProvider}.
+ *
+ * <p>The file is mapped one window at a time (1 GiB by default, or the number of bytes in the
+ * {@code commons.kit.json.mapWindow} system property), so files beyond the 2 GB limit of a
+ * single mapping are read too. Reads copy straight from the page cache into the caller's
+ * buffer: no read system calls and no intermediate buffer, and the file is never copied to
+ * the heap as a whole.</p>
+ *
+ * <p>The size is fixed when the file is opened; the file must not be truncated while it is
+ * read. Mappings are released by the garbage collector, not by {@link #close()}.</p>
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+final class MappedFileInput extends InputStream {
+
+    static final String WINDOW_PROPERTY = "commons.kit.json.mapWindow";
+    static final long DEFAULT_WINDOW = 1L << 30;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long window;
+    private long mapped;               // Bytes of the file mapped so far
+    private MappedByteBuffer current;
+    private boolean closed;
+
+    private MappedFileInput(FileChannel channel, long size, long window) {
+        this.channel = channel;
+        this.size = size;
+        this.window = window;
+    }
+
+    /**
+     * Opens a file for reading.
+     *
+     * @param path the file
+     * @return the stream
+     * @throws IOException if the file cannot be opened
+     */
+    static MappedFileInput open(Path path) throws IOException {
+        long window = Long.getLong(WINDOW_PROPERTY, DEFAULT_WINDOW);
+        if (window <= 0 || window > Integer.MAX_VALUE) {
+            window = DEFAULT_WINDOW;
+        }
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new MappedFileInput(channel, channel.size(), window);
+        } catch (RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        return next() ? current.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+            return 0;
+        }
+        if (!next()) {
+            return -1;
+        }
+        int count = Math.min(len, current.remaining());
+        current.get(b, off, count);
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && next()) {
+            int step = (int) Math.min(n - skipped, current.remaining());
+            current.position(current.position() + step);
+            skipped += step;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        ensureOpen();
+        long left = size - mapped + (current != null ? current.remaining() : 0);
+        return (int) Math.min(left, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        current = null;
+        channel.close();
+    }
+
+    /**
+     * Makes sure the current window has bytes left, mapping the next one if needed.
+     *
+     * @return false at the end of the file
+     */
+    private boolean next() throws IOException {
+        ensureOpen();
+        if (current != null && current.hasRemaining()) {
+            return true;
+        }
+        if (mapped >= size) {
+            return false;
+        }
+        long length = Math.min(window, size - mapped);
+        current = channel.map(FileChannel.MapMode.READ_ONLY, mapped, length);
+        mapped += length;
+        return true;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package commons.kit.JsonUtils;
+
+
+/**
+ * Copy strategies for {@link JsonUtils#merge(Object, Object, MergeMode)}.
+ *
+ * <p><strong>Modes:</strong></p>
+ * <ul>
+ *   <li>COPY: the result shares nothing with 'main' (the {@code merge(Object, Object)} default)</li>
+ *   <li>SHARED: copy-on-write; only the objects on the paths the update touches are copied,
+ *       every untouched subtree is shared with 'main'. Cost scales with the update, not
+ *       the document, but neither tree may be mutated afterwards</li>
+ *   <li>IN_PLACE: 'main' itself is modified and returned, for callers that own the tree</li>
+ * </ul>
+ *
+ * <p>In every mode values taken from 'update' are inserted as-is, not copied.</p>
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+public enum MergeMode {
+    COPY,
+    SHARED,
+    IN_PLACE
+}
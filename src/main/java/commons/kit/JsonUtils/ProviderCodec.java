@@ -0,0 +1,59 @@
+package commons.kit.JsonUtils;
+
+
+import commons.kit.ErrorUtils.Result;
+
+import java.lang.reflect.Type;
+
+/**
+ * JsonCodec that delegates to the Class-based methods of any JsonProvider.
+ *
+ * <p>Backs the default {@link JsonProvider#codec(TypeRef)}: generic types are bound
+ * through their raw class, so a provider without generic support still works.</p>
+ *
+ * @param <T> the target type
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+final class ProviderCodec<T> implements JsonCodec<T> {
+    private final JsonProvider provider;
+    private final Type type;
+    private final Class<T> rawClass;
+
+    @SuppressWarnings("unchecked")
+    ProviderCodec(JsonProvider provider, TypeRef<T> type) {
+        this.provider = provider;
+        this.type = type.getType();
+        this.rawClass = (Class<T>) type.getRawClass();
+    }
+
+    @Override
+    public Type type() {
+        return type;
+    }
+
+    @Override
+    public <E> Result<E, T> fromJson(String json) {
+        return provider.fromJson(json, rawClass);
+    }
+
+    @Override
+    public <E> Result<E, T> fromJsonBytes(byte[] json) {
+        return provider.fromJsonBytes(json, rawClass);
+    }
+
+    @Override
+    public <E> Result<E, T> convert(Object from) {
+        return provider.convert(from, rawClass);
+    }
+
+    @Override
+    public <E> Result<E, String> toJson(T value) {
+        return provider.toJson(value);
+    }
+
+    @Override
+    public <E> Result<E, byte[]> toJsonBytes(T value) {
+        return provider.toJsonBytes(value);
+    }
+}
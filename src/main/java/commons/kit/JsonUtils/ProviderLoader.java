@@ -0,0 +1,83 @@
+package commons.kit.JsonUtils;
+
+
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Picks the provider {@link JsonUtils} starts with, in this order:
+ *
+ * <ol>
+ *   <li>the class named by the {@code commons.kit.json.provider} system property</li>
+ *   <li>the first {@link JsonProvider} registered in {@code META-INF/services/commons.kit.JsonUtils.JsonProvider}
+ *       that can be instantiated (broken registrations are skipped)</li>
+ *   <li>{@link JacksonJsonProvider}, or {@link SimpleJsonProvider} when a build has excluded Jackson</li>
+ * </ol>
+ *
+ * <p>Jackson is a regular (not optional) dependency, so the last step normally yields
+ * {@link JacksonJsonProvider}; to run on {@link SimpleJsonProvider} with Jackson present,
+ * select it with the system property or a service registration. Jackson's classes are only
+ * loaded in the last step, so processes that pick another provider never pay for them.</p>
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+final class ProviderLoader {
+
+    /**
+     * System property naming the provider class (public, with a public no-arg constructor).
+     */
+    static final String PROPERTY = "commons.kit.json.provider";
+
+    private ProviderLoader() {
+        throw new AssertionError("No ProviderLoader instances for you!");
+    }
+
+    /**
+     * Finds the provider to start with.
+     *
+     * @return the provider
+     * @throws IllegalStateException if the system property names a class that is not a usable provider
+     */
+    static JsonProvider load() {
+        String name = System.getProperty(PROPERTY);
+        if (name != null && !name.isBlank()) {
+            return instantiate(name.trim());
+        }
+
+        Iterator<JsonProvider> registered = ServiceLoader.load(JsonProvider.class).iterator();
+        while (true) {
+            try {
+                if (!registered.hasNext()) {
+                    break;
+                }
+                return registered.next();
+            } catch (ServiceConfigurationError e) {
+                // Broken registration (missing class, failing constructor...): try the next one
+            }
+        }
+        return defaultProvider();
+    }
+
+    private static JsonProvider instantiate(String name) {
+        try {
+            ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            Class<?> type = Class.forName(name, true, loader != null ? loader : JsonProvider.class.getClassLoader());
+            if (!JsonProvider.class.isAssignableFrom(type)) {
+                throw new IllegalStateException(name + " does not implement " + JsonProvider.class.getName());
+            }
+            return (JsonProvider) type.getConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            throw new IllegalStateException("Cannot use JSON provider '" + name + "' set by -D" + PROPERTY + ": " + e, e);
+        }
+    }
+
+    private static JsonProvider defaultProvider() {
+        try {
+            return new JacksonJsonProvider();
+        } catch (NoClassDefFoundError e) {
+            return new SimpleJsonProvider(); // Jackson was excluded from this build's class path
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package commons.kit.JsonUtils;
+
+
+/**
+ * Rules for {@link JsonUtils#prune(Object, PruneOptions)}.
+ *
+ * <p>Immutable: every {@code with...} method returns a new instance, so options can be kept
+ * in constants.</p>
+ *
+ * <pre>
+ * private static final PruneOptions LOG_EVENTS = PruneOptions.DEFAULTS
+ *         .withEmptyArrays(false)     // keep "tags": []
+ *         .withArrayElements(true)    // ["a", ""] becomes ["a"]
+ *         .withInPlace(true);         // events are ours to modify
+ * </pre>
+ *
+ * <p><strong>Defaults</strong> (the rules of {@code prune(Object)}): object members that are
+ * null, empty strings, empty arrays or empty objects are removed, array elements only
+ * when null, and the input is not modified.</p>
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+public final class PruneOptions {
+
+    /**
+     * The rules of {@link JsonUtils#prune(Object)}.
+     */
+    public static final PruneOptions DEFAULTS = new PruneOptions(true, true, true, true, false, false);
+
+    private final boolean nulls;
+    private final boolean emptyStrings;
+    private final boolean emptyArrays;
+    private final boolean emptyObjects;
+    private final boolean arrayElements;
+    private final boolean inPlace;
+
+    private PruneOptions(boolean nulls, boolean emptyStrings, boolean emptyArrays, boolean emptyObjects,
+                         boolean arrayElements, boolean inPlace) {
+        this.nulls = nulls;
+        this.emptyStrings = emptyStrings;
+        this.emptyArrays = emptyArrays;
+        this.emptyObjects = emptyObjects;
+        this.arrayElements = arrayElements;
+        this.inPlace = inPlace;
+    }
+
+    /**
+     * Sets whether null values are removed (from objects and arrays).
+     *
+     * @param drop true to remove nulls
+     * @return new options
+     */
+    public PruneOptions withNulls(boolean drop) {
+        return new PruneOptions(drop, emptyStrings, emptyArrays, emptyObjects, arrayElements, inPlace);
+    }
+
+    /**
+     * Sets whether empty strings are removed.
+     *
+     * @param drop true to remove ""
+     * @return new options
+     */
+    public PruneOptions withEmptyStrings(boolean drop) {
+        return new PruneOptions(nulls, drop, emptyArrays, emptyObjects, arrayElements, inPlace);
+    }
+
+    /**
+     * Sets whether empty arrays are removed.
+     *
+     * @param drop true to remove []
+     * @return new options
+     */
+    public PruneOptions withEmptyArrays(boolean drop) {
+        return new PruneOptions(nulls, emptyStrings, drop, emptyObjects, arrayElements, inPlace);
+    }
+
+    /**
+     * Sets whether empty objects are removed.
+     *
+     * @param drop true to remove {}
+     * @return new options
+     */
+    public PruneOptions withEmptyObjects(boolean drop) {
+        return new PruneOptions(nulls, emptyStrings, emptyArrays, drop, arrayElements, inPlace);
+    }
+
+    /**
+     * Sets whether the empty-value rules also apply to array elements (nulls always follow
+     * {@link #withNulls(boolean)}).
+     *
+     * @param prune true to remove empty strings, arrays and objects from arrays too
+     * @return new options
+     */
+    public PruneOptions withArrayElements(boolean prune) {
+        return new PruneOptions(nulls, emptyStrings, emptyArrays, emptyObjects, prune, inPlace);
+    }
+
+    /**
+     * Sets whether the input tree is modified instead of copied.
+     *
+     * <p>Only trees are modified in place; Maps and POJOs are converted first either way.</p>
+     *
+     * @param inPlace true to modify the input tree
+     * @return new options
+     */
+    public PruneOptions withInPlace(boolean inPlace) {
+        return new PruneOptions(nulls, emptyStrings, emptyArrays, emptyObjects, arrayElements, inPlace);
+    }
+
+    /**
+     * Checks if null values are removed.
+     *
+     * @return true if enabled
+     */
+    public boolean dropsNulls() {
+        return nulls;
+    }
+
+    /**
+     * Checks if empty strings are removed.
+     *
+     * @return true if enabled
+     */
+    public boolean dropsEmptyStrings() {
+        return emptyStrings;
+    }
+
+    /**
+     * Checks if empty arrays are removed.
+     *
+     * @return true if enabled
+     */
+    public boolean dropsEmptyArrays() {
+        return emptyArrays;
+    }
+
+    /**
+     * Checks if empty objects are removed.
+     *
+     * @return true if enabled
+     */
+    public boolean dropsEmptyObjects() {
+        return emptyObjects;
+    }
+
+    /**
+     * Checks if the empty-value rules apply to array elements.
+     *
+     * @return true if enabled
+     */
+    public boolean prunesArrayElements() {
+        return arrayElements;
+    }
+
+    /**
+     * Checks if the input tree is modified.
+     *
+     * @return true if enabled
+     */
+    public boolean isInPlace() {
+        return inPlace;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof PruneOptions)) return false;
+        PruneOptions other = (PruneOptions) obj;
+        return nulls == other.nulls && emptyStrings == other.emptyStrings && emptyArrays == other.emptyArrays
+                && emptyObjects == other.emptyObjects && arrayElements == other.arrayElements && inPlace == other.inPlace;
+    }
+
+    @Override
+    public int hashCode() {
+        return (nulls ? 1 : 0) | (emptyStrings ? 2 : 0) | (emptyArrays ? 4 : 0)
+                | (emptyObjects ? 8 : 0) | (arrayElements ? 16 : 0) | (inPlace ? 32 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return "PruneOptions{nulls=" + nulls + ", emptyStrings=" + emptyStrings + ", emptyArrays=" + emptyArrays
+                + ", emptyObjects=" + emptyObjects + ", arrayElements=" + arrayElements + ", inPlace=" + inPlace + "}";
+    }
+}
@@ -0,0 +1,109 @@
+package commons.kit.JsonUtils;
+
+
+import commons.kit.ErrorUtils.Result;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Pulls the elements of a top-level JSON array from a Reader, one at a time, for
+ * {@link SimpleJsonProvider}.
+ *
+ * <p>Same contract as {@link JacksonArraySpliterator}: reading starts on the first advance,
+ * an element that cannot be bound is reported and skipped, and malformed JSON is reported
+ * once and ends the iteration.</p>
+ *
+ * @param <E> the error type
+ * @param <T> the element type
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+final class SimpleArraySpliterator<E, T> extends Spliterators.AbstractSpliterator<Result<E, T>>
+        implements AutoCloseable {
+
+    private final Reader source;
+    private final Function<Object, T> binder; // Throws IllegalArgumentException for unbindable values
+
+    private SimpleJsonReader reader;
+    private long index;
+    private boolean done;
+
+    SimpleArraySpliterator(Reader source, Function<Object, T> binder) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        this.source = source;
+        this.binder = binder;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Result<E, T>> action) {
+        // Computed before calling the action, so an exception thrown by the consumer reaches
+        // the caller instead of being reported back to it as a failed element
+        Result<E, T> next = advance();
+        if (next == null) {
+            return false;
+        }
+        action.accept(next);
+        return true;
+    }
+
+    private Result<E, T> advance() {
+        if (done) {
+            return null;
+        }
+
+        Object element;
+        long current = index;
+        try {
+            if (reader == null) {
+                reader = new SimpleJsonReader(source);
+                String first = reader.beginArray();
+                if (first != null) {
+                    return fail("Expected a JSON array but found " + first);
+                }
+            }
+            if (!reader.nextElement()) {
+                close();
+                return null;
+            }
+            index++;
+            element = reader.readValue();
+        } catch (IOException | RuntimeException e) {
+            return fail((current == index ? "JSON streaming failed: " : "JSON streaming failed at element " + current + ": ")
+                    + e.getMessage());
+        }
+
+        try {
+            return Result.ok(binder.apply(element));
+        } catch (IllegalArgumentException e) {
+            // The element was read whole, so the next one can still be bound
+            return err("JSON element " + current + " binding failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        done = true;
+        try {
+            if (source != null) {
+                source.close();
+            }
+        } catch (IOException e) {
+            // Nothing left to read from this source - ignore
+        }
+    }
+
+    private Result<E, T> fail(String message) {
+        close();
+        return err(message);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Result<E, T> err(String message) {
+        return Result.err((E) message);
+    }
+}
@@ -0,0 +1,380 @@
+package commons.kit.JsonUtils;
+
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Binds the plain values of {@link SimpleJsonReader} to a class, for {@link SimpleJsonProvider}.
+ *
+ * <p>Targets: Object, JsonNodeWrapper, Map, List, Set and their supertypes, arrays, records
+ * (unknown members are ignored), enums, Strings, numbers, Booleans, Characters, UUIDs, URIs,
+ * byte[] (from Base64) and the java.time types written by {@link SimpleJsonWriter}. Scalars are
+ * coerced as Jackson does by default: numbers from numeric strings, strings from numbers and
+ * booleans, and fractions truncated for integer targets. The type arguments of generic
+ * targets and of record components are followed, so a {@code List<Address>} holds
+ * Addresses.</p>
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+final class SimpleBinder {
+
+    private static final ClassValue<Constructor<?>> RECORD_CONSTRUCTORS = new ClassValue<Constructor<?>>() {
+        @Override
+        protected Constructor<?> computeValue(Class<?> type) {
+            RecordComponent[] components = type.getRecordComponents();
+            Class<?>[] types = new Class<?>[components.length];
+            for (int i = 0; i < components.length; i++) {
+                types[i] = components[i].getType();
+            }
+            try {
+                Constructor<?> constructor = type.getDeclaredConstructor(types);
+                constructor.setAccessible(true);
+                return constructor;
+            } catch (NoSuchMethodException | RuntimeException e) {
+                throw new IllegalArgumentException("Cannot access the constructor of " + type.getName() + ": " + e, e);
+            }
+        }
+    };
+
+    private SimpleBinder() {
+        throw new AssertionError("No SimpleBinder instances for you!");
+    }
+
+    /**
+     * Binds a value to a class.
+     *
+     * @param value the plain value
+     * @param type the target class
+     * @param <T> the target type
+     * @return the bound value (null for JSON null, or the default of a primitive)
+     * @throws IllegalArgumentException if the value cannot be bound to the class
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T bind(Object value, Class<T> type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Target class is null");
+        }
+        return (T) bindValue(value, type);
+    }
+
+    /**
+     * Binds a value to a generic type, following the type arguments of collections and maps.
+     *
+     * @param value the plain value
+     * @param type the target type
+     * @return the bound value
+     * @throws IllegalArgumentException if the value cannot be bound to the type
+     */
+    static Object bind(Object value, Type type) {
+        if (type instanceof Class) {
+            return bind(value, (Class<?>) type);
+        }
+        if (type == null) {
+            throw new IllegalArgumentException("Target type is null");
+        }
+        return bindGeneric(value, type);
+    }
+
+    private static Object bindValue(Object value, Class<?> type) {
+        if (type.isPrimitive()) {
+            return value == null ? primitiveDefault(type) : bindValue(value, boxed(type));
+        }
+        if (type == Object.class || value == null) {
+            return value;
+        }
+        if (type == JsonNodeWrapper.class) {
+            return new SimpleNodeWrapper(value);
+        }
+
+        if (value instanceof Map) {
+            if (type.isAssignableFrom(LinkedHashMap.class)) {
+                return value;
+            }
+            if (type.isRecord()) {
+                return bindRecord((Map<?, ?>) value, type);
+            }
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            if (type.isAssignableFrom(ArrayList.class)) {
+                return value;
+            }
+            if (type.isAssignableFrom(LinkedHashSet.class)) {
+                return new LinkedHashSet<>(list);
+            }
+            if (type.isArray()) {
+                Object array = Array.newInstance(type.getComponentType(), list.size());
+                for (int i = 0; i < list.size(); i++) {
+                    Array.set(array, i, bindValue(list.get(i), type.getComponentType()));
+                }
+                return array;
+            }
+        } else {
+            Object scalar = bindScalar(value, type);
+            if (scalar != null) {
+                return scalar;
+            }
+        }
+        throw new IllegalArgumentException("Cannot bind " + kind(value) + " to " + type.getName());
+    }
+
+    /**
+     * Binds a String, Number or Boolean; returns null if the type is not a scalar target.
+     */
+    private static Object bindScalar(Object value, Class<?> type) {
+        if (type.isInstance(value)) {
+            return value;
+        }
+        if (type == String.class) {
+            return value.toString();
+        }
+        if (Number.class.isAssignableFrom(type)) {
+            return bindNumber(value, type);
+        }
+        if (type == Boolean.class) {
+            if ("true".equals(value) || "false".equals(value)) {
+                return Boolean.valueOf((String) value);
+            }
+            return null;
+        }
+        if (!(value instanceof String)) {
+            return null;
+        }
+
+        String text = (String) value;
+        try {
+            if (type == Character.class) {
+                return text.length() == 1 ? text.charAt(0) : null;
+            }
+            if (type.isEnum()) {
+                return enumConstant(type, text);
+            }
+            if (type == byte[].class) {
+                return Base64.getDecoder().decode(text);
+            }
+            if (type == UUID.class) {
+                return UUID.fromString(text);
+            }
+            if (type == URI.class) {
+                return URI.create(text);
+            }
+            if (type == LocalDate.class) {
+                return LocalDate.parse(text);
+            }
+            if (type == LocalTime.class) {
+                return LocalTime.parse(text);
+            }
+            if (type == LocalDateTime.class) {
+                return LocalDateTime.parse(text);
+            }
+            if (type == Instant.class) {
+                return Instant.parse(text);
+            }
+            if (type == OffsetDateTime.class) {
+                return OffsetDateTime.parse(text);
+            }
+            if (type == ZonedDateTime.class) {
+                return ZonedDateTime.parse(text);
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cannot bind \"" + text + "\" to " + type.getName() + ": " + e.getMessage(), e);
+        }
+        return null;
+    }
+
+    private static Object bindNumber(Object value, Class<?> type) {
+        Number number;
+        try {
+            if (value instanceof Number) {
+                number = (Number) value;
+            } else if (value instanceof String) {
+                number = new BigDecimal(((String) value).trim());
+            } else {
+                return null;
+            }
+
+            if (type == Double.class) {
+                return number.doubleValue();
+            }
+            if (type == Float.class) {
+                return number.floatValue();
+            }
+            if (type == BigDecimal.class) {
+                return number instanceof BigDecimal ? number : new BigDecimal(number.toString());
+            }
+            if (type == Number.class) {
+                return number;
+            }
+
+            // Integer targets: fractions are truncated
+            BigInteger integer;
+            if (number instanceof BigInteger) {
+                integer = (BigInteger) number;
+            } else if (number instanceof Integer || number instanceof Long || number instanceof Short
+                    || number instanceof Byte) {
+                integer = BigInteger.valueOf(number.longValue());
+            } else {
+                integer = new BigDecimal(number.toString()).toBigInteger();
+            }
+            if (type == BigInteger.class) {
+                return integer;
+            }
+
+            int bits = type == Long.class ? 64 : type == Integer.class ? 32 : type == Short.class ? 16 : type == Byte.class ? 8 : 0;
+            if (bits == 0) {
+                return null;
+            }
+            if (integer.bitLength() >= bits) {
+                throw new IllegalArgumentException(number + " is out of range for " + type.getSimpleName());
+            }
+            long exact = integer.longValue();
+            return bits == 64 ? (Object) exact : bits == 32 ? (Object) (int) exact
+                    : bits == 16 ? (Object) (short) exact : (Object) (byte) exact;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cannot bind " + kind(value) + " \"" + value + "\" to "
+                    + type.getSimpleName() + ": not a number", e);
+        }
+    }
+
+    private static Object bindRecord(Map<?, ?> members, Class<?> type) {
+        RecordComponent[] components = type.getRecordComponents();
+        Object[] arguments = new Object[components.length];
+        for (int i = 0; i < components.length; i++) {
+            String name = components[i].getName();
+            try {
+                arguments[i] = bindGeneric(members.get(name), components[i].getGenericType());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Cannot bind '" + name + "' of " + type.getSimpleName() + ": "
+                        + e.getMessage(), e);
+            }
+        }
+
+        try {
+            return RECORD_CONSTRUCTORS.get(type).newInstance(arguments);
+        } catch (InvocationTargetException e) {
+            throw new IllegalArgumentException("Cannot create " + type.getSimpleName() + ": " + e.getCause(), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot create " + type.getSimpleName() + ": " + e, e);
+        }
+    }
+
+    /**
+     * Binds to a generic type: the elements of collections and the keys and values of maps
+     * are bound to the type arguments.
+     */
+    private static Object bindGeneric(Object value, Type type) {
+        if (type instanceof Class) {
+            return bindValue(value, (Class<?>) type);
+        }
+        Class<?> raw = rawClass(type);
+        if (!(type instanceof ParameterizedType)) {
+            return bindValue(value, raw);
+        }
+
+        Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+        if (value instanceof List && Collection.class.isAssignableFrom(raw) && arguments.length == 1) {
+            List<Object> elements = new ArrayList<>(((List<?>) value).size());
+            for (Object element : (List<?>) value) {
+                elements.add(bindGeneric(element, arguments[0]));
+            }
+            return bindValue(elements, raw);
+        }
+        if (value instanceof Map && Map.class.isAssignableFrom(raw) && arguments.length == 2) {
+            Map<Object, Object> members = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                members.put(bindValue(entry.getKey(), rawClass(arguments[0])), bindGeneric(entry.getValue(), arguments[1]));
+            }
+            return bindValue(members, raw);
+        }
+        return bindValue(value, raw);
+    }
+
+    // ========== Helper Methods ==========
+
+    private static Class<?> rawClass(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return rawClass(((ParameterizedType) type).getRawType());
+        }
+        if (type instanceof WildcardType) {
+            return rawClass(((WildcardType) type).getUpperBounds()[0]);
+        }
+        return Object.class; // Type variables and generic arrays
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object enumConstant(Class<?> type, String name) {
+        try {
+            return Enum.valueOf((Class<? extends Enum>) type, name);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("\"" + name + "\" is not one of the values of " + type.getSimpleName(), e);
+        }
+    }
+
+    private static String kind(Object value) {
+        if (value instanceof Map) {
+            return "an object";
+        }
+        if (value instanceof List) {
+            return "an array";
+        }
+        if (value instanceof String) {
+            return "a string";
+        }
+        return value instanceof Boolean ? "a boolean" : "a number";
+    }
+
+    private static Class<?> boxed(Class<?> type) {
+        if (type == int.class) {
+            return Integer.class;
+        }
+        if (type == long.class) {
+            return Long.class;
+        }
+        if (type == double.class) {
+            return Double.class;
+        }
+        if (type == boolean.class) {
+            return Boolean.class;
+        }
+        if (type == float.class) {
+            return Float.class;
+        }
+        if (type == short.class) {
+            return Short.class;
+        }
+        if (type == byte.class) {
+            return Byte.class;
+        }
+        return type == char.class ? Character.class : Void.class;
+    }
+
+    private static Object primitiveDefault(Class<?> type) {
+        return type == boolean.class ? (Object) false : type == char.class ? (Object) '\0' : bindValue(0, boxed(type));
+    }
+}
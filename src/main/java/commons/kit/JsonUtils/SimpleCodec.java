@@ -0,0 +1,61 @@
+package commons.kit.JsonUtils;
+
+
+import commons.kit.ErrorUtils.Result;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JsonCodec of {@link SimpleJsonProvider}, bound to a class or generic type.
+ *
+ * <p>Unlike {@link ProviderCodec}, generic types keep their type arguments, so
+ * {@code List<Map<String, Object>>} rejects an array of numbers as Jackson does.</p>
+ *
+ * @param <T> the target type
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+final class SimpleCodec<T> implements JsonCodec<T> {
+    private final SimpleJsonProvider provider;
+    private final Type type;
+
+    SimpleCodec(SimpleJsonProvider provider, Type type) {
+        this.provider = provider;
+        this.type = type;
+    }
+
+    @Override
+    public Type type() {
+        return type;
+    }
+
+    @Override
+    public <E> Result<E, T> fromJson(String json) {
+        return provider.read(json, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, T> fromJsonBytes(byte[] json) {
+        if (json == null || json.length == 0) {
+            return Result.err((E) "JSON bytes are null or empty");
+        }
+        return provider.read(new String(json, StandardCharsets.UTF_8), type);
+    }
+
+    @Override
+    public <E> Result<E, T> convert(Object from) {
+        return provider.bind(from, type);
+    }
+
+    @Override
+    public <E> Result<E, String> toJson(T value) {
+        return provider.toJson(value);
+    }
+
+    @Override
+    public <E> Result<E, byte[]> toJsonBytes(T value) {
+        return provider.toJsonBytes(value);
+    }
+}
@@ -0,0 +1,551 @@
+package commons.kit.JsonUtils;
+
+
+import commons.kit.ErrorUtils.Result;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Dependency-free JsonProvider for basic parsing and serialization.
+ *
+ * <p>Loads a handful of small classes instead of Jackson's, so short-lived processes
+ * (CLI tools, scripts, serverless handlers) that only read and write simple documents start
+ * faster. Documents are held as plain Java values (LinkedHashMap, ArrayList, String, Number,
+ * Boolean, null), and successful output follows {@link JacksonJsonProvider}'s: null Map
+ * members are left out, {@code toJson(Object)} pretty-prints, and dates are written as
+ * ISO-8601 strings. Whether a call succeeds matches too, but error messages only share
+ * their prefix (such as "JSON parsing failed: "); the details after it are this provider's own.</p>
+ *
+ * <pre>
+ * // At startup, or with -Dcommons.kit.json.provider=commons.kit.JsonUtils.SimpleJsonProvider
+ * JsonUtils.setProvider(new SimpleJsonProvider());
+ * </pre>
+ *
+ * <p><strong>Limits:</strong></p>
+ * <ul>
+ *   <li>Binds and writes Maps, collections, arrays, records, enums and scalars, but not
+ *       JavaBeans (see {@link SimpleBinder} and {@link SimpleJsonWriter})</li>
+ *   <li>JSON Patch, Merge Patch and diff are not supported</li>
+ *   <li>Only strict RFC 8259 JSON is accepted</li>
+ * </ul>
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+public class SimpleJsonProvider implements JsonProvider {
+
+    private static final Object REMOVED = new Object();
+    private static final JsonError EMPTY_STRING = JsonError.of(JsonError.Kind.EMPTY_INPUT, "JSON string is null or empty");
+    private static final JsonError EMPTY_BYTES = JsonError.of(JsonError.Kind.EMPTY_INPUT, "JSON bytes are null or empty");
+
+    /**
+     * Creates a new SimpleJsonProvider.
+     */
+    public SimpleJsonProvider() {
+    }
+
+    @Override
+    public <E> Result<E, String> toJson(Object value) {
+        return toJson(value, JsonFormat.PRETTY);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, String> toJson(Object value, JsonFormat format) {
+        if (format == null) {
+            return Result.err((E) "Format cannot be null");
+        }
+
+        try {
+            return Result.ok(SimpleJsonWriter.write(value, format, false));
+        } catch (RuntimeException e) {
+            return Result.err((E) ("JSON serialization failed: " + e.getMessage()));
+        }
+    }
+
+    @Override
+    public <E, T> Result<E, T> fromJson(String json, Class<T> clazz) {
+        return read(json, clazz);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E, T> Result<E, T> fromJson(String json, TypeRef<T> type) {
+        if (type == null) {
+            return Result.err((E) "Target type cannot be null");
+        }
+        return read(json, type.getType());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E, T> Result<E, T> fromJsonBytes(byte[] json, Class<T> clazz) {
+        if (json == null || json.length == 0) {
+            return Result.err((E) "JSON bytes are null or empty");
+        }
+        return fromJson(new String(json, StandardCharsets.UTF_8), clazz);
+    }
+
+    @Override
+    public <E, T> Result<E, T> convert(Object from, Class<T> to) {
+        return bind(from, to);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E, T> Result<E, T> convert(Object from, TypeRef<T> to) {
+        if (to == null) {
+            return Result.err((E) "Target type cannot be null");
+        }
+        return bind(from, to.getType());
+    }
+
+    @Override
+    public <T> JsonCodec<T> codec(TypeRef<T> type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Type cannot be null");
+        }
+        return new SimpleCodec<>(this, type.getType());
+    }
+
+    /**
+     * Reads a document and binds it to a class or generic type.
+     */
+    @SuppressWarnings("unchecked")
+    <E, T> Result<E, T> read(String json, Type type) {
+        if (json == null || json.trim().isEmpty()) {
+            return Result.err((E) "JSON string is null or empty");
+        }
+
+        try {
+            return Result.ok((T) SimpleBinder.bind(new SimpleJsonReader(json).readDocument(), type));
+        } catch (IOException | RuntimeException e) {
+            return Result.err((E) ("JSON deserialization failed: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Binds an object, through its plain value, to a class or generic type.
+     */
+    @SuppressWarnings("unchecked")
+    <E, T> Result<E, T> bind(Object from, Type type) {
+        if (from == null) {
+            return Result.err((E) "Source object is null");
+        }
+
+        try {
+            return Result.ok((T) SimpleBinder.bind(SimpleJsonWriter.toValue(from, false), type));
+        } catch (RuntimeException e) {
+            return Result.err((E) ("Type conversion failed: " + e.getMessage()));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, JsonNodeWrapper> toNode(Object value) {
+        try {
+            return Result.ok(new SimpleNodeWrapper(SimpleJsonWriter.toValue(value, false)));
+        } catch (RuntimeException e) {
+            return Result.err((E) ("Node conversion failed: " + e.getMessage()));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, JsonNodeWrapper> parseNode(String json) {
+        if (json == null || json.trim().isEmpty()) {
+            return Result.err((E) "JSON string is null or empty");
+        }
+
+        try {
+            return Result.ok(new SimpleNodeWrapper(new SimpleJsonReader(json).readDocument()));
+        } catch (IOException e) {
+            return Result.err((E) ("JSON parsing failed: " + e.getMessage()));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, JsonNodeWrapper> parseNodeBytes(byte[] json) {
+        if (json == null || json.length == 0) {
+            return Result.err((E) "JSON bytes are null or empty");
+        }
+        return parseNode(new String(json, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public <T> Result<JsonError, T> decode(String json, Class<T> clazz) {
+        if (json == null || json.trim().isEmpty()) {
+            return Result.err(EMPTY_STRING);
+        }
+
+        Object value;
+        try {
+            value = new SimpleJsonReader(json).readDocument();
+        } catch (IOException e) {
+            return Result.err(JsonError.of(JsonError.Kind.SYNTAX, e.getMessage()));
+        }
+        try {
+            return Result.ok(SimpleBinder.bind(value, clazz));
+        } catch (IllegalArgumentException e) {
+            return Result.err(JsonError.of(JsonError.Kind.MAPPING, e.getMessage()));
+        }
+    }
+
+    @Override
+    public <T> Result<JsonError, T> decodeBytes(byte[] json, Class<T> clazz) {
+        if (json == null || json.length == 0) {
+            return Result.err(EMPTY_BYTES);
+        }
+        return decode(new String(json, StandardCharsets.UTF_8), clazz);
+    }
+
+    @Override
+    public Result<JsonError, JsonNodeWrapper> decodeNode(String json) {
+        if (json == null || json.trim().isEmpty()) {
+            return Result.err(EMPTY_STRING);
+        }
+
+        try {
+            return Result.ok(new SimpleNodeWrapper(new SimpleJsonReader(json).readDocument()));
+        } catch (IOException e) {
+            return Result.err(JsonError.of(JsonError.Kind.SYNTAX, e.getMessage()));
+        }
+    }
+
+    @Override
+    public Result<JsonError, JsonNodeWrapper> decodeNodeBytes(byte[] json) {
+        if (json == null || json.length == 0) {
+            return Result.err(EMPTY_BYTES);
+        }
+        return decodeNode(new String(json, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public Optional<String> getString(Object node, String path) {
+        if (node == null || path == null) {
+            return Optional.empty();
+        }
+        return getString(node, JsonPath.of(path));
+    }
+
+    @Override
+    public Optional<String> getString(Object node, JsonPath path) {
+        Object value = valueAt(node, path);
+        return value != null ? Optional.of(SimpleNodeWrapper.text(value)) : Optional.empty();
+    }
+
+    @Override
+    public OptionalLong getLong(Object node, JsonPath path) {
+        Object value = valueAt(node, path);
+        if (value instanceof Double) {
+            // Same rule as the Jackson provider: the text of a big double would read as an integer
+            double number = (Double) value;
+            return JsonScalars.isExactLong(number) ? OptionalLong.of((long) number) : OptionalLong.empty();
+        }
+        return JsonScalars.longValue(value != null ? SimpleNodeWrapper.text(value) : null);
+    }
+
+    @Override
+    public OptionalInt getInt(Object node, JsonPath path) {
+        OptionalLong value = getLong(node, path);
+        if (value.isEmpty() || value.getAsLong() != (int) value.getAsLong()) {
+            return OptionalInt.empty();
+        }
+        return OptionalInt.of((int) value.getAsLong());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, JsonNodeWrapper> updatePath(Object node, String path, Object value) {
+        if (path == null) {
+            return Result.err((E) "Path cannot be null");
+        }
+        return updatePath(node, JsonPath.of(path), value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, JsonNodeWrapper> updatePath(Object node, JsonPath path, Object value) {
+        if (path == null) {
+            return Result.err((E) "Path cannot be null");
+        }
+
+        try {
+            Object root = SimpleJsonWriter.toValue(node, false);
+            Object newValue = SimpleJsonWriter.toValue(value, false);
+
+            if (path.length() == 0) {
+                return Result.err((E) "Path has no segments");
+            }
+
+            Object current = root;
+            int last = path.length() - 1;
+
+            // Navigate to parent, creating objects as needed
+            for (int i = 0; i < last; i++) {
+                if (path.isIndex(i)) {
+                    if (!(current instanceof List)) {
+                        return Result.err((E) "Cannot index non-array node");
+                    }
+                    List<Object> array = (List<Object>) current;
+                    if (path.index(i) >= array.size()) {
+                        return Result.err((E) ("Path update failed: index " + path.index(i) + " is out of bounds"));
+                    }
+                    current = array.get(path.index(i));
+                } else {
+                    if (!(current instanceof Map)) {
+                        return Result.err((E) "Cannot access property on non-object node");
+                    }
+                    Map<String, Object> object = (Map<String, Object>) current;
+                    if (!object.containsKey(path.segment(i))) {
+                        object.put(path.segment(i), new LinkedHashMap<String, Object>());
+                    }
+                    current = object.get(path.segment(i));
+                }
+            }
+
+            if (!(current instanceof Map)) {
+                return Result.err((E) "Cannot set property on non-object node");
+            }
+            ((Map<String, Object>) current).put(path.segment(last), newValue);
+            return Result.ok(new SimpleNodeWrapper(root));
+        } catch (RuntimeException e) {
+            return Result.err((E) ("Path update failed: " + e.getMessage()));
+        }
+    }
+
+    @Override
+    public <E> Result<E, JsonNodeWrapper> merge(Object main, Object update) {
+        return merge(main, update, MergeMode.COPY);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Result<E, JsonNodeWrapper> merge(Object main, Object update, MergeMode mode) {
+        if (mode == null) {
+            return Result.err((E) "Merge mode cannot be null");
+        }
+        if (main == null || update == null) {
+            return Result.err((E) "Merge failed: nothing to merge");
+        }
+
+        try {
+            Object mainValue = SimpleJsonWriter.toValue(main, false);
+            Object updateValue = SimpleJsonWriter.toValue(update, false);
+
+            if (!(mainValue instanceof Map) || !(updateValue instanceof Map)) {
+                return Result.ok(new SimpleNodeWrapper(updateValue)); // Replace non-objects
+            }
+
+            Map<String, Object> target = (Map<String, Object>) mainValue;
+            if (mode == MergeMode.COPY) {
+                target = (Map<String, Object>) deepCopy(target);
+            } else if (mode == MergeMode.SHARED) {
+                target = new LinkedHashMap<>(target);
+            }
+
+            mergeInto(target, (Map<String, Object>) updateValue, mode == MergeMode.SHARED);
+            return Result.ok(new SimpleNodeWrapper(target));
+        } catch (RuntimeException e) {
+            return Result.err((E) ("Merge failed: " + e.getMessage()));
+        }
+    }
+
+    @Override
+    public JsonNodeWrapper prune(Object node) {
+        return prune(node, PruneOptions.DEFAULTS);
+    }
+
+    @Override
+    public JsonNodeWrapper prune(Object node, PruneOptions options) {
+        Object value = SimpleJsonWriter.toValue(node, false);
+        Object pruned = pruneValue(value, options != null ? options : PruneOptions.DEFAULTS);
+        return new SimpleNodeWrapper(pruned);
+    }
+
+    @Override
+    public Stream<JsonNodeWrapper> stream(Object arrayNode) {
+        Object value = SimpleJsonWriter.toValue(arrayNode, false);
+        return value instanceof List
+                ? ((List<?>) value).stream().<JsonNodeWrapper>map(SimpleNodeWrapper::new)
+                : Stream.empty();
+    }
+
+    @Override
+    public Stream<JsonNodeWrapper> parallelStream(Object arrayNode) {
+        Object value = SimpleJsonWriter.toValue(arrayNode, false);
+        return value instanceof List
+                ? ((List<?>) value).parallelStream().<JsonNodeWrapper>map(SimpleNodeWrapper::new)
+                : Stream.empty();
+    }
+
+    @Override
+    public <E> Stream<Result<E, JsonNodeWrapper>> streamArray(Reader reader) {
+        return arrayStream(reader, SimpleNodeWrapper::new);
+    }
+
+    @Override
+    public <E, T> Stream<Result<E, T>> streamArray(Reader reader, Class<T> clazz) {
+        return arrayStream(reader, element -> SimpleBinder.bind(element, clazz));
+    }
+
+    // ========== Helper Methods ==========
+
+    /**
+     * Returns the plain value at a path, or null if absent or JSON null.
+     */
+    private static Object valueAt(Object node, JsonPath path) {
+        if (node == null || path == null) {
+            return null;
+        }
+
+        try {
+            Object current = SimpleJsonWriter.toValue(node, false);
+
+            // Same rules as JacksonJsonProvider: index segments only match arrays
+            for (int i = 0; i < path.length() && current != null; i++) {
+                if (path.isIndex(i)) {
+                    int index = path.index(i);
+                    current = current instanceof List && index < ((List<?>) current).size()
+                            ? ((List<?>) current).get(index)
+                            : null;
+                } else {
+                    current = current instanceof Map ? ((Map<?, ?>) current).get(path.segment(i)) : null;
+                }
+            }
+            return current;
+        } catch (RuntimeException e) {
+            return null; // Unsupported node type
+        }
+    }
+
+    private static <E, T> Stream<Result<E, T>> arrayStream(Reader reader, Function<Object, T> binder) {
+        SimpleArraySpliterator<E, T> spliterator = new SimpleArraySpliterator<>(reader, binder);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+
+    /**
+     * Merges 'update' into 'target', which the caller already owns. With copyOnWrite, nested
+     * objects of 'target' are still shared, so each one is copied (shallowly) before it is modified.
+     */
+    @SuppressWarnings("unchecked")
+    private static void mergeInto(Map<String, Object> target, Map<String, Object> update, boolean copyOnWrite) {
+        update.forEach((key, updateValue) -> {
+            Object current = target.get(key);
+            if (current instanceof Map && updateValue instanceof Map) {
+                Map<String, Object> child = copyOnWrite
+                        ? new LinkedHashMap<>((Map<String, Object>) current)
+                        : (Map<String, Object>) current;
+                mergeInto(child, (Map<String, Object>) updateValue, copyOnWrite);
+                target.put(key, child);
+            } else {
+                target.put(key, updateValue);
+            }
+        });
+    }
+
+    private static Object deepCopy(Object value) {
+        if (value instanceof Map) {
+            Map<String, Object> copy = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((key, member) -> copy.put((String) key, deepCopy(member)));
+            return copy;
+        }
+        if (value instanceof List) {
+            List<Object> copy = new ArrayList<>(((List<?>) value).size());
+            for (Object element : (List<?>) value) {
+                copy.add(deepCopy(element));
+            }
+            return copy;
+        }
+        return value;
+    }
+
+    /**
+     * Prunes a value by the rules of {@link JacksonPruner}: returns 'value' itself if nothing
+     * below it is removed or in place, else a copy.
+     */
+    @SuppressWarnings("unchecked")
+    private static Object pruneValue(Object value, PruneOptions options) {
+        boolean inPlace = options.isInPlace();
+        if (value instanceof Map) {
+            Map<String, Object> object = (Map<String, Object>) value;
+            Map<String, Object> copy = null;
+            for (Iterator<Map.Entry<String, Object>> it = object.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<String, Object> entry = it.next();
+                Object member = entry.getValue();
+                Object pruned = removes(member, false, options) ? REMOVED : pruneValue(member, options);
+                if (inPlace) {
+                    if (pruned == REMOVED) {
+                        it.remove();
+                    }
+                    continue;
+                }
+                if (copy == null && pruned != member) {
+                    copy = new LinkedHashMap<>();
+                    for (Map.Entry<String, Object> earlier : object.entrySet()) {
+                        if (earlier == entry) {
+                            break;
+                        }
+                        copy.put(earlier.getKey(), earlier.getValue());
+                    }
+                }
+                if (copy != null && pruned != REMOVED) {
+                    copy.put(entry.getKey(), pruned);
+                }
+            }
+            return copy != null ? copy : value;
+        }
+
+        if (value instanceof List) {
+            List<Object> array = (List<Object>) value;
+            List<Object> copy = null;
+            for (ListIterator<Object> it = array.listIterator(); it.hasNext(); ) {
+                int index = it.nextIndex();
+                Object element = it.next();
+                Object pruned = removes(element, true, options) ? REMOVED : pruneValue(element, options);
+                if (inPlace) {
+                    if (pruned == REMOVED) {
+                        it.remove();
+                    }
+                    continue;
+                }
+                if (copy == null && pruned != element) {
+                    copy = new ArrayList<>(array.subList(0, index));
+                }
+                if (copy != null && pruned != REMOVED) {
+                    copy.add(pruned);
+                }
+            }
+            return copy != null ? copy : value;
+        }
+        return value;
+    }
+
+    private static boolean removes(Object value, boolean inArray, PruneOptions options) {
+        if (value == null) {
+            return options.dropsNulls();
+        }
+        if (inArray && !options.prunesArrayElements()) {
+            return false;
+        }
+        return (value instanceof String && options.dropsEmptyStrings() && ((String) value).isEmpty())
+                || (value instanceof List && options.dropsEmptyArrays() && ((List<?>) value).isEmpty())
+                || (value instanceof Map && options.dropsEmptyObjects() && ((Map<?, ?>) value).isEmpty());
+    }
+}
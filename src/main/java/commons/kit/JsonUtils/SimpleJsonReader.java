@@ -0,0 +1,427 @@
+package commons.kit.JsonUtils;
+
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Strict RFC 8259 parser producing plain Java values, for {@link SimpleJsonProvider}.
+ *
+ * <p>Objects become {@link LinkedHashMap}s (the last of duplicate names wins), arrays
+ * {@link ArrayList}s, strings {@link String}s, {@code true}/{@code false} {@link Boolean}s and
+ * {@code null} null. Integers become {@link Integer}, {@link Long} or {@link BigInteger},
+ * the smallest that fits, and other numbers {@link Double}: the types Jackson binds to
+ * {@code Map.class}.</p>
+ *
+ * <p>Reads from a String in place, or from a Reader through a buffer, in which case the
+ * elements of a top-level array can be pulled one at a time ({@link #beginArray()},
+ * {@link #nextElement()}). Not thread-safe.</p>
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+final class SimpleJsonReader {
+
+    /**
+     * Same nesting limit as Jackson's default StreamReadConstraints.
+     */
+    static final int MAX_DEPTH = 1000;
+
+    private final Reader reader; // Null when reading a String
+    private final char[] buffer;
+    private int pos;
+    private int limit;
+    private long consumed; // Chars before the buffer, for error positions
+    private int depth;
+    private boolean firstElement;
+    private final StringBuilder text = new StringBuilder();
+
+    SimpleJsonReader(String json) {
+        this.reader = null;
+        this.buffer = json.toCharArray();
+        this.limit = buffer.length;
+    }
+
+    SimpleJsonReader(Reader reader) {
+        this.reader = reader;
+        this.buffer = new char[8192];
+    }
+
+    /**
+     * Reads the root value of a document. Whatever follows it is not read, as with Jackson's
+     * default settings (FAIL_ON_TRAILING_TOKENS disabled), except that a root number must end
+     * with whitespace or the input.
+     *
+     * @return the value
+     * @throws IOException if the input does not start with a valid JSON value, or cannot be read
+     */
+    Object readDocument() throws IOException {
+        skipBom();
+        if (skipWhitespace() < 0) {
+            throw error("No content to parse");
+        }
+        Object value = readValue();
+        int next = peek();
+        if (value instanceof Number && next >= 0 && next != ' ' && next != '\n' && next != '\r' && next != '\t') {
+            throw unexpected(next, "whitespace after a root-level number");
+        }
+        return value;
+    }
+
+    /**
+     * Starts reading a top-level array.
+     *
+     * @return null if the document starts with '[', else a description of what it starts with
+     * @throws IOException if the input cannot be read
+     */
+    String beginArray() throws IOException {
+        skipBom();
+        int c = skipWhitespace();
+        if (c != '[') {
+            return c < 0 ? "no content" : "'" + (char) c + "'";
+        }
+        pos++;
+        depth = 1;
+        firstElement = true;
+        return null;
+    }
+
+    /**
+     * Moves to the next element of the array started by {@link #beginArray()}.
+     *
+     * @return true if an element follows (read it with {@link #readValue()}), false at the end
+     * @throws IOException if the array is malformed, or the input cannot be read
+     */
+    boolean nextElement() throws IOException {
+        int c = skipWhitespace();
+        if (c == ']') {
+            pos++;
+            depth = 0;
+            return false;
+        }
+        if (!firstElement) {
+            if (c != ',') {
+                throw unexpected(c, "',' or ']'");
+            }
+            pos++;
+            c = skipWhitespace();
+        }
+        if (c < 0) {
+            throw error("Unexpected end of input in array");
+        }
+        firstElement = false;
+        return true;
+    }
+
+    /**
+     * Reads the value starting at the next non-whitespace character.
+     *
+     * @return the value
+     * @throws IOException if the value is malformed, or the input cannot be read
+     */
+    Object readValue() throws IOException {
+        int c = skipWhitespace();
+        switch (c) {
+            case '{':
+                pos++;
+                return readObject();
+            case '[':
+                pos++;
+                return readArray();
+            case '"':
+                pos++;
+                return readString();
+            case 't':
+                readLiteral("true");
+                return Boolean.TRUE;
+            case 'f':
+                readLiteral("false");
+                return Boolean.FALSE;
+            case 'n':
+                readLiteral("null");
+                return null;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    return readNumber();
+                }
+                throw unexpected(c, "a value");
+        }
+    }
+
+    // ========== Values ==========
+
+    private Map<String, Object> readObject() throws IOException {
+        enter();
+        Map<String, Object> object = new LinkedHashMap<>();
+        int c = skipWhitespace();
+        if (c == '}') {
+            pos++;
+            depth--;
+            return object;
+        }
+        while (true) {
+            if (c != '"') {
+                throw unexpected(c, "a field name");
+            }
+            pos++;
+            String name = readString();
+            c = skipWhitespace();
+            if (c != ':') {
+                throw unexpected(c, "':'");
+            }
+            pos++;
+            object.put(name, readValue());
+
+            c = skipWhitespace();
+            if (c == '}') {
+                pos++;
+                depth--;
+                return object;
+            }
+            if (c != ',') {
+                throw unexpected(c, "',' or '}'");
+            }
+            pos++;
+            c = skipWhitespace();
+        }
+    }
+
+    private List<Object> readArray() throws IOException {
+        enter();
+        List<Object> array = new ArrayList<>();
+        int c = skipWhitespace();
+        if (c == ']') {
+            pos++;
+            depth--;
+            return array;
+        }
+        while (true) {
+            array.add(readValue());
+
+            c = skipWhitespace();
+            if (c == ']') {
+                pos++;
+                depth--;
+                return array;
+            }
+            if (c != ',') {
+                throw unexpected(c, "',' or ']'");
+            }
+            pos++;
+        }
+    }
+
+    /**
+     * Reads the rest of a string whose opening quote has been consumed.
+     */
+    private String readString() throws IOException {
+        // Fast path: no escapes before the closing quote, within the buffer
+        int start = pos;
+        while (pos < limit) {
+            char c = buffer[pos];
+            if (c == '"') {
+                return new String(buffer, start, pos++ - start);
+            }
+            if (c == '\\' || c < 0x20) {
+                break;
+            }
+            pos++;
+        }
+
+        text.setLength(0);
+        text.append(buffer, start, pos - start);
+        while (true) {
+            int c = read();
+            if (c < 0) {
+                throw error("Unexpected end of input in string");
+            }
+            if (c == '"') {
+                return text.toString();
+            }
+            if (c == '\\') {
+                text.append(readEscape());
+            } else if (c < 0x20) {
+                throw error("Unescaped control character 0x" + Integer.toHexString(c) + " in string");
+            } else {
+                text.append((char) c);
+            }
+        }
+    }
+
+    private char readEscape() throws IOException {
+        int c = read();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return (char) c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int code = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit < 0) {
+                        throw error("Invalid \\u escape in string");
+                    }
+                    code = (code << 4) | digit;
+                }
+                return (char) code;
+            default:
+                throw error(c < 0 ? "Unexpected end of input in string" : "Invalid escape '\\" + (char) c + "' in string");
+        }
+    }
+
+    private void readLiteral(String literal) throws IOException {
+        for (int i = 0; i < literal.length(); i++) {
+            if (read() != literal.charAt(i)) {
+                throw error("Invalid literal, expected '" + literal + "'");
+            }
+        }
+        int c = peek();
+        if (Character.isLetterOrDigit(c)) {
+            throw error("Invalid literal, expected '" + literal + "'");
+        }
+    }
+
+    /**
+     * Reads '-'? ('0' | [1-9][0-9]*) ('.' [0-9]+)? ([eE] [+-]? [0-9]+)?.
+     */
+    private Number readNumber() throws IOException {
+        text.setLength(0);
+        if (peek() == '-') {
+            text.append((char) read());
+        }
+        int c = peek();
+        if (c == '0') {
+            text.append((char) read());
+        } else if (isDigit(c)) {
+            readDigits();
+        } else {
+            throw error("Invalid number, expected a digit");
+        }
+
+        boolean integral = true;
+        if (peek() == '.') {
+            text.append((char) read());
+            integral = false;
+            if (!isDigit(peek())) {
+                throw error("Invalid number, expected a digit after '.'");
+            }
+            readDigits();
+        }
+        c = peek();
+        if (c == 'e' || c == 'E') {
+            text.append((char) read());
+            integral = false;
+            c = peek();
+            if (c == '+' || c == '-') {
+                text.append((char) read());
+            }
+            if (!isDigit(peek())) {
+                throw error("Invalid number, expected a digit in the exponent");
+            }
+            readDigits();
+        }
+        if (isDigit(peek()) || Character.isLetter(peek())) {
+            throw error("Invalid number '" + text + (char) peek() + "'");
+        }
+
+        String digits = text.toString();
+        if (!integral) {
+            return Double.parseDouble(digits);
+        }
+        if (digits.length() <= 18) {
+            long value = Long.parseLong(digits);
+            return value == (int) value ? (Number) (int) value : (Number) value;
+        }
+        BigInteger value = new BigInteger(digits);
+        return value.bitLength() < 64 ? (Number) value.longValue() : value;
+    }
+
+    private void readDigits() throws IOException {
+        while (isDigit(peek())) {
+            text.append((char) read());
+        }
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // ========== Input ==========
+
+    private void enter() throws IOException {
+        if (++depth > MAX_DEPTH) {
+            throw error("Document nesting depth exceeds the maximum allowed (" + MAX_DEPTH + ")");
+        }
+    }
+
+    private void skipBom() throws IOException {
+        if (peek() == '\uFEFF') {
+            pos++;
+        }
+    }
+
+    /**
+     * Skips whitespace; returns the next character without consuming it, or -1 at the end.
+     */
+    private int skipWhitespace() throws IOException {
+        while (true) {
+            int c = peek();
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return c;
+            }
+            pos++;
+        }
+    }
+
+    private int peek() throws IOException {
+        return pos < limit || fill() ? buffer[pos] : -1;
+    }
+
+    private int read() throws IOException {
+        return pos < limit || fill() ? buffer[pos++] : -1;
+    }
+
+    private boolean fill() throws IOException {
+        if (reader == null) {
+            return false;
+        }
+        consumed += limit;
+        pos = 0;
+        limit = 0;
+        int read;
+        while ((read = reader.read(buffer)) == 0) {
+            // Nothing available yet: ask again
+        }
+        if (read < 0) {
+            return false;
+        }
+        limit = read;
+        return true;
+    }
+
+    private IOException unexpected(int c, String expected) {
+        return error(c < 0
+                ? "Unexpected end of input, expected " + expected
+                : "Unexpected character '" + (char) c + "', expected " + expected);
+    }
+
+    private IOException error(String message) {
+        return new IOException(message + " (at char " + (consumed + pos) + ")");
+    }
+}
@@ -0,0 +1,399 @@
+package commons.kit.JsonUtils;
+
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.net.URI;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Serializer for {@link SimpleJsonProvider}, writing the output of {@link JacksonJsonProvider}
+ * for the types it supports.
+ *
+ * <p>Supported: Maps, Iterables, arrays (byte[] as Base64), records, Strings, Numbers,
+ * Booleans, Characters, enums (by name), UUIDs, URIs, the ISO-8601 {@code java.time} types
+ * (LocalDate, LocalTime, LocalDateTime, Instant, OffsetDateTime, ZonedDateTime) and
+ * JsonNodeWrappers. Anything else, such as JavaBeans, is rejected with an
+ * IllegalArgumentException. Null members of Maps and records are left out, except in
+ * trees (JsonNodeWrappers), as with Jackson's NON_NULL inclusion. PRETTY output matches
+ * Jackson's default pretty printer.</p>
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+final class SimpleJsonWriter {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private static final ClassValue<RecordShape> RECORDS = new ClassValue<RecordShape>() {
+        @Override
+        protected RecordShape computeValue(Class<?> type) {
+            return new RecordShape(type);
+        }
+    };
+
+    private final StringBuilder out = new StringBuilder(128);
+    private final JsonFormat format;
+    private final String lineSeparator = System.lineSeparator();
+
+    private SimpleJsonWriter(JsonFormat format) {
+        this.format = format;
+    }
+
+    /**
+     * Serializes a value.
+     *
+     * @param value the value
+     * @param format the output profile
+     * @param keepNulls whether null members are written (true for trees)
+     * @return the JSON text
+     * @throws IllegalArgumentException if the value holds an unsupported type
+     */
+    static String write(Object value, JsonFormat format, boolean keepNulls) {
+        SimpleJsonWriter writer = new SimpleJsonWriter(format);
+        writer.value(value, 0, 0, keepNulls);
+        return writer.out.toString();
+    }
+
+    /**
+     * Converts a value to the plain values of {@link SimpleJsonReader} (Map, List, String,
+     * Number, Boolean, null), as if it were written and read back. Maps and Lists are copied,
+     * except inside SimpleNodeWrappers, whose values are used as they are.
+     *
+     * @param value the value
+     * @param keepNulls whether null members are kept (true for trees)
+     * @return the plain value
+     * @throws IllegalArgumentException if the value holds an unsupported type
+     */
+    static Object toValue(Object value, boolean keepNulls) {
+        return toValue(value, 0, keepNulls);
+    }
+
+    // ========== Plain values ==========
+
+    private static Object toValue(Object value, int depth, boolean keepNulls) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+        if (value instanceof SimpleNodeWrapper) {
+            return ((SimpleNodeWrapper) value).unwrap();
+        }
+        if (value instanceof JsonNodeWrapper) {
+            return parseForeign((JsonNodeWrapper) value);
+        }
+        checkDepth(depth);
+
+        if (value instanceof Map) {
+            Map<String, Object> object = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (entry.getValue() != null || keepNulls) {
+                    object.put(key(entry.getKey()), toValue(entry.getValue(), depth + 1, keepNulls));
+                }
+            }
+            return object;
+        }
+        if (value instanceof Iterable) {
+            List<Object> array = new ArrayList<>();
+            for (Object element : (Iterable<?>) value) {
+                array.add(toValue(element, depth + 1, keepNulls));
+            }
+            return array;
+        }
+        if (value.getClass().isArray()) {
+            if (value instanceof byte[]) {
+                return Base64.getEncoder().encodeToString((byte[]) value);
+            }
+            int length = Array.getLength(value);
+            List<Object> array = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                array.add(toValue(Array.get(value, i), depth + 1, keepNulls));
+            }
+            return array;
+        }
+        if (value instanceof Record) {
+            RecordShape shape = RECORDS.get(value.getClass());
+            Map<String, Object> object = new LinkedHashMap<>();
+            for (int i = 0; i < shape.names.length; i++) {
+                Object member = shape.get(value, i);
+                if (member != null || keepNulls) {
+                    object.put(shape.names[i], toValue(member, depth + 1, keepNulls));
+                }
+            }
+            return object;
+        }
+        return scalarText(value);
+    }
+
+    // ========== Writing ==========
+
+    private void value(Object value, int depth, int indent, boolean keepNulls) {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof String) {
+            string((String) value);
+        } else if (value instanceof Number) {
+            number((Number) value);
+        } else if (value instanceof Boolean) {
+            out.append(((Boolean) value).booleanValue());
+        } else if (value instanceof SimpleNodeWrapper) {
+            value(((SimpleNodeWrapper) value).unwrap(), depth, indent, true);
+        } else if (value instanceof JsonNodeWrapper) {
+            value(parseForeign((JsonNodeWrapper) value), depth, indent, true);
+        } else {
+            checkDepth(depth);
+            if (value instanceof Map) {
+                object((Map<?, ?>) value, depth, indent, keepNulls);
+            } else if (value instanceof Iterable) {
+                startArray();
+                for (Object element : (Iterable<?>) value) {
+                    nextElement(element, depth, indent, keepNulls);
+                }
+                endArray();
+            } else if (value instanceof byte[]) {
+                string(Base64.getEncoder().encodeToString((byte[]) value));
+            } else if (value.getClass().isArray()) {
+                startArray();
+                for (int i = 0, length = Array.getLength(value); i < length; i++) {
+                    nextElement(Array.get(value, i), depth, indent, keepNulls);
+                }
+                endArray();
+            } else if (value instanceof Record) {
+                RecordShape shape = RECORDS.get(value.getClass());
+                Map<String, Object> members = new LinkedHashMap<>();
+                for (int i = 0; i < shape.names.length; i++) {
+                    members.put(shape.names[i], shape.get(value, i));
+                }
+                object(members, depth, indent, keepNulls);
+            } else {
+                string(scalarText(value));
+            }
+        }
+    }
+
+    private void object(Map<?, ?> members, int depth, int indent, boolean keepNulls) {
+        Map<?, ?> ordered = members;
+        if (format == JsonFormat.CANONICAL) {
+            ordered = sorted(members);
+        }
+
+        out.append('{');
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : ordered.entrySet()) {
+            if (entry.getValue() == null && !keepNulls) {
+                continue;
+            }
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+            if (format == JsonFormat.PRETTY) {
+                newLine(indent + 1);
+                string(key(entry.getKey()));
+                out.append(" : ");
+            } else {
+                string(key(entry.getKey()));
+                out.append(':');
+            }
+            value(entry.getValue(), depth + 1, indent + 1, keepNulls);
+        }
+        if (format == JsonFormat.PRETTY) {
+            if (first) {
+                out.append(' ');
+            } else {
+                newLine(indent);
+            }
+        }
+        out.append('}');
+    }
+
+    // Arrays stay on one line in PRETTY output ("[ 1, 2 ]"), as with Jackson's default printer
+
+    private void startArray() {
+        out.append('[');
+    }
+
+    private void nextElement(Object element, int depth, int indent, boolean keepNulls) {
+        if (out.charAt(out.length() - 1) != '[') {
+            out.append(',');
+        }
+        if (format == JsonFormat.PRETTY) {
+            out.append(' ');
+        }
+        value(element, depth + 1, indent, keepNulls);
+    }
+
+    private void endArray() {
+        if (format == JsonFormat.PRETTY) {
+            out.append(' ');
+        }
+        out.append(']');
+    }
+
+    private void newLine(int indent) {
+        out.append(lineSeparator);
+        for (int i = 0; i < indent; i++) {
+            out.append("  ");
+        }
+    }
+
+    private void number(Number number) {
+        if ((number instanceof Double && !Double.isFinite(number.doubleValue()))
+                || (number instanceof Float && !Float.isFinite(number.floatValue()))) {
+            string(number.toString()); // Jackson writes NaN and infinities as strings
+        } else {
+            out.append(number);
+        }
+    }
+
+    private void string(String text) {
+        out.append('"');
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            out.append(text, start, i);
+            start = i + 1;
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\b':
+                    out.append("\\b");
+                    break;
+                case '\f':
+                    out.append("\\f");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            }
+        }
+        out.append(text, start, text.length()).append('"');
+    }
+
+    // ========== Helper Methods ==========
+
+    private static void checkDepth(int depth) {
+        if (depth >= SimpleJsonReader.MAX_DEPTH) {
+            throw new IllegalArgumentException("Nesting depth exceeds " + SimpleJsonReader.MAX_DEPTH
+                    + " (self-referencing value?)");
+        }
+    }
+
+    /**
+     * Sorts members by their keys, as Jackson's ORDER_MAP_ENTRIES_BY_KEYS does: by natural
+     * order when the keys are mutually comparable (enums by declaration), else by key text.
+     */
+    private static Map<?, ?> sorted(Map<?, ?> members) {
+        try {
+            return new TreeMap<>(members);
+        } catch (ClassCastException | NullPointerException e) {
+            Map<String, Object> sorted = new TreeMap<>();
+            members.forEach((name, member) -> sorted.put(key(name), member));
+            return sorted;
+        }
+    }
+
+    private static String key(Object name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Null map keys are not supported");
+        }
+        return name instanceof Enum ? ((Enum<?>) name).name() : name.toString();
+    }
+
+    /**
+     * Text of the supported scalar types that are written as strings.
+     */
+    private static String scalarText(Object value) {
+        if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        }
+        // The formatters of Jackson's JavaTimeModule: seconds are always written
+        if (value instanceof LocalDateTime) {
+            return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format((LocalDateTime) value);
+        }
+        if (value instanceof LocalTime) {
+            return DateTimeFormatter.ISO_LOCAL_TIME.format((LocalTime) value);
+        }
+        if (value instanceof OffsetDateTime || value instanceof ZonedDateTime) {
+            return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format((TemporalAccessor) value);
+        }
+        if (value instanceof Character || value instanceof UUID || value instanceof URI
+                || value instanceof LocalDate || value instanceof Instant) {
+            return value.toString();
+        }
+        throw new IllegalArgumentException("Unsupported type " + value.getClass().getName()
+                + " (SimpleJsonProvider writes maps, collections, arrays, records and scalars)");
+    }
+
+    /**
+     * Trees of other providers are read back from their JSON text.
+     */
+    private static Object parseForeign(JsonNodeWrapper node) {
+        try {
+            return new SimpleJsonReader(node.toString()).readDocument();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read " + node.getClass().getSimpleName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Component names and accessors of a record class.
+     */
+    private static final class RecordShape {
+        final String[] names;
+        final Method[] accessors;
+
+        RecordShape(Class<?> type) {
+            RecordComponent[] components = type.getRecordComponents();
+            names = new String[components.length];
+            accessors = new Method[components.length];
+            for (int i = 0; i < components.length; i++) {
+                names[i] = components[i].getName();
+                accessors[i] = components[i].getAccessor();
+                try {
+                    accessors[i].setAccessible(true);
+                } catch (RuntimeException e) {
+                    // Not open to us: only public records in exported packages can be read
+                }
+            }
+        }
+
+        Object get(Object record, int component) {
+            try {
+                return accessors[component].invoke(record);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException("Cannot read record component '" + names[component] + "': " + e, e);
+            }
+        }
+    }
+}
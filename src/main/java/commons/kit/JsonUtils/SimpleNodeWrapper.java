@@ -0,0 +1,231 @@
+package commons.kit.JsonUtils;
+
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JsonNodeWrapper over the plain Java values of {@link SimpleJsonReader}: Map, List, String,
+ * Number, Boolean, or null for JSON null.
+ *
+ * <p>The accessors follow Jackson's node rules, so code written against {@link JacksonNodeWrapper}
+ * reads the same values: {@code asText()} is {@code ""} for containers and {@code "null"} for
+ * null, numbers are read from numeric strings, only integers are true when non-zero, and so
+ * on. Wrappers are views: modifying the unwrapped value shows through.</p>
+ *
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+final class SimpleNodeWrapper implements JsonNodeWrapper {
+
+    private final Object value;
+
+    SimpleNodeWrapper(Object value) {
+        this.value = value;
+    }
+
+    @Override
+    public JsonNodeWrapper get(String key) {
+        if (value instanceof Map && ((Map<?, ?>) value).containsKey(key)) {
+            return new SimpleNodeWrapper(((Map<?, ?>) value).get(key));
+        }
+        return null;
+    }
+
+    @Override
+    public JsonNodeWrapper at(String path) {
+        if (path == null) {
+            return null;
+        }
+        if (path.isEmpty()) {
+            return this;
+        }
+        if (path.charAt(0) != '/') {
+            throw new IllegalArgumentException("Invalid JSON pointer '" + path + "': must start with '/'");
+        }
+
+        // Same rules as Jackson's JsonNode.at(String): '~1' is '/', '~0' is '~'
+        Object current = value;
+        int start = 1;
+        while (true) {
+            int end = path.indexOf('/', start);
+            String token = path.substring(start, end < 0 ? path.length() : end).replace("~1", "/").replace("~0", "~");
+            if (current instanceof Map && ((Map<?, ?>) current).containsKey(token)) {
+                current = ((Map<?, ?>) current).get(token);
+            } else if (current instanceof List && index(token) >= 0 && index(token) < ((List<?>) current).size()) {
+                current = ((List<?>) current).get(index(token));
+            } else {
+                return null;
+            }
+            if (end < 0) {
+                return new SimpleNodeWrapper(current);
+            }
+            start = end + 1;
+        }
+    }
+
+    @Override
+    public JsonNodeWrapper at(JsonPath path) {
+        Object current = value;
+        for (int i = 0; i < path.length(); i++) {
+            if (current instanceof List && path.isIndex(i)) {
+                List<?> list = (List<?>) current;
+                if (path.index(i) >= list.size()) {
+                    return null;
+                }
+                current = list.get(path.index(i));
+            } else if (current instanceof Map && ((Map<?, ?>) current).containsKey(path.segment(i))) {
+                current = ((Map<?, ?>) current).get(path.segment(i));
+            } else {
+                return null;
+            }
+        }
+        return new SimpleNodeWrapper(current);
+    }
+
+    @Override
+    public String asText() {
+        return text(value);
+    }
+
+    @Override
+    public int asInt() {
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        if (value instanceof String) {
+            try {
+                return Integer.parseInt(((String) value).trim());
+            } catch (NumberFormatException e) {
+                return (int) asDouble();
+            }
+        }
+        return (int) asLong();
+    }
+
+    @Override
+    public long asLong() {
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value ? 1 : 0;
+        }
+        if (value instanceof String) {
+            try {
+                return Long.parseLong(((String) value).trim());
+            } catch (NumberFormatException e) {
+                return (long) asDouble();
+            }
+        }
+        return 0L;
+    }
+
+    @Override
+    public double asDouble() {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value ? 1.0 : 0.0;
+        }
+        if (value instanceof String) {
+            try {
+                return Double.parseDouble(((String) value).trim());
+            } catch (NumberFormatException e) {
+                return 0.0;
+            }
+        }
+        return 0.0;
+    }
+
+    @Override
+    public boolean asBoolean() {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof BigInteger) {
+            return ((BigInteger) value).signum() != 0;
+        }
+        if (value instanceof Integer || value instanceof Long) {
+            return ((Number) value).longValue() != 0;
+        }
+        return value instanceof String && "true".equals(((String) value).trim());
+    }
+
+    @Override
+    public boolean isArray() {
+        return value instanceof List;
+    }
+
+    @Override
+    public boolean isObject() {
+        return value instanceof Map;
+    }
+
+    @Override
+    public boolean isNull() {
+        return value == null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterable<String> keys() {
+        return value instanceof Map
+                ? Collections.unmodifiableSet(((Map<String, ?>) value).keySet())
+                : Collections.emptyList();
+    }
+
+    @Override
+    public int size() {
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).size();
+        }
+        return value instanceof List ? ((List<?>) value).size() : 0;
+    }
+
+    /**
+     * Returns the plain value: a Map, List, String, Number, Boolean, or null.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap() {
+        return (T) value;
+    }
+
+    @Override
+    public String toString() {
+        return SimpleJsonWriter.write(value, JsonFormat.COMPACT, true);
+    }
+
+    /**
+     * Text of a value by Jackson's asText() rules.
+     */
+    static String text(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        return value instanceof Map || value instanceof List ? "" : value.toString();
+    }
+
+    /**
+     * Parses a JSON pointer token as an array index, or returns -1.
+     */
+    private static int index(String token) {
+        int length = token.length();
+        if (length == 0 || length > 9 || (length > 1 && token.charAt(0) == '0')) {
+            return -1;
+        }
+        int index = 0;
+        for (int i = 0; i < length; i++) {
+            char c = token.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            index = index * 10 + (c - '0');
+        }
+        return index;
+    }
+}
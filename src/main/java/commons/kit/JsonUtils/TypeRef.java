@@ -0,0 +1,116 @@
+package commons.kit.JsonUtils;
+
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * Captures a full generic type, such as {@code List<Order>}, for deserialization.
+ *
+ * <p>Create it as an anonymous subclass so the type argument survives erasure:</p>
+ *
+ * <pre>
+ * TypeRef&lt;List&lt;Order&gt;&gt; ORDERS = new TypeRef&lt;List&lt;Order&gt;&gt;() {};
+ *
+ * JsonUtils.fromJson(json, ORDERS);   // Result&lt;E, List&lt;Order&gt;&gt;
+ * </pre>
+ *
+ * <p>Provider-agnostic: providers translate {@link #getType()} into their own type model.
+ * Two TypeRefs are equal when they capture the same type.</p>
+ *
+ * @param <T> the captured type
+ * @author commons-kit
+ * @version 1.3.0-SNAPSHOT
+ */
+public abstract class TypeRef<T> {
+
+    private final Type type;
+
+    /**
+     * Captures the type argument of the anonymous subclass.
+     *
+     * @throws IllegalArgumentException if created without a type argument
+     */
+    protected TypeRef() {
+        Type superclass = getClass().getGenericSuperclass();
+        if (!(superclass instanceof ParameterizedType)) {
+            throw new IllegalArgumentException("TypeRef must be created with a type argument");
+        }
+        this.type = ((ParameterizedType) superclass).getActualTypeArguments()[0];
+    }
+
+    private TypeRef(Type type) {
+        this.type = type;
+    }
+
+    /**
+     * Wraps a plain class.
+     *
+     * @param clazz the class
+     * @param <T> the type
+     * @return TypeRef for the class
+     */
+    public static <T> TypeRef<T> of(Class<T> clazz) {
+        if (clazz == null) {
+            throw new IllegalArgumentException("Class cannot be null");
+        }
+        return new ClassRef<>(clazz);
+    }
+
+    /**
+     * Returns the captured type.
+     *
+     * @return the type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the erased class of the captured type (List for {@code List<Order>}).
+     *
+     * @return raw class
+     */
+    public Class<?> getRawClass() {
+        return rawClass(type);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof TypeRef)) return false;
+        return type.equals(((TypeRef<?>) obj).type);
+    }
+
+    @Override
+    public int hashCode() {
+        return type.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return type.getTypeName();
+    }
+
+    private static Class<?> rawClass(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return rawClass(((ParameterizedType) type).getRawType());
+        }
+        if (type instanceof GenericArrayType) {
+            return Array.newInstance(
+                    rawClass(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+        }
+        return Object.class; // Type variables and wildcards
+    }
+
+    private static final class ClassRef<T> extends TypeRef<T> {
+        ClassRef(Class<T> clazz) {
+            super(clazz);
+        }
+    }
+}
@@ -0,0 +1,646 @@
+package commons.kit.MathUtils;
+
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Mutable fixed-point decimal backed by a single {@code long}.
+ *
+ * <p>The value is {@code unscaledValue × 10^-scale}, with a scale chosen at creation
+ * (0 to 18) and kept for the life of the instance. Arithmetic happens in place on the
+ * primitive, so summing a million line items into one accumulator allocates nothing.</p>
+ *
+ * <p><strong>Semantics mirror {@link NumberUtils}:</strong></p>
+ * <ul>
+ * <li>null operands are treated as ZERO (and annihilate a product)</li>
+ * <li>Division by zero yields ZERO instead of throwing</li>
+ * <li>Every result is rounded HALF_UP to this instance's scale (default 2)</li>
+ * <li>Parsing accepts everything {@link NumberUtils#safeOf(Object)} accepts</li>
+ * </ul>
+ *
+ * <p><strong>Overflow:</strong> a result that does not fit in a long at this scale
+ * throws {@link ArithmeticException}, like {@link Math#addExact(long, long)}.
+ * Use {@link #toBigDecimal()} when values may exceed ~9.2 × 10^(18-scale).</p>
+ *
+ * <p><strong>Usage:</strong></p>
+ * <pre>
+ * Decimal64 total = Decimal64.zero();
+ * for (LineItem item : items) {
+ *     total.add(item.amount());
+ * }
+ * BigDecimal result = total.toBigDecimal();
+ * </pre>
+ *
+ * <p>Equality is numeric and ignores scale, like {@link #compareTo}: 1.0 equals 1.00.</p>
+ *
+ * <p>Instances are not thread-safe; share them like a {@link StringBuilder}.</p>
+ */
+public final class Decimal64 implements Comparable<Decimal64> {
+
+    /**
+     * Scale used when none is given, same as {@link NumberUtils#div(BigDecimal, BigDecimal)}.
+     */
+    public static final int DEFAULT_SCALE = 2;
+
+    /**
+     * Largest supported scale (10^18 is the largest power of ten in a long).
+     */
+    public static final int MAX_SCALE = 18;
+
+    private static final RoundingMode DEFAULT_ROUNDING = RoundingMode.HALF_UP;
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L,
+            100_000_000L, 1_000_000_000L, 10_000_000_000L, 100_000_000_000L,
+            1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+            1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L,
+            1_000_000_000_000_000_000L
+    };
+
+    private final int scale;
+    private long unscaled;
+
+    private Decimal64(long unscaled, int scale) {
+        this.unscaled = unscaled;
+        this.scale = scale;
+    }
+
+    // ========== Factory Methods ==========
+
+    /**
+     * Creates a ZERO with the default scale (2).
+     *
+     * @return new instance holding 0.00
+     */
+    public static Decimal64 zero() {
+        return zero(DEFAULT_SCALE);
+    }
+
+    /**
+     * Creates a ZERO with the given scale.
+     *
+     * @param scale number of decimal places (0 to 18)
+     * @return new instance holding zero
+     */
+    public static Decimal64 zero(int scale) {
+        return new Decimal64(0, checkScale(scale));
+    }
+
+    /**
+     * Creates an instance from any object, with the default scale (2).
+     *
+     * @param value the value to convert (same rules as NumberUtils.safeOf)
+     * @return new instance, rounded HALF_UP to 2 decimals
+     * @see #set(Object)
+     */
+    public static Decimal64 of(Object value) {
+        return of(value, DEFAULT_SCALE);
+    }
+
+    /**
+     * Creates an instance from any object with the given scale.
+     *
+     * @param value the value to convert (same rules as NumberUtils.safeOf)
+     * @param scale number of decimal places (0 to 18)
+     * @return new instance, rounded HALF_UP to the scale
+     * @see #set(Object)
+     */
+    public static Decimal64 of(Object value, int scale) {
+        return zero(scale).set(value);
+    }
+
+    /**
+     * Creates an instance directly from its unscaled representation.
+     *
+     * <p><strong>Example:</strong> ofUnscaled(12345, 2) → 123.45</p>
+     *
+     * @param unscaled the unscaled value
+     * @param scale number of decimal places (0 to 18)
+     * @return new instance
+     */
+    public static Decimal64 ofUnscaled(long unscaled, int scale) {
+        return new Decimal64(unscaled, checkScale(scale));
+    }
+
+    /**
+     * Lossless conversion from BigDecimal, keeping its scale.
+     *
+     * @param value the value to convert (null is ZERO with scale 0)
+     * @return new instance with the same numeric value and scale
+     * @throws ArithmeticException if the scale exceeds 18 or the value does not fit in a long
+     */
+    public static Decimal64 ofExact(BigDecimal value) {
+        if (value == null) {
+            return zero(0);
+        }
+        BigDecimal normalized = value.scale() < 0 ? value.setScale(0) : value;
+        if (normalized.scale() > MAX_SCALE) {
+            throw new ArithmeticException("Scale " + normalized.scale() + " exceeds " + MAX_SCALE);
+        }
+        return new Decimal64(normalized.unscaledValue().longValueExact(), normalized.scale());
+    }
+
+    // ========== Accessors ==========
+
+    /**
+     * Returns the number of decimal places.
+     *
+     * @return scale (0 to 18)
+     */
+    public int scale() {
+        return scale;
+    }
+
+    /**
+     * Returns the raw long, i.e. value × 10^scale.
+     *
+     * @return unscaled value
+     */
+    public long unscaledValue() {
+        return unscaled;
+    }
+
+    /**
+     * Lossless conversion to BigDecimal (same value, same scale).
+     *
+     * @return BigDecimal representation
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+
+    /**
+     * Returns the closest double to this value.
+     *
+     * @return double approximation
+     */
+    public double doubleValue() {
+        return (double) unscaled / POWERS_OF_TEN[scale];
+    }
+
+    /**
+     * Returns an independent copy with the same scale and value.
+     *
+     * @return new instance
+     */
+    public Decimal64 copy() {
+        return new Decimal64(unscaled, scale);
+    }
+
+    // ========== Mutators ==========
+
+    /**
+     * Replaces the value, converting any object in a bulletproof manner.
+     *
+     * <p>null → ZERO, integral numbers and other Decimal64 values are converted
+     * without allocating, anything else goes through NumberUtils.safeOf
+     * ("$1,234.56", "1.234,56" ...). The result is rounded HALF_UP to this scale.</p>
+     *
+     * @param value the new value
+     * @return this instance
+     * @throws ArithmeticException if the value does not fit at this scale
+     */
+    public Decimal64 set(Object value) {
+        if (value == null) {
+            unscaled = 0;
+        } else if (value instanceof Decimal64) {
+            Decimal64 other = (Decimal64) value;
+            unscaled = rescale(other.unscaled, other.scale, scale);
+        } else if (value instanceof Long || value instanceof Integer
+                || value instanceof Short || value instanceof Byte) {
+            unscaled = Math.multiplyExact(((Number) value).longValue(), POWERS_OF_TEN[scale]);
+        } else {
+            BigDecimal decimal = NumberUtils.safeOf(value).setScale(scale, DEFAULT_ROUNDING);
+            unscaled = decimal.unscaledValue().longValueExact();
+        }
+        return this;
+    }
+
+    /**
+     * Replaces the value with a long, without allocating.
+     *
+     * @param value the new value
+     * @return this instance
+     * @throws ArithmeticException if the value does not fit at this scale
+     */
+    public Decimal64 set(long value) {
+        unscaled = Math.multiplyExact(value, POWERS_OF_TEN[scale]);
+        return this;
+    }
+
+    /**
+     * Replaces the value with a double, rounded HALF_UP to this scale.
+     *
+     * <p>Same result as {@link #set(Object)}, which rounds the shortest decimal text of the
+     * double ({@code 1.005} → 1.01, not 1.00). When the scaled value is small and clearly not
+     * on a rounding tie it is rounded in floating point, without allocating; otherwise it
+     * goes through BigDecimal.</p>
+     *
+     * @param value the new value
+     * @return this instance
+     * @throws ArithmeticException if the value does not fit at this scale
+     * @throws NumberFormatException if the value is NaN or infinite
+     */
+    public Decimal64 set(double value) {
+        double scaled = Math.abs(value) * POWERS_OF_TEN[scale];
+        double fraction = scaled - Math.floor(scaled);
+        // Below 2^40 the double is within ~1e-4 of the decimal, so only near-ties can round differently
+        if (scaled < 0x1p40 && Math.abs(fraction - 0.5) > 1e-3) {
+            long magnitude = (long) Math.floor(scaled + 0.5);
+            unscaled = value < 0 ? -magnitude : magnitude;
+            return this;
+        }
+        return set(Double.valueOf(value));
+    }
+
+    /**
+     * Replaces the raw long (value × 10^scale).
+     *
+     * @param unscaled the new unscaled value
+     * @return this instance
+     */
+    public Decimal64 setUnscaled(long unscaled) {
+        this.unscaled = unscaled;
+        return this;
+    }
+
+    // ========== Arithmetic Operations ==========
+
+    /**
+     * Adds a value. Null is treated as ZERO.
+     *
+     * @param value the value to add
+     * @return this instance
+     */
+    public Decimal64 add(Decimal64 value) {
+        if (value != null) {
+            unscaled = Math.addExact(unscaled, rescale(value.unscaled, value.scale, scale));
+        }
+        return this;
+    }
+
+    /**
+     * Adds a raw long expressed at this instance's scale.
+     *
+     * @param unscaledValue the unscaled value to add
+     * @return this instance
+     */
+    public Decimal64 addUnscaled(long unscaledValue) {
+        unscaled = Math.addExact(unscaled, unscaledValue);
+        return this;
+    }
+
+    /**
+     * Subtracts a value. Null is treated as ZERO.
+     *
+     * @param value the value to subtract
+     * @return this instance
+     */
+    public Decimal64 sub(Decimal64 value) {
+        if (value != null) {
+            unscaled = Math.subtractExact(unscaled, rescale(value.unscaled, value.scale, scale));
+        }
+        return this;
+    }
+
+    /**
+     * Multiplies by a value, rounding HALF_UP to this scale.
+     * Null annihilates the product (result is ZERO).
+     *
+     * @param value the multiplier
+     * @return this instance
+     */
+    public Decimal64 mul(Decimal64 value) {
+        unscaled = value == null ? 0 : multiply(unscaled, scale, value.unscaled, value.scale, scale);
+        return this;
+    }
+
+    /**
+     * Divides by a value, rounding HALF_UP to this scale.
+     *
+     * <p><strong>Protection:</strong> dividing by ZERO or null sets this to ZERO (no exception thrown).</p>
+     *
+     * @param value the divisor
+     * @return this instance
+     */
+    public Decimal64 div(Decimal64 value) {
+        unscaled = value == null ? 0 : divide(unscaled, scale, value.unscaled, value.scale, scale);
+        return this;
+    }
+
+    /**
+     * Replaces this value with {@code this × percent / 100}, rounded HALF_UP to this scale.
+     *
+     * <p><strong>Example:</strong> Decimal64.of(200).percentage(Decimal64.of(10)) → 20.00</p>
+     *
+     * @param percent the percentage (10 means 10%)
+     * @return this instance
+     */
+    public Decimal64 percentage(Decimal64 percent) {
+        unscaled = percent == null ? 0 : multiply(unscaled, scale, percent.unscaled, percent.scale + 2, scale);
+        return this;
+    }
+
+    /**
+     * Negates this value.
+     *
+     * @return this instance
+     */
+    public Decimal64 negate() {
+        unscaled = Math.negateExact(unscaled);
+        return this;
+    }
+
+    /**
+     * Restricts this value to [min, max]. Null bounds are treated as ZERO.
+     *
+     * @param min minimum bound
+     * @param max maximum bound
+     * @return this instance
+     */
+    public Decimal64 clamp(Decimal64 min, Decimal64 max) {
+        long minValue = min == null ? 0 : rescale(min.unscaled, min.scale, scale);
+        long maxValue = max == null ? 0 : rescale(max.unscaled, max.scale, scale);
+        if (unscaled < minValue) {
+            unscaled = minValue;
+        } else if (unscaled > maxValue) {
+            unscaled = maxValue;
+        }
+        return this;
+    }
+
+    /**
+     * Rounds to the given number of decimal places using HALF_UP, keeping the scale.
+     *
+     * <p><strong>Example:</strong> 1.2345 (scale 4) round(2) → 1.2300</p>
+     *
+     * @param decimals number of decimal places to keep
+     * @return this instance
+     */
+    public Decimal64 round(int decimals) {
+        return round(decimals, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Rounds AWAY from zero to the given number of decimal places, keeping the scale.
+     *
+     * @param decimals number of decimal places to keep
+     * @return this instance
+     */
+    public Decimal64 roundUp(int decimals) {
+        return round(decimals, RoundingMode.UP);
+    }
+
+    /**
+     * Rounds TOWARDS zero to the given number of decimal places, keeping the scale.
+     *
+     * @param decimals number of decimal places to keep
+     * @return this instance
+     */
+    public Decimal64 roundDown(int decimals) {
+        return round(decimals, RoundingMode.DOWN);
+    }
+
+    private Decimal64 round(int decimals, RoundingMode mode) {
+        if (decimals < 0) {
+            throw new IllegalArgumentException("Decimals must not be negative: " + decimals);
+        }
+        if (decimals < scale) {
+            long factor = POWERS_OF_TEN[scale - decimals];
+            unscaled = Math.multiplyExact(divideRounded(unscaled, factor, mode), factor);
+        }
+        return this;
+    }
+
+    // ========== Comparison Methods ==========
+
+    /**
+     * Checks if value is positive (> 0).
+     *
+     * @return true if value > 0
+     */
+    public boolean isPos() {
+        return unscaled > 0;
+    }
+
+    /**
+     * Checks if value is negative (< 0).
+     *
+     * @return true if value < 0
+     */
+    public boolean isNeg() {
+        return unscaled < 0;
+    }
+
+    /**
+     * Checks if value is zero.
+     *
+     * @return true if value equals zero
+     */
+    public boolean isZero() {
+        return unscaled == 0;
+    }
+
+    /**
+     * Checks numerical equality, ignoring scale (1.0 equals 1.00). Null is treated as ZERO.
+     *
+     * @param other the value to compare with
+     * @return true if numerically equal
+     */
+    public boolean isEq(Decimal64 other) {
+        return compareTo(other) == 0;
+    }
+
+    /**
+     * Checks if this > other. Null is treated as ZERO.
+     *
+     * @param other the value to compare with
+     * @return true if this > other
+     */
+    public boolean isGt(Decimal64 other) {
+        return compareTo(other) > 0;
+    }
+
+    /**
+     * Checks if this >= other. Null is treated as ZERO.
+     *
+     * @param other the value to compare with
+     * @return true if this >= other
+     */
+    public boolean isGte(Decimal64 other) {
+        return compareTo(other) >= 0;
+    }
+
+    /**
+     * Checks if min <= this <= max. Null bounds are treated as ZERO.
+     *
+     * @param min minimum bound
+     * @param max maximum bound
+     * @return true if within the inclusive range
+     */
+    public boolean inRange(Decimal64 min, Decimal64 max) {
+        return compareTo(min) >= 0 && compareTo(max) <= 0;
+    }
+
+    /**
+     * Numeric comparison, ignoring scale. Null is treated as ZERO.
+     */
+    @Override
+    public int compareTo(Decimal64 other) {
+        if (other == null) {
+            return Long.signum(unscaled);
+        }
+        return compare(unscaled, scale, other.unscaled, other.scale);
+    }
+
+    /**
+     * Numeric equality, ignoring scale (1.0 equals 1.00), consistent with {@link #compareTo}.
+     *
+     * <p>The value is mutable: do not change an instance while it is a key in a hash-based
+     * collection.</p>
+     */
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof Decimal64 && compareTo((Decimal64) other) == 0);
+    }
+
+    /**
+     * Hashes the value with trailing zeros stripped, so numerically equal values hash alike.
+     */
+    @Override
+    public int hashCode() {
+        long value = unscaled;
+        int digits = scale;
+        while (digits > 0 && value % 10 == 0) {
+            value /= 10;
+            digits--;
+        }
+        return 31 * Long.hashCode(value) + digits;
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    // ========== Primitive Kernels ==========
+    // Shared with DecimalVector; all round HALF_UP and throw ArithmeticException on overflow.
+
+    static int checkScale(int scale) {
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new IllegalArgumentException("Scale must be between 0 and " + MAX_SCALE + ": " + scale);
+        }
+        return scale;
+    }
+
+    static long pow10(int exponent) {
+        return POWERS_OF_TEN[exponent];
+    }
+
+    /**
+     * Converts an unscaled value between scales, rounding HALF_UP when scale shrinks.
+     */
+    static long rescale(long value, int fromScale, int toScale) {
+        if (fromScale == toScale) {
+            return value;
+        }
+        if (fromScale < toScale) {
+            return Math.multiplyExact(value, POWERS_OF_TEN[toScale - fromScale]);
+        }
+        return divideRounded(value, POWERS_OF_TEN[fromScale - toScale], DEFAULT_ROUNDING);
+    }
+
+    /**
+     * (a × 10^-scaleA) × (b × 10^-scaleB) expressed at targetScale.
+     */
+    static long multiply(long a, int scaleA, long b, int scaleB, int targetScale) {
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        int shift = scaleA + scaleB - targetScale;
+
+        if (high == (low >> 63) && shift <= MAX_SCALE) {
+            return shift >= 0
+                    ? divideRounded(low, POWERS_OF_TEN[shift], DEFAULT_ROUNDING)
+                    : Math.multiplyExact(low, POWERS_OF_TEN[-shift]);
+        }
+
+        // 128-bit intermediate: let BigDecimal do the rounding, then check the fit
+        return BigDecimal.valueOf(a, scaleA)
+                .multiply(BigDecimal.valueOf(b, scaleB))
+                .setScale(targetScale, DEFAULT_ROUNDING)
+                .unscaledValue()
+                .longValueExact();
+    }
+
+    /**
+     * (a × 10^-scaleA) / (b × 10^-scaleB) expressed at targetScale; ZERO when b is zero.
+     */
+    static long divide(long a, int scaleA, long b, int scaleB, int targetScale) {
+        if (b == 0) {
+            return 0;
+        }
+
+        int exponent = targetScale + scaleB - scaleA;
+        try {
+            if (exponent >= 0 && exponent <= MAX_SCALE) {
+                return divideRounded(Math.multiplyExact(a, POWERS_OF_TEN[exponent]), b, DEFAULT_ROUNDING);
+            }
+            if (exponent < 0 && -exponent <= MAX_SCALE) {
+                return divideRounded(a, Math.multiplyExact(b, POWERS_OF_TEN[-exponent]), DEFAULT_ROUNDING);
+            }
+        } catch (ArithmeticException overflow) {
+            // Intermediate does not fit in a long, fall through to BigDecimal
+        }
+
+        return BigDecimal.valueOf(a, scaleA)
+                .divide(BigDecimal.valueOf(b, scaleB), targetScale, DEFAULT_ROUNDING)
+                .unscaledValue()
+                .longValueExact();
+    }
+
+    static int compare(long a, int scaleA, long b, int scaleB) {
+        if (scaleA == scaleB) {
+            return Long.compare(a, b);
+        }
+        try {
+            return scaleA < scaleB
+                    ? Long.compare(Math.multiplyExact(a, POWERS_OF_TEN[scaleB - scaleA]), b)
+                    : Long.compare(a, Math.multiplyExact(b, POWERS_OF_TEN[scaleA - scaleB]));
+        } catch (ArithmeticException overflow) {
+            return BigDecimal.valueOf(a, scaleA).compareTo(BigDecimal.valueOf(b, scaleB));
+        }
+    }
+
+    /**
+     * value / divisor rounded with HALF_UP, UP or DOWN.
+     */
+    static long divideRounded(long value, long divisor, RoundingMode mode) {
+        if (divisor < 0) {
+            value = Math.negateExact(value);
+            divisor = Math.negateExact(divisor);
+        }
+
+        long quotient = value / divisor;
+        long remainder = value % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+
+        long magnitude = Math.abs(remainder);
+        boolean roundAway;
+        switch (mode) {
+            case UP:
+                roundAway = true;
+                break;
+            case DOWN:
+                roundAway = false;
+                break;
+            default:
+                // HALF_UP: remainder >= divisor / 2, written to avoid overflowing 2 × remainder
+                roundAway = magnitude >= divisor - magnitude;
+        }
+
+        return roundAway ? quotient + Long.signum(value) : quotient;
+    }
+}
@@ -58,17 +58,163 @@ public final class NumberUtils {
             return (BigDecimal) value;
         }
 
+        if (value instanceof Integer || value instanceof Long
+                || value instanceof Short || value instanceof Byte) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        }
+
         if (value instanceof Number) {
             return new BigDecimal(value.toString());
         }
 
-        String str = value.toString().trim();
-        if (str.isEmpty()) {
+        return parse(value.toString());
+    }
+
+    /**
+     * Single-pass parser behind {@link #safeOf(Object)} for text input.
+     *
+     * <p>Skips currency symbols and whitespace, accumulates the digits into an
+     * unscaled long and resolves the comma/dot heuristic from separator counts
+     * and the digits seen after the last separator, then builds the result with
+     * {@code BigDecimal.valueOf(unscaled, scale)}. Invalid input returns ZERO
+     * without throwing. Exponents, non-ASCII digits and values that overflow a
+     * long take the {@link #parseNormalized(String)} path.</p>
+     */
+    private static BigDecimal parse(String str) {
+        // Same bounds as String.trim(), without the copy
+        int start = 0;
+        int end = str.length();
+        while (start < end && str.charAt(start) <= ' ') start++;
+        while (end > start && str.charAt(end - 1) <= ' ') end--;
+
+        if (start == end) {
+            return ZERO;
+        }
+
+        long unscaled = 0;
+        int digits = 0;
+        boolean signed = false;
+        boolean negative = false;
+        int commasBeforeSign = 0;
+        int dotsBeforeSign = 0;
+        int commas = 0;
+        int dots = 0;
+        char lastSeparator = 0;
+        int digitsAfterComma = 0;
+        int digitsAfterDot = 0;
+
+        for (int i = start; i < end; i++) {
+            char c = str.charAt(i);
+
+            if (c >= '0' && c <= '9') {
+                if (unscaled > (Long.MAX_VALUE - 9) / 10) {
+                    return parseNormalized(str.substring(start, end));
+                }
+                unscaled = unscaled * 10 + (c - '0');
+                digits++;
+                digitsAfterComma++;
+                digitsAfterDot++;
+            } else if (c == ',') {
+                commas++;
+                lastSeparator = c;
+                digitsAfterComma = 0;
+            } else if (c == '.') {
+                dots++;
+                lastSeparator = c;
+                digitsAfterDot = 0;
+            } else if (isIgnorable(c)) {
+                continue;
+            } else if ((c == '-' || c == '+') && digits == 0 && !signed) {
+                // Only valid if the separators before it are the ones removed below
+                signed = true;
+                negative = c == '-';
+                commasBeforeSign = commas;
+                dotsBeforeSign = dots;
+            } else if (c == 'e' || c == 'E' || Character.isDigit(c)) {
+                return parseNormalized(str.substring(start, end));
+            } else {
+                return ZERO;
+            }
+        }
+
+        if (digits == 0) {
+            return ZERO;
+        }
+
+        int scale;
+        boolean signLeads;
+        if (commas > 0 && dots > 0) {
+            // The separator that comes last is the decimal separator
+            if (lastSeparator == '.') {
+                if (dots > 1) return ZERO;
+                scale = digitsAfterDot;
+                signLeads = dotsBeforeSign == 0;
+            } else {
+                if (commas > 1) return ZERO;
+                scale = digitsAfterComma;
+                signLeads = commasBeforeSign == 0;
+            }
+        } else if (commas > 0) {
+            // Only comma: decimal separator if at most 2 characters follow it
+            int charsAfterComma = digitsAfterComma + (signed && commasBeforeSign == commas ? 1 : 0);
+            if (charsAfterComma <= 2) {
+                if (commas > 1) return ZERO;
+                scale = digitsAfterComma;
+                signLeads = commasBeforeSign == 0;
+            } else {
+                scale = 0;
+                signLeads = true;
+            }
+        } else if (dots > 0) {
+            if (dots > 1) return ZERO;
+            scale = digitsAfterDot;
+            signLeads = dotsBeforeSign == 0;
+        } else {
+            scale = 0;
+            signLeads = true;
+        }
+
+        if (!signLeads) {
             return ZERO;
         }
 
-        // Clean currency symbols and whitespace
-        str = str.replaceAll("[\\$€£¥\\s]", "");
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+    }
+
+    /**
+     * Characters {@link #safeOf(Object)} drops: currency symbols and ASCII whitespace.
+     */
+    private static boolean isIgnorable(char c) {
+        switch (c) {
+            case '$':
+            case '€':
+            case '£':
+            case '¥':
+            case ' ':
+            case '\t':
+            case '\n':
+            case '\u000B':
+            case '\f':
+            case '\r':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * String-rewriting parser used for inputs outside the fast path
+     * (exponents, more than 18 digits). BigDecimal falls back to BigInteger internally.
+     */
+    private static BigDecimal parseNormalized(String str) {
+        StringBuilder cleaned = new StringBuilder(str.length());
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (!isIgnorable(c)) {
+                cleaned.append(c);
+            }
+        }
+        str = cleaned.toString();
 
         // Detect format: if contains both comma and dot, determine which is decimal separator
         if (str.contains(",") && str.contains(".")) {
@@ -23,6 +23,15 @@ public final class DateUtils {
     private static final ZoneId DEFAULT_ZONE = ZoneId.systemDefault();
     private static final ZoneId UTC_ZONE = ZoneId.of("UTC");
 
+    // Indexes into PARSERS, used by the scanner to report the matching pattern
+    private static final int ISO_DATE_TIME = 0;
+    private static final int ISO_DATE = 1;
+    private static final int DAY_FIRST_SLASH = 2;
+    private static final int MONTH_FIRST_SLASH = 3;
+    private static final int DAY_FIRST_DASH = 4;
+    private static final int YEAR_FIRST_SLASH = 5;
+    private static final int DAY_FIRST_DOT = 6;
+
     private static final DateParser[] PARSERS = {
             // STRICT for ISO patterns (Fixes 2023-02-29 bug)
             // Note: DateParser handles the 'yyyy' -> 'uuuu' conversion internally for strict mode
@@ -50,14 +59,17 @@ public final class DateUtils {
 
         String trimmed = dateStr.trim();
 
-        for (DateParser parser : PARSERS) {
-            try {
-                LocalDate date = LocalDate.parse(trimmed, parser.formatter);
-                boolean ambiguous = isAmbiguousPattern(parser.pattern);
-                return Result.ok(new ParsedDate(date, parser.pattern, ambiguous));
-            } catch (DateTimeParseException e) {
-                // Try next formatter
-            }
+        // Fast path: classify the shape once and validate the fields by hand,
+        // so rejected candidates never cost a DateTimeParseException.
+        ParsedDate scanned = scan(trimmed);
+        if (scanned != null) {
+            return Result.ok(scanned);
+        }
+
+        // Signed / extended years (e.g. "+12345-01-01") are the only inputs the
+        // formatters accept that the scanner does not model.
+        if (isExtendedYearCandidate(trimmed)) {
+            return parseWithFormatters(trimmed, dateStr);
         }
 
         return Result.err("Unable to parse date: " + dateStr);
@@ -231,12 +243,169 @@ public final class DateUtils {
 
     // ========== Helper Methods ==========
 
+    private static Result<String, ParsedDate> parseWithFormatters(String trimmed, String dateStr) {
+        for (DateParser parser : PARSERS) {
+            try {
+                LocalDate date = LocalDate.parse(trimmed, parser.formatter);
+                return Result.ok(parser.parsed(date));
+            } catch (DateTimeParseException e) {
+                // Try next formatter
+            }
+        }
+
+        return Result.err("Unable to parse date: " + dateStr);
+    }
+
+    /**
+     * Single-pass equivalent of trying {@link #PARSERS} in order for 4-digit years.
+     *
+     * <p>Dispatches on length and separator positions, then applies the same
+     * resolution the formatters would: STRICT patterns reject impossible days,
+     * SMART patterns clamp the day to the end of the month (31/04 → 30/04) and
+     * reject year 0. Returns null without allocating when nothing matches.</p>
+     */
+    private static ParsedDate scan(String s) {
+        int length = s.length();
+
+        if (length == 19) {
+            // yyyy-MM-dd'T'HH:mm:ss
+            if (s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(10) != 'T'
+                    || s.charAt(13) != ':' || s.charAt(16) != ':') {
+                return null;
+            }
+            int hour = digits(s, 11);
+            int minute = digits(s, 14);
+            int second = digits(s, 17);
+            if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+                return null;
+            }
+            LocalDate date = resolveStrict(year(s, 0), digits(s, 5), digits(s, 8));
+            return date != null ? PARSERS[ISO_DATE_TIME].parsed(date) : null;
+        }
+
+        if (length != 10) {
+            return null;
+        }
+
+        char second = s.charAt(2);
+        char fifth = s.charAt(4);
+
+        if (fifth == '-' && s.charAt(7) == '-') {
+            // yyyy-MM-dd
+            LocalDate date = resolveStrict(year(s, 0), digits(s, 5), digits(s, 8));
+            return date != null ? PARSERS[ISO_DATE].parsed(date) : null;
+        }
+
+        if (fifth == '/' && s.charAt(7) == '/') {
+            // yyyy/MM/dd
+            LocalDate date = resolveSmart(year(s, 0), digits(s, 5), digits(s, 8));
+            return date != null ? PARSERS[YEAR_FIRST_SLASH].parsed(date) : null;
+        }
+
+        if (second != s.charAt(5)) {
+            return null;
+        }
+
+        int first = digits(s, 0);
+        int middle = digits(s, 3);
+        int year = year(s, 6);
+
+        if (second == '/') {
+            // dd/MM/yyyy wins over MM/dd/yyyy when both are valid
+            LocalDate date = resolveSmart(year, middle, first);
+            if (date != null) {
+                return PARSERS[DAY_FIRST_SLASH].parsed(date);
+            }
+            date = resolveSmart(year, first, middle);
+            return date != null ? PARSERS[MONTH_FIRST_SLASH].parsed(date) : null;
+        }
+
+        if (second == '-') {
+            LocalDate date = resolveSmart(year, middle, first);
+            return date != null ? PARSERS[DAY_FIRST_DASH].parsed(date) : null;
+        }
+
+        if (second == '.') {
+            LocalDate date = resolveSmart(year, middle, first);
+            return date != null ? PARSERS[DAY_FIRST_DOT].parsed(date) : null;
+        }
+
+        return null;
+    }
+
+    /**
+     * Mirrors ResolverStyle.STRICT with 'uuuu': any 4-digit year, real days only.
+     */
+    private static LocalDate resolveStrict(int year, int month, int day) {
+        if (year < 0 || month < 1 || month > 12 || day < 1) {
+            return null;
+        }
+        if (day > Month.of(month).length(Year.isLeap(year))) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * Mirrors ResolverStyle.SMART with 'yyyy': year-of-era must be positive and
+     * days 29-31 are clamped to the last day of the month.
+     */
+    private static LocalDate resolveSmart(int year, int month, int day) {
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return null;
+        }
+        int lastDay = Month.of(month).length(Year.isLeap(year));
+        return LocalDate.of(year, month, Math.min(day, lastDay));
+    }
+
+    /**
+     * Parses exactly two ASCII digits at the offset, or returns -1.
+     */
+    private static int digits(String s, int offset) {
+        int tens = s.charAt(offset) - '0';
+        int units = s.charAt(offset + 1) - '0';
+        if (tens < 0 || tens > 9 || units < 0 || units > 9) {
+            return -1;
+        }
+        return tens * 10 + units;
+    }
+
+    /**
+     * Parses exactly four ASCII digits at the offset, or returns -1.
+     */
+    private static int year(String s, int offset) {
+        int high = digits(s, offset);
+        int low = digits(s, offset + 2);
+        return high < 0 || low < 0 ? -1 : high * 100 + low;
+    }
+
+    /**
+     * True when the input could still be a signed or more-than-4-digit year form,
+     * i.e. it is longer than the fixed shapes and only uses date characters.
+     */
+    private static boolean isExtendedYearCandidate(String s) {
+        if (s.length() <= 10) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            boolean dateChar = (c >= '0' && c <= '9')
+                    || c == '-' || c == '+' || c == '/' || c == '.' || c == ':' || c == 'T';
+            if (!dateChar) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static class DateParser {
         final DateTimeFormatter formatter;
         final String pattern;
+        final boolean ambiguous;
 
         DateParser(String pattern, ResolverStyle style) {
             this.pattern = pattern;
+            this.ambiguous = isAmbiguousPattern(pattern);
 
             // FIX: If style is STRICT, we MUST use 'u' (proleptic year) instead of 'y' (year of era).
             // 'y' fails validation in strict mode if era is missing.
@@ -245,6 +414,10 @@ public final class DateUtils {
             this.formatter = DateTimeFormatter.ofPattern(parsePattern)
                     .withResolverStyle(style);
         }
+
+        ParsedDate parsed(LocalDate date) {
+            return new ParsedDate(date, pattern, ambiguous);
+        }
     }
 
     private static boolean isAmbiguousPattern(String pattern) {
@@ -0,0 +1,153 @@
+package json;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import commons.kit.ErrorUtils.Result;
+import commons.kit.JsonUtils.JsonCodec;
+import commons.kit.JsonUtils.JsonUtils;
+import commons.kit.JsonUtils.TypeRef;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonCodecTest {
+
+    static class Item {
+        public String sku;
+        public int qty;
+    }
+
+    static class Shipment {
+        public String id;
+        public BigDecimal total;
+        public LocalDate shipped;
+        public Item item;
+        public String note = "none";
+        private int priority;
+
+        @JsonProperty("prio")
+        public void setPriority(int priority) {
+            this.priority = priority;
+        }
+    }
+
+    private static final TypeRef<List<Item>> ITEMS = new TypeRef<List<Item>>() {};
+
+    // ========================================================================
+    // TYPEREF TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("TypeRef - Captures generic types and compares by type")
+    void testTypeRefCapture() {
+        assertEquals("java.util.List<json.JsonCodecTest$Item>", ITEMS.toString());
+        assertEquals(List.class, ITEMS.getRawClass());
+        assertEquals(ITEMS, new TypeRef<List<Item>>() {});
+        assertEquals(TypeRef.of(String.class), new TypeRef<String>() {});
+    }
+
+    @Test
+    @DisplayName("TypeRef - Rejects a missing type argument")
+    @SuppressWarnings("rawtypes")
+    void testTypeRefRaw() {
+        assertThrows(IllegalArgumentException.class, () -> new TypeRef() {});
+    }
+
+    // ========================================================================
+    // CODEC TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("codec() - Returns the cached codec for a type")
+    void testCodecCached() {
+        assertSame(JsonUtils.codec(Item.class), JsonUtils.codec(Item.class));
+        assertSame(JsonUtils.codec(ITEMS), JsonUtils.codec(new TypeRef<List<Item>>() {}));
+    }
+
+    @Test
+    @DisplayName("codec() - Round-trips values through strings and bytes")
+    void testCodecRoundTrip() {
+        JsonCodec<Item> codec = JsonUtils.codec(Item.class);
+        Item item = codec.<String>fromJson("{\"sku\":\"A-1\",\"qty\":2}").getOrThrow();
+
+        byte[] bytes = codec.<String>toJsonBytes(item).getOrThrow();
+        Item copy = codec.<String>fromJsonBytes(bytes).getOrThrow();
+
+        assertEquals("A-1", copy.sku);
+        assertEquals(2, copy.qty);
+        assertTrue(new String(bytes, StandardCharsets.UTF_8).contains("\"qty\""));
+        assertTrue(codec.fromJson("").isErr());
+    }
+
+    @Test
+    @DisplayName("fromJson() - Binds generic element types")
+    void testFromJsonGeneric() {
+        Result<String, List<Item>> result = JsonUtils.fromJson("[{\"sku\":\"A-1\",\"qty\":2},{\"sku\":\"B-7\"}]", ITEMS);
+
+        List<Item> items = result.getOrThrow();
+        assertEquals(2, items.size());
+        assertEquals("B-7", items.get(1).sku);
+    }
+
+    @Test
+    @DisplayName("convert() - Converts maps to generic types")
+    void testConvertGeneric() {
+        List<Map<String, Object>> rows = List.of(Map.of("sku", "A-1", "qty", 3));
+
+        Result<String, List<Item>> result = JsonUtils.convert(rows, ITEMS);
+
+        assertEquals(3, result.getOrThrow().get(0).qty);
+        assertTrue(JsonUtils.convert(null, ITEMS).isErr());
+    }
+
+    @Test
+    @DisplayName("toList() - Rejects arrays whose elements are not objects")
+    void testToListTyped() {
+        assertTrue(JsonUtils.toList("[{\"a\":1}]").isOk());
+        assertTrue(JsonUtils.toList("[1, 2]").isErr());
+    }
+
+    @Test
+    @DisplayName("convert() - Binds maps and trees onto beans like convertValue")
+    void testConvertBean() {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", "S-1");
+        row.put("total", 12);
+        row.put("shipped", "2024-03-15");
+        row.put("item", Map.of("sku", "A-1", "qty", 2));
+        row.put("note", null);
+        row.put("prio", "3");
+        row.put("unknown", true);
+
+        Shipment fromMap = JsonUtils.<String, Shipment>convert(row, Shipment.class).getOrThrow();
+        Shipment fromTree = JsonUtils.<String>parseNode(JsonUtils.<String>toJson(row).getOrThrow())
+                .flatMap(node -> JsonUtils.<String, Shipment>convert(node, Shipment.class))
+                .getOrThrow();
+
+        for (Shipment shipment : List.of(fromMap, fromTree)) {
+            assertEquals("S-1", shipment.id);
+            assertEquals(new BigDecimal("12"), shipment.total);
+            assertEquals(LocalDate.of(2024, 3, 15), shipment.shipped);
+            assertEquals("A-1", shipment.item.sku);
+            assertEquals(2, shipment.item.qty);
+            assertEquals(3, shipment.priority);
+            assertEquals("none", shipment.note); // Nulls are skipped, as with NON_NULL output
+        }
+    }
+
+    @Test
+    @DisplayName("convert() - Reports values that cannot be bound")
+    void testConvertBeanInvalid() {
+        Result<String, Item> result = JsonUtils.convert(Map.of("sku", "A-1", "qty", "many"), Item.class);
+
+        assertTrue(result.isErr());
+        assertTrue(result.getErrOrThrow().startsWith("Type conversion failed: "));
+    }
+}
@@ -0,0 +1,193 @@
+package json;
+
+import commons.kit.ErrorUtils.Result;
+import commons.kit.JsonUtils.JsonError;
+import commons.kit.JsonUtils.JsonLines;
+import commons.kit.JsonUtils.JsonLinesWriter;
+import commons.kit.JsonUtils.JsonUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonLinesTest {
+
+    static class Event {
+        public long id;
+        public String name;
+
+        Event() {
+        }
+
+        Event(long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    private static final JsonLines<Event> EVENTS = JsonUtils.jsonLines(Event.class);
+
+    private static InputStream lines(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String events(int count) {
+        // Names of varying length, some longer than the small chunks used below
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> "{\"id\":" + id + ",\"name\":\"" + "x".repeat((int) (id % 40)) + "\"}\n")
+                .collect(Collectors.joining());
+    }
+
+    // ========================================================================
+    // READ TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("read() - Keeps input order across parallel chunks")
+    void testReadOrdered() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (Stream<Result<JsonError, Event>> events = EVENTS.withExecutor(executor).withChunkSize(32)
+                .read(lines(events(2000)))) {
+            List<Long> ids = events.map(event -> event.getOrThrow().id).collect(Collectors.toList());
+
+            assertEquals(LongStream.rangeClosed(1, 2000).boxed().collect(Collectors.toList()), ids);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("read() - Unordered mode yields every record")
+    void testReadUnordered() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (Stream<Result<JsonError, Event>> events = EVENTS.withExecutor(executor).withOrdered(false)
+                .withChunkSize(256).read(lines(events(2000)))) {
+            Set<Long> ids = events.map(event -> event.getOrThrow().id).collect(Collectors.toSet());
+
+            assertEquals(LongStream.rangeClosed(1, 2000).boxed().collect(Collectors.toSet()), ids);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("read() - Reports bad lines with their line number and moves on")
+    void testReadErrors() {
+        String text = "{\"id\":1}\r\n\n  \n{bad\n{\"id\":\"x\"}\r\n{\"id\":6}";
+
+        for (JsonLines<Event> reader : List.of(EVENTS, EVENTS.sequential())) {
+            try (Stream<Result<JsonError, Event>> events = reader.read(lines(text))) {
+                List<Result<JsonError, Event>> results = events.collect(Collectors.toList());
+
+                assertEquals(4, results.size());
+                assertEquals(1, results.get(0).getOrThrow().id);
+                assertEquals(JsonError.Kind.SYNTAX, results.get(1).getErrOrThrow().kind());
+                assertEquals(4, results.get(1).getErrOrThrow().line());
+                assertEquals(JsonError.Kind.MAPPING, results.get(2).getErrOrThrow().kind());
+                assertEquals(5, results.get(2).getErrOrThrow().line());
+                assertEquals(6, results.get(3).getOrThrow().id);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("read() - Skips a byte order mark and handles empty input")
+    void testReadEdges() {
+        byte[] bom = "\uFEFF{\"id\":7}\n".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(7, EVENTS.sequential().read(new ByteArrayInputStream(bom)).findFirst().orElseThrow().getOrThrow().id);
+        assertEquals(0, EVENTS.read(lines("")).count());
+        assertThrows(IllegalArgumentException.class, () -> EVENTS.withChunkSize(0));
+    }
+
+    @Test
+    @DisplayName("read() - Ends with an IO error when the input fails")
+    void testReadFailure() {
+        InputStream failing = new InputStream() {
+            private final InputStream data = lines("{\"id\":1}\n{\"id\":2}\n");
+
+            @Override
+            public int read() throws IOException {
+                int b = data.read();
+                if (b < 0) {
+                    throw new IOException("disk gone");
+                }
+                return b;
+            }
+        };
+
+        List<Result<JsonError, Event>> results = EVENTS.read(failing).collect(Collectors.toList());
+
+        assertEquals(3, results.size());
+        assertEquals(2, results.get(1).getOrThrow().id);
+        assertEquals(JsonError.Kind.IO, results.get(2).getErrOrThrow().kind());
+    }
+
+    @Test
+    @DisplayName("read(Path) - Reads a file and reports a missing one")
+    void testReadPath(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("events.ndjson");
+        Files.writeString(file, events(100));
+
+        try (Stream<Result<JsonError, Event>> events = EVENTS.read(file)) {
+            assertEquals(100, events.filter(Result::isOk).count());
+        }
+        List<Result<JsonError, Event>> missing = EVENTS.read(dir.resolve("missing.ndjson")).collect(Collectors.toList());
+        assertEquals(1, missing.size());
+        assertEquals(JsonError.Kind.IO, missing.get(0).getErrOrThrow().kind());
+    }
+
+    // ========================================================================
+    // WRITE TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("writer() - Writes compact records, one per line")
+    void testWriter() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (JsonLinesWriter<Event> writer = EVENTS.withFlushEvery(2).writer(output)) {
+            assertTrue(writer.write(new Event(1, "a\nb")).isOk());
+            assertEquals(0, output.size()); // Still buffered
+            Result<String, Long> written = writer.writeAll(Stream.of(new Event(2, "c"), new Event(3, "d")));
+            assertEquals(2L, written.getOrThrow());
+            assertEquals(3, writer.written());
+            assertTrue(output.size() > 0); // Flushed after the second record
+        }
+
+        String text = output.toString(StandardCharsets.UTF_8);
+        assertEquals(3, text.split("\n").length);
+        assertTrue(text.startsWith("{\"id\":1,\"name\":\"a\\nb\"}\n"));
+    }
+
+    @Test
+    @DisplayName("write(Path) - Round-trips through a file")
+    void testWritePathRoundTrip(@TempDir Path dir) {
+        Path file = dir.resolve("out.ndjson");
+        List<Event> events = LongStream.range(0, 500).mapToObj(id -> new Event(id, "e" + id)).collect(Collectors.toList());
+
+        Result<String, Long> written = EVENTS.write(file, events);
+
+        assertEquals(500L, written.getOrThrow());
+        try (Stream<Result<JsonError, Event>> read = EVENTS.withChunkSize(1024).read(file)) {
+            assertEquals(events.stream().map(event -> event.name).collect(Collectors.toList()),
+                    read.map(event -> event.getOrThrow().name).collect(Collectors.toList()));
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package json;
+
+import commons.kit.ErrorUtils.Result;
+import commons.kit.JsonUtils.JsonNodeWrapper;
+import commons.kit.JsonUtils.JsonPatch;
+import commons.kit.JsonUtils.JsonUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonPatchTest {
+
+    private static JsonNodeWrapper parse(String json) {
+        return JsonUtils.<String>parseNode(json).getOrThrow();
+    }
+
+    private static String compact(JsonNodeWrapper node) {
+        return node.unwrap().toString();
+    }
+
+    // ========================================================================
+    // JSON PATCH (RFC 6902) TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("patch() - Applies add, remove, replace, move, copy and test")
+    void testPatchOperations() {
+        JsonNodeWrapper doc = parse("{\"user\":{\"mail\":\"a@x.io\",\"tags\":[\"a\",\"c\"]},\"tmp\":1}");
+
+        Result<String, JsonNodeWrapper> result = JsonUtils.patch(doc, "["
+                + "{\"op\":\"test\",\"path\":\"/tmp\",\"value\":1.0},"
+                + "{\"op\":\"add\",\"path\":\"/user/tags/1\",\"value\":\"b\"},"
+                + "{\"op\":\"add\",\"path\":\"/user/tags/-\",\"value\":\"d\"},"
+                + "{\"op\":\"move\",\"from\":\"/user/mail\",\"path\":\"/user/email\"},"
+                + "{\"op\":\"copy\",\"from\":\"/user/email\",\"path\":\"/contact\"},"
+                + "{\"op\":\"replace\",\"path\":\"/user/tags/0\",\"value\":\"A\"},"
+                + "{\"op\":\"remove\",\"path\":\"/tmp\"}]");
+
+        assertEquals("{\"user\":{\"tags\":[\"A\",\"b\",\"c\",\"d\"],\"email\":\"a@x.io\"},\"contact\":\"a@x.io\"}",
+                compact(result.getOrThrow()));
+    }
+
+    @Test
+    @DisplayName("patch() - Decodes escaped pointer segments")
+    void testPatchEscapes() {
+        JsonNodeWrapper doc = parse("{\"a/b\":1,\"m~n\":2}");
+
+        Result<String, JsonNodeWrapper> result = JsonUtils.patch(doc, List.of(
+                Map.of("op", "replace", "path", "/a~1b", "value", 10),
+                Map.of("op", "remove", "path", "/m~0n")));
+
+        assertEquals("{\"a/b\":10}", compact(result.getOrThrow()));
+    }
+
+    @Test
+    @DisplayName("patch() - Is atomic and lists every failed operation")
+    void testPatchFailures() {
+        JsonNodeWrapper doc = parse("{\"a\":{\"b\":1},\"list\":[1]}");
+
+        Result<String, JsonNodeWrapper> result = JsonUtils.patch(doc, "["
+                + "{\"op\":\"replace\",\"path\":\"/a/b\",\"value\":2},"
+                + "{\"op\":\"remove\",\"path\":\"/a/missing\"},"
+                + "{\"op\":\"add\",\"path\":\"/list/5\",\"value\":0},"
+                + "{\"op\":\"test\",\"path\":\"/a/b\",\"value\":2}]");
+
+        assertTrue(result.isErr());
+        assertEquals("Patch failed: [1] remove /a/missing: path not found; "
+                + "[2] add /list/5: index out of bounds", result.getErrOrThrow());
+        assertEquals(1, doc.at("/a/b").asInt()); // Input untouched
+    }
+
+    @Test
+    @DisplayName("compilePatch() - Rejects invalid operations up front")
+    void testCompileInvalid() {
+        Result<String, JsonPatch> result = JsonUtils.compilePatch("["
+                + "{\"op\":\"upsert\",\"path\":\"/a\"},"
+                + "{\"op\":\"add\",\"path\":\"a\",\"value\":1},"
+                + "{\"op\":\"replace\",\"path\":\"/a\"},"
+                + "{\"op\":\"move\",\"from\":\"/a\",\"path\":\"/a/b\"}]");
+
+        assertTrue(result.isErr());
+        String error = result.getErrOrThrow();
+        assertTrue(error.contains("[0] upsert /a: unknown op"));
+        assertTrue(error.contains("[1] add a: 'path' must be a JSON Pointer"));
+        assertTrue(error.contains("[2] replace /a: missing 'value'"));
+        assertTrue(error.contains("[3] move /a/b: cannot move a value into one of its children"));
+        assertTrue(JsonUtils.compilePatch("{\"op\":\"add\"}").isErr());
+        assertTrue(JsonUtils.compilePatch(null).isErr());
+    }
+
+    @Test
+    @DisplayName("compilePatch() - Reuses one patch and shares untouched subtrees")
+    void testCompiledReuse() {
+        JsonPatch patch = JsonUtils.<String>compilePatch("["
+                + "{\"op\":\"replace\",\"path\":\"/config/http/timeout\",\"value\":60},"
+                + "{\"op\":\"add\",\"path\":\"/config/http/retries\",\"value\":3},"
+                + "{\"op\":\"remove\",\"path\":\"/config/http/legacy\"}]").getOrThrow();
+
+        assertEquals(3, patch.size());
+        for (int i = 0; i < 2; i++) {
+            JsonNodeWrapper doc = parse("{\"config\":{\"http\":{\"timeout\":30,\"legacy\":true},\"db\":{\"pool\":" + i + "}}}");
+
+            JsonNodeWrapper patched = patch.<String>apply(doc).getOrThrow();
+
+            assertEquals("{\"timeout\":60,\"retries\":3}", compact(patched.at("/config/http")));
+            assertSame(doc.at("/config/db").<Object>unwrap(), patched.at("/config/db").unwrap());
+            assertTrue(doc.at("/config/http/legacy").asBoolean());
+        }
+    }
+
+    // ========================================================================
+    // MERGE PATCH (RFC 7396) TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("mergePatch() - Applies the RFC 7396 example")
+    void testMergePatch() {
+        JsonNodeWrapper doc = parse("{\"title\":\"Goodbye!\",\"author\":{\"givenName\":\"John\",\"familyName\":\"Doe\"},"
+                + "\"tags\":[\"example\",\"sample\"],\"content\":\"This will be unchanged\"}");
+
+        Result<String, JsonNodeWrapper> result = JsonUtils.mergePatch(doc, "{\"title\":\"Hello!\",\"phoneNumber\":\"+01-123-456-7890\","
+                + "\"author\":{\"familyName\":null},\"tags\":[\"example\"]}");
+
+        assertEquals("{\"title\":\"Hello!\",\"author\":{\"givenName\":\"John\"},\"tags\":[\"example\"],"
+                + "\"content\":\"This will be unchanged\",\"phoneNumber\":\"+01-123-456-7890\"}", compact(result.getOrThrow()));
+        assertEquals("Doe", doc.at("/author/familyName").asText());
+    }
+
+    @Test
+    @DisplayName("compileMergePatch() - Replaces non-objects and counts changes")
+    void testCompileMergePatch() {
+        JsonPatch patch = JsonUtils.<String>compileMergePatch(Map.of("a", Map.of("b", 1, "c", 2))).getOrThrow();
+
+        assertEquals(2, patch.size());
+        assertEquals(1, patch.<String>apply(parse("[1,2]")).getOrThrow().at("/a/b").asInt());
+        assertEquals("[]", compact(JsonUtils.<String>mergePatch(parse("{\"a\":1}"), "[]").getOrThrow()));
+        assertTrue(JsonUtils.compileMergePatch("{not json").isErr());
+    }
+
+    // ========================================================================
+    // DIFF TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("diff() - Produces a patch that turns one document into the other")
+    void testDiffRoundTrip() {
+        JsonNodeWrapper v1 = parse("{\"id\":1,\"name\":\"Alice\",\"tags\":[\"a\",\"b\",\"c\"],\"meta\":{\"v\":1,\"old\":true}}");
+        JsonNodeWrapper v2 = parse("{\"id\":1,\"name\":\"Alicia\",\"tags\":[\"a\",\"x\",\"b\",\"c\"],\"meta\":{\"v\":2},\"a/b\":0}");
+
+        JsonNodeWrapper delta = JsonUtils.<String>diff(v1, v2).getOrThrow();
+
+        assertEquals("[{\"op\":\"replace\",\"path\":\"/name\",\"value\":\"Alicia\"},"
+                + "{\"op\":\"add\",\"path\":\"/tags/1\",\"value\":\"x\"},"
+                + "{\"op\":\"replace\",\"path\":\"/meta/v\",\"value\":2},"
+                + "{\"op\":\"remove\",\"path\":\"/meta/old\"},"
+                + "{\"op\":\"add\",\"path\":\"/a~1b\",\"value\":0}]", compact(delta));
+        assertEquals(v2.<Object>unwrap(), JsonUtils.<String>patch(v1, delta).getOrThrow().unwrap());
+    }
+
+    @Test
+    @DisplayName("diff() - Diffs changed array elements in place")
+    void testDiffArrayElements() {
+        JsonNodeWrapper v1 = parse("[{\"id\":1,\"qty\":1},{\"id\":2,\"qty\":1},{\"id\":3,\"qty\":1}]");
+        JsonNodeWrapper v2 = parse("[{\"id\":1,\"qty\":1},{\"id\":2,\"qty\":5}]");
+
+        JsonNodeWrapper delta = JsonUtils.<String>diff(v1, v2).getOrThrow();
+
+        assertEquals("[{\"op\":\"replace\",\"path\":\"/1/qty\",\"value\":5},{\"op\":\"remove\",\"path\":\"/2\"}]",
+                compact(delta));
+    }
+
+    @Test
+    @DisplayName("diff() - Returns an empty patch for equal documents")
+    void testDiffEqual() {
+        JsonNodeWrapper doc = parse("{\"a\":[1,{\"b\":\"x\"}]}");
+
+        assertEquals(0, JsonUtils.<String>diff(doc, doc).getOrThrow().size());
+        assertEquals(0, JsonUtils.<String>diff(doc, Map.of("a", List.of(1, Map.of("b", "x")))).getOrThrow().size());
+        assertEquals("[{\"op\":\"replace\",\"path\":\"\",\"value\":[]}]",
+                compact(JsonUtils.<String>diff(doc, List.of()).getOrThrow()));
+    }
+
+    @Test
+    @DisplayName("diff() - Stays correct for arrays too large to align")
+    void testDiffLargeArrays() {
+        List<Integer> before = new ArrayList<>();
+        List<Integer> after = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            before.add(i);
+            after.add(i % 7 == 0 ? -i : i);
+        }
+        after.add(0, 42);
+
+        JsonNodeWrapper delta = JsonUtils.<String>diff(before, after).getOrThrow();
+
+        assertEquals(JsonUtils.<String>parseNode(JsonUtils.<String>toJson(after).getOrThrow()).getOrThrow().<Object>unwrap(),
+                JsonUtils.<String>patch(before, delta).getOrThrow().unwrap());
+    }
+
+    @Test
+    @DisplayName("diff() - Aligns arrays of large equal elements without comparing them per cell")
+    void testDiffLargeEqualElements() {
+        StringBuilder row = new StringBuilder("{");
+        for (int f = 0; f < 600; f++) {
+            row.append(f == 0 ? "" : ",").append("\"f").append(f).append("\":").append(f);
+        }
+        row.append('}');
+        String rows = String.join(",", Collections.nCopies(600, row));
+        JsonNodeWrapper before = parse("[\"first\"," + rows + "]");
+        JsonNodeWrapper after = parse("[" + rows + ",\"last\"]");
+
+        JsonNodeWrapper delta = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> JsonUtils.<String>diff(before, after).getOrThrow());
+
+        assertEquals("[{\"op\":\"remove\",\"path\":\"/0\"},{\"op\":\"add\",\"path\":\"/600\",\"value\":\"last\"}]",
+                compact(delta));
+    }
+}
@@ -0,0 +1,118 @@
+package json;
+
+import commons.kit.ErrorUtils.Result;
+import commons.kit.JsonUtils.JsonNodeWrapper;
+import commons.kit.JsonUtils.JsonPath;
+import commons.kit.JsonUtils.JsonUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonPathTest {
+
+    private static final String JSON =
+            "{\"users\":[{\"name\":\"Alice\",\"address\":{\"city\":\"NYC\"}},{\"name\":\"Bob\"}],\"10\":\"ten\"}";
+
+    // ========================================================================
+    // COMPILATION TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("compile() - Splits segments and pre-parses indexes")
+    void testCompileSegments() {
+        JsonPath path = JsonPath.compile("users.0.address.city");
+
+        assertEquals(4, path.length());
+        assertEquals("users", path.segment(0));
+        assertFalse(path.isIndex(0));
+        assertTrue(path.isIndex(1));
+        assertEquals(0, path.index(1));
+        assertEquals(-1, path.index(2));
+        assertEquals("users.0.address.city", path.toString());
+    }
+
+    @Test
+    @DisplayName("compile() - Splits like String.split on dots")
+    void testCompileSplitShape() {
+        assertEquals(1, JsonPath.compile("").length());
+        assertEquals(0, JsonPath.compile("..").length());
+        assertEquals(3, JsonPath.compile("a..b").length());
+        assertEquals(2, JsonPath.compile("a.b.").length());
+    }
+
+    @Test
+    @DisplayName("compile() - Clamps huge indexes and rejects null")
+    void testCompileHugeIndexAndNull() {
+        assertEquals(Integer.MAX_VALUE, JsonPath.compile("99999999999").index(0));
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile(null));
+    }
+
+    @Test
+    @DisplayName("of() - Reuses cached instances")
+    void testOfCaches() {
+        assertSame(JsonPath.of("users.1.name"), JsonPath.of("users.1.name"));
+        assertEquals(JsonPath.compile("users.1.name"), JsonPath.of("users.1.name"));
+    }
+
+    @Test
+    @DisplayName("of() - Keeps working once the cache is full")
+    void testOfPastCacheSize() {
+        for (int i = 0; i < JsonPath.CACHE_SIZE * 3; i++) {
+            assertEquals(JsonPath.compile("rows." + i), JsonPath.of("rows." + i));
+        }
+        JsonPath hot = JsonPath.of("rows.hot");
+        assertSame(hot, JsonPath.of("rows.hot"));
+    }
+
+    @Test
+    @DisplayName("of() - Keeps a path in use cached while one-off paths overflow the cache")
+    void testOfEvictsLeastRecentlyUsed() {
+        JsonPath hot = JsonPath.of("orders.hot.id");
+        for (int i = 0; i < JsonPath.CACHE_SIZE * 4; i++) {
+            JsonPath.of("orders.cold." + i);
+            assertSame(hot, JsonPath.of("orders.hot.id"), "evicted after " + i + " other paths");
+        }
+    }
+
+    @Test
+    @DisplayName("toPointer() - Escapes ~ and /")
+    void testToPointer() {
+        assertEquals("/users/0/a~1b~0c", JsonPath.compile("users.0.a/b~c").toPointer());
+    }
+
+    // ========================================================================
+    // NAVIGATION TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("getStringAt() - Reads with a compiled path")
+    void testGetStringCompiled() {
+        JsonNodeWrapper node = JsonUtils.parseNode(JSON).getOrThrow();
+
+        assertEquals("NYC", JsonUtils.getStringAt(node, JsonPath.compile("users.0.address.city")).orElse(null));
+        assertTrue(JsonUtils.getStringAt(node, JsonPath.compile("users.5.name")).isEmpty());
+        assertTrue(JsonUtils.getStringAt(node, JsonPath.compile("10")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("updatePathAt() - Writes with a compiled path")
+    void testUpdatePathCompiled() {
+        JsonNodeWrapper node = JsonUtils.parseNode(JSON).getOrThrow();
+
+        Result<String, JsonNodeWrapper> result = JsonUtils.updatePathAt(node, JsonPath.compile("users.1.address.zip"), "10001");
+
+        assertTrue(result.isOk());
+        assertEquals("10001", JsonUtils.getString(result.getOrThrow(), "users.1.address.zip").orElse(null));
+    }
+
+    @Test
+    @DisplayName("at() - Navigates like a JSON pointer")
+    void testAtCompiled() {
+        JsonNodeWrapper node = JsonUtils.parseNode(JSON).getOrThrow();
+
+        assertEquals("Bob", node.at(JsonPath.compile("users.1.name")).asText());
+        assertEquals("ten", node.at(JsonPath.compile("10")).asText());
+        assertNull(node.at(JsonPath.compile("users.2")));
+    }
+}
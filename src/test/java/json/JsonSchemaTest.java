@@ -0,0 +1,372 @@
+package json;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import commons.kit.ErrorUtils.Empty;
+import commons.kit.ErrorUtils.Result;
+import commons.kit.JsonUtils.JacksonJsonProvider;
+import commons.kit.JsonUtils.JsonNodeWrapper;
+import commons.kit.JsonUtils.JsonProvider;
+import commons.kit.JsonUtils.JsonSchema;
+import commons.kit.JsonUtils.JsonUtils;
+import commons.kit.JsonUtils.SimpleJsonProvider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonSchemaTest {
+
+    private static final String ORDER_SCHEMA = "{"
+            + "\"type\":\"object\","
+            + "\"required\":[\"id\",\"items\"],"
+            + "\"additionalProperties\":false,"
+            + "\"properties\":{"
+            + "  \"id\":{\"type\":\"string\",\"pattern\":\"^ord-[0-9]+$\"},"
+            + "  \"note\":{\"type\":[\"string\",\"null\"],\"maxLength\":5},"
+            + "  \"items\":{\"type\":\"array\",\"minItems\":1,\"items\":{\"$ref\":\"#/$defs/line\"}}"
+            + "},"
+            + "\"$defs\":{\"line\":{"
+            + "  \"type\":\"object\",\"required\":[\"sku\",\"qty\"],"
+            + "  \"properties\":{\"sku\":{\"type\":\"string\"},\"qty\":{\"type\":\"integer\",\"minimum\":1}}"
+            + "}}}";
+
+    private static JsonSchema compile(String schema) {
+        return JsonUtils.<String>compileSchema(schema).getOrThrow();
+    }
+
+    /**
+     * Validates a document as a tree and as text, asserting both modes agree.
+     */
+    private static Result<String, JsonNodeWrapper> validate(JsonSchema schema, String json) {
+        Result<String, JsonNodeWrapper> tree = schema.validate(JsonUtils.<String>parseNode(json).getOrThrow());
+        Result<String, Empty> text = schema.validateJson(json);
+        assertEquals(tree.isOk(), text.isOk(), json);
+        if (tree.isErr()) {
+            assertEquals(tree.getErrOrThrow(), text.getErrOrThrow(), json);
+        }
+        return tree;
+    }
+
+    // ========================================================================
+    // VALIDATION TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("validate() - Accepts a valid document and returns it")
+    void testValidateValid() {
+        JsonSchema schema = compile(ORDER_SCHEMA);
+        JsonNodeWrapper doc = JsonUtils.<String>parseNode(
+                "{\"id\":\"ord-1\",\"note\":null,\"items\":[{\"sku\":\"a\",\"qty\":2},{\"sku\":\"b\",\"qty\":1.0}]}").getOrThrow();
+
+        Result<String, JsonNodeWrapper> result = schema.validate(doc);
+
+        assertTrue(result.isOk());
+        assertSame(doc, result.getOrThrow());
+    }
+
+    @Test
+    @DisplayName("validate() - Reports every violation at its JSON Pointer")
+    void testValidateAccumulatesErrors() {
+        JsonSchema schema = compile(ORDER_SCHEMA);
+
+        Result<String, JsonNodeWrapper> result = validate(schema,
+                "{\"id\":\"x\",\"note\":\"too long\",\"extra\":1,\"items\":[{\"sku\":\"a\",\"qty\":2},{\"qty\":0},{\"sku\":1,\"qty\":1.5}]}");
+
+        assertEquals("Schema validation failed: "
+                + "/id: must match pattern '^ord-[0-9]+$'; "
+                + "/note: must be at most 5 characters long; "
+                + "/extra: property not allowed; "
+                + "/items/1/qty: must be >= 1; "
+                + "/items/1: missing required property 'sku'; "
+                + "/items/2/sku: expected string, found integer; "
+                + "/items/2/qty: expected integer, found number", result.getErrOrThrow());
+    }
+
+    @Test
+    @DisplayName("validate() - Reports type mismatches at the root")
+    void testValidateRootType() {
+        JsonSchema schema = compile(ORDER_SCHEMA);
+
+        assertEquals("Schema validation failed: (root): expected object, found array",
+                validate(schema, "[1,2]").getErrOrThrow());
+    }
+
+    @Test
+    @DisplayName("validate() - Checks numeric bounds exactly, including big numbers")
+    void testValidateNumbers() {
+        JsonSchema schema = compile("{\"type\":\"number\",\"exclusiveMinimum\":0,\"maximum\":9007199254740993,\"multipleOf\":0.1}");
+
+        assertTrue(validate(schema, "0.3").isOk());
+        assertTrue(validate(schema, "9007199254740993").isOk());
+        assertEquals("Schema validation failed: (root): must be <= 9007199254740993",
+                validate(schema, "9007199254740994").getErrOrThrow());
+        assertEquals("Schema validation failed: (root): must be > 0",
+                validate(schema, "0").getErrOrThrow());
+        assertEquals("Schema validation failed: (root): must be a multiple of 0.1",
+                validate(schema, "0.25").getErrOrThrow());
+    }
+
+    @Test
+    @DisplayName("validate() - Checks integers and bounds on the digits of long numbers, not their doubles")
+    void testValidateLongNumbers() {
+        JsonSchema integer = compile("{\"type\":\"integer\"}");
+        JsonSchema maximum = compile("{\"maximum\":123456789012345678901234567890}");
+
+        assertEquals("Schema validation failed: (root): expected integer, found number",
+                validate(integer, "123456789012345678901234567890.5").getErrOrThrow());
+        assertEquals("Schema validation failed: (root): must be <= 123456789012345678901234567890",
+                maximum.<String>validateJson("123456789012345678901234567890.5").getErrOrThrow());
+        assertTrue(integer.validateJson("123456789012345678901234567890.0").isOk());
+        assertTrue(integer.validateJson("1e20").isOk());
+
+        // A tree's double of 2^53 or more may have lost a fraction; BigDecimal nodes keep it
+        assertTrue(integer.validate(JsonUtils.<String>parseNode("1e20").getOrThrow()).isErr());
+        JsonProvider exact = new JacksonJsonProvider(
+                new ObjectMapper().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS));
+        assertTrue(integer.validate(exact.<String>parseNode("1e20").getOrThrow()).isOk());
+        assertTrue(maximum.validate(exact.<String>parseNode("123456789012345678901234567890.5").getOrThrow()).isErr());
+    }
+
+    @Test
+    @DisplayName("validate() - Reports numbers too large for a double instead of throwing")
+    void testValidateOverflowingNumber() {
+        JsonSchema schema = compile("{\"multipleOf\":2}");
+
+        assertEquals("Schema validation failed: (root): must be a finite multiple of 2",
+                validate(schema, "1e400").getErrOrThrow());
+        assertTrue(validate(compile("{\"maximum\":10}"), "1e400").isErr());
+    }
+
+    @Test
+    @DisplayName("validate() - Applies object keywords")
+    void testValidateObjectKeywords() {
+        JsonSchema schema = compile("{"
+                + "\"propertyNames\":{\"maxLength\":6},"
+                + "\"patternProperties\":{\"^x-\":{\"type\":\"string\"}},"
+                + "\"additionalProperties\":{\"type\":\"integer\"},"
+                + "\"dependentRequired\":{\"card\":[\"cvv\"]},"
+                + "\"dependentSchemas\":{\"vip\":{\"required\":[\"level\"]}},"
+                + "\"maxProperties\":3}");
+
+        assertTrue(validate(schema, "{\"x-a\":\"s\",\"card\":1,\"cvv\":2}").isOk());
+        assertEquals("Schema validation failed: "
+                        + "/x-a: expected string, found integer; "
+                        + "/longname: must be at most 6 characters long; "
+                        + "(root): must have at most 3 properties; "
+                        + "(root): missing property 'cvv' required by 'card'; "
+                        + "(root): missing required property 'level'",
+                validate(schema, "{\"x-a\":1,\"card\":1,\"longname\":2,\"vip\":3}").getErrOrThrow());
+    }
+
+    @Test
+    @DisplayName("validate() - Applies array keywords")
+    void testValidateArrayKeywords() {
+        JsonSchema schema = compile("{"
+                + "\"prefixItems\":[{\"type\":\"string\"}],"
+                + "\"items\":{\"type\":\"number\"},"
+                + "\"contains\":{\"type\":\"integer\",\"minimum\":10},\"maxContains\":1,"
+                + "\"uniqueItems\":true,\"maxItems\":4}");
+
+        assertTrue(validate(schema, "[\"a\",1,10]").isOk());
+        assertEquals("Schema validation failed: /0: expected string, found integer; "
+                        + "(root): must contain at least 1 matching item(s), found 0",
+                validate(schema, "[1,2]").getErrOrThrow());
+        assertEquals("Schema validation failed: "
+                        + "(root): must contain at most 1 matching item(s), found 3; "
+                        + "(root): items must be unique, but items 1 and 3 are equal",
+                validate(schema, "[\"a\",10,11,10.0]").getErrOrThrow());
+    }
+
+    @Test
+    @DisplayName("validate() - Applies enum, const and the combinators")
+    void testValidateCombinators() {
+        JsonSchema schema = compile("{"
+                + "\"properties\":{"
+                + "  \"kind\":{\"enum\":[\"card\",\"cash\"]},"
+                + "  \"v\":{\"const\":1},"
+                + "  \"any\":{\"anyOf\":[{\"type\":\"string\"},{\"minimum\":5}]},"
+                + "  \"one\":{\"oneOf\":[{\"type\":\"integer\"},{\"minimum\":0}]},"
+                + "  \"not\":{\"not\":{\"type\":\"null\"}}"
+                + "},"
+                + "\"if\":{\"properties\":{\"kind\":{\"const\":\"card\"}}},"
+                + "\"then\":{\"required\":[\"number\"]},"
+                + "\"else\":{\"required\":[\"change\"]}}");
+
+        assertTrue(validate(schema, "{\"kind\":\"card\",\"number\":\"4111\",\"v\":1.0,\"any\":7,\"one\":-1,\"not\":0}").isOk());
+        assertEquals("Schema validation failed: "
+                        + "/kind: must be one of [\"card\",\"cash\"]; "
+                        + "/v: must be 1; "
+                        + "/any: must match at least one of the anyOf schemas; "
+                        + "/one: must match exactly one of the oneOf schemas, matched 2; "
+                        + "/not: must not match the 'not' schema; "
+                        + "(root): missing required property 'change'",
+                validate(schema, "{\"kind\":\"cheque\",\"v\":2,\"any\":1,\"one\":3,\"not\":null}").getErrOrThrow());
+    }
+
+    @Test
+    @DisplayName("validate() - Checks enum and const together")
+    void testValidateEnumAndConst() {
+        JsonSchema schema = compile("{\"const\":\"a\",\"enum\":[\"b\"]}");
+
+        assertEquals("Schema validation failed: (root): must be one of [\"b\"]", validate(schema, "\"a\"").getErrOrThrow());
+        assertEquals("Schema validation failed: (root): must be \"a\"", validate(schema, "\"b\"").getErrOrThrow());
+        assertEquals("Schema validation failed: (root): must be one of [\"b\"]; (root): must be \"a\"",
+                validate(schema, "\"c\"").getErrOrThrow());
+        assertTrue(validate(compile("{\"enum\":[\"a\",\"b\"],\"const\":\"a\"}"), "\"a\"").isOk());
+    }
+
+    @Test
+    @DisplayName("validate() - Reads items and additionalItems the same in any order")
+    void testValidateItemsKeywordOrder() {
+        for (String schema : List.of("{\"items\":{\"type\":\"string\"},\"additionalItems\":false}",
+                "{\"additionalItems\":false,\"items\":{\"type\":\"string\"}}")) {
+            assertTrue(validate(compile(schema), "[\"a\",\"b\"]").isOk(), schema);
+            assertTrue(validate(compile(schema), "[1]").isErr(), schema);
+        }
+        assertTrue(validate(compile("{\"additionalItems\":false}"), "[1,\"a\"]").isOk());
+
+        for (String schema : List.of("{\"items\":[{\"type\":\"string\"}],\"additionalItems\":false}",
+                "{\"additionalItems\":false,\"items\":[{\"type\":\"string\"}]}")) {
+            assertTrue(validate(compile(schema), "[\"a\"]").isOk(), schema);
+            assertEquals("Schema validation failed: /1: no value is allowed here",
+                    validate(compile(schema), "[\"a\",1]").getErrOrThrow(), schema);
+        }
+
+        for (String schema : List.of("{\"prefixItems\":[{\"type\":\"integer\"}],\"items\":[{\"type\":\"string\"}]}",
+                "{\"items\":[{\"type\":\"string\"}],\"prefixItems\":[{\"type\":\"integer\"}]}")) {
+            assertTrue(validate(compile(schema), "[1,\"a\",true]").isOk(), schema);
+            assertEquals("Schema validation failed: /0: expected integer, found string",
+                    validate(compile(schema), "[\"a\"]").getErrOrThrow(), schema);
+        }
+    }
+
+    @Test
+    @DisplayName("validate() - Follows recursive references")
+    void testValidateRecursiveRef() {
+        JsonSchema schema = compile("{\"$defs\":{\"node\":{"
+                + "\"type\":\"object\",\"required\":[\"name\"],"
+                + "\"properties\":{\"children\":{\"type\":\"array\",\"items\":{\"$ref\":\"#/$defs/node\"}}}}},"
+                + "\"$ref\":\"#/$defs/node\"}");
+
+        assertTrue(validate(schema, "{\"name\":\"a\",\"children\":[{\"name\":\"b\",\"children\":[{\"name\":\"c\"}]}]}").isOk());
+        assertEquals("Schema validation failed: /children/0/children/0: missing required property 'name'",
+                validate(schema, "{\"name\":\"a\",\"children\":[{\"name\":\"b\",\"children\":[{}]}]}").getErrOrThrow());
+    }
+
+    @Test
+    @DisplayName("validate() - Reports trees nested too deeply instead of overflowing the stack")
+    void testValidateDeepTree() {
+        JsonSchema schema = compile("{\"type\":\"object\",\"additionalProperties\":{\"$ref\":\"#\"}}");
+        ObjectNode root = JsonNodeFactory.instance.objectNode();
+        ObjectNode current = root;
+        for (int i = 0; i < 100_000; i++) {
+            current = current.putObject("a");
+        }
+
+        Result<String, JsonNodeWrapper> result = schema.validate(root);
+
+        assertEquals("Schema validation failed: document nesting depth exceeds the maximum of 1000", result.getErrOrThrow());
+    }
+
+    @Test
+    @DisplayName("compileSchema() - Percent-decodes reference pointers")
+    void testCompileEscapedRef() {
+        JsonSchema schema = compile("{\"$defs\":{\"a b\":{\"type\":\"string\"}},\"$ref\":\"#/$defs/a%20b\"}");
+
+        assertTrue(validate(schema, "\"x\"").isOk());
+        assertTrue(validate(schema, "1").isErr());
+        assertTrue(JsonUtils.compileSchema("{\"$ref\":\"#/$defs/a%2\"}").isErr());
+    }
+
+    @Test
+    @DisplayName("validate() - Escapes pointer segments and accepts Maps and boolean schemas")
+    void testValidateMapsAndBooleanSchemas() {
+        JsonSchema schema = compile("{\"properties\":{\"a/b\":false,\"ok\":true}}");
+
+        assertEquals("Schema validation failed: /a~1b: no value is allowed here",
+                schema.<String>validate(Map.of("a/b", 1, "ok", List.of())).getErrOrThrow());
+        assertTrue(JsonUtils.validate(Map.of("ok", 1), "{\"properties\":{\"a/b\":false}}").isOk());
+    }
+
+    // ========================================================================
+    // STREAMING TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("validateJson() - Validates bytes and streams without closing them")
+    void testValidateJsonSources() {
+        JsonSchema schema = compile(ORDER_SCHEMA);
+        byte[] bytes = "{\"id\":\"ord-7\",\"items\":[{\"sku\":\"a\",\"qty\":0}]}".getBytes(StandardCharsets.UTF_8);
+        boolean[] closed = {false};
+        ByteArrayInputStream input = new ByteArrayInputStream(bytes) {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        assertEquals("Schema validation failed: /items/0/qty: must be >= 1", schema.<String>validateJson(bytes).getErrOrThrow());
+        assertEquals("Schema validation failed: /items/0/qty: must be >= 1", schema.<String>validateJson(input).getErrOrThrow());
+        assertFalse(closed[0]);
+    }
+
+    @Test
+    @DisplayName("validateJson() - Reports syntax errors and empty input")
+    void testValidateJsonInvalid() {
+        JsonSchema schema = compile(ORDER_SCHEMA);
+
+        assertTrue(schema.<String>validateJson("{\"id\":").getErrOrThrow().startsWith("JSON parsing failed: "));
+        assertEquals("JSON string is null or empty", schema.<String>validateJson(" ").getErrOrThrow());
+        assertEquals("JSON bytes are null or empty", schema.<String>validateJson(new byte[0]).getErrOrThrow());
+    }
+
+    // ========================================================================
+    // COMPILATION TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("compileSchema() - Lists every invalid keyword")
+    void testCompileSchemaInvalid() {
+        Result<String, JsonSchema> result = JsonUtils.compileSchema("{"
+                + "\"type\":\"text\","
+                + "\"properties\":{\"a\":{\"minLength\":-1,\"pattern\":\"[\"}},"
+                + "\"items\":{\"$ref\":\"#/$defs/missing\"},"
+                + "\"unevaluatedProperties\":false}");
+
+        String error = result.getErrOrThrow();
+        assertTrue(error.startsWith("Invalid JSON Schema: "), error);
+        assertTrue(error.contains("/type: unknown type \"text\""), error);
+        assertTrue(error.contains("/properties/a/minLength: must be a non-negative integer"), error);
+        assertTrue(error.contains("/properties/a/pattern: invalid pattern '['"), error);
+        assertTrue(error.contains("/items/$ref: cannot resolve '#/$defs/missing'"), error);
+        assertTrue(error.contains("/unevaluatedProperties: keyword not supported"), error);
+    }
+
+    @Test
+    @DisplayName("compileSchema() - Rejects references that loop without consuming input")
+    void testCompileSchemaCycle() {
+        String error = JsonUtils.<String>compileSchema("{\"$defs\":{\"a\":{\"anyOf\":[{\"$ref\":\"#/$defs/a\"}]}},"
+                + "\"$ref\":\"#/$defs/a\"}").getErrOrThrow();
+
+        assertTrue(error.startsWith("Invalid JSON Schema: "), error);
+        assertTrue(error.contains("reference cycle"), error);
+        assertEquals("Schema cannot be null", JsonUtils.<String>compileSchema(null).getErrOrThrow());
+    }
+
+    @Test
+    @DisplayName("compileSchema() - Is not supported by SimpleJsonProvider")
+    void testCompileSchemaUnsupported() {
+        Result<String, JsonSchema> result = JsonUtils.withProvider(new SimpleJsonProvider(),
+                () -> JsonUtils.<String>compileSchema("{}"));
+
+        assertEquals("JSON Schema is not supported by this provider", result.getErrOrThrow());
+    }
+}
@@ -1,12 +1,46 @@
 package json;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import commons.kit.ErrorUtils.Result;
+import commons.kit.JsonUtils.JacksonJsonProvider;
+import commons.kit.JsonUtils.JsonError;
+import commons.kit.JsonUtils.JsonFormat;
 import commons.kit.JsonUtils.JsonNodeWrapper;
+import commons.kit.JsonUtils.JsonPath;
+import commons.kit.JsonUtils.JsonProvider;
 import commons.kit.JsonUtils.JsonUtils;
+import commons.kit.JsonUtils.MergeMode;
+import commons.kit.JsonUtils.PruneOptions;
+import commons.kit.JsonUtils.SimpleJsonProvider;
+import commons.kit.JsonUtils.TypeRef;
+import commons.kit.MathUtils.Decimal64;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 class JsonUtilsTest {
@@ -67,6 +101,51 @@ class JsonUtilsTest {
         assertTrue(json.contains("banana"));
     }
 
+    @Test
+    @DisplayName("toJson() - COMPACT profile has no whitespace")
+    void testToJsonCompact() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("name", "Alice");
+        map.put("tags", List.of("a", "b"));
+
+        Result<String, String> result = JsonUtils.toJson(map, JsonFormat.COMPACT);
+
+        assertEquals("{\"name\":\"Alice\",\"tags\":[\"a\",\"b\"]}", result.getOrThrow());
+        assertTrue(JsonUtils.toJson(map, JsonFormat.PRETTY).getOrThrow().contains("\n"));
+    }
+
+    @Test
+    @DisplayName("toJson() - CANONICAL profile sorts keys of maps, POJOs and trees")
+    void testToJsonCanonical() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("b", 1);
+        map.put("a", Map.of("z", true, "y", false));
+        JsonNodeWrapper tree = JsonUtils.parseNode("{\"b\":1,\"a\":{\"z\":true,\"y\":false}}").getOrThrow();
+        Person person = new Person();
+        person.name = "Alice";
+        person.age = 30;
+
+        String expected = "{\"a\":{\"y\":false,\"z\":true},\"b\":1}";
+        assertEquals(expected, JsonUtils.toJson(map, JsonFormat.CANONICAL).getOrThrow());
+        assertEquals(expected, JsonUtils.toJson(tree, JsonFormat.CANONICAL).getOrThrow());
+        assertEquals("{\"age\":30,\"name\":\"Alice\"}", JsonUtils.toJson(person, JsonFormat.CANONICAL).getOrThrow());
+    }
+
+    @Test
+    @DisplayName("toJson() - Writes the tree of a node wrapper in every format")
+    void testToJsonNodeWrapper() {
+        String json = "{\"b\":1,\"a\":[true]}";
+        JsonNodeWrapper tree = JsonUtils.parseNode(json).getOrThrow();
+
+        assertEquals(json, JsonUtils.toJson(tree, JsonFormat.COMPACT).getOrThrow());
+        assertEquals(json, new String(JsonUtils.<String>toJsonBytes(tree, JsonFormat.COMPACT).getOrThrow(),
+                StandardCharsets.UTF_8));
+        assertEquals(json, JsonUtils.toJson(tree).getOrThrow().replaceAll("\\s", ""));
+        assertEquals(json, new String(JsonUtils.<String>toJsonBytes(tree).getOrThrow(), StandardCharsets.UTF_8)
+                .replaceAll("\\s", ""));
+        assertTrue(JsonUtils.toJson(tree, JsonFormat.PRETTY).getOrThrow().contains("\"a\""));
+    }
+
     // ========================================================================
     // DESERIALIZATION TESTS
     // ========================================================================
@@ -103,6 +182,16 @@ class JsonUtilsTest {
         assertTrue(result.isErr());
     }
 
+    @Test
+    @DisplayName("fromJson() / convert() - Return errors for a null target type")
+    void testNullTargetType() {
+        assertEquals("Target class cannot be null", JsonUtils.<String, Map>fromJson("{}", (Class<Map>) null).getErrOrThrow());
+        assertEquals("Target type cannot be null", JsonUtils.<String, Map>fromJson("{}", (TypeRef<Map>) null).getErrOrThrow());
+        assertTrue(JsonUtils.convert(Map.of(), (Class<Map>) null).isErr());
+        assertTrue(JsonUtils.convert(Map.of(), (TypeRef<Map>) null).isErr());
+        assertTrue(JsonUtils.decode("{}", (Class<Map>) null).isErr());
+    }
+
     @Test
     @DisplayName("fromJson() - Returns error for empty input")
     void testFromJsonEmptyInput() {
@@ -120,6 +209,69 @@ class JsonUtilsTest {
         result.peekErr(error -> assertTrue(error.contains("failed")));
     }
 
+    // ========================================================================
+    // BYTE I/O TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("toJsonBytes()/fromJsonBytes() - Round-trips UTF-8 without a String")
+    void testBytesRoundTrip() {
+        Map<String, Object> map = Map.of("name", "Zoë", "city", "東京");
+
+        byte[] bytes = JsonUtils.<String>toJsonBytes(map, JsonFormat.COMPACT).getOrThrow();
+        Result<String, Map> result = JsonUtils.fromJsonBytes(bytes, Map.class);
+
+        assertEquals(new String(bytes, StandardCharsets.UTF_8), JsonUtils.toJson(map, JsonFormat.COMPACT).getOrThrow());
+        assertEquals("東京", result.getOrThrow().get("city"));
+        assertTrue(JsonUtils.fromJsonBytes(new byte[0], Map.class).isErr());
+    }
+
+    @Test
+    @DisplayName("toJsonBuffer() - Writes into a reusable buffer and advances the position")
+    void testToJsonBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+
+        for (int i = 0; i < 2; i++) {
+            buffer.clear();
+            Result<String, Integer> written = JsonUtils.toJsonBuffer(Map.of("id", i), buffer, JsonFormat.COMPACT);
+
+            assertEquals(8, written.getOrThrow());
+            buffer.flip();
+            Result<String, Map> parsed = JsonUtils.fromJsonBuffer(buffer, Map.class);
+            assertEquals(i, parsed.getOrThrow().get("id"));
+            assertEquals(0, buffer.position());
+        }
+    }
+
+    @Test
+    @DisplayName("toJsonBuffer() - Leaves the position unchanged when the buffer is too small")
+    void testToJsonBufferOverflow() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.put((byte) 'x');
+
+        Result<String, Integer> result = JsonUtils.toJsonBuffer(Map.of("name", "a long enough value"), buffer, JsonFormat.COMPACT);
+
+        assertTrue(result.isErr());
+        assertEquals(1, buffer.position());
+    }
+
+    @Test
+    @DisplayName("writeJson()/readJson() - Use streams without closing them")
+    void testStreams() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                fail("Output stream must not be closed");
+            }
+        };
+
+        assertTrue(JsonUtils.writeJson(List.of(1, 2, 3), output, JsonFormat.COMPACT).isOk());
+        assertEquals("[1,2,3]", output.toString(StandardCharsets.UTF_8));
+
+        Result<String, List> result = JsonUtils.readJson(new ByteArrayInputStream(output.toByteArray()), List.class);
+        assertEquals(List.of(1, 2, 3), result.getOrThrow());
+    }
+
     // ========================================================================
     // TYPE CONVERSION TESTS (Type Alchemy)
     // ========================================================================
@@ -264,6 +416,175 @@ class JsonUtilsTest {
         assertFalse(result.isPresent());
     }
 
+    @Test
+    @DisplayName("getLong() - Reads integral numbers and numeric text")
+    void testGetLong() {
+        JsonNodeWrapper node = JsonUtils.parseNode(
+                "{\"id\":3000000000,\"qty\":2.0,\"ratio\":0.5,\"code\":\"42\",\"name\":\"x\",\"big\":1e30,\"items\":[{\"n\":7}]}").getOrThrow();
+        JsonPath qty = JsonPath.compile("qty");
+
+        assertEquals(OptionalLong.of(3000000000L), JsonUtils.getLong(node, "id"));
+        assertEquals(2L, JsonUtils.getLongAt(node, qty, -1));
+        assertEquals(OptionalLong.of(42), JsonUtils.getLong(node, "code"));
+        assertEquals(OptionalLong.of(7), JsonUtils.getLong(node, "items.0.n"));
+        assertTrue(JsonUtils.getLong(node, "ratio").isEmpty());
+        assertTrue(JsonUtils.getLong(node, "name").isEmpty());
+        assertTrue(JsonUtils.getLong(node, "big").isEmpty());
+        assertTrue(JsonUtils.getLong(node, "items").isEmpty());
+        assertTrue(JsonUtils.getLong(node, null).isEmpty());
+
+        assertTrue(JsonUtils.getInt(node, "id").isEmpty());
+        assertEquals(2, JsonUtils.getIntAt(node, qty, -1));
+        assertEquals(-1, JsonUtils.getIntAt(node, JsonPath.compile("missing"), -1));
+    }
+
+    @Test
+    @DisplayName("getDouble() / getBoolean() / getBigDecimal() - Read typed values without text")
+    void testGetTypedValues() {
+        JsonNodeWrapper node = JsonUtils.parseNode(
+                "{\"total\":44.98,\"paid\":true,\"flag\":\"false\",\"price\":\"19.99\",\"note\":null}").getOrThrow();
+
+        assertEquals(OptionalDouble.of(44.98), JsonUtils.getDouble(node, "total"));
+        assertEquals(19.99, JsonUtils.getDoubleAt(node, JsonPath.compile("price"), Double.NaN));
+        assertTrue(Double.isNaN(JsonUtils.getDoubleAt(node, JsonPath.compile("paid"), Double.NaN)));
+        assertEquals(Optional.of(true), JsonUtils.getBoolean(node, "paid"));
+        assertEquals(Optional.of(false), JsonUtils.getBoolean(node, "flag"));
+        assertTrue(JsonUtils.getBoolean(node, "total").isEmpty());
+        assertEquals(Optional.of(new BigDecimal("44.98")), JsonUtils.getBigDecimal(node, "total"));
+        assertEquals(Optional.of(new BigDecimal("19.99")), JsonUtils.getBigDecimal(node, "price"));
+        assertTrue(JsonUtils.getBigDecimal(node, "note").isEmpty());
+    }
+
+    @Test
+    @DisplayName("getDecimal() - Reads numbers into a reusable holder")
+    void testGetDecimal() {
+        JsonNodeWrapper node = JsonUtils.parseNode(
+                "{\"items\":[{\"price\":19.995},{\"price\":5},{\"price\":\"0.01\"},{\"price\":\"n/a\"}]}").getOrThrow();
+        Decimal64 price = Decimal64.zero();
+        Decimal64 total = Decimal64.zero();
+
+        for (int i = 0; i < 4; i++) {
+            if (JsonUtils.getDecimal(node, "items." + i + ".price", price)) {
+                total.add(price);
+            }
+        }
+
+        assertEquals("25.01", total.toString());
+        assertFalse(JsonUtils.getDecimalAt(node, JsonPath.compile("items.9.price"), price));
+        assertEquals("0.01", price.toString());
+    }
+
+    @Test
+    @DisplayName("getDouble() / getBigDecimal() / getDecimal() - Treat numbers too large for a double as absent")
+    void testGetOverflowingNumber() {
+        JsonNodeWrapper node = JsonUtils.parseNode("{\"big\":1e400,\"text\":\"1e400\"}").getOrThrow();
+
+        assertTrue(JsonUtils.getDouble(node, "big").isEmpty());
+        assertTrue(JsonUtils.getDouble(node, "text").isEmpty());
+        assertEquals(-1.0, JsonUtils.getDoubleAt(node, JsonPath.compile("big"), -1.0));
+        assertTrue(JsonUtils.getBigDecimal(node, "big").isEmpty());
+        assertFalse(JsonUtils.getDecimal(node, "big", Decimal64.zero()));
+    }
+
+    @Test
+    @DisplayName("getBigDecimal() / getDecimal() - Read BigDecimal nodes exactly, absent when the holder is too small")
+    void testGetBigDecimalNode() {
+        JsonProvider provider = new JacksonJsonProvider(
+                new ObjectMapper().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS));
+        JsonNodeWrapper node = provider.<String>parseNode(
+                "{\"precise\":1.23456789012345678901234567890,\"huge\":123456789012345678901234567890.5}").getOrThrow();
+        JsonPath precise = JsonPath.compile("precise");
+        JsonPath huge = JsonPath.compile("huge");
+
+        assertEquals(Optional.of(new BigDecimal("1.2345678901234567890123456789")), provider.getBigDecimal(node, precise));
+        assertEquals(Optional.of(new BigDecimal("123456789012345678901234567890.5")), provider.getBigDecimal(node, huge));
+        assertTrue(provider.getLong(node, huge).isEmpty());
+
+        Decimal64 holder = Decimal64.of("7.00");
+        assertFalse(provider.getDecimal(node, huge, holder));
+        assertEquals("7.00", holder.toString());
+        assertFalse(JsonUtils.getDecimal(JsonUtils.parseNode("{\"n\":1e30}").getOrThrow(), "n", holder));
+        assertEquals("7.00", holder.toString());
+        assertTrue(provider.getDecimal(node, precise, holder));
+        assertEquals("1.23", holder.toString());
+    }
+
+    @Test
+    @DisplayName("getLong() / getInt() - Treat doubles as integral only below 2^53, in every provider")
+    void testGetLongFromDoubles() {
+        String json = "{\"half\":12345678901234567.5,\"tiny\":3.0000000000000000001,\"neg\":-922337203685477581.08,"
+                + "\"two\":2.0,\"max\":9007199254740991.0}";
+
+        for (JsonProvider provider : List.of(new JacksonJsonProvider(), new SimpleJsonProvider())) {
+            String name = provider.getClass().getSimpleName();
+            JsonNodeWrapper node = provider.<String>parseNode(json).getOrThrow();
+
+            assertTrue(provider.getLong(node, JsonPath.compile("half")).isEmpty(), name);
+            assertTrue(provider.getLong(node, JsonPath.compile("neg")).isEmpty(), name);
+            assertEquals(-1, provider.getInt(node, JsonPath.compile("neg"), -1), name);
+            assertEquals(OptionalLong.of(2), provider.getLong(node, JsonPath.compile("two")), name);
+            assertEquals(OptionalLong.of(9007199254740991L), provider.getLong(node, JsonPath.compile("max")), name);
+            // Already 3.0 once parsed as a double: precision is lost at parse time
+            assertEquals(OptionalInt.of(3), provider.getInt(node, JsonPath.compile("tiny")), name);
+            assertEquals(Optional.of(new BigDecimal("-9.2233720368547763E+17")),
+                    provider.getBigDecimal(node, JsonPath.compile("neg")), name);
+        }
+    }
+
+    @Test
+    @DisplayName("getLong() / getBigDecimal() - Accept numeric text only in the JSON number grammar")
+    void testGetNumericTextGrammar() {
+        JsonNodeWrapper node = JsonUtils.parseNode("{\"plus\":\"+42\",\"lead\":\".5\",\"trail\":\"5.\","
+                + "\"arabic\":\"\u0661\u0662\",\"zeros\":\"007\",\"exp\":\"-1.5E+3\",\"zero\":\"-0\"}").getOrThrow();
+
+        for (String path : List.of("plus", "lead", "trail", "arabic", "zeros")) {
+            assertTrue(JsonUtils.getBigDecimal(node, path).isEmpty(), path);
+            assertTrue(JsonUtils.getLong(node, path).isEmpty(), path);
+            assertTrue(JsonUtils.getDouble(node, path).isEmpty(), path);
+        }
+        assertEquals(Optional.of(new BigDecimal("-1.5E+3")), JsonUtils.getBigDecimal(node, "exp"));
+        assertEquals(OptionalLong.of(-1500), JsonUtils.getLong(node, "exp"));
+        assertEquals(OptionalLong.of(0), JsonUtils.getLong(node, "zero"));
+    }
+
+    @Test
+    @DisplayName("extract() - Reads only the requested paths, in the order given")
+    void testExtract() {
+        String json = "{\"id\":7,\"user\":{\"name\":\"Alice\",\"tags\":[\"a\",\"b\"]},\"note\":null,\"items\":[{\"sku\":\"x\"}]}";
+        JsonPath name = JsonPath.compile("user.name");
+        JsonPath tag = JsonPath.compile("user.tags.1");
+        JsonPath note = JsonPath.compile("note");
+        JsonPath missing = JsonPath.compile("items.0.qty");
+        JsonPath user = JsonPath.compile("user");
+
+        Map<JsonPath, JsonNodeWrapper> values = JsonUtils.<String>extract(json, tag, missing, name, note, user).getOrThrow();
+
+        assertEquals(List.of(tag, name, note, user), new ArrayList<>(values.keySet()));
+        assertEquals("b", values.get(tag).asText());
+        assertEquals("Alice", values.get(name).asText());
+        assertTrue(values.get(note).isNull());
+        assertEquals(2, values.get(user).get("tags").size());
+        assertTrue(JsonUtils.<String>extract(json, JsonPath.compile("user.0"), JsonPath.compile("items.sku")).getOrThrow().isEmpty());
+    }
+
+    @Test
+    @DisplayName("extract() - Stops reading once every path is found")
+    void testExtractStopsEarly() {
+        byte[] json = "{\"id\":7,\"meta\":{\"v\":2},\"rest\":[1,2,".getBytes(StandardCharsets.UTF_8);
+        JsonPath id = JsonPath.compile("id");
+        JsonPath version = JsonPath.compile("meta.v");
+
+        assertEquals(2, JsonUtils.<String>extract(json, id, version).getOrThrow().get(version).asInt());
+
+        Result<String, Map<JsonPath, JsonNodeWrapper>> tooFar = JsonUtils.extract(json, id, JsonPath.compile("end"));
+        assertTrue(tooFar.isErr());
+        assertTrue(tooFar.getErrOrThrow().startsWith("JSON extraction failed: "));
+
+        InputStream input = new ByteArrayInputStream(json);
+        assertEquals(7, JsonUtils.<String>extract(input, id).getOrThrow().get(id).asInt());
+        assertTrue(JsonUtils.extract("{}", (JsonPath[]) null).isErr());
+    }
+
     // ========================================================================
     // UPDATE PATH TESTS
     // ========================================================================
@@ -371,6 +692,50 @@ class JsonUtilsTest {
         assertEquals(1, tags.size()); // Replaced, not concatenated
     }
 
+    @Test
+    @DisplayName("merge() - SHARED copies only the touched paths")
+    void testMergeShared() {
+        JsonNodeWrapper mainNode = JsonUtils.parseNode(
+                "{\"app\":{\"http\":{\"timeout\":30},\"theme\":\"light\"},\"features\":{\"a\":true}}").getOrThrow();
+        JsonNodeWrapper updateNode = JsonUtils.parseNode("{\"app\":{\"http\":{\"timeout\":60}}}").getOrThrow();
+
+        JsonNodeWrapper merged = JsonUtils.<String>merge(mainNode, updateNode, MergeMode.SHARED).getOrThrow();
+
+        assertEquals(60, merged.at("/app/http/timeout").asInt());
+        assertEquals("light", merged.at("/app/theme").asText());
+        assertEquals(30, mainNode.at("/app/http/timeout").asInt()); // Original untouched
+        assertSame(mainNode.get("features").<Object>unwrap(), merged.get("features").unwrap());
+        assertNotSame(mainNode.get("app").<Object>unwrap(), merged.get("app").unwrap());
+    }
+
+    @Test
+    @DisplayName("merge() - IN_PLACE modifies the main tree")
+    void testMergeInPlace() {
+        JsonNodeWrapper mainNode = JsonUtils.parseNode("{\"user\":{\"name\":\"Alice\",\"age\":30}}").getOrThrow();
+        JsonNodeWrapper updateNode = JsonUtils.parseNode("{\"user\":{\"age\":31},\"active\":true}").getOrThrow();
+
+        JsonNodeWrapper merged = JsonUtils.<String>merge(mainNode, updateNode, MergeMode.IN_PLACE).getOrThrow();
+
+        assertSame(mainNode.<Object>unwrap(), merged.unwrap());
+        assertEquals(31, mainNode.at("/user/age").asInt());
+        assertEquals("Alice", mainNode.at("/user/name").asText());
+        assertTrue(mainNode.get("active").asBoolean());
+    }
+
+    @Test
+    @DisplayName("merge() - COPY leaves the main tree untouched")
+    void testMergeCopy() {
+        JsonNodeWrapper mainNode = JsonUtils.parseNode("{\"user\":{\"name\":\"Alice\"},\"tags\":[1]}").getOrThrow();
+        JsonNodeWrapper updateNode = JsonUtils.parseNode("{\"user\":{\"name\":\"Bob\"}}").getOrThrow();
+
+        JsonNodeWrapper merged = JsonUtils.<String>merge(mainNode, updateNode, MergeMode.COPY).getOrThrow();
+
+        assertEquals("Bob", merged.at("/user/name").asText());
+        assertEquals("Alice", mainNode.at("/user/name").asText());
+        assertNotSame(mainNode.get("tags").<Object>unwrap(), merged.get("tags").unwrap());
+        assertTrue(JsonUtils.merge(mainNode, updateNode, null).isErr());
+    }
+
     // ========================================================================
     // PRUNE TESTS
     // ========================================================================
@@ -445,6 +810,51 @@ class JsonUtilsTest {
         assertEquals("NYC", JsonUtils.getString(pruned, "address.city").get());
     }
 
+    @Test
+    @DisplayName("prune() - Returns the original tree when nothing is removed")
+    void testPruneUnchanged() {
+        JsonNodeWrapper node = JsonUtils.parseNode("{\"name\":\"Alice\",\"tags\":[\"a\",\"\"],\"meta\":{\"v\":1}}").getOrThrow();
+        JsonNodeWrapper dirty = JsonUtils.parseNode("{\"meta\":{\"v\":1},\"user\":{\"email\":null}}").getOrThrow();
+
+        assertSame(node.<Object>unwrap(), JsonUtils.prune(node).unwrap());
+
+        JsonNodeWrapper pruned = JsonUtils.prune(dirty);
+        assertSame(dirty.get("meta").<Object>unwrap(), pruned.get("meta").unwrap()); // Untouched subtree shared
+        assertTrue(pruned.get("user").isObject());
+        assertEquals(0, pruned.get("user").size()); // Emptied objects are kept
+        assertTrue(dirty.get("user").get("email").isNull()); // Input untouched
+    }
+
+    @Test
+    @DisplayName("prune() - Applies custom rules, in place")
+    void testPruneOptions() {
+        JsonNodeWrapper node = JsonUtils.parseNode("{\"a\":null,\"b\":\"\",\"c\":[],\"d\":[\"x\",\"\",null,{}]}").getOrThrow();
+        PruneOptions options = PruneOptions.DEFAULTS.withNulls(false).withArrayElements(true).withInPlace(true);
+
+        JsonNodeWrapper pruned = JsonUtils.prune(node, options);
+
+        assertSame(node.<Object>unwrap(), pruned.unwrap());
+        assertEquals("{\"a\":null,\"d\":[\"x\",null]}", node.unwrap().toString());
+        assertEquals(PruneOptions.DEFAULTS, PruneOptions.DEFAULTS.withInPlace(true).withInPlace(false));
+    }
+
+    @Test
+    @DisplayName("prune() - Handles deeply nested documents")
+    void testPruneDeep() {
+        ObjectNode root = JsonNodeFactory.instance.objectNode();
+        ObjectNode current = root;
+        for (int i = 0; i < 100_000; i++) {
+            current.putNull("n");
+            current = current.putObject("a");
+        }
+        current.put("leaf", 1);
+
+        JsonNodeWrapper pruned = JsonUtils.prune(root);
+
+        assertEquals(1, pruned.size());
+        assertNull(pruned.get("n"));
+    }
+
     // ========================================================================
     // CONVENIENCE METHODS TESTS
     // ========================================================================
@@ -516,6 +926,334 @@ class JsonUtilsTest {
         assertEquals(0, count);
     }
 
+    @Test
+    @DisplayName("stream() - Is sized and splits by index")
+    void testStreamSized() {
+        JsonNodeWrapper node = JsonUtils.parseNode("[0,1,2,3,4,5,6,7,8,9]").getOrThrow();
+
+        Spliterator<JsonNodeWrapper> spliterator = JsonUtils.stream(node).spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        assertEquals(10, spliterator.getExactSizeIfKnown());
+
+        Spliterator<JsonNodeWrapper> prefix = spliterator.trySplit();
+        assertEquals(5, prefix.getExactSizeIfKnown());
+        assertEquals(5, spliterator.getExactSizeIfKnown());
+        prefix.tryAdvance(first -> assertEquals(0, first.asInt()));
+        spliterator.tryAdvance(first -> assertEquals(5, first.asInt()));
+    }
+
+    @Test
+    @DisplayName("parallelStream() - Processes every element in order")
+    void testParallelStream() {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) values.add(i);
+        JsonNodeWrapper node = JsonUtils.toNode(values).getOrThrow();
+
+        Stream<JsonNodeWrapper> stream = JsonUtils.parallelStream(node);
+        assertTrue(stream.isParallel());
+
+        List<Integer> doubled = stream.map(n -> n.asInt() * 2).collect(Collectors.toList());
+        assertEquals(10_000, doubled.size());
+        assertEquals(19_998, doubled.get(9_999));
+        assertEquals(0, JsonUtils.parallelStream(JsonUtils.parseNode("{}").getOrThrow()).count());
+    }
+
+    // ========================================================================
+    // STREAMING ARRAY TESTS
+    // ========================================================================
+
+    static class Person {
+        public String name;
+        public int age;
+    }
+
+    @Test
+    @DisplayName("streamArray() - Reads elements lazily as nodes")
+    void testStreamArrayNodes() {
+        String json = "[{\"name\":\"Alice\"},null,{\"name\":\"Bob\"}]";
+
+        try (Stream<Result<String, JsonNodeWrapper>> rows = JsonUtils.streamArray(new StringReader(json))) {
+            List<Result<String, JsonNodeWrapper>> results = rows.collect(Collectors.toList());
+
+            assertEquals(3, results.size());
+            assertEquals("Alice", results.get(0).getOrThrow().get("name").asText());
+            assertTrue(results.get(1).getOrThrow().isNull());
+            assertEquals("Bob", results.get(2).getOrThrow().get("name").asText());
+        }
+    }
+
+    @Test
+    @DisplayName("streamArray() - Binds elements and continues after a bad one")
+    void testStreamArrayBindingContinues() {
+        String json = "[{\"name\":\"Alice\",\"age\":30},{\"name\":\"Bad\",\"age\":{\"x\":[1]}},{\"name\":\"Bob\",\"age\":25}]";
+        InputStream input = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+
+        List<Result<String, Person>> results = JsonUtils.<String, Person>streamArray(input, Person.class)
+                .collect(Collectors.toList());
+
+        assertEquals(3, results.size());
+        assertEquals("Alice", results.get(0).getOrThrow().name);
+        assertTrue(results.get(1).isErr());
+        assertTrue(results.get(1).getErrOrThrow().contains("element 1"));
+        assertEquals(25, results.get(2).getOrThrow().age);
+    }
+
+    @JsonDeserialize(using = Fussy.Deserializer.class)
+    static class Fussy {
+        static class Deserializer extends JsonDeserializer<Fussy> {
+            @Override
+            public Fussy deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+                if (parser.getValueAsInt() < 0) {
+                    throw new IllegalStateException("negative");
+                }
+                return new Fussy();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("streamArray() - Reports a deserializer failure for its element only")
+    void testStreamArrayDeserializerFailure() {
+        List<Result<String, Fussy>> results = JsonUtils.<String, Fussy>streamArray(new StringReader("[1,-1,2]"), Fussy.class)
+                .collect(Collectors.toList());
+
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isOk());
+        assertTrue(results.get(1).getErrOrThrow().contains("element 1"));
+        assertTrue(results.get(2).isOk());
+    }
+
+    @Test
+    @DisplayName("streamArray() - Closing before reading closes the source")
+    void testStreamArrayCloseUnread() {
+        boolean[] closed = new boolean[1];
+        Reader reader = new StringReader("[1]") {
+            @Override
+            public void close() {
+                closed[0] = true;
+                super.close();
+            }
+        };
+
+        JsonUtils.streamArray(reader).close();
+
+        assertTrue(closed[0]);
+    }
+
+    @Test
+    @DisplayName("streamArray() - Reports a non-array document once")
+    void testStreamArrayNotArray() {
+        List<Result<String, JsonNodeWrapper>> results = JsonUtils.<String>streamArray(new StringReader("{\"a\":1}"))
+                .collect(Collectors.toList());
+
+        assertEquals(1, results.size());
+        assertTrue(results.get(0).isErr());
+    }
+
+    @Test
+    @DisplayName("streamArray() - Ends with an error on malformed JSON")
+    void testStreamArrayMalformed() {
+        List<Result<String, JsonNodeWrapper>> results = JsonUtils.<String>streamArray(new StringReader("[1, 2, {oops"))
+                .collect(Collectors.toList());
+
+        assertEquals(3, results.size());
+        assertEquals(2, results.get(1).getOrThrow().asInt());
+        assertTrue(results.get(2).isErr());
+    }
+
+    @Test
+    @DisplayName("streamArray() - Lets a consumer failure reach the caller")
+    void testStreamArrayConsumerThrows() {
+        List<Result<String, JsonNodeWrapper>> seen = new ArrayList<>();
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () ->
+                JsonUtils.<String>streamArray(new StringReader("[1,2,3]")).forEach(r -> {
+                    seen.add(r);
+                    if (seen.size() == 2) {
+                        throw new IllegalStateException("downstream failure");
+                    }
+                }));
+
+        assertEquals("downstream failure", thrown.getMessage());
+        assertEquals(2, seen.size());
+        assertTrue(seen.stream().allMatch(Result::isOk));
+
+        List<Result<String, JsonNodeWrapper>> failures = new ArrayList<>();
+        assertThrows(IllegalStateException.class, () ->
+                JsonUtils.<String>streamArray(new StringReader("{\"a\":1}")).forEach(r -> {
+                    failures.add(r);
+                    throw new IllegalStateException("downstream failure");
+                }));
+        assertEquals(1, failures.size());
+    }
+
+    @Test
+    @DisplayName("streamArray() - Reads from a file and reports missing files")
+    void testStreamArrayPath(@TempDir Path dir) throws IOException {
+        Path file = Files.writeString(dir.resolve("people.json"), "[{\"name\":\"Alice\",\"age\":30}]");
+
+        try (Stream<Result<String, Person>> rows = JsonUtils.streamArray(file, Person.class)) {
+            assertEquals(List.of("Alice"), rows.map(r -> r.getOrThrow().name).collect(Collectors.toList()));
+        }
+
+        List<Result<String, JsonNodeWrapper>> missing = JsonUtils.<String>streamArray(dir.resolve("missing.json"))
+                .collect(Collectors.toList());
+        assertEquals(1, missing.size());
+        assertTrue(missing.get(0).isErr());
+    }
+
+    @Test
+    @DisplayName("parseFile() / readFile() - Parse a mapped file and report missing files")
+    void testParseFile(@TempDir Path dir) throws IOException {
+        Path file = Files.writeString(dir.resolve("person.json"), "{\"name\":\"Alice\",\"age\":30}");
+
+        assertEquals("Alice", JsonUtils.parseFile(file).getOrThrow().get("name").asText());
+        assertEquals(30, JsonUtils.<String, Person>readFile(file, Person.class).getOrThrow().age);
+        assertTrue(JsonUtils.<String>parseFile(dir.resolve("missing.json")).getErrOrThrow().startsWith("Cannot open JSON file"));
+        assertTrue(JsonUtils.parseFile(Files.writeString(dir.resolve("empty.json"), "")).isErr());
+        assertTrue(JsonUtils.<String>parseFile(Files.writeString(dir.resolve("bad.json"), "{oops")).getErrOrThrow()
+                .startsWith("JSON parsing failed"));
+        assertEquals(2, JsonUtils.readNode(new ByteArrayInputStream("[1,2]".getBytes(StandardCharsets.UTF_8)))
+                .getOrThrow().size());
+    }
+
+    @Test
+    @DisplayName("parseFile() - Reads across mapping windows")
+    void testParseFileWindows(@TempDir Path dir) throws IOException {
+        String json = IntStream.range(0, 200).mapToObj(i -> "{\"name\":\"p" + i + "\",\"age\":" + i + "}")
+                .collect(Collectors.joining(",", "[", "]"));
+        Path file = Files.writeString(dir.resolve("people.json"), json);
+
+        System.setProperty("commons.kit.json.mapWindow", "7");
+        try {
+            assertEquals(199, JsonUtils.parseFile(file).getOrThrow().at("/199/age").asInt());
+            try (Stream<Result<String, Person>> rows = JsonUtils.streamArray(file, Person.class)) {
+                assertEquals(200, rows.filter(Result::isOk).count());
+            }
+        } finally {
+            System.clearProperty("commons.kit.json.mapWindow");
+        }
+    }
+
+    // ========================================================================
+    // TYPED ERROR TESTS
+    // ========================================================================
+
+    static class Team {
+        public String name;
+        public List<Person> members;
+    }
+
+    @Test
+    @DisplayName("decode() - Binds like fromJson() and reports typed errors")
+    void testDecode() {
+        Team team = JsonUtils.decode("{\"name\":\"core\",\"members\":[{\"name\":\"Alice\",\"age\":30}]}", Team.class)
+                .getOrThrow();
+        assertEquals("Alice", team.members.get(0).name);
+
+        JsonError syntax = JsonUtils.decode("{\n\"name\": tru}", Team.class).getErrOrThrow();
+        assertEquals(JsonError.Kind.SYNTAX, syntax.kind());
+        assertEquals(2, syntax.line());
+        assertTrue(syntax.hasLocation());
+        assertNull(syntax.path());
+
+        JsonError mapping = JsonUtils.decode("{\"members\":[{},{\"age\":\"old\"}]}", Team.class).getErrOrThrow();
+        assertEquals(JsonError.Kind.MAPPING, mapping.kind());
+        assertEquals(JsonPath.of("members.1.age"), mapping.path());
+        assertTrue(mapping.message().contains(" at 'members.1.age' (line 1, column "), mapping.message());
+        assertFalse(mapping.detail().contains("line"));
+
+        assertEquals(JsonError.Kind.EMPTY_INPUT, JsonUtils.decode(" ", Team.class).getErrOrThrow().kind());
+        assertEquals(JsonError.Kind.EMPTY_INPUT, JsonUtils.decodeBytes(null, Team.class).getErrOrThrow().kind());
+        assertEquals(JsonError.Kind.MAPPING,
+                JsonUtils.decodeBytes("[1]".getBytes(StandardCharsets.UTF_8), Team.class).getErrOrThrow().kind());
+
+        byte[] framed = "xx{\"name\":\"ops\"}yy".getBytes(StandardCharsets.UTF_8);
+        assertEquals("ops", JsonUtils.codec(Team.class).decodeBytes(framed, 2, framed.length - 4).getOrThrow().name);
+        assertEquals(JsonError.Kind.OTHER, JsonUtils.codec(Team.class).decodeBytes(framed, 10, 20).getErrOrThrow().kind());
+    }
+
+    @Test
+    @DisplayName("decodeNode() - Parses trees and reports typed errors")
+    void testDecodeNode() {
+        assertEquals(2, JsonUtils.decodeNode("[1,2]").getOrThrow().size());
+        assertEquals("x", JsonUtils.decodeNodeBytes("{\"a\":\"x\"}".getBytes(StandardCharsets.UTF_8)).getOrThrow()
+                .get("a").asText());
+
+        JsonError error = JsonUtils.decodeNode("[1,2").getErrOrThrow();
+        assertEquals(JsonError.Kind.SYNTAX, error.kind());
+        assertTrue(error.toString().startsWith("SYNTAX: "));
+        assertEquals(JsonError.Kind.EMPTY_INPUT, JsonUtils.decodeNodeBytes(new byte[0]).getErrOrThrow().kind());
+
+        byte[] blank = " \n\t ".getBytes(StandardCharsets.UTF_8);
+        assertEquals(JsonError.Kind.EMPTY_INPUT, JsonUtils.decodeNodeBytes(blank).getErrOrThrow().kind());
+        assertTrue(JsonUtils.parseNodeBytes(blank).isErr());
+    }
+
+    // ========================================================================
+    // PROVIDER TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("withProvider() - Uses the scoped provider inside the block only")
+    void testWithProvider() {
+        JsonProvider global = JsonUtils.getProvider();
+        SimpleJsonProvider inner = new SimpleJsonProvider();
+        SimpleJsonProvider innermost = new SimpleJsonProvider();
+
+        String json = JsonUtils.withProvider(inner, () -> {
+            assertSame(inner, JsonUtils.getProvider());
+            JsonUtils.withProvider(innermost, () -> assertSame(innermost, JsonUtils.getProvider()));
+            assertSame(inner, JsonUtils.getProvider());
+            return JsonUtils.<String>toJson(Map.of("a", 1), JsonFormat.COMPACT).getOrThrow();
+        });
+
+        assertEquals("{\"a\":1}", json);
+        assertSame(global, JsonUtils.getProvider());
+        assertThrows(IllegalStateException.class, () -> JsonUtils.withProvider(inner, () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertSame(global, JsonUtils.getProvider());
+        assertThrows(IllegalArgumentException.class, () -> JsonUtils.withProvider(null, () -> 1));
+    }
+
+    @Test
+    @DisplayName("withProvider() - Scopes are per thread and survive setProvider()")
+    void testWithProviderPerThread() throws Exception {
+        JsonProvider global = JsonUtils.getProvider();
+        SimpleJsonProvider scoped = new SimpleJsonProvider();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch checked = new CountDownLatch(1);
+
+        Thread other = new Thread(() -> JsonUtils.withProvider(scoped, () -> {
+            entered.countDown();
+            awaitQuietly(checked);
+        }));
+        other.start();
+        try {
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            assertSame(global, JsonUtils.getProvider());
+
+            JsonUtils.setProvider(new SimpleJsonProvider());
+            JsonProvider swapped = JsonUtils.getProvider();
+            assertNotSame(global, swapped);
+            assertSame(scoped, JsonUtils.withProvider(scoped, JsonUtils::getProvider));
+            assertSame(swapped, JsonUtils.getProvider());
+        } finally {
+            JsonUtils.setProvider(global);
+            checked.countDown();
+            other.join();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     // ========================================================================
     // REAL-WORLD SCENARIOS
     // ========================================================================
@@ -0,0 +1,178 @@
+package json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import commons.kit.ErrorUtils.Result;
+import commons.kit.JsonUtils.JsonError;
+import commons.kit.JsonUtils.JsonFormat;
+import commons.kit.JsonUtils.JsonNodeWrapper;
+import commons.kit.JsonUtils.JsonPath;
+import commons.kit.JsonUtils.LazyJsonProvider;
+import commons.kit.JsonUtils.MergeMode;
+import commons.kit.MathUtils.Decimal64;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static json.ProviderFixtures.JACKSON;
+import static json.ProviderFixtures.ORDER;
+import static json.ProviderFixtures.parse;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyJsonProviderTest {
+
+    private final LazyJsonProvider lazy = new LazyJsonProvider();
+
+    private static List<String> keys(JsonNodeWrapper node) {
+        List<String> keys = new ArrayList<>();
+        node.keys().forEach(keys::add);
+        return keys;
+    }
+
+    // ========================================================================
+    // NAVIGATION TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("parseNode() - Reads values like the Jackson provider")
+    void testReadsValues() {
+        JsonNodeWrapper order = parse(lazy, ORDER);
+
+        assertEquals("A-1", order.get("id").asText());
+        assertEquals(12.5, order.get("total").asDouble());
+        assertEquals(3000000000L, order.get("count").asLong());
+        assertTrue(order.get("paid").asBoolean());
+        assertTrue(order.get("note").isNull());
+        assertEquals("Zoë \"Z\"", order.at("/customer/name").asText());
+        assertEquals("eu", order.at(JsonPath.of("customer.tags.1")).asText());
+        assertEquals(7, order.at("/a~1b/m~0n").asInt());
+        assertEquals(2, order.get("items").size());
+        assertEquals(List.of("id", "total", "count", "paid", "note", "customer", "items", "a/b"), keys(order));
+        assertEquals("", order.get("customer").asText());
+        assertNull(order.get("missing"));
+        assertNull(order.at("/items/2"));
+        assertNull(order.get("id").get("x"));
+    }
+
+    @Test
+    @DisplayName("parseNode() - Matches the Jackson tree it stands for")
+    void testMatchesJackson() {
+        JsonNodeWrapper order = parse(lazy, ORDER);
+        JsonNode tree = JACKSON.<String>parseNode(ORDER).getOrThrow().unwrap();
+
+        assertEquals(tree, order.unwrap());
+        assertEquals(tree.get("items"), order.get("items").unwrap());
+        assertEquals(tree.toString(), order.toString());
+        assertEquals(2, parse(lazy, "{\"a\":1,\"b\":2,\"a\":3}").size());
+        assertEquals(3, parse(lazy, "{\"a\":1,\"b\":2,\"a\":3}").get("a").asInt()); // Last duplicate wins
+    }
+
+    @Test
+    @DisplayName("parseNode() - Rejects invalid JSON with the Jackson provider's errors")
+    void testRejectsInvalid() {
+        for (String json : new String[]{"{\"a\":", "[1,]", "{\"a\":tru}", "[01]", "[\"x]", "{'a':1}", "[\"\u00e9\", x]"}) {
+            Result<String, JsonNodeWrapper> result = lazy.parseNode(json);
+            assertTrue(result.isErr(), json);
+            assertEquals(JACKSON.<String>parseNode(json).getErrOrThrow(), result.getErrOrThrow(), json);
+
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            assertEquals(JACKSON.<String>parseNodeBytes(bytes).getErrOrThrow(),
+                    lazy.<String>parseNodeBytes(bytes).getErrOrThrow(), json);
+        }
+        assertTrue(lazy.parseNode("  ").isErr());
+        assertTrue(lazy.parseNodeBytes(new byte[0]).isErr());
+        assertEquals(42, parse(lazy, "42").asInt());
+    }
+
+    @Test
+    @DisplayName("decodeNode() - Returns lazy nodes and Jackson's typed errors")
+    void testDecodeNode() {
+        JsonNodeWrapper order = lazy.decodeNode(ORDER).getOrThrow();
+        assertEquals(parse(lazy, ORDER).getClass(), order.getClass());
+        assertEquals("y", order.at("/items/1/sku").asText());
+
+        for (String json : new String[]{"{\"a\":", "[1,]", "{\"a\":tru}"}) {
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            assertEquals(JACKSON.decodeNode(json).getErrOrThrow(), lazy.decodeNode(json).getErrOrThrow(), json);
+            assertEquals(JACKSON.decodeNodeBytes(bytes).getErrOrThrow(), lazy.decodeNodeBytes(bytes).getErrOrThrow(), json);
+        }
+        assertEquals(JsonError.Kind.EMPTY_INPUT, lazy.decodeNodeBytes(new byte[0]).getErrOrThrow().kind());
+    }
+
+    // ========================================================================
+    // PROVIDER TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("parseNodeBytes() - Reads UTF-8 bytes, with or without a byte order mark")
+    void testParseBytes() {
+        byte[] json = "\uFEFF {\"name\":\"Zoë\"}".getBytes(StandardCharsets.UTF_8);
+
+        JsonNodeWrapper node = lazy.<String>parseNodeBytes(json).getOrThrow();
+
+        assertEquals("Zoë", node.get("name").asText());
+        assertEquals("{\"name\":\"Zoë\"}", node.toString());
+    }
+
+    @Test
+    @DisplayName("getString() - Navigates lazy nodes with dot paths")
+    void testGetString() {
+        JsonNodeWrapper order = parse(lazy, ORDER);
+
+        assertEquals("y", lazy.getString(order, "items.1.sku").orElse(null));
+        assertEquals("3000000000", lazy.getString(order, "count").orElse(null));
+        assertTrue(lazy.getString(order, "note").isEmpty());
+        assertTrue(lazy.getString(order, "items.5.sku").isEmpty());
+        assertTrue(lazy.getString(order, "customer.0").isEmpty());
+    }
+
+    @Test
+    @DisplayName("getLong() / getDecimal() - Reads lazy scalars without decoding containers")
+    void testTypedAccessors() {
+        JsonNodeWrapper order = parse(lazy, ORDER);
+        JsonNodeWrapper reference = JACKSON.<String>parseNode(ORDER).getOrThrow();
+
+        for (String path : List.of("count", "total", "items.1.qty", "paid", "id", "note", "customer", "items.9.qty")) {
+            JsonPath compiled = JsonPath.compile(path);
+            assertEquals(JACKSON.getLong(reference, compiled), lazy.getLong(order, compiled), path);
+            assertEquals(JACKSON.getInt(reference, compiled, -1), lazy.getInt(order, compiled, -1), path);
+            assertEquals(JACKSON.getDouble(reference, compiled), lazy.getDouble(order, compiled), path);
+            assertEquals(JACKSON.getBoolean(reference, compiled), lazy.getBoolean(order, compiled), path);
+            assertEquals(JACKSON.getBigDecimal(reference, compiled), lazy.getBigDecimal(order, compiled), path);
+        }
+
+        Decimal64 total = Decimal64.zero();
+        assertTrue(lazy.getDecimal(order, JsonPath.compile("total"), total));
+        assertEquals("12.50", total.toString());
+    }
+
+    @Test
+    @DisplayName("stream() - Streams the elements of a lazy array")
+    void testStream() {
+        JsonNodeWrapper items = parse(lazy, ORDER).get("items");
+
+        assertEquals(List.of("x", "y"), lazy.stream(items).map(item -> item.get("sku").asText()).collect(Collectors.toList()));
+        assertEquals(3, lazy.parallelStream(items).mapToInt(item -> item.get("qty").asInt()).sum());
+        assertEquals(0, lazy.stream(parse(lazy, ORDER)).count());
+    }
+
+    @Test
+    @DisplayName("merge() - Other operations accept lazy nodes")
+    void testOtherOperations() {
+        JsonNodeWrapper order = parse(lazy, ORDER);
+
+        JsonNodeWrapper merged = lazy.<String>merge(order, Map.of("paid", false), MergeMode.SHARED).getOrThrow();
+        assertFalse(merged.get("paid").asBoolean());
+        assertTrue(order.get("paid").asBoolean());
+
+        assertEquals("{\"name\":\"Zoë \\\"Z\\\"\",\"tags\":[\"vip\",\"eu\"]}",
+                lazy.<String>toJson(order.get("customer"), JsonFormat.CANONICAL).getOrThrow());
+        assertEquals(Map.of("sku", "x", "qty", 1), lazy.<String, Map>convert(order.at("/items/0"), Map.class).getOrThrow());
+        assertEquals("[{\"op\":\"replace\",\"path\":\"/paid\",\"value\":false}]",
+                lazy.<String>diff(order, merged).getOrThrow().unwrap().toString());
+    }
+}
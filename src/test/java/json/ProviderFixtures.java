@@ -0,0 +1,30 @@
+package json;
+
+import commons.kit.JsonUtils.JacksonJsonProvider;
+import commons.kit.JsonUtils.JsonNodeWrapper;
+import commons.kit.JsonUtils.JsonProvider;
+
+/**
+ * Fixtures shared by the tests that check a provider against the Jackson one.
+ */
+final class ProviderFixtures {
+
+    /**
+     * An order with every kind of value, escaped text and keys that need escaping in pointers.
+     */
+    static final String ORDER = "{\"id\":\"A-1\",\"total\":12.5,\"count\":3000000000,"
+            + "\"paid\":true,\"note\":null,\"customer\":{\"name\":\"Zo\\u00eb \\\"Z\\\"\",\"tags\":[\"vip\",\"eu\"]},"
+            + "\"items\":[{\"sku\":\"x\",\"qty\":1},{\"sku\":\"y\",\"qty\":2}],\"a/b\":{\"m~n\":7}}";
+
+    /**
+     * The reference provider.
+     */
+    static final JsonProvider JACKSON = new JacksonJsonProvider();
+
+    private ProviderFixtures() {
+    }
+
+    static JsonNodeWrapper parse(JsonProvider provider, String json) {
+        return provider.<String>parseNode(json).getOrThrow();
+    }
+}
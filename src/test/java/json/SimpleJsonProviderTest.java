@@ -0,0 +1,343 @@
+package json;
+
+import commons.kit.ErrorUtils.Result;
+import commons.kit.JsonUtils.JacksonJsonProvider;
+import commons.kit.JsonUtils.JsonError;
+import commons.kit.JsonUtils.JsonFormat;
+import commons.kit.JsonUtils.JsonNodeWrapper;
+import commons.kit.JsonUtils.JsonPath;
+import commons.kit.JsonUtils.JsonProvider;
+import commons.kit.JsonUtils.JsonUtils;
+import commons.kit.JsonUtils.MergeMode;
+import commons.kit.JsonUtils.PruneOptions;
+import commons.kit.JsonUtils.SimpleJsonProvider;
+import commons.kit.JsonUtils.TypeRef;
+import commons.kit.MathUtils.Decimal64;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static json.ProviderFixtures.JACKSON;
+import static json.ProviderFixtures.ORDER;
+import static json.ProviderFixtures.parse;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimpleJsonProviderTest {
+
+    enum Color { RED, GREEN }
+
+    record Line(String sku, int qty) {}
+
+    record Order(String id, double total, long count, boolean paid, String note, Color color,
+                 LocalDate due, List<Line> items, Map<Color, String> labels, int[] codes) {}
+
+    private final SimpleJsonProvider simple = new SimpleJsonProvider();
+
+    private static Order order() {
+        Map<Color, String> labels = new EnumMap<>(Color.class);
+        labels.put(Color.GREEN, "go");
+        labels.put(Color.RED, "stop");
+        return new Order("A-1", 12.5, 3000000000L, true, null, Color.GREEN, LocalDate.of(2024, 2, 29),
+                List.of(new Line("x", 1), new Line("y", 2)), labels, new int[]{4, 2});
+    }
+
+    // ========================================================================
+    // SERIALIZATION TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("toJson() - Writes what the Jackson provider writes, in every format")
+    void testToJsonMatchesJackson() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("b", List.of());
+        map.put("a", Map.of());
+        map.put("when", LocalDateTime.of(2024, 1, 2, 3, 4));
+        map.put("text", "tab\tquote\"\u0001");
+        map.put("skipped", null);
+        map.put("order", order());
+
+        for (JsonFormat format : JsonFormat.values()) {
+            assertEquals(JACKSON.<String>toJson(map, format).getOrThrow(),
+                    simple.<String>toJson(map, format).getOrThrow(), format.name());
+        }
+        assertEquals(JACKSON.<String>toJson(map).getOrThrow(), simple.<String>toJson(map).getOrThrow());
+    }
+
+    @Test
+    @DisplayName("toJson() - Rejects types it cannot write")
+    void testToJsonUnsupported() {
+        Result<String, String> result = simple.toJson(new Object());
+
+        assertTrue(result.isErr());
+        assertTrue(result.getErrOrThrow().startsWith("JSON serialization failed: "));
+    }
+
+    // ========================================================================
+    // BINDING TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("fromJson() - Binds records, enums, dates, arrays and maps")
+    void testFromJson() {
+        String json = JACKSON.<String>toJson(order()).getOrThrow();
+
+        Order order = simple.<String, Order>fromJson(json, Order.class).getOrThrow();
+
+        assertEquals("A-1", order.id());
+        assertEquals(3000000000L, order.count());
+        assertNull(order.note());
+        assertEquals(Color.GREEN, order.color());
+        assertEquals(LocalDate.of(2024, 2, 29), order.due());
+        assertEquals(List.of(new Line("x", 1), new Line("y", 2)), order.items());
+        assertEquals(Map.of(Color.RED, "stop", Color.GREEN, "go"), order.labels());
+        assertArrayEquals(new int[]{4, 2}, order.codes());
+        assertEquals(json, simple.<String>toJson(order).getOrThrow());
+    }
+
+    @Test
+    @DisplayName("fromJson() - Reports invalid JSON and values that do not fit")
+    void testFromJsonErrors() {
+        assertTrue(simple.<String, Line>fromJson("{\"sku\":", Line.class).getErrOrThrow().startsWith("JSON deserialization failed: "));
+        assertTrue(simple.<String, Line>fromJson("{\"qty\":\"many\"}", Line.class).isErr());
+        assertTrue(simple.<String, Line>fromJson("{\"qty\":3000000000}", Line.class).isErr());
+        assertTrue(simple.<String, Color>fromJson("\"BLUE\"", Color.class).isErr());
+        assertTrue(simple.<String, Line>fromJson(null, Line.class).isErr());
+        assertTrue(simple.<String, Line>fromJsonBytes(new byte[0], Line.class).isErr());
+        assertEquals(new Line("x", 0), simple.<String, Line>fromJson("{\"sku\":\"x\",\"extra\":1}", Line.class).getOrThrow());
+    }
+
+    @Test
+    @DisplayName("fromJson(TypeRef) / toList() / toMap() - Follow type arguments like the Jackson provider")
+    void testGenericBinding() {
+        TypeRef<List<Line>> lines = new TypeRef<List<Line>>() {};
+        String json = "[{\"sku\":\"x\",\"qty\":1}]";
+
+        assertEquals(List.of(new Line("x", 1)), simple.<String, List<Line>>fromJson(json, lines).getOrThrow());
+        assertEquals(List.of(new Line("x", 1)), simple.codec(lines).<String>convert(List.of(Map.of("sku", "x", "qty", 1))).getOrThrow());
+        assertTrue(simple.<String, List<Line>>fromJson("[1]", lines).isErr());
+
+        for (JsonProvider provider : List.of(JACKSON, simple)) {
+            String name = provider.getClass().getSimpleName();
+            JsonUtils.withProvider(provider, () -> {
+                assertTrue(JsonUtils.toList("[1,2]").isErr(), name);
+                assertTrue(JsonUtils.toMap("[1,2]").isErr(), name);
+                assertEquals(List.of(Map.of("a", 1)), JsonUtils.<String>toList("[{\"a\":1}]").getOrThrow(), name);
+                assertEquals(Map.of("a", List.of(1)), JsonUtils.<String>toMap("{\"a\":[1]}").getOrThrow(), name);
+            });
+        }
+    }
+
+    @Test
+    @DisplayName("decode() - Reports typed errors")
+    void testDecode() {
+        assertEquals(new Line("x", 1), simple.decode("{\"sku\":\"x\",\"qty\":1}", Line.class).getOrThrow());
+        assertEquals(JsonError.Kind.SYNTAX, simple.decode("{\"sku\":", Line.class).getErrOrThrow().kind());
+        assertEquals(JsonError.Kind.MAPPING, simple.decode("{\"qty\":\"many\"}", Line.class).getErrOrThrow().kind());
+        assertEquals(JsonError.Kind.EMPTY_INPUT, simple.decodeBytes(new byte[0], Line.class).getErrOrThrow().kind());
+        assertEquals(JsonError.Kind.SYNTAX, simple.decodeNode("[1,]").getErrOrThrow().kind());
+    }
+
+    // ========================================================================
+    // TREE TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("parseNode() - Reads values like the Jackson provider")
+    void testParseNode() {
+        JsonNodeWrapper order = parse(simple, ORDER);
+        JsonNodeWrapper tree = JACKSON.<String>parseNode(ORDER).getOrThrow();
+
+        assertEquals("Zoë \"Z\"", order.at("/customer/name").asText());
+        assertEquals("eu", order.at(JsonPath.of("customer.tags.1")).asText());
+        assertEquals(7, order.at("/a~1b/m~0n").asInt());
+        assertEquals(3000000000L, order.get("count").asLong());
+        assertTrue(order.get("note").isNull());
+        assertEquals("", order.get("customer").asText());
+        assertNull(order.get("missing"));
+        assertNull(order.at("/items/2"));
+        assertEquals(tree.toString(), order.toString());
+        assertTrue(simple.parseNode("[1,]").isErr());
+        assertTrue(simple.parseNode("{'a':1}").isErr());
+    }
+
+    @Test
+    @DisplayName("getString() - Navigates with the Jackson provider's rules")
+    void testGetString() {
+        JsonNodeWrapper order = parse(simple, ORDER);
+
+        assertEquals("y", simple.getString(order, "items.1.sku").orElse(null));
+        assertEquals("3000000000", simple.getString(order, "count").orElse(null));
+        assertTrue(simple.getString(order, "note").isEmpty());
+        assertTrue(simple.getString(order, "items.5.sku").isEmpty());
+        assertEquals(JACKSON.getString(Map.of("a", Map.of("b", 1)), "a.b"), simple.getString(Map.of("a", Map.of("b", 1)), "a.b"));
+    }
+
+    @Test
+    @DisplayName("getLong() / getDecimal() - Match the Jackson provider")
+    void testTypedAccessors() {
+        JsonNodeWrapper order = parse(simple, ORDER);
+        JsonNodeWrapper reference = JACKSON.<String>parseNode(ORDER).getOrThrow();
+
+        for (String path : List.of("count", "total", "items.1.qty", "paid", "id", "note", "customer", "items.9.qty")) {
+            JsonPath compiled = JsonPath.compile(path);
+            assertEquals(JACKSON.getLong(reference, compiled), simple.getLong(order, compiled), path);
+            assertEquals(JACKSON.getInt(reference, compiled, -1), simple.getInt(order, compiled, -1), path);
+            assertEquals(JACKSON.getDouble(reference, compiled), simple.getDouble(order, compiled), path);
+            assertEquals(JACKSON.getBoolean(reference, compiled), simple.getBoolean(order, compiled), path);
+            assertEquals(JACKSON.getBigDecimal(reference, compiled), simple.getBigDecimal(order, compiled), path);
+        }
+
+        Decimal64 total = Decimal64.zero();
+        assertTrue(simple.getDecimal(order, JsonPath.compile("total"), total));
+        assertEquals("12.50", total.toString());
+    }
+
+    @Test
+    @DisplayName("updatePath() - Creates missing objects and reports what it cannot update")
+    void testUpdatePath() {
+        JsonNodeWrapper node = parse(simple, "{\"a\":{\"b\":1}}");
+
+        JsonNodeWrapper updated = simple.<String>updatePath(node, "a.c.d", "x").getOrThrow();
+
+        assertEquals("{\"a\":{\"b\":1,\"c\":{\"d\":\"x\"}}}", updated.toString());
+        assertEquals(JACKSON.updatePath(JACKSON.parseNode("{\"a\":1}").getOrThrow(), "a.b", 2).getErrOrThrow(),
+                simple.updatePath(parse(simple, "{\"a\":1}"), "a.b", 2).getErrOrThrow());
+    }
+
+    @Test
+    @DisplayName("merge() - Deep merges in every mode")
+    void testMerge() {
+        JsonNodeWrapper main = parse(simple, "{\"a\":{\"x\":1,\"y\":2},\"b\":[1]}");
+        Map<String, Object> update = Map.of("a", Map.of("y", 3));
+
+        JsonNodeWrapper copy = simple.<String>merge(main, update).getOrThrow();
+        JsonNodeWrapper shared = simple.<String>merge(main, update, MergeMode.SHARED).getOrThrow();
+
+        assertEquals("{\"a\":{\"x\":1,\"y\":3},\"b\":[1]}", copy.toString());
+        assertEquals(copy.toString(), shared.toString());
+        assertEquals(2, main.at("/a/y").asInt());
+
+        simple.<String>merge(main, update, MergeMode.IN_PLACE).getOrThrow();
+        assertEquals(3, main.at("/a/y").asInt());
+        assertTrue(simple.merge(null, update).isErr());
+    }
+
+    @Test
+    @DisplayName("prune() - Removes empty values like the Jackson provider")
+    void testPrune() {
+        String json = "{\"a\":null,\"b\":\"\",\"c\":[],\"d\":{},\"e\":{\"f\":null},\"g\":[null,1],\"h\":0}";
+        JsonNodeWrapper node = parse(simple, json);
+
+        assertEquals(JACKSON.prune(JACKSON.parseNode(json).getOrThrow()).toString(), simple.prune(node).toString());
+        assertEquals(json, node.toString());
+
+        PruneOptions options = PruneOptions.DEFAULTS.withArrayElements(true).withInPlace(true);
+        JsonNodeWrapper pruned = simple.prune(node, options);
+        assertEquals(JACKSON.prune(JACKSON.parseNode(json).getOrThrow(), options).toString(), pruned.toString());
+        assertEquals(pruned.toString(), node.toString());
+    }
+
+    // ========================================================================
+    // STREAMING TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("streamArray() - Reports an element that cannot be bound and goes on")
+    void testStreamArray() {
+        String json = "[{\"sku\":\"x\",\"qty\":1},{\"sku\":\"y\",\"qty\":\"lots\"},{\"sku\":\"z\",\"qty\":3}]";
+
+        List<Result<String, Line>> results;
+        try (Stream<Result<String, Line>> stream = simple.streamArray(new StringReader(json), Line.class)) {
+            results = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(3, results.size());
+        assertEquals(new Line("x", 1), results.get(0).getOrThrow());
+        assertTrue(results.get(1).getErrOrThrow().startsWith("JSON element 1 binding failed: "));
+        assertEquals(new Line("z", 3), results.get(2).getOrThrow());
+    }
+
+    @Test
+    @DisplayName("streamArray() - Stops at malformed JSON and non-arrays")
+    void testStreamArrayErrors() {
+        List<Result<String, JsonNodeWrapper>> results = simple.<String>streamArray(new StringReader("[1,2,}"))
+                .collect(Collectors.toList());
+
+        assertEquals(3, results.size());
+        assertTrue(results.get(2).getErrOrThrow().startsWith("JSON streaming failed at element 2: "));
+
+        List<Result<String, JsonNodeWrapper>> object = simple.<String>streamArray(new StringReader("{\"a\":1}"))
+                .collect(Collectors.toList());
+        assertEquals(1, object.size());
+        assertEquals("Expected a JSON array but found '{'", object.get(0).getErrOrThrow());
+    }
+
+    @Test
+    @DisplayName("streamArray() - Lets a consumer failure reach the caller")
+    void testStreamArrayConsumerThrows() {
+        List<Result<String, JsonNodeWrapper>> seen = new ArrayList<>();
+
+        assertThrows(IllegalStateException.class, () -> simple.<String>streamArray(new StringReader("{\"a\":1}"))
+                .forEach(r -> {
+                    seen.add(r);
+                    throw new IllegalStateException("downstream failure");
+                }));
+
+        assertEquals(1, seen.size());
+    }
+
+    @Test
+    @DisplayName("parseFile() / readFile() - Read a mapped file through the default methods")
+    void testParseFile(@TempDir Path dir) throws IOException {
+        Path file = Files.writeString(dir.resolve("order.json"), ORDER);
+
+        assertEquals("A-1", simple.parseFile(file).getOrThrow().get("id").asText());
+        assertEquals(2, simple.<String, Order>readFile(file, Order.class).getOrThrow().items().size());
+    }
+
+    @Test
+    @DisplayName("stream() - Streams the elements of an array node")
+    void testStream() {
+        JsonNodeWrapper items = parse(simple, ORDER).get("items");
+
+        List<String> skus = new ArrayList<>();
+        simple.stream(items).forEach(item -> skus.add(item.get("sku").asText()));
+
+        assertEquals(List.of("x", "y"), skus);
+        assertEquals(3, simple.parallelStream(items).mapToInt(item -> item.get("qty").asInt()).sum());
+        assertEquals(0, simple.stream(parse(simple, ORDER)).count());
+    }
+
+    // ========================================================================
+    // PROVIDER SELECTION TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("getProvider() - Starts with the Jackson provider and follows setProvider()")
+    void testGetProvider() {
+        JsonProvider original = JsonUtils.getProvider();
+        assertInstanceOf(JacksonJsonProvider.class, original);
+
+        try {
+            JsonUtils.setProvider(simple);
+            assertSame(simple, JsonUtils.getProvider());
+            assertEquals("{\"a\":1}", JsonUtils.<String>toJson(Map.of("a", 1), JsonFormat.COMPACT).getOrThrow());
+        } finally {
+            JsonUtils.setProvider(original);
+        }
+    }
+}
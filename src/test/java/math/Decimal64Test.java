@@ -0,0 +1,221 @@
+package math;
+
+
+import commons.kit.MathUtils.Decimal64;
+import commons.kit.MathUtils.NumberUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Decimal64Test {
+
+    // ========================================================================
+    // FACTORY METHOD TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("of() - Uses the default scale of 2")
+    void testOfDefaultScale() {
+        Decimal64 value = Decimal64.of("123.456");
+
+        assertEquals(2, value.scale());
+        assertEquals(12346, value.unscaledValue());
+        assertEquals("123.46", value.toString());
+    }
+
+    @Test
+    @DisplayName("of() - Parses like NumberUtils.safeOf")
+    void testOfParsesLikeSafeOf() {
+        assertEquals(new BigDecimal("1234.56"), Decimal64.of("$1,234.56").toBigDecimal());
+        assertEquals(new BigDecimal("1234.56"), Decimal64.of("1.234,56 €").toBigDecimal());
+        assertEquals(new BigDecimal("0.00"), Decimal64.of(null).toBigDecimal());
+        assertEquals(new BigDecimal("0.00"), Decimal64.of("not-a-number").toBigDecimal());
+    }
+
+    @Test
+    @DisplayName("of() - Converts integral numbers")
+    void testOfIntegral() {
+        assertEquals(new BigDecimal("42.0000"), Decimal64.of(42L, 4).toBigDecimal());
+    }
+
+    @Test
+    @DisplayName("set() - Primitive overloads round like set(Object)")
+    void testSetPrimitives() {
+        assertEquals("1.01", Decimal64.zero().set(1.005).toString());
+        assertEquals("-2.50", Decimal64.zero().set(-2.495).toString());
+        assertEquals("42.0000", Decimal64.zero(4).set(42L).toString());
+        assertThrows(ArithmeticException.class, () -> Decimal64.zero(18).set(Long.MAX_VALUE));
+        assertThrows(NumberFormatException.class, () -> Decimal64.zero().set(Double.NaN));
+
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            double value = (random.nextInt(2_000_000) - 1_000_000) / 1000.0 + random.nextInt(3) * 0.0005;
+            int scale = random.nextInt(6);
+            assertEquals(Decimal64.zero(scale).set((Object) value).unscaledValue(),
+                    Decimal64.zero(scale).set(value).unscaledValue(), value + " @ " + scale);
+        }
+    }
+
+    @Test
+    @DisplayName("ofExact() - Round-trips BigDecimal losslessly")
+    void testOfExactRoundTrip() {
+        BigDecimal original = new BigDecimal("-98765.4321");
+
+        Decimal64 value = Decimal64.ofExact(original);
+
+        assertEquals(4, value.scale());
+        assertEquals(original, value.toBigDecimal());
+    }
+
+    @Test
+    @DisplayName("ofExact() - Throws when the value does not fit")
+    void testOfExactOverflow() {
+        assertThrows(ArithmeticException.class,
+                () -> Decimal64.ofExact(new BigDecimal("123456789012345678901234")));
+    }
+
+    @Test
+    @DisplayName("zero() - Rejects scales outside 0..18")
+    void testZeroInvalidScale() {
+        assertThrows(IllegalArgumentException.class, () -> Decimal64.zero(19));
+        assertThrows(IllegalArgumentException.class, () -> Decimal64.zero(-1));
+    }
+
+    // ========================================================================
+    // ARITHMETIC TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("add() - Accumulates in place and treats null as zero")
+    void testAddAccumulates() {
+        Decimal64 total = Decimal64.zero();
+
+        Decimal64 returned = total.add(Decimal64.of("10.25")).add(null).add(Decimal64.of("0.75"));
+
+        assertSame(total, returned);
+        assertEquals("11.00", total.toString());
+    }
+
+    @Test
+    @DisplayName("add() - Rescales operands with a different scale HALF_UP")
+    void testAddDifferentScale() {
+        Decimal64 total = Decimal64.of("1.00").add(Decimal64.of("0.125", 3));
+
+        assertEquals("1.13", total.toString());
+    }
+
+    @Test
+    @DisplayName("add() - Throws on overflow")
+    void testAddOverflow() {
+        Decimal64 value = Decimal64.ofUnscaled(Long.MAX_VALUE, 2);
+
+        assertThrows(ArithmeticException.class, () -> value.add(Decimal64.of("0.01")));
+    }
+
+    @Test
+    @DisplayName("sub() - Subtracts in place")
+    void testSub() {
+        assertEquals("-5.50", Decimal64.of("4.50").sub(Decimal64.of("10")).toString());
+    }
+
+    @Test
+    @DisplayName("mul() - Rounds HALF_UP to the scale, null annihilates")
+    void testMul() {
+        assertEquals("3.70", Decimal64.of("1.23").mul(Decimal64.of("3.005", 3)).toString());
+        assertTrue(Decimal64.of("5").mul(null).isZero());
+    }
+
+    @Test
+    @DisplayName("mul() - Handles 128-bit intermediates")
+    void testMulLargeIntermediate() {
+        Decimal64 value = Decimal64.of("9000000000.00").mul(Decimal64.of("0.000000001", 9));
+
+        assertEquals("9.00", value.toString());
+    }
+
+    @Test
+    @DisplayName("div() - Matches NumberUtils.div and returns zero for zero divisor")
+    void testDiv() {
+        BigDecimal expected = NumberUtils.div(new BigDecimal("10"), new BigDecimal("3"));
+
+        assertEquals(expected, Decimal64.of("10").div(Decimal64.of("3")).toBigDecimal());
+        assertEquals("-3.33", Decimal64.of("10").div(Decimal64.of("-3")).toString());
+        assertTrue(Decimal64.of("10").div(Decimal64.zero()).isZero());
+    }
+
+    @Test
+    @DisplayName("percentage() - Matches NumberUtils.percentage")
+    void testPercentage() {
+        BigDecimal expected = NumberUtils.percentage(new BigDecimal("49.99"), new BigDecimal("8.5"));
+
+        assertEquals(expected, Decimal64.of("49.99").percentage(Decimal64.of("8.5", 1)).toBigDecimal());
+    }
+
+    @Test
+    @DisplayName("clamp() - Restricts to range")
+    void testClamp() {
+        assertEquals("100.00", Decimal64.of("150").clamp(Decimal64.of("0"), Decimal64.of("100")).toString());
+        assertEquals("0.00", Decimal64.of("-5").clamp(Decimal64.of("0"), Decimal64.of("100")).toString());
+        assertEquals("50.00", Decimal64.of("50").clamp(Decimal64.of("0"), Decimal64.of("100")).toString());
+    }
+
+    // ========================================================================
+    // ROUNDING TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("round() - Rounds HALF_UP, UP and DOWN keeping the scale")
+    void testRounding() {
+        assertEquals("1.2400", Decimal64.of("1.2350", 4).round(2).toString());
+        assertEquals("-1.2400", Decimal64.of("-1.2350", 4).round(2).toString());
+        assertEquals("2.0", Decimal64.of("1.1", 1).roundUp(0).toString());
+        assertEquals("-1.0", Decimal64.of("-1.9", 1).roundDown(0).toString());
+    }
+
+    // ========================================================================
+    // COMPARISON TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("isEq() - Ignores scale")
+    void testIsEqIgnoresScale() {
+        assertTrue(Decimal64.of("1.0", 1).isEq(Decimal64.of("1.00", 2)));
+        assertTrue(Decimal64.zero().isEq(null));
+    }
+
+    @Test
+    @DisplayName("equals() / hashCode() - Agree with compareTo, so equal values are equal keys")
+    void testEqualsAndHashCode() {
+        Decimal64 a = Decimal64.of("1.5", 1);
+        Decimal64 b = Decimal64.of("1.500", 3);
+
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertEquals(Decimal64.zero(0).hashCode(), Decimal64.zero(18).hashCode());
+        assertNotEquals(a, Decimal64.of("1.51"));
+        assertNotEquals(a, new BigDecimal("1.5"));
+        assertNotEquals(a, null);
+
+        Set<Decimal64> keys = new HashSet<>(List.of(a, b, Decimal64.of("-1.5"), Decimal64.of("150", 0)));
+        assertEquals(3, keys.size());
+        assertTrue(keys.contains(Decimal64.of("1.50")));
+    }
+
+    @Test
+    @DisplayName("inRange() - Checks inclusive bounds")
+    void testInRange() {
+        Decimal64 value = Decimal64.of("50");
+
+        assertTrue(value.inRange(Decimal64.of("0"), Decimal64.of("50")));
+        assertFalse(value.inRange(Decimal64.of("51"), Decimal64.of("100")));
+        assertTrue(value.isPos());
+        assertTrue(value.isGt(Decimal64.of("49.99")));
+    }
+}
@@ -0,0 +1,159 @@
+package math;
+
+
+import commons.kit.MathUtils.Decimal64;
+import commons.kit.MathUtils.DecimalVector;
+import commons.kit.MathUtils.NumberUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecimalVectorTest {
+
+    // ========================================================================
+    // CONSTRUCTION TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("of() - Rounds to the scale and stores null as zero")
+    void testOfRoundsAndHandlesNull() {
+        DecimalVector vector = DecimalVector.of(2, new BigDecimal("1.005"), null, new BigDecimal("3"));
+
+        assertEquals(3, vector.size());
+        assertEquals(101, vector.unscaledAt(0));
+        assertEquals(0, vector.unscaledAt(1));
+        assertEquals(new BigDecimal("3.00"), vector.get(2));
+    }
+
+    @Test
+    @DisplayName("append() - Grows and parses like safeOf")
+    void testAppendGrows() {
+        DecimalVector vector = DecimalVector.withCapacity(2, 1);
+
+        vector.append("$1,234.56").append(10).append(Decimal64.of("0.5")).appendUnscaled(1);
+
+        assertEquals(4, vector.size());
+        assertArrayEquals(new long[]{123456, 1000, 50, 1}, vector.toUnscaledArray());
+    }
+
+    @Test
+    @DisplayName("wrap() - Uses the array without copying")
+    void testWrapSharesArray() {
+        long[] raw = {150, -50};
+
+        DecimalVector.wrap(raw, 2).clamp(Decimal64.of("0"), Decimal64.of("1"));
+
+        assertArrayEquals(new long[]{100, 0}, raw);
+    }
+
+    // ========================================================================
+    // AGGREGATION TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("sum() - Matches NumberUtils.add")
+    void testSumMatchesNumberUtils() {
+        BigDecimal[] values = new BigDecimal[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = BigDecimal.valueOf(i * 137L - 40_000, 2);
+        }
+
+        Decimal64 sum = DecimalVector.of(2, values).sum();
+
+        assertTrue(NumberUtils.isEq(NumberUtils.add(values), sum.toBigDecimal()));
+    }
+
+    @Test
+    @DisplayName("sum() - Handles values near the long limits and detects overflow")
+    void testSumLimits() {
+        DecimalVector fits = DecimalVector.wrap(new long[]{Long.MIN_VALUE, 1L << 40, -1}, 0);
+        DecimalVector overflows = DecimalVector.wrap(new long[]{Long.MAX_VALUE, 1}, 0);
+
+        assertEquals(Long.MIN_VALUE + (1L << 40) - 1, fits.sumUnscaled());
+        assertThrows(ArithmeticException.class, overflows::sumUnscaled);
+    }
+
+    @Test
+    @DisplayName("min()/max()/mean() - Aggregate values")
+    void testMinMaxMean() {
+        DecimalVector vector = DecimalVector.of(2,
+                new BigDecimal("10.00"), new BigDecimal("-2.50"), new BigDecimal("3.00"));
+
+        assertEquals("-2.50", vector.min().toString());
+        assertEquals("10.00", vector.max().toString());
+        assertEquals("3.50", vector.mean().toString());
+    }
+
+    @Test
+    @DisplayName("min()/max()/mean() - Return zero for an empty vector")
+    void testEmptyAggregates() {
+        DecimalVector vector = DecimalVector.withScale(2);
+
+        assertTrue(vector.sum().isZero());
+        assertTrue(vector.min().isZero());
+        assertTrue(vector.max().isZero());
+        assertTrue(vector.mean().isZero());
+    }
+
+    // ========================================================================
+    // TRANSFORMATION TESTS
+    // ========================================================================
+
+    @Test
+    @DisplayName("percentage() - Matches NumberUtils.percentage per element")
+    void testPercentage() {
+        DecimalVector vector = DecimalVector.of(2, new BigDecimal("49.99"), new BigDecimal("200"));
+
+        vector.percentage(Decimal64.of("8.5", 1));
+
+        assertEquals(NumberUtils.percentage(new BigDecimal("49.99"), new BigDecimal("8.5")), vector.get(0));
+        assertEquals(new BigDecimal("17.00"), vector.get(1));
+    }
+
+    @Test
+    @DisplayName("round() - Rounds HALF_UP keeping the scale")
+    void testRound() {
+        DecimalVector vector = DecimalVector.of(2, new BigDecimal("1.25"), new BigDecimal("-1.25"));
+
+        vector.round(1);
+
+        assertEquals(new BigDecimal("1.30"), vector.get(0));
+        assertEquals(new BigDecimal("-1.30"), vector.get(1));
+    }
+
+    @Test
+    @DisplayName("clamp() - Matches Decimal64.clamp and NumberUtils.clamp, even when min > max")
+    void testClampMatchesScalars() {
+        String[] values = {"-5", "0", "2", "5", "12"};
+        String[][] bounds = {{"0", "10"}, {"10", "0"}, {"3", "3"}};
+
+        for (String[] bound : bounds) {
+            Decimal64 min = Decimal64.of(bound[0]);
+            Decimal64 max = Decimal64.of(bound[1]);
+            DecimalVector vector = DecimalVector.withCapacity(2, values.length);
+            for (String value : values) {
+                vector.append(value);
+            }
+
+            vector.clamp(min, max);
+
+            for (int i = 0; i < values.length; i++) {
+                String label = values[i] + " in [" + bound[0] + ", " + bound[1] + "]";
+                assertEquals(Decimal64.of(values[i], 2).clamp(min, max).toBigDecimal(), vector.get(i), label);
+                assertEquals(0, NumberUtils.clamp(new BigDecimal(values[i]), new BigDecimal(bound[0]),
+                        new BigDecimal(bound[1])).compareTo(vector.get(i)), label);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("unscaledAt() - Rejects indexes beyond the size")
+    void testIndexBounds() {
+        DecimalVector vector = DecimalVector.withCapacity(2, 8).appendUnscaled(1);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.unscaledAt(1));
+    }
+}
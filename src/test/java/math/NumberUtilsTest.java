@@ -157,6 +157,37 @@ class NumberUtilsTest {
         assertEquals(ZERO, result);
     }
 
+    @Test
+    @DisplayName("safeOf() - Keeps the scale written in the input")
+    void testSafeOfKeepsScale() {
+        assertEquals(new BigDecimal("10.50"), NumberUtils.safeOf("10.50"));
+        assertEquals(new BigDecimal("-0.5"), NumberUtils.safeOf("- $ .5"));
+        assertEquals(new BigDecimal("5"), NumberUtils.safeOf("5."));
+    }
+
+    @Test
+    @DisplayName("safeOf() - Returns ZERO for repeated decimal separators or misplaced signs")
+    void testSafeOfMalformedSeparators() {
+        assertEquals(ZERO, NumberUtils.safeOf("1.2.3"));
+        assertEquals(ZERO, NumberUtils.safeOf("1,2,3"));
+        assertEquals(ZERO, NumberUtils.safeOf("12-3"));
+        assertEquals(ZERO, NumberUtils.safeOf("--5"));
+    }
+
+    @Test
+    @DisplayName("safeOf() - Parses values beyond the long range")
+    void testSafeOfBeyondLongRange() {
+        BigDecimal result = NumberUtils.safeOf("$123,456,789,012,345,678,901.25");
+
+        assertEquals(new BigDecimal("123456789012345678901.25"), result);
+    }
+
+    @Test
+    @DisplayName("safeOf() - Parses scientific notation")
+    void testSafeOfScientificNotation() {
+        assertEquals(new BigDecimal("1.5E-3"), NumberUtils.safeOf("1.5E-3"));
+    }
+
     // ========================================================================
     // COMPARISON TESTS
     // ========================================================================
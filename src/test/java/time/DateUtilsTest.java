@@ -93,6 +93,63 @@ class DateUtilsTest {
         result.peekErr(error -> assertTrue(error.contains("Unable to parse")));
     }
 
+    @Test
+    @DisplayName("analyze() - Parses dd.MM.yyyy and dd-MM-yyyy formats")
+    void testAnalyzeDottedAndDashed() {
+        ParsedDate dotted = DateUtils.analyze("15.03.2024").getOrThrow();
+        ParsedDate dashed = DateUtils.analyze("15-03-2024").getOrThrow();
+
+        assertEquals(LocalDate.of(2024, 3, 15), dotted.date());
+        assertEquals("dd.MM.yyyy", dotted.pattern());
+        assertFalse(dotted.ambiguous());
+        assertEquals(LocalDate.of(2024, 3, 15), dashed.date());
+        assertEquals("dd-MM-yyyy", dashed.pattern());
+    }
+
+    @Test
+    @DisplayName("analyze() - Parses ISO date-time and validates the time part")
+    void testAnalyzeIsoDateTime() {
+        ParsedDate parsed = DateUtils.analyze("2024-03-15T10:30:00").getOrThrow();
+
+        assertEquals(LocalDate.of(2024, 3, 15), parsed.date());
+        assertEquals("yyyy-MM-dd'T'HH:mm:ss", parsed.pattern());
+        assertTrue(DateUtils.analyze("2024-03-15T24:00:00").isErr());
+    }
+
+    @Test
+    @DisplayName("analyze() - Lenient patterns clamp the day to the end of the month")
+    void testAnalyzeSmartClamp() {
+        ParsedDate parsed = DateUtils.analyze("31/04/2024").getOrThrow();
+
+        assertEquals(LocalDate.of(2024, 4, 30), parsed.date());
+        assertEquals("dd/MM/yyyy", parsed.pattern());
+        assertTrue(parsed.ambiguous());
+    }
+
+    @Test
+    @DisplayName("analyze() - Falls back to MM/dd/yyyy when day-first is invalid")
+    void testAnalyzeMonthFirstFallback() {
+        ParsedDate parsed = DateUtils.analyze("12/31/2024").getOrThrow();
+
+        assertEquals(LocalDate.of(2024, 12, 31), parsed.date());
+        assertEquals("MM/dd/yyyy", parsed.pattern());
+    }
+
+    @Test
+    @DisplayName("analyze() - Keeps signed and extended years")
+    void testAnalyzeExtendedYears() {
+        assertEquals(LocalDate.of(-2024, 3, 15), DateUtils.analyze("-2024-03-15").getOrThrow().date());
+        assertEquals(LocalDate.of(12345, 3, 15), DateUtils.analyze("+12345-03-15").getOrThrow().date());
+    }
+
+    @Test
+    @DisplayName("analyze() - Rejects wrong field widths")
+    void testAnalyzeRejectsWrongWidths() {
+        assertTrue(DateUtils.analyze("1/1/2024").isErr());
+        assertTrue(DateUtils.analyze("2024-3-5").isErr());
+        assertTrue(DateUtils.analyze("15/03/24").isErr());
+    }
+
     @Test
     @DisplayName("smartParse() - Returns LocalDate directly")
     void testSmartParse() {